@@ -0,0 +1,71 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import junit.framework.TestCase;
+import static us.mn.state.dot.sonar.MessageCodecTest.encodeAttr;
+import static us.mn.state.dot.sonar.MessageCodecTest.transfer;
+
+/**
+ * Message encoder / decoder benchmark
+ *
+ * @author Douglas Lau
+ */
+public class MessageCodecBench extends TestCase {
+
+	/** Number of attribute messages for benchmark */
+	static private final int N_MSGS = 20000;
+
+	/** Encode benchmark messages.
+	 * @param deflate Flag to enable compressed mode.
+	 * @param batch Number of messages per flush. */
+	private void encodeBench(boolean deflate, int batch)
+		throws IOException
+	{
+		ByteBuffer app_in = ByteBuffer.allocate(1 << 16);
+		MessageEncoder enc = new MessageEncoder(0);
+		MessageDecoder dec = new MessageDecoder(app_in);
+		if (deflate) {
+			enc.encode(Message.COMPRESS, "deflate");
+			enc.startDeflate();
+		}
+		long total = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < N_MSGS; i++) {
+			encodeAttr(enc, i);
+			if ((i + 1) % batch == 0) {
+				enc.flush();
+				total += enc.getBuffer().position();
+				transfer(enc, dec, app_in, 1 << 16);
+			}
+		}
+		long ns = (System.nanoTime() - start) / N_MSGS;
+		System.err.println("MessageCodec: " + (deflate ? "deflate" :
+			"plain") + ", batch " + batch + ": " + total / N_MSGS +
+			" bytes/msg, " + ns + " ns/msg");
+		enc.stopDeflate();
+		dec.stopInflate();
+	}
+
+	/** Benchmark wire size and time of repetitive attribute messages */
+	public void testEncode() throws IOException {
+		encodeBench(false, 1);
+		encodeBench(false, 50);
+		encodeBench(true, 1);
+		encodeBench(true, 50);
+	}
+}
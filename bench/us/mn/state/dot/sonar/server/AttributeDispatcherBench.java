@@ -0,0 +1,72 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar.server;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import junit.framework.TestCase;
+import us.mn.state.dot.sonar.MessageEncoder;
+import static us.mn.state.dot.sonar.server.AttributeDispatcherTest.*;
+
+/**
+ * Attribute dispatcher benchmark
+ *
+ * @author Douglas Lau
+ */
+public class AttributeDispatcherBench extends TestCase {
+
+	/** Enumerate all widgets in a type node */
+	static private void enumerateObjects(TypeNode node,
+		MessageEncoder enc) throws Exception
+	{
+		node.enumerateObjects(enc);
+		enc.flush();
+		enc.getBuffer().clear();
+	}
+
+	/** Benchmark attribute enumeration */
+	public void testEnumerate() throws Exception {
+		ServerNamespace ns = new ServerNamespace();
+		TypeNode node = ns.registerType(WidgetImpl.class);
+		for (int i = 0; i < N_OBJS; i++)
+			ns.addObject(new WidgetImpl("W" + i));
+		AttributeDispatcher ad = new AttributeDispatcher(
+			WidgetImpl.class, ns);
+		ArrayList<Method> getters = getGetters(ad);
+		// warm up
+		for (int i = 0; i < 5; i++) {
+			enumerateReflection(ns, getters);
+			enumerateDispatcher(ns, ad);
+		}
+		long t0 = System.nanoTime();
+		for (int i = 0; i < 10; i++)
+			enumerateReflection(ns, getters);
+		long t1 = System.nanoTime();
+		for (int i = 0; i < 10; i++)
+			enumerateDispatcher(ns, ad);
+		long t2 = System.nanoTime();
+		MessageEncoder enc = new MessageEncoder(0);
+		for (int i = 0; i < 5; i++)
+			enumerateObjects(node, enc);
+		long t3 = System.nanoTime();
+		for (int i = 0; i < 10; i++)
+			enumerateObjects(node, enc);
+		long t4 = System.nanoTime();
+		System.err.println("AttributeDispatcher: " + N_OBJS +
+			" objects, reflection " + (t1 - t0) / 10000 +
+			" us, handles " + (t2 - t1) / 10000 +
+			" us, enumerateObjects " + (t4 - t3) / 10000 + " us");
+	}
+}
@@ -0,0 +1,47 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar.server;
+
+import junit.framework.TestCase;
+import static us.mn.state.dot.sonar.server.ServerNamespaceTest.*;
+
+/**
+ * Server namespace resync benchmark
+ *
+ * @author Douglas Lau
+ */
+public class ServerNamespaceBench extends TestCase {
+
+	/** Benchmark enumeration size and time for full and delta resync */
+	public void testEnumerate() throws Exception {
+		ServerNamespace ns = createNamespace();
+		String full = enumerate(ns, "");
+		String tok = firstMessage(full)[2];
+		for (int i = 0; i < 100; i++)
+			change(ns, i, 7);
+		String delta = enumerate(ns, tok);
+		long t0 = System.nanoTime();
+		for (int i = 0; i < 10; i++)
+			enumerate(ns, "");
+		long t1 = System.nanoTime();
+		for (int i = 0; i < 10; i++)
+			enumerate(ns, tok);
+		long t2 = System.nanoTime();
+		System.err.println("ServerNamespace: " + N_OBJS +
+			" objects, full: " + full.length() + " bytes, " +
+			(t1 - t0) / 10000 + " us, delta: " + delta.length() +
+			" bytes, " + (t2 - t1) / 10000 + " us");
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.utils.Base64;
+import static us.mn.state.dot.tms.BitmapStoreTest.MONO;
+import static us.mn.state.dot.tms.BitmapStoreTest.randomPixels;
+
+/**
+ * Bitmap store benchmark
+ *
+ * @author Douglas Lau
+ */
+public class BitmapStoreBench extends TestCase {
+
+	/** Number of glyphs in benchmark font */
+	static private final int N_GLYPHS = 96;
+
+	/** Glyph width */
+	static private final int G_WIDTH = 9;
+
+	/** Glyph height */
+	static private final int G_HEIGHT = 14;
+
+	/** Number of glyphs rendered for each message */
+	static private final int MSG_GLYPHS = 60;
+
+	/** Get total GC count and time (ms) */
+	static private long[] gcStats() {
+		long[] st = new long[2];
+		for (GarbageCollectorMXBean gc:
+		     ManagementFactory.getGarbageCollectorMXBeans())
+		{
+			st[0] += Math.max(0, gc.getCollectionCount());
+			st[1] += Math.max(0, gc.getCollectionTime());
+		}
+		return st;
+	}
+
+	/** Get bytes allocated by the current thread (or 0) */
+	static private long allocatedBytes() {
+		java.lang.management.ThreadMXBean tb =
+			ManagementFactory.getThreadMXBean();
+		if (tb instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) tb)
+				.getThreadAllocatedBytes(
+				Thread.currentThread().getId());
+		} else
+			return 0;
+	}
+
+	/** Render messages, decoding each glyph (like previous renderer) */
+	static private void renderDecode(String[] glyphs, int n_msgs)
+		throws IOException
+	{
+		BitmapGraphic raster = new BitmapGraphic(MSG_GLYPHS * G_WIDTH,
+			G_HEIGHT);
+		for (int m = 0; m < n_msgs; m++) {
+			for (int i = 0; i < MSG_GLYPHS; i++) {
+				int g = (m + i * 7) % N_GLYPHS;
+				BitmapGraphic bg = new BitmapGraphic(G_WIDTH,
+					G_HEIGHT);
+				bg.setPixelData(Base64.decode(glyphs[g]));
+				raster.copy(bg, i * G_WIDTH, 0, DmsColor.AMBER);
+			}
+		}
+	}
+
+	/** Render messages, using rasters from a store */
+	static private void renderStore(BitmapStore bs, String[] names,
+		String[] glyphs, int n_msgs)
+	{
+		BitmapGraphic raster = new BitmapGraphic(MSG_GLYPHS * G_WIDTH,
+			G_HEIGHT);
+		for (int m = 0; m < n_msgs; m++) {
+			for (int i = 0; i < MSG_GLYPHS; i++) {
+				int g = (m + i * 7) % N_GLYPHS;
+				RasterGraphic rg = bs.lookup(names[g],
+					glyphs[g], MONO, null, G_WIDTH,
+					G_HEIGHT);
+				raster.copy(rg, i * G_WIDTH, 0, DmsColor.AMBER);
+			}
+		}
+	}
+
+	/** Print benchmark results */
+	static private void report(String name, int n_msgs, long t0, long t1,
+		long a0, long a1, long[] gc0, long[] gc1)
+	{
+		long us = Math.max(1, (t1 - t0) / 1000);
+		System.err.println("BitmapStore " + name + ": " + n_msgs +
+			" msgs, " + (us / n_msgs) + " us/msg, " +
+			(a1 - a0) / n_msgs + " bytes/msg, " +
+			(gc1[0] - gc0[0]) + " GCs (" + (gc1[1] - gc0[1]) +
+			" ms)");
+	}
+
+	/** Benchmark rendering with and without the store */
+	public void testRender() throws IOException {
+		Random rng = new Random(3);
+		String[] names = new String[N_GLYPHS];
+		String[] glyphs = new String[N_GLYPHS];
+		for (int g = 0; g < N_GLYPHS; g++) {
+			names[g] = "font_" + g;
+			glyphs[g] = randomPixels(rng,
+				(G_WIDTH * G_HEIGHT + 7) / 8);
+		}
+		BitmapStore bs = new BitmapStore();
+		int n_msgs = 5000;
+		renderDecode(glyphs, n_msgs);
+		renderStore(bs, names, glyphs, n_msgs);
+		long[] gc0 = gcStats();
+		long a0 = allocatedBytes();
+		long t0 = System.nanoTime();
+		renderDecode(glyphs, n_msgs);
+		long t1 = System.nanoTime();
+		long a1 = allocatedBytes();
+		long[] gc1 = gcStats();
+		report("decode", n_msgs, t0, t1, a0, a1, gc0, gc1);
+		gc0 = gcStats();
+		a0 = allocatedBytes();
+		t0 = System.nanoTime();
+		renderStore(bs, names, glyphs, n_msgs);
+		t1 = System.nanoTime();
+		a1 = allocatedBytes();
+		gc1 = gcStats();
+		report("store", n_msgs, t0, t1, a0, a1, gc0, gc1);
+		assertTrue(bs.size() == N_GLYPHS);
+	}
+}
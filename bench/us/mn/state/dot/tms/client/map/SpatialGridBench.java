@@ -0,0 +1,62 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.map;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.geo.ZoomLevel;
+import static us.mn.state.dot.tms.client.map.SpatialGridTest.*;
+
+/**
+ * Spatial grid benchmark
+ *
+ * @author Douglas Lau
+ */
+public class SpatialGridBench extends TestCase {
+
+	/** Benchmark viewport culling at several zoom levels */
+	public void testCulling() {
+		ArrayList<Point> pts = createPoints(20000);
+		SpatialGrid<Point> grid = new SpatialGrid<Point>();
+		for (Point p: pts)
+			grid.add(p);
+		ZoomLevel[] zoom = { ZoomLevel.TEN, ZoomLevel.TWELVE,
+			ZoomLevel.FOURTEEN, ZoomLevel.SIXTEEN };
+		// Warm up
+		for (ZoomLevel zl: ZoomLevel.values()) {
+			Rectangle2D r = viewport(-10325000, 5675000, zl);
+			for (int i = 0; i < 20; i++) {
+				count(grid, r);
+				countAll(pts, r);
+			}
+		}
+		for (ZoomLevel zl: zoom) {
+			Rectangle2D r = viewport(-10325000, 5675000, zl);
+			long t0 = System.nanoTime();
+			int n = 0;
+			for (int i = 0; i < 100; i++)
+				n = count(grid, r);
+			long t1 = System.nanoTime();
+			for (int i = 0; i < 100; i++)
+				countAll(pts, r);
+			long t2 = System.nanoTime();
+			System.err.println("SpatialGrid: zoom " + zl.ordinal() +
+				", " + n + " visible, grid " +
+				(t1 - t0) / 100000 + " us, scan " +
+				(t2 - t1) / 100000 + " us");
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.proxy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import junit.framework.TestCase;
+import us.mn.state.dot.sonar.SonarObject;
+import us.mn.state.dot.tms.utils.NumericAlphaComparator;
+
+/**
+ * Sorted proxy list benchmark
+ *
+ * @author Douglas Lau
+ */
+public class SortedProxyListBench extends TestCase {
+
+	/** Number of proxies */
+	static private final int N_PROXIES = 10000;
+
+	/** Simple proxy */
+	static private class Proxy implements SonarObject {
+		private final String name;
+		private Proxy(String n) {
+			name = n;
+		}
+		public String getTypeName() { return "proxy"; }
+		public String getName() { return name; }
+		public String getNotes() { return null; }
+		public void destroy() { }
+		public String toString() { return name; }
+	}
+
+	/** Populate a list (as proxies added after enumeration) and look
+	 * up every proxy once (as for attribute changes) */
+	public void testPopulate() {
+		ArrayList<Proxy> proxies = new ArrayList<Proxy>();
+		for (int i = 0; i < N_PROXIES; i++)
+			proxies.add(new Proxy("D" + i));
+		Collections.shuffle(proxies, new Random(N_PROXIES));
+		long start = System.nanoTime();
+		SortedProxyList<Proxy> list = new SortedProxyList<Proxy>(
+			new NumericAlphaComparator<Proxy>());
+		for (Proxy p: proxies)
+			list.add(p);
+		for (Proxy p: proxies) {
+			int i = list.indexOf(p);
+			assertTrue(i >= 0 && list.isOrdered(i));
+		}
+		long us = (System.nanoTime() - start) / 1000;
+		System.err.println("SortedProxyList: " + N_PROXIES +
+			" proxies in " + us + " us");
+	}
+}
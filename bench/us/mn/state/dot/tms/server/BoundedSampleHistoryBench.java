@@ -0,0 +1,49 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.Random;
+import junit.framework.TestCase;
+import static us.mn.state.dot.tms.server.BoundedSampleHistoryTest.*;
+
+/**
+ * Bounded sample history benchmark.  This measures only the sample history
+ * work of a metering cycle (one push and two averages for each history of
+ * N_METERS meters), with primitive and boxed histories.  It does not run
+ * KAdaptiveAlgorithm or MaxPressureAlgorithm, which need corridors and
+ * detector data.
+ *
+ * @author Douglas Lau
+ */
+public class BoundedSampleHistoryBench extends TestCase {
+
+	/** Number of cycles for benchmark */
+	static private final int CYCLES = 2000;
+
+	/** Benchmark sample history work of metering cycles */
+	public void testCycles() {
+		runPrimitive(new Random(1), CYCLES);
+		runBoxed(new Random(1), CYCLES);
+		long t0 = System.nanoTime();
+		runPrimitive(new Random(2), CYCLES);
+		long t1 = System.nanoTime();
+		runBoxed(new Random(2), CYCLES);
+		long t2 = System.nanoTime();
+		System.err.println("BoundedSampleHistory: " + N_METERS +
+			" meters, primitive " + (t1 - t0) / CYCLES / 1000 +
+			" us/cycle, boxed " + (t2 - t1) / CYCLES / 1000 +
+			" us/cycle");
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import junit.framework.TestCase;
+
+/**
+ * Live sensor parser benchmark
+ *
+ * @author Douglas Lau
+ */
+public class LiveSensorParserBench extends TestCase {
+
+	/** Time stamp of test document */
+	static private final String STAMP = "2026-05-04T12:00:30-05:00";
+
+	/** End of period for test document */
+	static private final long END = 1777914030000L;
+
+	/** Number of sensors in document */
+	static private final int N_SENSORS = 20000;
+
+	/** Parser which discards samples */
+	static private class NullParser extends LiveSensorParser {
+		@Override
+		protected void storeSample(String sid, int flow, int speed) {
+			// discard
+		}
+		private int parse(byte[] doc) throws IOException {
+			return parse(new BufferedInputStream(
+				new ByteArrayInputStream(doc)), END);
+		}
+	}
+
+	/** Create a test document */
+	static private byte[] document() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("{\n\"time_stamp\":\"");
+		sb.append(STAMP);
+		sb.append("\",\n\"period\":30,\n\"samples\":{");
+		for (int i = 0; i < N_SENSORS; i++) {
+			if (i > 0)
+				sb.append(',');
+			sb.append("\n\"");
+			sb.append(i);
+			sb.append("\":[");
+			sb.append(i % 2400);
+			sb.append(',');
+			if (i % 10 == 0)
+				sb.append("null");
+			else
+				sb.append(i % 80);
+			sb.append(']');
+		}
+		sb.append("\n}\n}\n");
+		return sb.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	/** Parse a large document repeatedly */
+	public void testParse() throws IOException {
+		NullParser p = new NullParser();
+		byte[] doc = document();
+		for (int i = 0; i < 5; i++)
+			assertTrue(p.parse(doc) == N_SENSORS);
+		long start = System.nanoTime();
+		for (int i = 0; i < 10; i++)
+			assertTrue(p.parse(doc) == N_SENSORS);
+		long us = (System.nanoTime() - start) / 10000;
+		System.err.println("LiveSensorParser: " + N_SENSORS +
+			" sensors in " + us + " us");
+	}
+}
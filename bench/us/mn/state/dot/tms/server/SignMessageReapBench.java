@@ -0,0 +1,50 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import junit.framework.TestCase;
+import static us.mn.state.dot.tms.server.SignMessageReapTest.later;
+
+/**
+ * Sign message reaping benchmark
+ *
+ * @author Douglas Lau
+ */
+public class SignMessageReapBench extends TestCase {
+
+	/** Number of messages in benchmark */
+	static private final int N_MSGS = 50000;
+
+	/** Number of signs in benchmark */
+	static private final int N_SIGNS = 2000;
+
+	/** Benchmark reaping with many messages and signs */
+	public void testReap() {
+		SignMessageImpl.takeReapable(later());
+		SignMessageImpl[] msgs = new SignMessageImpl[N_MSGS];
+		for (int i = 0; i < N_MSGS; i++)
+			msgs[i] = new SignMessageImpl("msg_" + i);
+		// each sign references two messages
+		for (int i = 0; i < N_SIGNS * 2; i++)
+			SignMessageImpl.addRef(msgs[i]);
+		long t0 = System.nanoTime();
+		int n = SignMessageImpl.takeReapable(later()).size();
+		long t1 = System.nanoTime();
+		assertTrue(n == N_MSGS - N_SIGNS * 2);
+		System.err.println("SignMessageReap: " + N_MSGS +
+			" messages, " + N_SIGNS + " signs, " + n +
+			" reapable in " + (t1 - t0) / 1000 + " us");
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import junit.framework.TestCase;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.sonar.Namespace;
+import us.mn.state.dot.sonar.server.ServerNamespace;
+import us.mn.state.dot.tms.BaseHelper;
+import static us.mn.state.dot.tms.server.StringPoolTest.fresh;
+
+/**
+ * String pool benchmark.  Heap retained by a production-sized set of sign
+ * messages and geo locations (with pooled strings) is compared to the heap
+ * retained by the same strings without pooling.
+ *
+ * @author Douglas Lau
+ */
+public class StringPoolBench extends TestCase {
+
+	/** Number of sign messages (and geo locations) */
+	static private final int N_MSGS = 50000;
+
+	/** Number of distinct MULTI strings */
+	static private final int N_MULTI = 3000;
+
+	/** Number of distinct message owners */
+	static private final int N_OWNERS = 40;
+
+	/** Number of distinct landmarks */
+	static private final int N_LANDMARKS = 500;
+
+	/** Create a MULTI string */
+	static private String multi(int i) {
+		return fresh("[cf250,250,0][tr1,1,96,25]I-94 EB[nl]" +
+			"EXIT " + (i % 300) + "[nl][tt" + i + "] MIN" +
+			"[np]CRASH AHEAD[nl]LEFT LANE CLOSED[nl]USE CAUTION");
+	}
+
+	/** Create a message owner */
+	static private String owner(int i) {
+		return fresh("IRIS; operator+schedule; user" + i);
+	}
+
+	/** Create a landmark */
+	static private String landmark(int i) {
+		return fresh("Landmark " + i);
+	}
+
+	/** Get used heap after garbage collection */
+	static private long usedHeap() {
+		Runtime rt = Runtime.getRuntime();
+		for (int i = 0; i < 4; i++)
+			System.gc();
+		return rt.totalMemory() - rt.freeMemory();
+	}
+
+	/** Create unpooled strings (as held before pooling) */
+	static private String[] createStrings() {
+		String[] vals = new String[N_MSGS * 4];
+		for (int i = 0; i < N_MSGS; i++) {
+			vals[i * 4] = multi(i % N_MULTI);
+			vals[i * 4 + 1] = owner(i % N_OWNERS);
+			vals[i * 4 + 2] = fresh("r_node");
+			vals[i * 4 + 3] = landmark(i % N_LANDMARKS);
+		}
+		return vals;
+	}
+
+	/** Create sign messages (with pooled strings) */
+	static private SignMessageImpl[] createMessages() {
+		SignMessageImpl[] msgs = new SignMessageImpl[N_MSGS];
+		for (int i = 0; i < N_MSGS; i++) {
+			msgs[i] = new SignMessageImpl("msg_" + i, null,
+				multi(i % N_MULTI), owner(i % N_OWNERS),
+				false, false, false, 0);
+		}
+		return msgs;
+	}
+
+	/** Create geo locations (with pooled strings) */
+	static private GeoLocImpl[] createLocs() {
+		GeoLocImpl[] locs = new GeoLocImpl[N_MSGS];
+		for (int i = 0; i < N_MSGS; i++) {
+			locs[i] = new GeoLocImpl("loc_" + i, fresh("r_node"),
+				45.0, -93.0);
+			locs[i].setLandmark(landmark(i % N_LANDMARKS));
+		}
+		return locs;
+	}
+
+	/** Measure heap retained by real objects */
+	public void testHeap() {
+		Namespace ns = BaseHelper.namespace;
+		BaseHelper.namespace = new ServerNamespace();
+		try {
+			long h0 = usedHeap();
+			String[] raw = createStrings();
+			long h1 = usedHeap();
+			raw = null;
+			long h2 = usedHeap();
+			SignMessageImpl[] msgs = createMessages();
+			GeoLocImpl[] locs = createLocs();
+			long h3 = usedHeap();
+			assertTrue(msgs[0].getMulti() ==
+				msgs[N_MULTI].getMulti());
+			assertTrue(locs[0].getLandmark() ==
+				locs[N_LANDMARKS].getLandmark());
+			System.err.println("StringPool: " + N_MSGS +
+				" messages + locations, unpooled strings " +
+				(h1 - h0) / 1024 + " KB, objects " +
+				(h3 - h2) / 1024 + " KB (" + (h3 - h2) /
+				(2 * N_MSGS) + " bytes/object), pool " +
+				StringPool.size());
+		}
+		finally {
+			BaseHelper.namespace = ns;
+			SignMessageImpl.takeReapable(
+				TimeSteward.currentTimeMillis() + 3600000);
+		}
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import junit.framework.TestCase;
+import static us.mn.state.dot.tms.server.TagMatcherTest.*;
+
+/**
+ * Tag matcher benchmark
+ *
+ * @author Douglas Lau
+ */
+public class TagMatcherBench extends TestCase {
+
+	/** Benchmark matching throughput */
+	public void testStream() {
+		runStream(new TagMatcher(), 5);
+		TagMatcher tm = new TagMatcher();
+		int minutes = 30;
+		long t0 = System.nanoTime();
+		int matched = runStream(tm, minutes);
+		long t1 = System.nanoTime();
+		int n_reads = minutes * READS_PER_MIN;
+		long ms = Math.max(1, (t1 - t0) / 1000000);
+		System.err.println("TagMatcher: " + n_reads + " reads (" +
+			READS_PER_MIN + "/min), " + matched + " matched, " +
+			ms + " ms, " + (n_reads * 1000L / ms) + " reads/sec");
+	}
+}
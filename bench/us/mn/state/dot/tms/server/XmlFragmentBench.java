@@ -0,0 +1,97 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.server.XmlFragmentTest.Device;
+
+/**
+ * XML fragment benchmark
+ *
+ * @author Douglas Lau
+ */
+public class XmlFragmentBench extends TestCase {
+
+	/** Writer which counts characters and discards them */
+	static private class CountWriter extends Writer {
+		private long n_chars;
+		@Override public void write(char[] b, int off, int len) {
+			n_chars += len;
+		}
+		@Override public void write(String s) {
+			n_chars += s.length();
+		}
+		@Override public void flush() { }
+		@Override public void close() { }
+	}
+
+	/** Get bytes allocated by the current thread (or 0) */
+	static private long allocatedBytes() {
+		java.lang.management.ThreadMXBean tb =
+			ManagementFactory.getThreadMXBean();
+		if (tb instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) tb)
+				.getThreadAllocatedBytes(
+				Thread.currentThread().getId());
+		} else
+			return 0;
+	}
+
+	/** Number of devices in benchmark */
+	static private final int N_DEVICES = 20000;
+
+	/** Write all devices */
+	static private long writeAll(Device[] devs, boolean frag)
+		throws IOException
+	{
+		CountWriter w = new CountWriter();
+		for (Device d: devs) {
+			if (frag)
+				d.writeFrag(w);
+			else
+				d.writeXml(w);
+		}
+		return w.n_chars;
+	}
+
+	/** Benchmark export time and allocation */
+	public void testExport() throws IOException {
+		Device[] devs = new Device[N_DEVICES];
+		for (int i = 0; i < N_DEVICES; i++)
+			devs[i] = new Device(i);
+		for (int i = 0; i < 5; i++) {
+			long n = writeAll(devs, false);
+			assertTrue(n == writeAll(devs, true));
+		}
+		long a0 = allocatedBytes();
+		long t0 = System.nanoTime();
+		for (int i = 0; i < 10; i++)
+			writeAll(devs, false);
+		long t1 = System.nanoTime();
+		long a1 = allocatedBytes();
+		for (int i = 0; i < 10; i++)
+			writeAll(devs, true);
+		long t2 = System.nanoTime();
+		long a2 = allocatedBytes();
+		System.err.println("XmlFragment: " + N_DEVICES +
+			" elements, createAttribute " + (t1 - t0) / 10000 +
+			" us, " + (a1 - a0) / 10240 + " KB; cached " +
+			(t2 - t1) / 10000 + " us, " + (a2 - a1) / 10240 +
+			" KB");
+	}
+}
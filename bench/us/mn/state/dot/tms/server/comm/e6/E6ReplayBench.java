@@ -0,0 +1,96 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.e6;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.server.comm.MessengerException;
+import us.mn.state.dot.tms.utils.HexString;
+import static us.mn.state.dot.tms.server.comm.e6.E6ReplayTest.*;
+
+/**
+ * E6 packet replay benchmark.  Packets are replayed from an "e6_pkt" debug
+ * log (set with the e6.replay.log property), or from a synthetic log of 6C
+ * tag reads, to a real E6 thread on the shared receiver.
+ *
+ * @author Douglas Lau
+ */
+public class E6ReplayBench extends TestCase {
+
+	/** Number of synthetic packets */
+	static private final int N_PACKETS = 20000;
+
+	/** Create a synthetic packet log (in e6_pkt debug log format) */
+	static private ArrayList<String> createLog() {
+		ArrayList<String> log = new ArrayList<String>();
+		for (int i = 0; i < N_PACKETS; i++) {
+			String hex = HexString.format(create6CPacket(i), ':');
+			log.add("rx/127.0.0.1:5000 " + hex +
+				" MODE COMMAND_COMPLETE");
+		}
+		return log;
+	}
+
+	/** Read a captured packet log */
+	static private ArrayList<String> readLog(String path)
+		throws IOException
+	{
+		ArrayList<String> log = new ArrayList<String>();
+		try (BufferedReader r = new BufferedReader(
+			new FileReader(path)))
+		{
+			String line;
+			while ((line = r.readLine()) != null)
+				log.add(line);
+		}
+		return log;
+	}
+
+	/** Parse received packets from a packet log */
+	static private ArrayList<byte[]> parseLog(ArrayList<String> log) {
+		ArrayList<byte[]> pkts = new ArrayList<byte[]>();
+		for (String line: log) {
+			int i = line.indexOf("rx");
+			if (i < 0)
+				continue;
+			String[] f = line.substring(i).split(" ");
+			if (f.length > 1) {
+				String hex = f[1].replace(":", "");
+				pkts.add(HexString.parse(hex));
+			}
+		}
+		return pkts;
+	}
+
+	/** Benchmark replay of a packet log */
+	public void testReplay() throws IOException, MessengerException {
+		String path = System.getProperty("e6.replay.log");
+		ArrayList<String> log = (path != null)
+		                      ? readLog(path)
+		                      : createLog();
+		ArrayList<byte[]> pkts = parseLog(log);
+		replay(pkts);
+		long t0 = System.nanoTime();
+		int n_acks = replay(pkts);
+		long t1 = System.nanoTime();
+		long us = Math.max(1, (t1 - t0) / 1000);
+		System.err.println("E6Replay: " + pkts.size() + " packets, " +
+			n_acks + " acks, " + (pkts.size() * 1000000L / us) +
+			" packets/sec");
+	}
+}
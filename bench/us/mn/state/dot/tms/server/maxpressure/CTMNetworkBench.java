@@ -0,0 +1,57 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.maxpressure;
+
+import java.io.IOException;
+import java.util.Random;
+import junit.framework.TestCase;
+import static us.mn.state.dot.tms.server.maxpressure.CTMNetworkTest.*;
+
+/**
+ * Cell transmission model benchmark
+ *
+ * @author Douglas Lau
+ */
+public class CTMNetworkBench extends TestCase {
+
+	/** Number of steps for link benchmark */
+	static private final int STEPS = 100000;
+
+	/** Benchmark replay of a day of archived samples */
+	public void testReplay() throws IOException {
+		CTMNetwork net = createNetwork(new Random(11));
+		long t = System.nanoTime();
+		for (int i = 1; i <= SAMPLES_PER_DAY; i++) {
+			net.simulateLastTimestep(MIDNIGHT + i * PERIOD_MS,
+				PERIOD_MS);
+			net.getUpstreamWeight(false);
+			net.getDownstreamWeight(false);
+		}
+		long replay_us = (System.nanoTime() - t) / 1000;
+		System.err.println("CTMNetwork: replay day " + replay_us +
+			" us");
+	}
+
+	/** Benchmark cell store against the per-cell object model */
+	public void testStep() {
+		CTMLink link = createLink(20, 3);
+		RefLink ref = new RefLink(link);
+		stepBoth(link, ref, 20000, 5);
+		long[] ns = stepBoth(link, ref, STEPS, 6);
+		System.err.println("CTMNetwork: " + link.getNumCells() +
+			" cells, store " + ns[0] / STEPS + " ns/step, " +
+			"objects " + ns[1] / STEPS + " ns/step");
+	}
+}
@@ -1,6 +1,6 @@
 /*
  * SONAR -- Simple Object Notification And Replication
- * Copyright (C) 2006-2017  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -90,4 +90,9 @@ abstract public class Conduit {
 	public void doShow(List<String> p) throws SonarException {
 		throw ProtocolError.invalidMessageCode();
 	}
+
+	/** Start compressed mode */
+	public void doCompress(List<String> p) throws SonarException {
+		throw ProtocolError.invalidMessageCode();
+	}
 }
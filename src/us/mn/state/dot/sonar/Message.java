@@ -1,6 +1,6 @@
 /*
  * SONAR -- Simple Object Notification And Replication
- * Copyright (C) 2006-2017  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -100,6 +100,13 @@ public enum Message {
 		throws SonarException
 	{
 		c.doShow(p);
+	}},
+
+	/** Start compressed mode */
+	COMPRESS('z') { public void handle(Conduit c, List<String> p)
+		throws SonarException
+	{
+		c.doCompress(p);
 	}};
 
 	/** Message code */
@@ -14,13 +14,15 @@
  */
 package us.mn.state.dot.sonar;
 
-import java.io.InputStreamReader;
 import java.io.IOException;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
 /**
  * A message decoder provides a Java API for decoding messages from the SONAR
@@ -33,17 +35,27 @@ public class MessageDecoder {
 	/** Everything on the wire is encoded to UTF-8 */
 	static private final Charset UTF8 = Charset.forName("UTF-8");
 
+	/** Size of buffer for inflated data */
+	static private final int INFLATE_SIZE = 1 << 14;
+
 	/** Byte buffer to store incoming SONAR data */
 	private final ByteBuffer app_in;
 
-	/** Byte buffer input stream */
-	private final ByteBufferInputStream in_buf;
+	/** Inflater for compressed mode (null if not compressed) */
+	private Inflater inflater;
+
+	/** Buffer for data copied from app_in to the inflater */
+	private byte[] inflate_in = new byte[0];
+
+	/** Buffer for inflated data */
+	private final ByteBuffer inflated = ByteBuffer.allocate(INFLATE_SIZE);
 
-	/** Char reader input stream */
-	private InputStreamReader reader;
+	/** Buffer to build decoded parameters (UTF-8 bytes).  Separators are
+	 * ASCII, so they never appear within a multi-byte character. */
+	private byte[] m_buf = new byte[256];
 
-	/** String builder to build decoded parameters */
-	private final StringBuilder m_buf = new StringBuilder();
+	/** Number of bytes in parameter buffer */
+	private int m_len = 0;
 
 	/** List of decoded parameters */
 	private ArrayList<String> params = new ArrayList<String>();
@@ -51,43 +63,115 @@ public class MessageDecoder {
 	/** Create a new SONAR message decoder */
 	public MessageDecoder(ByteBuffer in) throws IOException {
 		app_in = in;
-		in_buf = new ByteBufferInputStream(in);
-		reader = new InputStreamReader(in_buf, UTF8);
+	}
+
+	/** Start decompressing all subsequent data.  This must be called
+	 * immediately after decoding the message which started compressed
+	 * mode; any data following it is compressed. */
+	public void startInflate() {
+		inflater = new Inflater();
+	}
+
+	/** Stop compressed mode, releasing the inflater.  This must be called
+	 * when the conduit is closed. */
+	public void stopInflate() {
+		if (inflater != null) {
+			inflater.end();
+			inflater = null;
+		}
+	}
+
+	/** Check if compressed mode is active */
+	public boolean isInflating() {
+		return inflater != null;
 	}
 
 	/** Complete the current parameter */
 	private void completeParameter() {
-		params.add(m_buf.toString());
-		m_buf.setLength(0);
+		params.add(new String(m_buf, 0, m_len, UTF8));
+		m_len = 0;
+	}
+
+	/** Append one byte to the current parameter */
+	private void appendByte(byte b) {
+		if (m_len == m_buf.length)
+			m_buf = Arrays.copyOf(m_buf, m_len * 2);
+		m_buf[m_len++] = b;
 	}
 
 	/** Decode messages */
 	public List<String> decode() throws IOException {
 		try {
 			((Buffer) app_in).flip();
-			return _decode();
+			if (inflater != null)
+				return decodeInflated();
+			else
+				return _decode(app_in);
 		}
 		finally {
 			app_in.compact();
 		}
 	}
 
-	/** Decode messages */
-	private List<String> _decode() throws IOException {
-		while (reader.ready()) {
-			int ch = reader.read();
-			if (ch < 0)
-				break;
-			char c = (char) ch;
-			if (Message.RECORD_SEP.code == c) {
+	/** Decode compressed messages */
+	private List<String> decodeInflated() throws IOException {
+		while (true) {
+			((Buffer) inflated).flip();
+			try {
+				List<String> p = _decode(inflated);
+				if (p != null)
+					return p;
+			}
+			finally {
+				inflated.compact();
+			}
+			if (!inflate())
+				return null;
+		}
+	}
+
+	/** Inflate data from app_in.
+	 * @return true if any data was inflated. */
+	private boolean inflate() throws IOException {
+		if (inflater.needsInput()) {
+			int n = app_in.remaining();
+			if (n == 0)
+				return false;
+			if (inflate_in.length < n)
+				inflate_in = new byte[n];
+			app_in.get(inflate_in, 0, n);
+			inflater.setInput(inflate_in, 0, n);
+		}
+		try {
+			int n = inflater.inflate(inflated.array(),
+				inflated.position(), inflated.remaining());
+			((Buffer) inflated).position(inflated.position() + n);
+			if (n > 0 || !inflated.hasRemaining())
+				return true;
+			if (inflater.needsInput())
+				return false;
+			// No progress with input and output space available
+			// (finished stream, dictionary needed, etc.)
+			throw new IOException("Inflate: bad stream");
+		}
+		catch (DataFormatException e) {
+			throw new IOException("Inflate: " + e.getMessage());
+		}
+	}
+
+	/** Decode one message from a buffer */
+	private List<String> _decode(ByteBuffer buf) {
+		while (buf.hasRemaining()) {
+			byte b = buf.get();
+			if (Message.RECORD_SEP.code == b) {
 				completeParameter();
 				List<String> p = params;
 				params = new ArrayList<String>();
 				return p;
-			} else if (Message.UNIT_SEP.code == c)
+			} else if (Message.UNIT_SEP.code == b)
 				completeParameter();
 			else
-				m_buf.append(c);
+				appendByte(b);
 		}
 		return null;
 	}
@@ -1,6 +1,6 @@
 /*
  * SONAR -- Simple Object Notification And Replication
- * Copyright (C) 2006-2013  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -18,6 +18,8 @@ import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 
 /**
  * A message encoder provides a Java API for encoding messages to the SONAR
@@ -39,8 +41,18 @@ public class MessageEncoder {
 	/** Byte buffer output stream */
 	protected final ByteBufferOutputStream out_buf;
 
+	/** Size of deflate buffer */
+	static private final int DEFLATE_SIZE = 1 << 14;
+
 	/** Char writer output stream */
-	protected final OutputStreamWriter writer;
+	protected OutputStreamWriter writer;
+
+	/** Deflater for compressed mode (null if not compressed) */
+	private Deflater deflater;
+
+	/** Number of characters encoded since last flush.  These may be
+	 * held by the writer or deflater, and not yet in the buffer. */
+	private int n_pending = 0;
 
 	/** Create a new SONAR message encoder */
 	public MessageEncoder(int n_bytes) throws IOException {
@@ -66,22 +78,55 @@ public class MessageEncoder {
 		throws IOException
 	{
 		writer.write(m.code);
+		n_pending += 2;
 		if(name != null) {
 			writer.write(Message.UNIT_SEP.code);
 			writer.write(name);
+			n_pending += name.length() + 1;
 			if(params != null) {
 				for(String p: params) {
 					writer.write(Message.UNIT_SEP.code);
 					writer.write(stripString(p));
+					n_pending += p.length() + 1;
 				}
 			}
 		}
 		writer.write(Message.RECORD_SEP.code);
 	}
 
+	/** Start compressing all subsequent data.  Data encoded before this
+	 * call is flushed uncompressed.  Every later flush is a deflate
+	 * "sync flush", so the peer can decode all complete messages.
+	 * This may only be called on the Task Processor thread. */
+	public void startDeflate() throws IOException {
+		if (null == deflater) {
+			writer.flush();
+			deflater = new Deflater(Deflater.BEST_SPEED);
+			DeflaterOutputStream dos = new DeflaterOutputStream(
+				out_buf, deflater, DEFLATE_SIZE, true);
+			writer = new OutputStreamWriter(dos, UTF8);
+		}
+	}
+
+	/** Stop compressed mode, releasing the deflater.  Any unflushed data
+	 * is discarded.  This must be called when the conduit is closed. */
+	public void stopDeflate() {
+		if (deflater != null) {
+			deflater.end();
+			deflater = null;
+			writer = new OutputStreamWriter(out_buf, UTF8);
+		}
+	}
+
+	/** Check if compressed mode is active */
+	public boolean isDeflating() {
+		return deflater != null;
+	}
+
 	/** Flush the encoded data */
 	public void flush() throws IOException {
 		writer.flush();
+		n_pending = 0;
 	}
 
 	/** Get the current output buffer */
@@ -89,6 +134,13 @@ public class MessageEncoder {
 		return out_buf.getBuffer();
 	}
 
+	/** Get the number of bytes encoded.  Data not yet flushed to the
+	 * buffer is counted uncompressed (one byte per character), since a
+	 * deflater can hold a lot of input before writing any output. */
+	public int getEncodedBytes() {
+		return getBuffer().position() + n_pending;
+	}
+
 	/** Check if there is any encoded data */
 	public boolean hasData() {
 		return getBuffer().position() > 0;
@@ -1,6 +1,6 @@
 /*
  * SONAR -- Simple Object Notification And Replication
- * Copyright (C) 2006-2025  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -16,6 +16,7 @@ package us.mn.state.dot.sonar;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.sql.SQLException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -24,6 +25,7 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import org.postgis.MultiPolygon;
 import us.mn.state.dot.tms.Hashtags;
 import us.mn.state.dot.tms.Permission;
@@ -82,6 +84,264 @@ abstract public class Namespace {
 		return (Object []) Array.newInstance(t, size);
 	}
 
+	/** Marshaller for values of one java type */
+	static public interface Marshaller {
+
+		/** Marshall a value into a parameter value string */
+		String marshall(Object v);
+	}
+
+	/** Unmarshaller for values of one java type */
+	static public interface Unmarshaller {
+
+		/** Unmarshall a parameter value string (not NULL_STR) */
+		Object unmarshall(String p) throws ProtocolError;
+	}
+
+	/** Marshaller for SONAR objects */
+	static private final Marshaller NAME_MARSHALLER = new Marshaller() {
+		public String marshall(Object v) {
+			return (v != null)
+			      ? ((SonarObject) v).getName()
+			      : NULL_STR;
+		}
+	};
+
+	/** Marshaller for dates */
+	static private final Marshaller DATE_MARSHALLER = new Marshaller() {
+		public String marshall(Object v) {
+			return (v != null) ? iso8601.format(v) : NULL_STR;
+		}
+	};
+
+	/** Marshaller for types with no subclasses */
+	static private final Marshaller STRING_MARSHALLER = new Marshaller() {
+		public String marshall(Object v) {
+			return (v != null) ? v.toString() : NULL_STR;
+		}
+	};
+
+	/** Unmarshaller for strings */
+	static private final Unmarshaller STRING = new Unmarshaller() {
+		public Object unmarshall(String p) {
+			return p;
+		}
+	};
+
+	/** Unmarshaller for integers */
+	static private final Unmarshaller INTEGER = new Unmarshaller() {
+		public Object unmarshall(String p) throws ProtocolError {
+			try {
+				return Integer.valueOf(p);
+			}
+			catch (NumberFormatException e) {
+				throw ProtocolError.invalidParameter(p);
+			}
+		}
+	};
+
+	/** Unmarshaller for shorts */
+	static private final Unmarshaller SHORT = new Unmarshaller() {
+		public Object unmarshall(String p) throws ProtocolError {
+			try {
+				return Short.valueOf(p);
+			}
+			catch (NumberFormatException e) {
+				throw ProtocolError.invalidParameter(p);
+			}
+		}
+	};
+
+	/** Unmarshaller for booleans */
+	static private final Unmarshaller BOOLEAN = new Unmarshaller() {
+		public Object unmarshall(String p) {
+			return Boolean.valueOf(p);
+		}
+	};
+
+	/** Unmarshaller for floats */
+	static private final Unmarshaller FLOAT = new Unmarshaller() {
+		public Object unmarshall(String p) throws ProtocolError {
+			try {
+				return Float.valueOf(p);
+			}
+			catch (NumberFormatException e) {
+				throw ProtocolError.invalidParameter(p);
+			}
+		}
+	};
+
+	/** Unmarshaller for longs */
+	static private final Unmarshaller LONG = new Unmarshaller() {
+		public Object unmarshall(String p) throws ProtocolError {
+			try {
+				return Long.valueOf(p);
+			}
+			catch (NumberFormatException e) {
+				throw ProtocolError.invalidParameter(p);
+			}
+		}
+	};
+
+	/** Unmarshaller for doubles */
+	static private final Unmarshaller DOUBLE = new Unmarshaller() {
+		public Object unmarshall(String p) throws ProtocolError {
+			try {
+				return Double.valueOf(p);
+			}
+			catch (NumberFormatException e) {
+				throw ProtocolError.invalidParameter(p);
+			}
+		}
+	};
+
+	/** Unmarshaller for lists */
+	static private final Unmarshaller LIST = new Unmarshaller() {
+		public Object unmarshall(String p) {
+			return Arrays.asList(p);
+		}
+	};
+
+	/** Unmarshaller for dates */
+	static private final Unmarshaller DATE = new Unmarshaller() {
+		public Object unmarshall(String p) throws ProtocolError {
+			try {
+				return iso8601.parse(p);
+			}
+			catch (ParseException e) {
+				throw ProtocolError.invalidParameter(p);
+			}
+		}
+	};
+
+	/** Unmarshaller for multipolygons */
+	static private final Unmarshaller MULTI_POLYGON = new Unmarshaller() {
+		public Object unmarshall(String p) throws ProtocolError {
+			try {
+				return new MultiPolygon(p);
+			}
+			catch (SQLException e) {
+				throw ProtocolError.invalidParameter(p);
+			}
+		}
+	};
+
+	/** Unmarshaller for invalid types */
+	static private final Unmarshaller INVALID = new Unmarshaller() {
+		public Object unmarshall(String p) throws ProtocolError {
+			throw ProtocolError.invalidParameter(p);
+		}
+	};
+
+	/** Get the marshaller for a java type.  Values of the type must not
+	 * require a different marshaller based on their run-time class. */
+	static public Marshaller marshaller(Class t) {
+		if (SonarObject.class.isAssignableFrom(t))
+			return NAME_MARSHALLER;
+		else if (Date.class.isAssignableFrom(t))
+			return DATE_MARSHALLER;
+		else if (t.isPrimitive() || Modifier.isFinal(t.getModifiers()))
+			return STRING_MARSHALLER;
+		else
+			return null;
+	}
+
+	/** Mapping of java types to unmarshallers */
+	private final ConcurrentHashMap<Class, Unmarshaller> unmarshallers =
+		new ConcurrentHashMap<Class, Unmarshaller>();
+
+	/** Get the unmarshaller for a java type */
+	public Unmarshaller unmarshaller(Class t) {
+		Unmarshaller u = unmarshallers.get(t);
+		if (null == u) {
+			u = createUnmarshaller(t);
+			unmarshallers.put(t, u);
+		}
+		return u;
+	}
+
+	/** Create an unmarshaller for a java type */
+	private Unmarshaller createUnmarshaller(Class t) {
+		if (t == String.class)
+			return STRING;
+		else if (t == Integer.TYPE || t == Integer.class)
+			return INTEGER;
+		else if (t == Short.TYPE || t == Short.class)
+			return SHORT;
+		else if (t == Boolean.TYPE || t == Boolean.class)
+			return BOOLEAN;
+		else if (t == Float.TYPE || t == Float.class)
+			return FLOAT;
+		else if (t == Long.TYPE || t == Long.class)
+			return LONG;
+		else if (t == Double.TYPE || t == Double.class)
+			return DOUBLE;
+		else if (t == List.class || t == ArrayList.class)
+			return LIST;
+		else if (t == Date.class)
+			return DATE;
+		else if (t == MultiPolygon.class)
+			return MULTI_POLYGON;
+		else if (SonarObject.class.isAssignableFrom(t))
+			return new ObjectUnmarshaller(t);
+		else
+			return INVALID;
+	}
+
+	/** Unmarshaller for SONAR object references */
+	private final class ObjectUnmarshaller implements Unmarshaller {
+
+		/** SONAR object type */
+		private final Class type;
+
+		/** Possible SONAR type names */
+		private final String[] tnames;
+
+		/** Create an object unmarshaller */
+		private ObjectUnmarshaller(Class t) {
+			type = t;
+			tnames = lookupTypeNames(t);
+		}
+
+		/** Unmarshall a SONAR object reference */
+		public Object unmarshall(String p) throws ProtocolError {
+			if (null == tnames) {
+				System.err.println("SONAR: SONAR_TYPE and " +
+					"SONAR_TYPES not defined for " + type);
+				throw ProtocolError.invalidParameter(p);
+			}
+			if (tnames.length == 1)
+				return lookupObject(tnames[0], p);
+			for (String typ: tnames) {
+				Object o = lookupObject(typ, p);
+				if (o != null)
+					return o;
+			}
+			return null;
+		}
+	}
+
+	/** Lookup possible SONAR type names for a class.
+	 * @return Type names, or null if not defined. */
+	static private String[] lookupTypeNames(Class t) {
+		try {
+			return new String[] { typeName(t) };
+		}
+		catch (NoSuchFieldException e) {
+			try {
+				return typeNames(t);
+			}
+			catch (NoSuchFieldException
+			     | IllegalAccessException e2)
+			{
+				return null;
+			}
+		}
+		catch (IllegalAccessException e) {
+			return null;
+		}
+	}
+
 	/** Marshall a java object into a parameter value string */
 	public String marshall(Object v) {
 		if (v instanceof SonarObject) {
@@ -109,81 +369,22 @@ abstract public class Namespace {
 
 	/** Unmarshall a parameter value string into a java object   */
 	public Object unmarshall(Class t, String p) throws ProtocolError {
-		if (NULL_STR.equals(p))
-			return null;
-		if (t == String.class)
-			return p;
-		try {
-			if (t == Integer.TYPE || t == Integer.class)
-				return Integer.valueOf(p);
-			else if (t == Short.TYPE || t == Short.class)
-				return Short.valueOf(p);
-			else if (t == Boolean.TYPE || t == Boolean.class)
-				return Boolean.valueOf(p);
-			else if (t == Float.TYPE || t == Float.class)
-				return Float.valueOf(p);
-			else if (t == Long.TYPE || t == Long.class)
-				return Long.valueOf(p);
-			else if (t == Double.TYPE || t == Double.class)
-				return Double.valueOf(p);
-			else if (t == List.class || t == ArrayList.class)
-				return Arrays.asList(p);
-			else if (t == Date.class)
-				return iso8601.parse(p);
-			else if (t == MultiPolygon.class)
-				return new MultiPolygon(p);
-		}
-		catch (NumberFormatException|SQLException|ParseException e) {
-			throw ProtocolError.invalidParameter(p);
-		}
-		if (SonarObject.class.isAssignableFrom(t))
-			return unmarshallObject(t, p);
-		else {
-			throw ProtocolError.invalidParameter(p);
-		}
+		return unmarshall(unmarshaller(t), p);
 	}
 
-	/** Unmarshall a SONAR object reference */
-	private Object unmarshallObject(Class t, String p)
+	/** Unmarshall a parameter value string with an unmarshaller */
+	static public Object unmarshall(Unmarshaller u, String p)
 		throws ProtocolError
 	{
-		try {
-			return unmarshallObjectB(t, p);
-		}
-		catch (NoSuchFieldException e) {
-			System.err.println("SONAR: SONAR_TYPE and " +
-				"SONAR_TYPES not defined for " + t);
-			throw ProtocolError.invalidParameter(p);
-		}
-		catch (Exception e) {
-			System.err.println("SONAR: unmarshall \"" + p +
-				"\": " + e.getMessage());
-			throw ProtocolError.invalidParameter(p);
-		}
-	}
-
-	/** Unmarshall a SONAR object reference */
-	private Object unmarshallObjectB(Class t, String p)
-		throws NoSuchFieldException, IllegalAccessException
-	{
-		try {
-			return lookupObject(typeName(t), p);
-		}
-		catch (NoSuchFieldException e) {
-			for (String typ: typeNames(t)) {
-				Object o = lookupObject(typ, p);
-				if (o != null)
-					return o;
-			}
-			return null;
-		}
+		return NULL_STR.equals(p) ? null : u.unmarshall(p);
 	}
 
 	/** Unmarshall parameter strings into one java parameter */
 	public Object unmarshall(Class t, String[] v) throws ProtocolError {
-		if (t.isArray())
-			return unmarshallArray(t.getComponentType(), v);
-		else {
+		if (t.isArray()) {
+			Class ct = t.getComponentType();
+			return unmarshallArray(ct, unmarshaller(ct), v);
+		} else {
 			if (v.length != 1)
 				throw ProtocolError.wrongParameterCount();
 			return unmarshall(t, v[0]);
@@ -191,12 +392,12 @@ abstract public class Namespace {
 	}
 
 	/** Unmarshall parameter strings into a java array parameter */
-	private Object[] unmarshallArray(Class t, String[] v)
-		throws ProtocolError
+	static public Object[] unmarshallArray(Class t, Unmarshaller u,
+		String[] v) throws ProtocolError
 	{
 		Object[] values = makeArray(t, v.length);
 		for (int i = 0; i < v.length; i++)
-			values[i] = unmarshall(t, v[i]);
+			values[i] = unmarshall(u, v[i]);
 		return values;
 	}
 
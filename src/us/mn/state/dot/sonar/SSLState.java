@@ -203,6 +203,15 @@ public class SSLState {
 		return encoder.hasData() && canWrite();
 	}
 
+	/** Get the number of bytes buffered for writing to the network.
+	 * This may only be called on the Task Processor thread. */
+	public int getBufferedBytes() {
+		int n_bytes = encoder.getEncodedBytes();
+		synchronized (net_out) {
+			return n_bytes + net_out.position();
+		}
+	}
+
 	/** Check if data can be written to network buffer */
 	public boolean canWrite() {
 		synchronized (net_out) {
@@ -49,10 +49,13 @@ class ClientConduit extends Conduit {
 	/** Wait up to 20 seconds for login */
 	static private final long LOGIN_MS = 20000;
 
+	/** Compression method for COMPRESS messages */
+	static private final String DEFLATE = "deflate";
+
 	/** Define the set of valid messages from the server */
 	static private final EnumSet<Message> MESSAGES = EnumSet.of(
 		Message.QUIT, Message.OBJECT, Message.REMOVE, Message.ATTRIBUTE,
-		Message.TYPE, Message.SHOW);
+		Message.TYPE, Message.SHOW, Message.COMPRESS);
 
 	/** Lookup a message from the specified message code */
 	static private Message lookupMessage(char code) throws ProtocolError {
@@ -122,6 +125,13 @@ class ClientConduit extends Conduit {
 	/** Flag to determine if login was accepted */
 	private boolean loggedIn = false;
 
+	/** Flag to indicate server supports protocol extensions */
+	private boolean extended = false;
+
+	/** Flag to request compressed mode after login (if the server
+	 * supports protocol extensions) */
+	private final boolean compression;
+
 	/** Flag to indicate disposed */
 	private boolean disposed = false;
 
@@ -148,6 +158,13 @@ class ClientConduit extends Conduit {
 		state = new SSLState(this, Security.createContext(props),
 			props, true);
 		namespace = new ClientNamespace();
+		String dir = props.getProperty("sonar.cache.dir");
+		if (dir != null) {
+			namespace.setSnapshotStore(SnapshotStore.create(dir,
+				Props.getProp(props, "sonar.host")));
+		}
+		compression = !"false".equals(props.getProperty(
+			"sonar.compression"));
 		handler = h;
 		connected = false;
 	}
@@ -215,7 +232,10 @@ class ClientConduit extends Conduit {
 		super.disconnect();
 		closeChannel();
 		closeSelector();
+		state.encoder.stopDeflate();
+		state.decoder.stopInflate();
 		loggedIn = false;
+		extended = false;
 	}
 
 	/** Close the channel */
@@ -323,17 +343,49 @@ class ClientConduit extends Conduit {
 	/** Process a TYPE message from the server */
 	@Override
 	public void doType(List<String> p) throws SonarException {
-		if (p.size() > 2)
+		if (p.size() > 4 || p.size() == 3)
 			throw ProtocolError.wrongParameterCount();
-		if (p.size() > 1)
+		if (p.size() > 1) {
+			// Empty type name before login advertises extensions
+			if (!loggedIn && p.get(1).isEmpty())
+				extended = true;
 			namespace.setCurrentType(p.get(1));
-		else {
+			// Resync token and delta flag
+			if (p.size() > 2) {
+				namespace.startResync(p.get(1), p.get(2),
+					"d".equals(p.get(3)));
+			}
+		} else {
 			namespace.setCurrentType("");
 			loggedIn = true;
+			if (compression && extended)
+				requestCompression();
 			notifyLogin();
 		}
 	}
 
+	/** Request compressed mode from the server */
+	private void requestCompression() throws SonarException {
+		try {
+			state.encoder.encode(Message.COMPRESS, DEFLATE);
+			flush();
+		}
+		catch (IOException e) {
+			throw new SonarException(e.getMessage());
+		}
+	}
+
+	/** Process a COMPRESS message from the server.  All data following
+	 * the message is compressed. */
+	@Override
+	public void doCompress(List<String> p) throws SonarException {
+		if (p.size() != 2)
+			throw ProtocolError.wrongParameterCount();
+		if (!DEFLATE.equals(p.get(1)) || state.decoder.isInflating())
+			throw ProtocolError.invalidMessageCode();
+		state.decoder.startInflate();
+	}
+
 	/** Notify login success or failure */
 	private synchronized void notifyLogin() {
 		notify();
@@ -392,6 +444,7 @@ class ClientConduit extends Conduit {
 
 	/** Quit the SONAR session */
 	void quit() throws IOException {
+		namespace.saveSnapshots();
 		state.encoder.encode(Message.QUIT);
 		flush();
 	}
@@ -399,7 +452,15 @@ class ClientConduit extends Conduit {
 	/** Query all SONAR objects of the given type */
 	void queryAll(TypeCache tcache) throws IOException {
 		namespace.addType(tcache);
-		enumerateName(new Name(tcache.tname));
+		String tok = extended
+		          ? namespace.getResyncToken(tcache.tname)
+		          : null;
+		if (tok != null) {
+			state.encoder.encode(Message.ENUMERATE, tcache.tname,
+				new String[] { tok });
+			flush();
+		} else
+			enumerateName(new Name(tcache.tname));
 	}
 
 	/** Create the specified object name */
@@ -1,6 +1,6 @@
 /*
  * SONAR -- Simple Object Notification And Replication
- * Copyright (C) 2006-2024  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -47,6 +47,44 @@ public class ClientNamespace extends Namespace {
 	/** Current object */
 	protected SonarObject cur_obj = null;
 
+	/** Snapshot store (null if disabled) */
+	private SnapshotStore snapshots = null;
+
+	/** Set the snapshot store */
+	void setSnapshotStore(SnapshotStore s) {
+		snapshots = s;
+	}
+
+	/** Get the resync token for a type.
+	 * @return Resync token ("" if no snapshot), or null if disabled. */
+	String getResyncToken(String tname) {
+		if (snapshots != null) {
+			String tok = snapshots.lookup(tname).getToken();
+			return (tok != null) ? tok : "";
+		} else
+			return null;
+	}
+
+	/** Start a resync enumeration of a type.
+	 * @param tname Type name.
+	 * @param tok New resync token.
+	 * @param delta Flag indicating only changes will be enumerated. */
+	void startResync(String tname, String tok, boolean delta) {
+		TypeCache tc = types.get(tname);
+		if (snapshots != null && tc != null) {
+			TypeSnapshot ts = snapshots.lookup(tname);
+			if (delta)
+				ts.replay(tc);
+			ts.startEnumeration(tok, delta);
+		}
+	}
+
+	/** Save all type snapshots */
+	void saveSnapshots() {
+		if (snapshots != null)
+			snapshots.save();
+	}
+
 	/** Get the TypeCache for the current type */
 	private TypeCache getTypeCache() throws NamespaceError {
 		if (cur_type != null)
@@ -76,9 +114,17 @@ public class ClientNamespace extends Namespace {
 			Name name = new Name(n);
 			if (!name.isObject())
 				throw NamespaceError.nameInvalid(name);
-			cur_obj = getTypeCache(name).add(name.getObjectPart());
-		} else
+			TypeCache t = getTypeCache(name);
+			cur_obj = t.add(name.getObjectPart());
+			if (snapshots != null) {
+				snapshots.lookup(t.tname).putObject(
+					name.getObjectPart());
+			}
+		} else {
 			cur_obj = getTypeCache().add(n);
+			if (snapshots != null)
+				snapshots.lookup(cur_type.tname).putObject(n);
+		}
 	}
 
 	/** Remove an object from the cache */
@@ -87,9 +133,21 @@ public class ClientNamespace extends Namespace {
 			Name name = new Name(n);
 			if (!name.isObject())
 				throw NamespaceError.nameInvalid(name);
-			getTypeCache(name).remove(name.getObjectPart());
+			removeObject(getTypeCache(name), name.getObjectPart());
 		} else
-			getTypeCache().remove(n);
+			removeObject(getTypeCache(), n);
+	}
+
+	/** Remove an object from a type cache */
+	private void removeObject(TypeCache t, String n) throws NamespaceError {
+		if (snapshots != null) {
+			snapshots.lookup(t.tname).removeObject(n);
+			// A delta resync can remove objects which were not in
+			// the replayed snapshot
+			if (t.lookupObject(n) == null)
+				return;
+		}
+		t.remove(n);
 	}
 
 	/** Update an object attribute */
@@ -113,14 +171,25 @@ public class ClientNamespace extends Namespace {
 	{
 		if (o == null)
 			throw NamespaceError.nameInvalid("No object");
+		TypeSnapshot ts = (snapshots != null)
+		                ? snapshots.lookup(t.tname)
+		                : null;
+		// Type cache uses the same strings as the snapshot
+		if (ts != null)
+			ts.share(v);
 		t.updateAttribute(o, a, v);
+		if (ts != null)
+			ts.updateAttribute(o.getName(), a, v);
 	}
 
 	/** Process a TYPE message from the server */
 	void setCurrentType(String t) throws NamespaceError {
 		if (t.equals("") || types.containsKey(t)) {
-			if (t.equals("") && cur_type != null)
+			if (t.equals("") && cur_type != null) {
 				cur_type.enumerationComplete();
+				if (snapshots != null)
+					snapshots.complete(cur_type.tname);
+			}
 			TypeCache tc = types.get(t);
 			cur_type = tc;
 			cur_obj = null;
@@ -0,0 +1,166 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar.client;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.HashMap;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.tms.utils.FileIO;
+
+/**
+ * A snapshot store keeps type snapshots in files within a directory, one
+ * file per type.  The directory is only accessible by the user, since
+ * snapshots contain attribute values.  All access must be on the client
+ * processor thread.
+ *
+ * @author Douglas Lau
+ */
+class SnapshotStore {
+
+	/** SONAR debug log */
+	static private final DebugLog DEBUG = new DebugLog("sonar");
+
+	/** Log a snapshot message */
+	static private void log(String msg) {
+		if (DEBUG.isOpen())
+			DEBUG.log("snapshot " + msg);
+	}
+
+	/** Create a snapshot store.
+	 * @param base Base directory (relative to user home directory).
+	 * @param host SONAR host name.
+	 * @return Snapshot store, or null if the directory is not usable. */
+	static public SnapshotStore create(String base, String host) {
+		File home = new File(System.getProperty("user.home"));
+		File b = new File(base);
+		if (!b.isAbsolute())
+			b = new File(home, base);
+		File d = new File(b, host);
+		try {
+			makePrivate(d.toPath(), home.toPath());
+			return new SnapshotStore(d);
+		}
+		catch (IOException | UnsupportedOperationException e) {
+			log("directory " + d + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	/** Create a directory which is only accessible by the user.  Without
+	 * POSIX permissions, it must be within the user home directory. */
+	static private void makePrivate(Path p, Path home) throws IOException {
+		Files.createDirectories(p);
+		if (Files.getFileStore(p).supportsFileAttributeView("posix")) {
+			Files.setPosixFilePermissions(p,
+				PosixFilePermissions.fromString("rwx------"));
+		} else if (!p.toAbsolutePath().startsWith(home))
+			throw new IOException("not in user home directory");
+	}
+
+	/** Directory for snapshot files */
+	private final File dir;
+
+	/** Snapshots of all types */
+	private final HashMap<String, TypeSnapshot> snapshots =
+		new HashMap<String, TypeSnapshot>();
+
+	/** Create a new snapshot store */
+	private SnapshotStore(File d) {
+		dir = d;
+	}
+
+	/** Get the snapshot file for a type */
+	private File getFile(String tname) {
+		return new File(dir, tname + ".snap");
+	}
+
+	/** Lookup the snapshot of a type, reading it from a file if needed */
+	public TypeSnapshot lookup(String tname) {
+		TypeSnapshot ts = snapshots.get(tname);
+		if (null == ts) {
+			ts = read(tname);
+			snapshots.put(tname, ts);
+		}
+		return ts;
+	}
+
+	/** Read a snapshot file */
+	private TypeSnapshot read(String tname) {
+		TypeSnapshot ts = new TypeSnapshot(tname);
+		File f = getFile(tname);
+		if (f.canRead()) {
+			try (DataInputStream dis = new DataInputStream(
+				new BufferedInputStream(
+				new FileInputStream(f))))
+			{
+				ts.read(dis);
+			}
+			catch (IOException e) {
+				log(tname + ": " + e.getMessage());
+				return new TypeSnapshot(tname);
+			}
+		}
+		return ts;
+	}
+
+	/** Complete an enumeration of a type, and save its snapshot.  Later
+	 * changes need not be saved, since a resync from the snapshot's
+	 * token will include them. */
+	public void complete(String tname) {
+		TypeSnapshot ts = lookup(tname);
+		ts.completeEnumeration();
+		save(ts);
+	}
+
+	/** Save all complete snapshots to files */
+	public void save() {
+		for (TypeSnapshot ts: snapshots.values())
+			save(ts);
+	}
+
+	/** Save a snapshot to a file, if it is complete */
+	private void save(TypeSnapshot ts) {
+		if (ts.getToken() != null) {
+			try {
+				write(ts);
+			}
+			catch (IOException e) {
+				log(ts.tname + ": " + e.getMessage());
+			}
+		}
+	}
+
+	/** Write a snapshot file */
+	private void write(TypeSnapshot ts) throws IOException {
+		File f = getFile(ts.tname);
+		File temp = new File(f.getAbsolutePath() + "~");
+		try (DataOutputStream dos = new DataOutputStream(
+			new BufferedOutputStream(new FileOutputStream(temp))))
+		{
+			ts.write(dos);
+		}
+		FileIO.atomicMove(temp.toPath(), f.toPath());
+	}
+}
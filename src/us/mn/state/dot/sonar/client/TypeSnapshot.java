@@ -0,0 +1,278 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar.client;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.sonar.SonarException;
+import us.mn.state.dot.sonar.SonarObject;
+
+/**
+ * A type snapshot contains the attribute values (as received on the wire)
+ * of all objects in one type cache, along with a resync token from the
+ * server.  It can be replayed into a type cache on a later login, so that
+ * only changes need to be enumerated.
+ *
+ * A delta enumeration only includes objects with attribute changes which
+ * were notified to clients (or set by a client).  Attributes which the
+ * server changes without notifying (setters which only store a value) are
+ * not safe to resync: just like a client which stays logged in, they are
+ * only refreshed by a full enumeration.  The server forces a full
+ * enumeration whenever it restarts, and the snapshot token expires
+ * MAX_AGE_MS after the last full enumeration, so stale values are never
+ * kept longer than that.
+ *
+ * Attribute values (and names) are shared with equal values in the
+ * snapshot, and the same arrays are given to the type cache, so string
+ * attributes are not duplicated in client memory.
+ *
+ * @author Douglas Lau
+ */
+class TypeSnapshot {
+
+	/** Snapshot file format version */
+	static private final int VERSION = 2;
+
+	/** Maximum age since last full enumeration (ms) */
+	static private final long MAX_AGE_MS = 8 * 60 * 60 * 1000;
+
+	/** Maximum length of a string in a snapshot file */
+	static private final int MAX_STRING = 1 << 24;
+
+	/** Write a string */
+	static private void writeString(DataOutputStream dos, String s)
+		throws IOException
+	{
+		byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		dos.writeInt(b.length);
+		dos.write(b);
+	}
+
+	/** Read a string */
+	static private String readString(DataInputStream dis)
+		throws IOException
+	{
+		int len = dis.readInt();
+		if (len < 0 || len > MAX_STRING)
+			throw new IOException("Invalid string length");
+		byte[] b = new byte[len];
+		dis.readFully(b);
+		return new String(b, StandardCharsets.UTF_8);
+	}
+
+	/** Type name */
+	public final String tname;
+
+	/** Resync token of complete snapshot (null if incomplete) */
+	private String token;
+
+	/** Resync token of enumeration in progress */
+	private String pending;
+
+	/** Flag indicating enumeration in progress is full */
+	private boolean pending_full;
+
+	/** Time of last complete full enumeration */
+	private long full_time;
+
+	/** Pool of attribute names and values */
+	private final HashMap<String, String> pool =
+		new HashMap<String, String>();
+
+	/** Attribute values for all objects */
+	private final LinkedHashMap<String, LinkedHashMap<String, String[]>>
+		objects = new LinkedHashMap<String,
+		LinkedHashMap<String, String[]>>();
+
+	/** Create a new type snapshot */
+	public TypeSnapshot(String t) {
+		tname = t;
+	}
+
+	/** Get the resync token.
+	 * @return Token, or null if snapshot is incomplete or expired. */
+	public String getToken() {
+		return getToken(TimeSteward.currentTimeMillis());
+	}
+
+	/** Get the resync token at a specified time.
+	 * @param now Current time (ms).
+	 * @return Token, or null if snapshot is incomplete or expired. */
+	String getToken(long now) {
+		return (now - full_time <= MAX_AGE_MS) ? token : null;
+	}
+
+	/** Get the number of objects in the snapshot */
+	public int size() {
+		return objects.size();
+	}
+
+	/** Get the attribute map for an object */
+	private LinkedHashMap<String, String[]> getAttributes(String oname) {
+		LinkedHashMap<String, String[]> attrs = objects.get(oname);
+		if (null == attrs) {
+			attrs = new LinkedHashMap<String, String[]>();
+			objects.put(oname, attrs);
+		}
+		return attrs;
+	}
+
+	/** Record an object */
+	public void putObject(String oname) {
+		getAttributes(oname);
+	}
+
+	/** Share a string with an equal one in the pool */
+	private String share(String s) {
+		String p = pool.get(s);
+		if (null == p) {
+			pool.put(s, s);
+			return s;
+		} else
+			return p;
+	}
+
+	/** Share attribute values with equal values in the snapshot.
+	 * @param v Attribute values, which are replaced in place.
+	 * @return The same array. */
+	public String[] share(String[] v) {
+		for (int i = 0; i < v.length; i++)
+			v[i] = share(v[i]);
+		return v;
+	}
+
+	/** Record an attribute value */
+	public void updateAttribute(String oname, String a, String[] v) {
+		getAttributes(oname).put(share(a), share(v));
+	}
+
+	/** Get a recorded attribute value */
+	String[] getAttribute(String oname, String a) {
+		LinkedHashMap<String, String[]> attrs = objects.get(oname);
+		return (attrs != null) ? attrs.get(a) : null;
+	}
+
+	/** Record an object removal */
+	public void removeObject(String oname) {
+		objects.remove(oname);
+	}
+
+	/** Start an enumeration.
+	 * @param tok New resync token.
+	 * @param delta Flag indicating only changes will be enumerated. */
+	public void startEnumeration(String tok, boolean delta) {
+		if (!delta) {
+			objects.clear();
+			pool.clear();
+		}
+		token = null;
+		pending = tok;
+		pending_full = !delta;
+	}
+
+	/** Complete an enumeration */
+	public void completeEnumeration() {
+		if (pending != null) {
+			token = pending;
+			pending = null;
+			if (pending_full)
+				full_time = TimeSteward.currentTimeMillis();
+		}
+	}
+
+	/** Replay all objects into a type cache */
+	@SuppressWarnings("unchecked")
+	public void replay(TypeCache tc) {
+		for (Map.Entry<String, LinkedHashMap<String, String[]>> e:
+		     objects.entrySet())
+		{
+			String oname = e.getKey();
+			SonarObject o = tc.getProxy(oname);
+			for (Map.Entry<String, String[]> av:
+			     e.getValue().entrySet())
+			{
+				try {
+					tc.updateAttribute(o, av.getKey(),
+						av.getValue());
+				}
+				catch (SonarException ex) {
+					// Attribute no longer exists
+				}
+			}
+			tc.add(oname);
+		}
+	}
+
+	/** Write a complete snapshot */
+	public void write(DataOutputStream dos) throws IOException {
+		dos.writeInt(VERSION);
+		writeString(dos, tname);
+		writeString(dos, token);
+		dos.writeLong(full_time);
+		dos.writeInt(objects.size());
+		for (Map.Entry<String, LinkedHashMap<String, String[]>> e:
+		     objects.entrySet())
+		{
+			writeString(dos, e.getKey());
+			dos.writeInt(e.getValue().size());
+			for (Map.Entry<String, String[]> av:
+			     e.getValue().entrySet())
+			{
+				writeString(dos, av.getKey());
+				String[] v = av.getValue();
+				dos.writeInt(v.length);
+				for (String s: v)
+					writeString(dos, s);
+			}
+		}
+	}
+
+	/** Read a complete snapshot */
+	public void read(DataInputStream dis) throws IOException {
+		if (dis.readInt() != VERSION)
+			throw new IOException("Invalid version");
+		if (!tname.equals(readString(dis)))
+			throw new IOException("Invalid type");
+		String tok = readString(dis);
+		long ft = dis.readLong();
+		objects.clear();
+		pool.clear();
+		int n_objs = dis.readInt();
+		for (int i = 0; i < n_objs; i++) {
+			LinkedHashMap<String, String[]> attrs = getAttributes(
+				readString(dis));
+			int n_attrs = dis.readInt();
+			for (int j = 0; j < n_attrs; j++) {
+				String a = share(readString(dis));
+				int n_vals = dis.readInt();
+				if (n_vals < 0 || n_vals > MAX_STRING)
+					throw new IOException("Invalid count");
+				String[] v = new String[n_vals];
+				for (int k = 0; k < n_vals; k++)
+					v[k] = share(readString(dis));
+				attrs.put(a, v);
+			}
+		}
+		token = tok;
+		full_time = ft;
+		pending = null;
+	}
+}
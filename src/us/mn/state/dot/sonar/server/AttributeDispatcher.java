@@ -1,6 +1,6 @@
 /*
  * SONAR -- Simple Object Notification And Replication
- * Copyright (C) 2006-2019  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,19 +14,26 @@
  */
 package us.mn.state.dot.sonar.server;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.HashMap;
 import us.mn.state.dot.sonar.Namespace;
+import us.mn.state.dot.sonar.ProtocolError;
 import us.mn.state.dot.sonar.SonarException;
 import us.mn.state.dot.sonar.SonarObject;
 
 /**
  * An attribute dispatcher is an adapter for SonarObjects. It provides
  * a pair of simple methods to set and get attributes of those objects.
+ * Accessors are looked up once per type, as method handles with typed
+ * marshallers, so no reflection is needed to get or set attributes.
  *
  * @author Douglas Lau
  */
@@ -41,8 +48,17 @@ public class AttributeDispatcher {
 	/** Alternate method name to destroy an object */
 	static private final String DO_DESTROY_METHOD = "doDestroy";
 
-	/** Empty array of parameters */
-	static private final Object[] NO_PARAMS = new Object[0];
+	/** Method handle lookup for accessors */
+	static private final MethodHandles.Lookup LOOKUP =
+		MethodHandles.lookup();
+
+	/** Method type for getters */
+	static private final MethodType GETTER_TYPE = MethodType.methodType(
+		Object.class, SonarObject.class);
+
+	/** Method type for setters */
+	static private final MethodType SETTER_TYPE = MethodType.methodType(
+		void.class, SonarObject.class, Object[].class);
 
 	/** Empty array of strings */
 	static private final String[] EMPTY_STRING = new String[0];
@@ -99,6 +115,99 @@ public class AttributeDispatcher {
 		return lookup_method(c, DO_STORE_METHOD);
 	}
 
+	/** Create a method handle for a method */
+	static private MethodHandle unreflect(Method m) {
+		try {
+			return LOOKUP.unreflect(m);
+		}
+		catch (IllegalAccessException e) {
+			m.setAccessible(true);
+			try {
+				return LOOKUP.unreflect(m);
+			}
+			catch (IllegalAccessException e2) {
+				throw new IllegalStateException(e2);
+			}
+		}
+	}
+
+	/** Wrap a throwable from an accessor in a SONAR exception */
+	static private SonarException accessorException(Throwable t) {
+		if (t instanceof Exception)
+			return new SonarException((Exception) t);
+		else
+			return new SonarException(
+				new InvocationTargetException(t));
+	}
+
+	/** Accessor to get an attribute value */
+	static private final class Getter {
+
+		/** Method handle, with GETTER_TYPE */
+		private final MethodHandle handle;
+
+		/** Marshaller for values (or array components), or null to
+		 * check the run-time class of each value */
+		private final Namespace.Marshaller marshaller;
+
+		/** Create a getter from a method */
+		private Getter(Method m) {
+			handle = unreflect(m).asType(GETTER_TYPE);
+			Class rt = m.getReturnType();
+			marshaller = Namespace.marshaller(rt.isArray()
+				? rt.getComponentType()
+				: rt);
+		}
+	}
+
+	/** Accessor to set an attribute value */
+	static private final class Setter {
+
+		/** Method handle, with SETTER_TYPE */
+		private final MethodHandle handle;
+
+		/** Parameter types */
+		private final Class[] p_types;
+
+		/** Unmarshallers for parameters (or array components) */
+		private final Namespace.Unmarshaller[] unmarshallers;
+
+		/** Create a setter from a method */
+		private Setter(Method m, Namespace ns) {
+			p_types = m.getParameterTypes();
+			handle = unreflect(m).asSpreader(Object[].class,
+				p_types.length).asType(SETTER_TYPE);
+			unmarshallers =
+				new Namespace.Unmarshaller[p_types.length];
+			for (int i = 0; i < p_types.length; i++) {
+				Class t = p_types[i];
+				// Array only allowed for single parameter
+				if (p_types.length == 1 && t.isArray())
+					t = t.getComponentType();
+				unmarshallers[i] = ns.unmarshaller(t);
+			}
+		}
+
+		/** Unmarshall parameter strings */
+		private Object[] unmarshall(String[] v) throws ProtocolError {
+			if (p_types.length == 1 && p_types[0].isArray()) {
+				Class ct = p_types[0].getComponentType();
+				return new Object[] {
+					Namespace.unmarshallArray(ct,
+						unmarshallers[0], v)
+				};
+			}
+			if (p_types.length != v.length)
+				throw ProtocolError.wrongParameterCount();
+			Object[] params = new Object[v.length];
+			for (int i = 0; i < params.length; i++) {
+				params[i] = Namespace.unmarshall(
+					unmarshallers[i], v[i]);
+			}
+			return params;
+		}
+	}
+
 	/** Lookup a method to destroy objects */
 	static private Method lookup_destroyer(Class c) {
 		Method m = lookup_method(c, DO_DESTROY_METHOD);
@@ -123,13 +232,13 @@ public class AttributeDispatcher {
 	/** Method to destroy an object */
 	private final Method destroyer;
 
-	/** Mapping of attribute names to setter methods */
-	private final HashMap<String, Method> setters =
-		new HashMap<String, Method>();
+	/** Mapping of attribute names to setters */
+	private final HashMap<String, Setter> setters =
+		new HashMap<String, Setter>();
 
-	/** Mapping of attribute names to getter methods */
-	private final HashMap<String, Method> getters =
-		new HashMap<String, Method>();
+	/** Mapping of attribute names to getters */
+	private final HashMap<String, Getter> getters =
+		new HashMap<String, Getter>();
 
 	/** Get an array of gettable attributes */
 	public String[] getGettableAttributes() {
@@ -181,16 +290,20 @@ public class AttributeDispatcher {
 	 * @param im Setter method from interface. */
 	private void lookup_setter(Method im) {
 		Method m = lookup__etter(im);
-		if (m != null)
-			setters.put(attribute_name(im.getName()), m);
+		if (m != null) {
+			setters.put(attribute_name(im.getName()),
+				new Setter(m, namespace));
+		}
 	}
 
 	/** Lookup a getter method.
 	 * @param im Getter method from interface. */
 	private void lookup_getter(Method im) {
 		Method m = lookup__etter(im);
-		if (m != null)
-			getters.put(attribute_name(im.getName()), m);
+		if (m != null) {
+			getters.put(attribute_name(im.getName()),
+				new Getter(m));
+		}
 	}
 
 	/** Lookup a setter or getter method.
@@ -278,10 +391,16 @@ public class AttributeDispatcher {
 	public void setValue(SonarObject o, String a, String[] v)
 		throws SonarException
 	{
-		Method m = setters.get(a);
-		if (m == null)
+		Setter s = setters.get(a);
+		if (s == null)
 			throw PermissionDenied.cannotWrite(a);
-		invoke(o, m, v);
+		Object[] params = s.unmarshall(v);
+		try {
+			s.handle.invokeExact(o, params);
+		}
+		catch (Throwable t) {
+			throw accessorException(t);
+		}
 	}
 
 	/** Lookup the named field from the given class */
@@ -323,17 +442,30 @@ public class AttributeDispatcher {
 	public String[] getValue(SonarObject o, String a)
 		throws SonarException
 	{
-		Method m = getters.get(a);
-		if (m == null)
+		Getter g = getters.get(a);
+		if (g == null)
 			throw PermissionDenied.cannotRead(a);
-		Object result = _invoke(o, m, NO_PARAMS);
+		Object result;
+		try {
+			result = (Object) g.handle.invokeExact(o);
+		}
+		catch (Throwable t) {
+			throw accessorException(t);
+		}
 		if (result instanceof Object[]) {
-			Object[] r = (Object [])result;
+			Object[] r = (Object []) result;
 			String[] res = new String[r.length];
 			for (int i = 0; i < r.length; i++)
-				res[i] = namespace.marshall(r[i]);
+				res[i] = marshall(g, r[i]);
 			return res;
 		} else
-			return new String[] { namespace.marshall(result) };
+			return new String[] { marshall(g, result) };
+	}
+
+	/** Marshall a value from a getter */
+	private String marshall(Getter g, Object v) {
+		return (g.marshaller != null)
+		      ? g.marshaller.marshall(v)
+		      : namespace.marshall(v);
 	}
 }
@@ -67,7 +67,7 @@ public class ConnectionImpl extends Conduit implements Connection {
 	static protected final EnumSet<Message> MESSAGES = EnumSet.of(
 		Message.LOGIN, Message.PASSWORD, Message.QUIT,
 		Message.ENUMERATE, Message.IGNORE, Message.OBJECT,
-		Message.REMOVE, Message.ATTRIBUTE);
+		Message.REMOVE, Message.ATTRIBUTE, Message.COMPRESS);
 
 	/** Lookup a message from the specified message code */
 	static protected Message lookupMessage(char code) throws ProtocolError {
@@ -77,6 +77,21 @@ public class ConnectionImpl extends Conduit implements Connection {
 		throw ProtocolError.invalidMessageCode();
 	}
 
+	/** Output budget (bytes).  While more than this is buffered for a
+	 * client, attribute updates are collapsed to the latest value for
+	 * each name instead of being encoded. */
+	static private final int OUTPUT_BUDGET = 1 << 22;
+
+	/** Output limit (bytes).  A client with more than this buffered is
+	 * disconnected, so it must resync when it reconnects. */
+	static private final int OUTPUT_LIMIT = 1 << 27;
+
+	/** Maximum number of collapsed attribute updates */
+	static private final int MAX_COLLAPSED = 1 << 16;
+
+	/** Compression method for COMPRESS messages */
+	static private final String DEFLATE = "deflate";
+
 	/** Random number generator for session IDs */
 	static protected final Random RAND = new Random();
 
@@ -157,6 +172,18 @@ public class ConnectionImpl extends Conduit implements Connection {
 	 * in the database. */
 	protected SonarObject phantom;
 
+	/** Output budget, with collapsed attribute updates waiting for
+	 * buffered output to drain.  This may only be accessed on the Task
+	 * Processor thread. */
+	private final OutputBudget budget = new OutputBudget(OUTPUT_BUDGET,
+		OUTPUT_LIMIT, MAX_COLLAPSED);
+
+	/** Count of attribute updates collapsed since last debug */
+	private int n_collapsed;
+
+	/** Peak buffered output since last debug (bytes) */
+	private int peak_buffered;
+
 	/** Create a new connection */
 	public ConnectionImpl(TaskProcessor p, SelectionKey k, SocketChannel c)
 		throws SSLException, IOException
@@ -227,6 +254,9 @@ public class ConnectionImpl extends Conduit implements Connection {
 		synchronized (watching) {
 			watching.clear();
 		}
+		budget.clear();
+		state.encoder.stopDeflate();
+		state.decoder.stopInflate();
 		processor.disconnect(skey);
 		try {
 			channel.close();
@@ -291,6 +321,7 @@ public class ConnectionImpl extends Conduit implements Connection {
 	 * This may only be called on the Task Processor thread. */
 	protected void notifyObject(SonarObject o) {
 		try {
+			encodeCollapsed(true);
 			namespace.enumerateObject(state.encoder, o);
 			flush();
 		}
@@ -324,6 +355,10 @@ public class ConnectionImpl extends Conduit implements Connection {
 	/** Notify the client of an attribute change.
 	 * This may only be called on the Task Processor thread. */
 	private void notifyAttribute(String name, String[] params) {
+		if (budget.shouldCollapse(getBufferedBytes())) {
+			collapseAttribute(name, params);
+			return;
+		}
 		try {
 			state.encoder.encode(Message.ATTRIBUTE, name, params);
 			flush();
@@ -333,6 +368,62 @@ public class ConnectionImpl extends Conduit implements Connection {
 		}
 	}
 
+	/** Collapse an attribute update, replacing any earlier value.
+	 * This may only be called on the Task Processor thread. */
+	private void collapseAttribute(String name, String[] params) {
+		if (budget.isEmpty())
+			debugBuffer("collapsing updates");
+		n_collapsed++;
+		if (!budget.collapse(name, params))
+			disconnect("Output budget exceeded");
+	}
+
+	/** Encode collapsed attribute updates.
+	 * This may only be called on the Task Processor thread.
+	 * @param all Encode all updates, even if over budget.
+	 * @return true if any updates were encoded. */
+	private boolean encodeCollapsed(boolean all) throws IOException {
+		boolean enc = (all)
+		      ? budget.encodeAll(state.encoder)
+		      : budget.drain(state.encoder, getBufferedBytes());
+		if (enc && budget.isEmpty())
+			debugBuffer("drained collapsed updates");
+		return enc;
+	}
+
+	/** Get the number of bytes buffered for the client.
+	 * This may only be called on the Task Processor thread. */
+	public int getBufferedBytes() {
+		return state.getBufferedBytes();
+	}
+
+	/** Log buffered output metrics, and reset peak.
+	 * This may only be called on the Task Processor thread. */
+	void debugBuffer() {
+		debugBuffer("peak " + peak_buffered + ", collapsed " +
+			n_collapsed + " (" + budget.size() + " pending)");
+		peak_buffered = 0;
+		n_collapsed = 0;
+	}
+
+	/** Log a buffered output message */
+	private void debugBuffer(String msg) {
+		if (TaskProcessor.DEBUG_BUFFER.isOpen()) {
+			TaskProcessor.DEBUG_BUFFER.log(getName() + ", " +
+				getUserName() + ": buffered " +
+				getBufferedBytes() + ", " + msg);
+		}
+	}
+
+	/** Check buffered output against the limit.
+	 * This may only be called on the Task Processor thread. */
+	private void checkBuffered() {
+		int n_bytes = getBufferedBytes();
+		peak_buffered = Math.max(peak_buffered, n_bytes);
+		if (budget.isOverLimit(n_bytes))
+			disconnect("Output limit exceeded");
+	}
+
 	/** Notify the client of a name being removed.
 	 * This may only be called on the Task Processor thread. */
 	void notifyRemove(Name name) {
@@ -346,6 +437,7 @@ public class ConnectionImpl extends Conduit implements Connection {
 	 * This may only be called on the Task Processor thread. */
 	protected void notifyRemove(String name) {
 		try {
+			encodeCollapsed(true);
 			state.encoder.encode(Message.REMOVE, name);
 			flush();
 		}
@@ -447,8 +539,14 @@ public class ConnectionImpl extends Conduit implements Connection {
 	public void flush() {
 		try {
 			state.encoder.flush();
-			if (isConnected())
+			if (isConnected()) {
 				startWrite();
+				if (encodeCollapsed(false)) {
+					state.encoder.flush();
+					startWrite();
+				}
+				checkBuffered();
+			}
 		}
 		catch (BufferOverflowException e) {
 			disconnect("Buffer overflow error");
@@ -481,6 +579,9 @@ public class ConnectionImpl extends Conduit implements Connection {
 	public void finishLogin(UserImpl u) {
 		try {
 			user = u;
+			// An empty type name advertises protocol extensions
+			// (resync tokens, compression); older clients ignore it
+			state.encoder.encode(Message.TYPE, "");
 			// The first TYPE message indicates a successful login
 			state.encoder.encode(Message.TYPE);
 			// Send the connection name to the client first
@@ -534,12 +635,34 @@ public class ConnectionImpl extends Conduit implements Connection {
 		disconnect();
 	}
 
+	/** Respond to a COMPRESS message.  The request is ignored if
+	 * compression is not allowed or the method is not supported.
+	 * This may only be called on the Task Processor thread. */
+	@Override
+	public void doCompress(List<String> params) throws SonarException {
+		checkLoggedIn();
+		if (params.size() != 2)
+			throw ProtocolError.wrongParameterCount();
+		if (processor.isCompressionAllowed() &&
+		    DEFLATE.equals(params.get(1)) &&
+		    !state.encoder.isDeflating())
+		{
+			try {
+				state.encoder.encode(Message.COMPRESS, DEFLATE);
+				state.encoder.startDeflate();
+			}
+			catch (IOException e) {
+				throw new SonarException(e.getMessage());
+			}
+		}
+	}
+
 	/** Respond to an ENUMERATE message.
 	 * This may only be called on the Task Processor thread. */
 	@Override
 	public void doEnumerate(List<String> params) throws SonarException {
 		checkLoggedIn();
-		if (params.size() > 2)
+		if (params.size() > 3)
 			throw ProtocolError.wrongParameterCount();
 		Name name = createName(params);
 		int lvl = namespace.accessLevel(name, user);
@@ -547,7 +670,11 @@ public class ConnectionImpl extends Conduit implements Connection {
 			throw PermissionDenied.create(name);
 		startWatching(name);
 		try {
-			namespace.enumerate(state.encoder, name);
+			if (params.size() > 2) {
+				namespace.enumerate(state.encoder, name,
+					params.get(2));
+			} else
+				namespace.enumerate(state.encoder, name);
 		}
 		catch (IOException e) {
 			throw new SonarException(e.getMessage());
@@ -0,0 +1,136 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar.server;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import us.mn.state.dot.sonar.Message;
+import us.mn.state.dot.sonar.MessageEncoder;
+
+/**
+ * Output budget for one client connection.  While more than the budget is
+ * buffered for the client, attribute updates are collapsed to the latest
+ * value for each name instead of being encoded.  Collapsed updates are
+ * encoded in order of first update, as output drains or before any other
+ * message.  This may only be accessed on the Task Processor thread.
+ *
+ * @author Douglas Lau
+ */
+class OutputBudget {
+
+	/** Budget (bytes) */
+	private final int budget;
+
+	/** Limit (bytes) */
+	private final int limit;
+
+	/** Maximum number of collapsed attribute updates */
+	private final int max_collapsed;
+
+	/** Collapsed attribute updates (latest value for each name) */
+	private final LinkedHashMap<String, String[]> collapsed =
+		new LinkedHashMap<String, String[]>();
+
+	/** Create a new output budget.
+	 * @param b Budget (bytes).
+	 * @param l Limit (bytes).
+	 * @param m Maximum number of collapsed updates. */
+	OutputBudget(int b, int l, int m) {
+		budget = b;
+		limit = l;
+		max_collapsed = m;
+	}
+
+	/** Check if buffered output is over the budget.
+	 * @param n_bytes Bytes buffered for the client. */
+	boolean isOverBudget(int n_bytes) {
+		return n_bytes > budget;
+	}
+
+	/** Check if buffered output is over the limit.
+	 * @param n_bytes Bytes buffered for the client. */
+	boolean isOverLimit(int n_bytes) {
+		return n_bytes > limit;
+	}
+
+	/** Check if an attribute update should be collapsed.  Once any are
+	 * collapsed, all must be until drained, to keep them in order.
+	 * @param n_bytes Bytes buffered for the client. */
+	boolean shouldCollapse(int n_bytes) {
+		return !collapsed.isEmpty() || isOverBudget(n_bytes);
+	}
+
+	/** Collapse an attribute update, replacing any earlier value.
+	 * @return false if too many updates are collapsed. */
+	boolean collapse(String name, String[] params) {
+		collapsed.put(name, params);
+		return collapsed.size() <= max_collapsed;
+	}
+
+	/** Check if there are no collapsed updates */
+	boolean isEmpty() {
+		return collapsed.isEmpty();
+	}
+
+	/** Get the number of collapsed updates */
+	int size() {
+		return collapsed.size();
+	}
+
+	/** Clear all collapsed updates */
+	void clear() {
+		collapsed.clear();
+	}
+
+	/** Encode all collapsed updates, even if over budget.  This must be
+	 * called before encoding any other message.
+	 * @return true if any updates were encoded. */
+	boolean encodeAll(MessageEncoder enc) throws IOException {
+		return encode(enc, true, 0);
+	}
+
+	/** Encode collapsed updates while buffered output is within budget.
+	 * Encoded data still held by the deflater (for compressed clients)
+	 * is counted against the budget.
+	 * @param n_bytes Bytes buffered for the client.
+	 * @return true if any updates were encoded. */
+	boolean drain(MessageEncoder enc, int n_bytes) throws IOException {
+		return encode(enc, false, n_bytes);
+	}
+
+	/** Encode collapsed updates.
+	 * @param all Encode all updates, even if over budget.
+	 * @param n_bytes Bytes buffered for the client.
+	 * @return true if any updates were encoded. */
+	private boolean encode(MessageEncoder enc, boolean all, int n_bytes)
+		throws IOException
+	{
+		int pos = enc.getEncodedBytes();
+		boolean encoded = false;
+		Iterator<Map.Entry<String, String[]>> it =
+			collapsed.entrySet().iterator();
+		while (it.hasNext() && (all || !isOverBudget(n_bytes +
+		       enc.getEncodedBytes() - pos)))
+		{
+			Map.Entry<String, String[]> e = it.next();
+			enc.encode(Message.ATTRIBUTE, e.getKey(), e.getValue());
+			it.remove();
+			encoded = true;
+		}
+		return encoded;
+	}
+}
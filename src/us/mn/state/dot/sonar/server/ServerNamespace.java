@@ -1,6 +1,6 @@
 /*
  * SONAR -- Simple Object Notification And Replication
- * Copyright (C) 2006-2024  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -27,6 +27,7 @@ import us.mn.state.dot.sonar.NamespaceError;
 import us.mn.state.dot.sonar.SonarException;
 import us.mn.state.dot.sonar.SonarObject;
 import us.mn.state.dot.tms.User;
+import static us.mn.state.dot.sched.TimeSteward.currentTimeMillis;
 
 /**
  * A SONAR namespace is a mapping from all SONAR names to types, objects and
@@ -36,6 +37,9 @@ import us.mn.state.dot.tms.User;
  */
 public class ServerNamespace extends Namespace {
 
+	/** Epoch of resync tokens, which is unique for each server start */
+	private final String epoch = Long.toString(currentTimeMillis(), 36);
+
 	/** All SONAR types are stored in the root of the namespace */
 	private final HashMap<String, TypeNode> root =
 		new HashMap<String, TypeNode>();
@@ -141,6 +145,53 @@ public class ServerNamespace extends Namespace {
 		enc.encode(Message.TYPE);
 	}
 
+	/** Create a resync token for a type */
+	private String createToken(TypeNode t) {
+		return epoch + ":" + t.getSeq();
+	}
+
+	/** Parse the sequence number from a resync token.
+	 * @return Sequence number, or -1 if token is not valid. */
+	private long parseToken(String token) {
+		int i = token.indexOf(':');
+		if (i > 0 && token.substring(0, i).equals(epoch)) {
+			try {
+				return Long.parseLong(token.substring(i + 1));
+			}
+			catch (NumberFormatException e) {
+				// fall through
+			}
+		}
+		return -1;
+	}
+
+	/** Enumerate objects of the named type which have changed since a
+	 * resync token.  If the token is not valid (or too old), all objects
+	 * are enumerated.  The first TYPE message contains a new token,
+	 * followed by "d" for changes only or "f" for all objects. */
+	private void enumerateType(MessageEncoder enc, Name name, String token)
+		throws SonarException, IOException
+	{
+		TypeNode t = getTypeNode(name);
+		long since = parseToken(token);
+		boolean delta = since >= 0 && t.canResync(since);
+		enc.encode(Message.TYPE, name.getTypePart(), new String[] {
+			createToken(t), delta ? "d" : "f"
+		});
+		if (delta)
+			t.enumerateChanged(enc, since);
+		else
+			t.enumerateObjects(enc);
+		enc.encode(Message.TYPE);
+	}
+
+	/** Record an attribute change for resync */
+	void touch(Name name) {
+		TypeNode t = _getTypeNode(name.getTypePart());
+		if (t != null)
+			t.touch(name.getObjectPart());
+	}
+
 	/** Enumerate all attributes of the named object */
 	void enumerateObject(MessageEncoder enc, SonarObject o)
 		throws SonarException, IOException
@@ -174,6 +225,16 @@ public class ServerNamespace extends Namespace {
 			throw NamespaceError.nameInvalid(name);
 	}
 
+	/** Enumerate a name, with a resync token for types */
+	void enumerate(MessageEncoder enc, Name name, String token)
+		throws SonarException, IOException
+	{
+		if (name.isType())
+			enumerateType(enc, name, token);
+		else
+			enumerate(enc, name);
+	}
+
 	/** Register a new type in the namespace.
 	 * @param c Type class.
 	 * @return New type node. */
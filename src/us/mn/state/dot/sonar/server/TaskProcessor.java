@@ -1,6 +1,6 @@
 /*
  * SONAR -- Simple Object Notification And Replication
- * Copyright (C) 2006-2024  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -62,6 +62,9 @@ public class TaskProcessor {
 	/** SONAR time debug log */
 	static final DebugLog DEBUG_TIME = new DebugLog("sonar_time");
 
+	/** SONAR buffer debug log */
+	static final DebugLog DEBUG_BUFFER = new DebugLog("sonar_buffer");
+
 	/** Debug a task */
 	static private void debugTask(String msg, ConnectionImpl c) {
 		if (DEBUG_TASK.isOpen()) {
@@ -158,6 +161,9 @@ public class TaskProcessor {
 	/** File to write session list */
 	private final String session_file;
 
+	/** Flag to allow compressed mode for client connections */
+	private final boolean compression;
+
 	/** Connection for current message processing */
 	private ConnectionImpl proc_conn = null;
 
@@ -176,6 +182,8 @@ public class TaskProcessor {
 		if (url != null)
 			authenticator.setLdapProvider(new LdapProvider(url));
 		session_file = props.getProperty("sonar.session.file");
+		compression = !"false".equals(props.getProperty(
+			"sonar.compression"));
 	}
 
 	/** Create SSL state */
@@ -185,6 +193,11 @@ public class TaskProcessor {
 		return new SSLState(conn, context, props, false);
 	}
 
+	/** Check if compressed mode is allowed for client connections */
+	public boolean isCompressionAllowed() {
+		return compression;
+	}
+
 	/** Get the SONAR namespace */
 	public ServerNamespace getNamespace() {
 		return namespace;
@@ -325,6 +338,19 @@ public class TaskProcessor {
 		});
 	}
 
+	/** Schedule logging of buffered output for all connections */
+	public void scheduleDebugBuffers() {
+		if (DEBUG_BUFFER.isOpen()) {
+			processor.addWork(new TaskWork("Debug buffers") {
+				protected void doPerform() {
+					for (ConnectionImpl c:
+					     getConnectionList())
+						c.debugBuffer();
+				}
+			});
+		}
+	}
+
 	/** Authenticate a user connection */
 	void authenticate(ConnectionImpl c, String name, char[] password) {
 		if (DEBUG.isOpen())
@@ -441,6 +467,7 @@ public class TaskProcessor {
 				processor.size() + ")");
 		}
 		if (namespace.isGettable(name)) {
+			namespace.touch(name);
 			for (ConnectionImpl c: getConnectionList())
 				c.notifyAttribute(name, params);
 		}
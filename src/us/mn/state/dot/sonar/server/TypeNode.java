@@ -1,6 +1,6 @@
 /*
  * SONAR -- Simple Object Notification And Replication
- * Copyright (C) 2006-2024  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -16,7 +16,10 @@ package us.mn.state.dot.sonar.server;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import us.mn.state.dot.sonar.Message;
 import us.mn.state.dot.sonar.MessageEncoder;
@@ -37,6 +40,9 @@ public class TypeNode {
 	/** Initial capacity of type hash */
 	static private final int INITIAL_CAPACITY = 256;
 
+	/** Maximum number of removed object names to remember */
+	static private final int MAX_REMOVED = 4096;
+
 	/** Type name */
 	public final String tname;
 
@@ -53,6 +59,22 @@ public class TypeNode {
 	/** An attribute dispatcher can set and get attributes on objects */
 	private final AttributeDispatcher dispatcher;
 
+	/** Change sequence number.  This is incremented whenever an object
+	 * is added, removed or has an attribute changed.  All access must be
+	 * synchronized on children. */
+	private long seq = 0;
+
+	/** Sequence number of last change to each object */
+	private final HashMap<String, Long> changed =
+		new HashMap<String, Long>();
+
+	/** Sequence numbers of removed objects, oldest first */
+	private final LinkedHashMap<String, Long> removed =
+		new LinkedHashMap<String, Long>();
+
+	/** Oldest sequence number for which all removals are known */
+	private long removed_seq = 0;
+
 	/** Create a namespace type node */
 	public TypeNode(Namespace ns, Class c)
 		throws NoSuchFieldException, IllegalAccessException
@@ -77,6 +99,7 @@ public class TypeNode {
 				throw NamespaceError.nameExists(name);
 			dispatcher.storeObject(o);
 			children.put(name, o);
+			touchObject(name);
 		}
 	}
 
@@ -86,8 +109,10 @@ public class TypeNode {
 		synchronized (children) {
 			if (children.containsKey(name))
 				throw NamespaceError.nameExists(name);
-			else
+			else {
 				children.put(name, o);
+				touchObject(name);
+			}
 		}
 	}
 
@@ -107,6 +132,41 @@ public class TypeNode {
 				children.put(n, o);
 				throw e;
 			}
+			changed.remove(n);
+			removed.put(n, ++seq);
+			if (removed.size() > MAX_REMOVED) {
+				Iterator<Long> it = removed.values().iterator();
+				removed_seq = it.next();
+				it.remove();
+			}
+		}
+	}
+
+	/** Record a change to an object.  Must be synchronized on children */
+	private void touchObject(String n) {
+		removed.remove(n);
+		changed.put(n, ++seq);
+	}
+
+	/** Record an attribute change to an object */
+	public void touch(String n) {
+		synchronized (children) {
+			if (children.containsKey(n))
+				touchObject(n);
+		}
+	}
+
+	/** Get the current change sequence number */
+	public long getSeq() {
+		synchronized (children) {
+			return seq;
+		}
+	}
+
+	/** Check if changes since a sequence number can be enumerated */
+	public boolean canResync(long since) {
+		synchronized (children) {
+			return since >= removed_seq && since <= seq;
 		}
 	}
 
@@ -158,6 +218,23 @@ public class TypeNode {
 		}
 	}
 
+	/** Enumerate objects changed or removed since a sequence number */
+	public void enumerateChanged(MessageEncoder enc, long since)
+		throws SonarException, IOException
+	{
+		synchronized (children) {
+			for (SonarObject o: children.values()) {
+				Long s = changed.get(o.getName());
+				if (null == s || s > since)
+					enumerateObject(enc, o);
+			}
+			for (Map.Entry<String, Long> e: removed.entrySet()) {
+				if (e.getValue() > since)
+					enc.encode(Message.REMOVE, e.getKey());
+			}
+		}
+	}
+
 	/** Set the value of an attribute.
 	 * @param name Attribute name in SONAR namespace.
 	 * @param v New attribute value.
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2006-2025  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -26,6 +26,11 @@ public class BitmapGraphic extends RasterGraphic {
 		super(w, h);
 	}
 
+	/** Create a read-only bitmap graphic view of shared pixel data */
+	BitmapGraphic(int w, int h, byte[] p, int off) {
+		super(w, h, p, off);
+	}
+
 	/** Get the pixel data length in bytes */
 	@Override
 	public int length() {
@@ -51,7 +56,7 @@ public class BitmapGraphic extends RasterGraphic {
 		int p = pixelIndex(x, y);
 		int by = p / 8;
 		int bi = 7 - (p % 8);
-		return ((pixels[by] >> bi) & 1) == 0;
+		return ((pixels[offset + by] >> bi) & 1) == 0;
 	}
 
 	/** Get the pixel color at the specified location */
@@ -69,6 +74,7 @@ public class BitmapGraphic extends RasterGraphic {
 	/** Set the pixel color at the specified location */
 	@Override
 	public void setPixel(int x, int y, DmsColor clr) {
+		checkWritable();
 		int p = pixelIndex(x, y);
 		int by = p / 8;
 		int bi = 1 << (7 - (p % 8));
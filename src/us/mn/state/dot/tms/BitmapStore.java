@@ -0,0 +1,205 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+import java.io.IOException;
+import java.util.HashMap;
+import us.mn.state.dot.tms.utils.Base64;
+import static us.mn.state.dot.tms.BaseHelper.objectEquals;
+
+/**
+ * Store of decoded pixel data for glyphs or graphics.  The Base64 pixel
+ * data of each object is decoded once, into a shared byte array (arena).
+ * Lookups return read-only raster views of the arena, so rendering and
+ * protocol uploads need no decoding or copying.
+ *
+ * Entries are keyed by object name.  The encoded pixel string is the
+ * version -- when it changes, the new data is appended to the arena.  Data
+ * in the arena is never modified; when the arena is full, live entries are
+ * compacted into a new array.  Views of the old array remain valid.
+ *
+ * @author Douglas Lau
+ */
+public class BitmapStore {
+
+	/** Initial arena capacity (bytes) */
+	static private final int INITIAL_CAPACITY = 64 * 1024;
+
+	/** Stored entry */
+	static private class Entry {
+
+		/** Encoded pixel data (version) */
+		private final String pixels;
+
+		/** Color scheme */
+		private final ColorScheme scheme;
+
+		/** Transparent color */
+		private final Integer transparent_color;
+
+		/** Width (pixels) */
+		private final int width;
+
+		/** Height (pixels) */
+		private final int height;
+
+		/** Raster view of arena (null for invalid data) */
+		private RasterGraphic raster;
+
+		/** Create a new entry */
+		private Entry(String p, ColorScheme cs, Integer tc, int w,
+			int h)
+		{
+			pixels = p;
+			scheme = cs;
+			transparent_color = tc;
+			width = w;
+			height = h;
+		}
+
+		/** Check if entry matches a version */
+		private boolean matches(String p, ColorScheme cs, Integer tc,
+			int w, int h)
+		{
+			return objectEquals(pixels, p) && scheme == cs &&
+			       objectEquals(transparent_color, tc) &&
+			       width == w && height == h;
+		}
+
+		/** Get the pixel data length (bytes), or -1 if unsupported */
+		private int length() {
+			switch (scheme) {
+			case MONOCHROME_1_BIT:
+				return (width * height + 7) / 8;
+			case COLOR_24_BIT:
+				return width * height * 3;
+			default:
+				return -1;
+			}
+		}
+
+		/** Create a raster view of an arena */
+		private RasterGraphic createView(byte[] a, int off) {
+			switch (scheme) {
+			case MONOCHROME_1_BIT:
+				return new BitmapGraphic(width, height, a, off);
+			case COLOR_24_BIT:
+				return new PixmapGraphic(width, height,
+					transparent_color, a, off);
+			default:
+				return null;
+			}
+		}
+	}
+
+	/** Mapping of names to entries */
+	private final HashMap<String, Entry> entries =
+		new HashMap<String, Entry>();
+
+	/** Arena of decoded pixel data */
+	private byte[] arena = new byte[0];
+
+	/** Number of arena bytes used */
+	private int used;
+
+	/** Number of arena bytes used by live entries */
+	private int live;
+
+	/** Lookup a raster from the store, decoding it if necessary.
+	 * @param name Object (glyph or graphic) name.
+	 * @param pixels Pixel data (Base64 encoded).
+	 * @param cs Color scheme.
+	 * @param tc Transparent color (24-bit only).
+	 * @param w Width (pixels).
+	 * @param h Height (pixels).
+	 * @return Read-only raster, or null if pixel data is invalid. */
+	public synchronized RasterGraphic lookup(String name, String pixels,
+		ColorScheme cs, Integer tc, int w, int h)
+	{
+		Entry e = entries.get(name);
+		if (e != null && e.matches(pixels, cs, tc, w, h))
+			return e.raster;
+		remove(name);
+		e = new Entry(pixels, cs, tc, w, h);
+		byte[] p = decode(pixels);
+		if (p != null && p.length == e.length()) {
+			int off = append(p);
+			e.raster = e.createView(arena, off);
+			live += p.length;
+		}
+		entries.put(name, e);
+		return e.raster;
+	}
+
+	/** Decode pixel data */
+	static private byte[] decode(String pixels) {
+		try {
+			return (pixels != null) ? Base64.decode(pixels) : null;
+		}
+		catch (IOException e) {
+			// pixel data Base64 decode failed
+			return null;
+		}
+	}
+
+	/** Append pixel data to the arena.
+	 * @return Offset of data in arena. */
+	private int append(byte[] p) {
+		if (used + p.length > arena.length)
+			compact(p.length);
+		int off = used;
+		System.arraycopy(p, 0, arena, off, p.length);
+		used += p.length;
+		return off;
+	}
+
+	/** Compact live entries into a new arena.
+	 * @param extra Number of extra bytes needed. */
+	private void compact(int extra) {
+		byte[] a = new byte[Math.max(INITIAL_CAPACITY,
+			2 * (live + extra))];
+		int off = 0;
+		for (Entry e: entries.values()) {
+			RasterGraphic rg = e.raster;
+			if (rg != null) {
+				int len = rg.length();
+				System.arraycopy(rg.pixels, rg.offset, a, off,
+					len);
+				e.raster = e.createView(a, off);
+				off += len;
+			}
+		}
+		arena = a;
+		used = off;
+	}
+
+	/** Remove an entry from the store.
+	 * @param name Object (glyph or graphic) name. */
+	public synchronized void remove(String name) {
+		Entry e = entries.remove(name);
+		if (e != null && e.raster != null)
+			live -= e.raster.length();
+	}
+
+	/** Get the number of stored entries */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/** Get the arena capacity (bytes) */
+	public synchronized int getCapacity() {
+		return arena.length;
+	}
+}
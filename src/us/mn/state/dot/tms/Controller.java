@@ -116,6 +116,9 @@ public interface Controller extends SonarObject {
 	/** Get the failed operation count */
 	int getFailedOps();
 
+	/** Get round-trip time percentiles (ms): "50th / 90th / 99th" */
+	String getRoundTrip();
+
 	/** Request a device operation (send settings, etc.) */
 	void setDeviceRequest(int r);
 }
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2013-2018  Minnesota Department of Transportation
+ * Copyright (C) 2013-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,9 +14,7 @@
  */
 package us.mn.state.dot.tms;
 
-import java.io.IOException;
 import java.util.Iterator;
-import us.mn.state.dot.tms.utils.Base64;
 
 /**
  * Helper class for glyphs.
@@ -41,21 +39,20 @@ public class GlyphHelper extends BaseHelper {
 			Glyph.SONAR_TYPE));
 	}
 
-	/** Create a bitmap graphic of a glyph */
+	/** Store of decoded glyph bitmaps */
+	static private final BitmapStore STORE = new BitmapStore();
+
+	/** Create a bitmap graphic of a glyph.
+	 * @param g Glyph.
+	 * @return Read-only bitmap, or null if pixel data is invalid. */
 	static public BitmapGraphic createBitmap(Glyph g) {
-		try {
-			BitmapGraphic bg = new BitmapGraphic(g.getWidth(),
-				g.getFont().getHeight());
-			bg.setPixelData(Base64.decode(g.getPixels()));
-			return bg;
-		}
-		catch (IndexOutOfBoundsException e) {
-			// pixel data was wrong length
-			return null;
-		}
-		catch (IOException e) {
-			// pixel data Base64 decode failed
-			return null;
-		}
+		return (BitmapGraphic) STORE.lookup(g.getName(), g.getPixels(),
+			ColorScheme.MONOCHROME_1_BIT, null, g.getWidth(),
+			g.getFont().getHeight());
+	}
+
+	/** Release the stored bitmap of a glyph */
+	static public void releaseBitmap(String name) {
+		STORE.remove(name);
 	}
 }
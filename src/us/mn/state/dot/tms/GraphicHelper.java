@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2022  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -15,6 +15,7 @@
 package us.mn.state.dot.tms;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.LinkedList;
 import java.util.Iterator;
 import us.mn.state.dot.tms.utils.Base64;
@@ -55,42 +56,48 @@ public class GraphicHelper extends BaseHelper {
 		return null;
 	}
 
-	/** Create a raster graphic */
+	/** Store of decoded graphic rasters */
+	static private final BitmapStore STORE = new BitmapStore();
+
+	/** Create a raster graphic.
+	 * @param g Graphic.
+	 * @return Read-only raster, or null if pixel data is invalid. */
 	static public RasterGraphic createRaster(Graphic g) {
-		try {
-			switch (ColorScheme.fromOrdinal(g.getColorScheme())) {
-			case MONOCHROME_1_BIT:
-				return createBitmap(g);
-			case COLOR_24_BIT:
-				return createPixmap(g);
-			default:
-				return null;
-			}
-		}
-		catch (IndexOutOfBoundsException e) {
-			// pixel data was wrong length
-			return null;
-		}
-		catch (IOException e) {
-			// pixel data Base64 decode failed
-			return null;
-		}
+		return STORE.lookup(g.getName(), g.getPixels(),
+			ColorScheme.fromOrdinal(g.getColorScheme()),
+			g.getTransparentColor(), g.getWidth(), g.getHeight());
+	}
+
+	/** Get a copy of the pixel data of a graphic.  Color schemes which
+	 * cannot be rendered are decoded directly.
+	 * @param g Graphic.
+	 * @return Pixel data.
+	 * @throws IOException if Base64 decode failed. */
+	static public byte[] getPixelData(Graphic g) throws IOException {
+		RasterGraphic rg = createRaster(g);
+		return (rg != null)
+		      ? rg.getPixelData()
+		      : Base64.decode(g.getPixels());
 	}
 
-	/** Create a bitmap graphic */
-	static private RasterGraphic createBitmap(Graphic g) throws IOException{
-		BitmapGraphic bg = new BitmapGraphic(g.getWidth(),
-			g.getHeight());
-		bg.setPixelData(Base64.decode(g.getPixels()));
-		return bg;
+	/** Write the pixel data of a graphic to an output stream.  Color
+	 * schemes which cannot be rendered are decoded directly.
+	 * @param g Graphic.
+	 * @param os Stream to write pixel data.
+	 * @throws IOException if Base64 decode failed. */
+	static public void writePixelData(Graphic g, OutputStream os)
+		throws IOException
+	{
+		RasterGraphic rg = createRaster(g);
+		if (rg != null)
+			rg.writePixelData(os);
+		else
+			os.write(Base64.decode(g.getPixels()));
 	}
 
-	/** Create a pixmap graphic */
-	static private RasterGraphic createPixmap(Graphic g) throws IOException{
-		PixmapGraphic pg = new PixmapGraphic(g.getWidth(),
-			g.getHeight(), g.getTransparentColor());
-		pg.setPixelData(Base64.decode(g.getPixels()));
-		return pg;
+	/** Release the stored raster of a graphic */
+	static public void releaseRaster(String name) {
+		STORE.remove(name);
 	}
 
 	/** Lookup all graphics in a MULTI string.
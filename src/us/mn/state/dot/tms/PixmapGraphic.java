@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2011-2022  Minnesota Department of Transportation
+ * Copyright (C) 2011-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -36,6 +36,12 @@ public class PixmapGraphic extends RasterGraphic {
 		transparent_color = tc;
 	}
 
+	/** Create a read-only pixmap graphic view of shared pixel data */
+	PixmapGraphic(int w, int h, Integer tc, byte[] p, int off) {
+		super(w, h, p, off);
+		transparent_color = tc;
+	}
+
 	/** Get the pixel data length in bytes */
 	@Override
 	public int length() {
@@ -52,7 +58,7 @@ public class PixmapGraphic extends RasterGraphic {
 			throw new IndexOutOfBoundsException("y=" + y +
 				", height=" + height);
 		}
-		return ((y * width) + x) * 3;
+		return offset + ((y * width) + x) * 3;
 	}
 
 	/** Check if a specified pixel is transparent */
@@ -82,6 +88,7 @@ public class PixmapGraphic extends RasterGraphic {
 	/** Set the pixel color at the specified location */
 	@Override
 	public void setPixel(int x, int y, DmsColor clr) {
+		checkWritable();
 		int p = pixelIndex(x, y);
 		pixels[p + 0] = (byte)clr.blue;
 		pixels[p + 1] = (byte)clr.green;
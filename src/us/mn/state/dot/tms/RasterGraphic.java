@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2022  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,6 +14,9 @@
  */
 package us.mn.state.dot.tms;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
 import us.mn.state.dot.tms.utils.Base64;
 
 /**
@@ -47,15 +50,47 @@ abstract public class RasterGraphic {
 	/** Pixel data */
 	protected final byte[] pixels;
 
+	/** Offset of pixel data in array */
+	protected final int offset;
+
+	/** Flag indicating raster is a read-only view of shared data */
+	private final boolean shared;
+
 	/** Create a new raster graphic */
 	protected RasterGraphic(int w, int h) {
 		width = w;
 		height = h;
 		pixels = new byte[length()];
+		offset = 0;
+		shared = false;
+	}
+
+	/** Create a read-only raster graphic view of shared pixel data.
+	 * @param w Width (pixels).
+	 * @param h Height (pixels).
+	 * @param p Shared pixel data array (must not be modified).
+	 * @param off Offset of pixel data in array. */
+	protected RasterGraphic(int w, int h, byte[] p, int off) {
+		width = w;
+		height = h;
+		if (off < 0 || off + length() > p.length) {
+			throw new IndexOutOfBoundsException("off=" + off +
+				", length=" + length());
+		}
+		pixels = p;
+		offset = off;
+		shared = true;
+	}
+
+	/** Check that the raster can be modified */
+	protected void checkWritable() {
+		if (shared)
+			throw new UnsupportedOperationException("Read-only");
 	}
 
 	/** Set the pixel data */
 	public void setPixelData(byte[] p) {
+		checkWritable();
 		if (p.length != length()) {
 			throw new IndexOutOfBoundsException("p=" + p.length +
 				", length=" + length());
@@ -63,14 +98,31 @@ abstract public class RasterGraphic {
 		System.arraycopy(p, 0, pixels, 0, pixels.length);
 	}
 
-	/** Get the pixel data */
+	/** Get the pixel data (a copy for read-only views) */
 	public byte[] getPixelData() {
-		return pixels;
+		return shared ? getPixelData(0, length()) : pixels;
+	}
+
+	/** Get a copy of a range of the pixel data.
+	 * @param pos Starting position in pixel data.
+	 * @param len Number of bytes to copy. */
+	public byte[] getPixelData(int pos, int len) {
+		if (pos < 0 || len < 0 || pos + len > length()) {
+			throw new IndexOutOfBoundsException("pos=" + pos +
+				", len=" + len);
+		}
+		return Arrays.copyOfRange(pixels, offset + pos,
+			offset + pos + len);
+	}
+
+	/** Write the pixel data to an output stream */
+	public void writePixelData(OutputStream os) throws IOException {
+		os.write(pixels, offset, length());
 	}
 
 	/** Get pixel data enocded to Base64 */
 	public String getEncodedPixels() {
-		return Base64.encode(pixels);
+		return Base64.encode(getPixelData());
 	}
 
 	/** Get the pixel data length in bytes */
@@ -1,6 +1,7 @@
 /*
  * IRIS -- Intelligent Roadway Information System
  * Copyright (C) 2017-2018  SRF Consulting Group
+ * Copyright (C) 2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -27,7 +28,9 @@ import us.mn.state.dot.sonar.SonarObject;
  * SONAR fields.
  * 
  * The sReq and sResp strings are constructed/parsed
- * using RptStringListMap.
+ * using RptStringListMap.  Large results are split
+ * into pages, so that no single SONAR message holds
+ * the entire report.
  *
  * @author John L. Stanley - SRF Consulting
  */
@@ -61,4 +64,16 @@ public interface RptConduit extends SonarObject {
 	// send report-results to client
 
 	String getResults();
+
+	//-------------------------------------------
+	// results are returned one page at a time
+
+	/** Get the number of result pages (0 until report is complete) */
+	int getPageCount();
+
+	/** Select the page of results to return */
+	void setPage(int p);
+
+	/** Get the page of results currently returned */
+	int getPage();
 }
@@ -0,0 +1,229 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * A sample frame is a compact binary form of detector sample data for one
+ * period.  Samples are stored in fixed-width arrays, indexed by sensor
+ * ordinal.  Ordinals are positions within a sorted sensor index, which is
+ * published separately and identified by a CRC of all sensor names.
+ *
+ * Index format: magic, index ID, sensor count, sensor names (UTF).
+ * Frame format: magic, index ID, time stamp, period (seconds), sensor count,
+ * flow array, speed array, occupancy array (hundredths of a percent).
+ * All values are big-endian; missing values are -1.
+ *
+ * @author Douglas Lau
+ */
+public class SampleFrame {
+
+	/** Magic number for sensor index ("ISI1") */
+	static public final int INDEX_MAGIC = 0x49534931;
+
+	/** Magic number for sample frame ("ISF1") */
+	static public final int FRAME_MAGIC = 0x49534631;
+
+	/** Value for missing data */
+	static public final short MISSING = -1;
+
+	/** Maximum number of sensors */
+	static private final int MAX_SENSORS = 1 << 20;
+
+	/** Calculate the ID of a sensor index */
+	static public int indexId(String[] sensors) {
+		CRC32 crc = new CRC32();
+		for (String s: sensors) {
+			crc.update(s.getBytes(StandardCharsets.UTF_8));
+			crc.update(0);
+		}
+		return (int) crc.getValue();
+	}
+
+	/** Write a sensor index */
+	static public void writeIndex(DataOutputStream dos, String[] sensors)
+		throws IOException
+	{
+		dos.writeInt(INDEX_MAGIC);
+		dos.writeInt(indexId(sensors));
+		dos.writeInt(sensors.length);
+		for (String s: sensors)
+			dos.writeUTF(s);
+	}
+
+	/** Read a sensor index */
+	static public String[] readIndex(DataInputStream dis)
+		throws IOException
+	{
+		if (dis.readInt() != INDEX_MAGIC)
+			throw new IOException("Invalid index magic");
+		int id = dis.readInt();
+		int n = readCount(dis);
+		String[] sensors = new String[n];
+		for (int i = 0; i < n; i++)
+			sensors[i] = dis.readUTF();
+		if (indexId(sensors) != id)
+			throw new IOException("Invalid index ID");
+		return sensors;
+	}
+
+	/** Read a sensor count */
+	static private int readCount(DataInputStream dis) throws IOException {
+		int n = dis.readInt();
+		if (n < 0 || n > MAX_SENSORS)
+			throw new IOException("Invalid sensor count");
+		return n;
+	}
+
+	/** Clamp a value to the range of a short */
+	static private short clamp(int v) {
+		return (short) Math.max(Math.min(v, Short.MAX_VALUE), MISSING);
+	}
+
+	/** Read an array of shorts */
+	static private void readArray(DataInputStream dis, short[] a, int n)
+		throws IOException
+	{
+		for (int i = 0; i < n; i++)
+			a[i] = dis.readShort();
+	}
+
+	/** Sensor index ID */
+	private int index_id;
+
+	/** Get the sensor index ID */
+	public int getIndexId() {
+		return index_id;
+	}
+
+	/** Time stamp */
+	private long stamp;
+
+	/** Get the time stamp */
+	public long getStamp() {
+		return stamp;
+	}
+
+	/** Sample period (seconds) */
+	private int period;
+
+	/** Get the sample period (seconds) */
+	public int getPeriod() {
+		return period;
+	}
+
+	/** Number of sensors */
+	private int n_sensors;
+
+	/** Get the number of sensors */
+	public int size() {
+		return n_sensors;
+	}
+
+	/** Flow samples (vehicles per hour per lane) */
+	private short[] flow = new short[0];
+
+	/** Speed samples (miles per hour) */
+	private short[] speed = new short[0];
+
+	/** Occupancy samples (hundredths of a percent) */
+	private short[] occ = new short[0];
+
+	/** Reset the frame, with all samples missing.
+	 * @param id Sensor index ID.
+	 * @param st Time stamp.
+	 * @param per Sample period (seconds).
+	 * @param n Number of sensors. */
+	public void reset(int id, long st, int per, int n) {
+		index_id = id;
+		stamp = st;
+		period = per;
+		n_sensors = n;
+		if (flow.length < n) {
+			flow = new short[n];
+			speed = new short[n];
+			occ = new short[n];
+		}
+		Arrays.fill(flow, MISSING);
+		Arrays.fill(speed, MISSING);
+		Arrays.fill(occ, MISSING);
+	}
+
+	/** Set the samples for one sensor.
+	 * @param i Sensor ordinal.
+	 * @param f Flow (negative for missing).
+	 * @param s Speed (negative for missing).
+	 * @param o Occupancy percent (negative for missing). */
+	public void setSample(int i, int f, int s, float o) {
+		flow[i] = clamp(f);
+		speed[i] = clamp(s);
+		occ[i] = (o >= 0) ? clamp(Math.round(o * 100)) : MISSING;
+	}
+
+	/** Get the flow for one sensor (null for missing) */
+	public Integer getFlow(int i) {
+		return (flow[i] >= 0) ? Integer.valueOf(flow[i]) : null;
+	}
+
+	/** Get the speed for one sensor (null for missing) */
+	public Integer getSpeed(int i) {
+		return (speed[i] >= 0) ? Integer.valueOf(speed[i]) : null;
+	}
+
+	/** Get the occupancy percent for one sensor (null for missing) */
+	public Float getOcc(int i) {
+		return (occ[i] >= 0) ? Float.valueOf(occ[i] / 100f) : null;
+	}
+
+	/** Check if any data is present for one sensor */
+	public boolean hasData(int i) {
+		return flow[i] >= 0 || speed[i] >= 0 || occ[i] >= 0;
+	}
+
+	/** Write the frame */
+	public void write(DataOutputStream dos) throws IOException {
+		dos.writeInt(FRAME_MAGIC);
+		dos.writeInt(index_id);
+		dos.writeLong(stamp);
+		dos.writeInt(period);
+		dos.writeInt(n_sensors);
+		for (int i = 0; i < n_sensors; i++)
+			dos.writeShort(flow[i]);
+		for (int i = 0; i < n_sensors; i++)
+			dos.writeShort(speed[i]);
+		for (int i = 0; i < n_sensors; i++)
+			dos.writeShort(occ[i]);
+	}
+
+	/** Read a frame, reusing the sample arrays */
+	public void read(DataInputStream dis) throws IOException {
+		if (dis.readInt() != FRAME_MAGIC)
+			throw new IOException("Invalid frame magic");
+		int id = dis.readInt();
+		long st = dis.readLong();
+		int per = dis.readInt();
+		int n = readCount(dis);
+		reset(id, st, per, n);
+		readArray(dis, flow, n);
+		readArray(dis, speed, n);
+		readArray(dis, occ, n);
+	}
+}
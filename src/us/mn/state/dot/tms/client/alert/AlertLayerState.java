@@ -1,7 +1,7 @@
 /*
  * IRIS -- Intelligent Roadway Information System
  * Copyright (C) 2020  SRF Consulting Group, Inc.
- * Copyright (C) 2021  Minnesota Department of Transportation
+ * Copyright (C) 2021-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -17,9 +17,11 @@ package us.mn.state.dot.tms.client.alert;
 
 import java.awt.event.MouseEvent;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 import us.mn.state.dot.tms.AlertInfo;
 import us.mn.state.dot.tms.client.map.MapBean;
 import us.mn.state.dot.tms.client.map.MapObject;
+import us.mn.state.dot.tms.client.map.MapSearcher;
 import us.mn.state.dot.tms.client.proxy.ProxyLayer;
 import us.mn.state.dot.tms.client.proxy.ProxyLayerState;
 import us.mn.state.dot.tms.client.proxy.ProxySelectionModel;
@@ -47,6 +49,13 @@ public class AlertLayerState extends ProxyLayerState<AlertInfo> {
 		sel_mdl = sm;
 	}
 
+	/** Iterate through all alerts.  Alert areas extend far beyond
+	 * their location, so the region cannot be used. */
+	@Override
+	public MapObject forEach(MapSearcher s, Rectangle2D r) {
+		return forEach(s);
+	}
+
 	/** Search for DMS - use the map to transform the point
 	 * then use the DMS manager to search */
 	@Override
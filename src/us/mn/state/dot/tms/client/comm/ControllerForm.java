@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2008-2025  Minnesota Department of Transportation
+ * Copyright (C) 2008-2026  Minnesota Department of Transportation
  * Copyright (C) 2014  AHMCT, University of California
  *
  * This program is free software; you can redistribute it and/or modify
@@ -169,6 +169,9 @@ public class ControllerForm extends SonarObjectForm<Controller> {
 	/** Failed operations label */
 	private final JLabel failed_lbl = IPanel.createValueLabel();
 
+	/** Round-trip time label */
+	private final JLabel round_trip_lbl = IPanel.createValueLabel();
+
 	/** Clear error status action */
 	private final IAction clear_err = new IAction("controller.error.clear"){
 		protected void doActionPerformed(ActionEvent e) {
@@ -341,6 +344,8 @@ public class ControllerForm extends SonarObjectForm<Controller> {
 		p.add(success_lbl, Stretch.LAST);
 		p.add("controller.ops.bad");
 		p.add(failed_lbl, Stretch.LAST);
+		p.add("controller.round.trip");
+		p.add(round_trip_lbl, Stretch.LAST);
 		p.add(buttonPnl, Stretch.RIGHT);
 		return p;
 	}
@@ -417,6 +422,10 @@ public class ControllerForm extends SonarObjectForm<Controller> {
 			failed_lbl.setText(String.valueOf(
 				proxy.getFailedOps()));
 		}
+		if (a == null || a.equals("roundTrip")) {
+			String rt = proxy.getRoundTrip();
+			round_trip_lbl.setText((rt != null) ? rt : "");
+		}
 	}
 
 	/** Update the comm link */
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2019  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -15,6 +15,7 @@
 package us.mn.state.dot.tms.client.map;
 
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.event.MouseEvent;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
@@ -196,18 +197,44 @@ abstract public class LayerState {
 	/** Call the specified callback for each map object in the layer */
 	abstract public MapObject forEach(MapSearcher s);
 
+	/** Call the specified callback for each map object in the layer
+	 * located within a region.  Layers without a spatial index call the
+	 * callback for all map objects.
+	 * @param s Map searcher callback.
+	 * @param r Region in user coordinates (null for all).
+	 * @return Map object found, if any. */
+	public MapObject forEach(MapSearcher s, Rectangle2D r) {
+		return forEach(s);
+	}
+
+	/** Get the visible (clip) region of a graphics context, in user
+	 * coordinates, expanded by a margin.
+	 * @return Visible region, or null if unknown. */
+	static private Rectangle2D getViewRegion(Graphics2D g, double margin) {
+		Rectangle b = g.getClipBounds();
+		if (b != null) {
+			return new Rectangle2D.Double(b.getX() - margin,
+				b.getY() - margin, b.getWidth() + margin * 2,
+				b.getHeight() + margin * 2);
+		} else
+			return null;
+	}
+
 	/** Paint the layer */
 	public void paint(final Graphics2D g) {
 		if (isVisible()) {
 			final AffineTransform t = g.getTransform();
 			theme.setScale(getScale());
+			// Symbols can be drawn outside their radius (outlines,
+			// purpose symbols), so use a generous margin
+			double margin = theme.getRadius() * 2;
 			forEach(new MapSearcher() {
 				public boolean next(MapObject mo) {
 					theme.draw(g, mo);
 					g.setTransform(t);
 					return false;
 				}
-			});
+			}, getViewRegion(g, margin));
 		}
 	}
 
@@ -293,11 +320,14 @@ abstract public class LayerState {
 	/** Search the layer for a map object containing the given point */
 	public MapObject search(final Point2D p) {
 		theme.setScale(getScale());
+		double rad = theme.getRadius();
+		Rectangle2D r = new Rectangle2D.Double(p.getX() - rad,
+			p.getY() - rad, rad * 2, rad * 2);
 		return forEach(new MapSearcher() {
 			public boolean next(MapObject mo) {
 				return theme.hit(p, mo);
 			}
-		});
+		}, r);
 	}
 
 	/** Process a mouse click for the layer */
@@ -0,0 +1,210 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.map;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A spatial grid is an index of map objects by position.  Each object is
+ * placed in a square grid cell containing the translation of its transform
+ * (spherical mercator coordinates).  Objects must be updated whenever their
+ * transform changes.  This class is not thread-safe.
+ *
+ * @author Douglas Lau
+ */
+public class SpatialGrid<M extends MapObject> {
+
+	/** Default cell size (meters) */
+	static public final double CELL_SIZE = 4096;
+
+	/** Make a cell key */
+	static private long cellKey(int cx, int cy) {
+		return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+	}
+
+	/** Get the X cell of a key */
+	static private int cellX(long key) {
+		return (int) (key >> 32);
+	}
+
+	/** Get the Y cell of a key */
+	static private int cellY(long key) {
+		return (int) key;
+	}
+
+	/** Size of cells */
+	private final double cell_size;
+
+	/** Mapping of cell keys to objects in the cell */
+	private final HashMap<Long, ArrayList<M>> cells =
+		new HashMap<Long, ArrayList<M>>();
+
+	/** Mapping of objects to cell keys */
+	private final HashMap<M, Long> keys = new HashMap<M, Long>();
+
+	/** Create a new spatial grid.
+	 * @param cs Size of cells (meters). */
+	public SpatialGrid(double cs) {
+		cell_size = cs;
+	}
+
+	/** Create a new spatial grid */
+	public SpatialGrid() {
+		this(CELL_SIZE);
+	}
+
+	/** Get the number of objects in the grid */
+	public int size() {
+		return keys.size();
+	}
+
+	/** Get the cell for a coordinate */
+	private int cell(double v) {
+		double c = Math.floor(v / cell_size);
+		return (int) Math.max(Math.min(c, Integer.MAX_VALUE),
+			Integer.MIN_VALUE);
+	}
+
+	/** Get the cell key for a map object */
+	private long getKey(M mo) {
+		AffineTransform t = mo.getTransform();
+		return cellKey(cell(t.getTranslateX()),
+			cell(t.getTranslateY()));
+	}
+
+	/** Add a map object (or move it if already present) */
+	public void add(M mo) {
+		long key = getKey(mo);
+		Long k = keys.put(mo, key);
+		if (k != null) {
+			if (k == key)
+				return;
+			removeCell(k, mo);
+		}
+		ArrayList<M> objs = cells.get(key);
+		if (null == objs) {
+			objs = new ArrayList<M>(4);
+			cells.put(key, objs);
+		}
+		objs.add(mo);
+	}
+
+	/** Update the cell of a map object, if present */
+	public void update(M mo) {
+		if (keys.containsKey(mo))
+			add(mo);
+	}
+
+	/** Remove a map object.
+	 * @return true if the object was present. */
+	public boolean remove(M mo) {
+		Long k = keys.remove(mo);
+		if (k != null) {
+			removeCell(k, mo);
+			return true;
+		} else
+			return false;
+	}
+
+	/** Remove a map object from a cell */
+	private void removeCell(long key, M mo) {
+		ArrayList<M> objs = cells.get(key);
+		if (objs != null) {
+			objs.remove(mo);
+			if (objs.isEmpty())
+				cells.remove(key);
+		}
+	}
+
+	/** Remove all map objects */
+	public void clear() {
+		cells.clear();
+		keys.clear();
+	}
+
+	/** Call the specified callback for each map object within a region.
+	 * @param r Region in user coordinates (null for all objects).
+	 * @param s Map searcher callback.
+	 * @return Map object found, if any. */
+	public M forEach(Rectangle2D r, MapSearcher s) {
+		if (null == r)
+			return forEachCell(s);
+		int x0 = cell(r.getMinX());
+		int x1 = cell(r.getMaxX());
+		int y0 = cell(r.getMinY());
+		int y1 = cell(r.getMaxY());
+		long n_cells = ((long) x1 - x0 + 1) * ((long) y1 - y0 + 1);
+		if (n_cells > cells.size())
+			return forEachCell(r, x0, x1, y0, y1, s);
+		for (int x = x0; x <= x1; x++) {
+			for (int y = y0; y <= y1; y++) {
+				ArrayList<M> objs = cells.get(cellKey(x, y));
+				if (objs != null) {
+					M mo = forEach(objs, r, s);
+					if (mo != null)
+						return mo;
+				}
+			}
+		}
+		return null;
+	}
+
+	/** Call the specified callback for each map object */
+	private M forEachCell(MapSearcher s) {
+		for (ArrayList<M> objs: cells.values()) {
+			for (M mo: objs) {
+				if (s.next(mo))
+					return mo;
+			}
+		}
+		return null;
+	}
+
+	/** Call the specified callback for each map object in a range of
+	 * cells, checking every cell in the grid. */
+	private M forEachCell(Rectangle2D r, int x0, int x1, int y0, int y1,
+		MapSearcher s)
+	{
+		for (Map.Entry<Long, ArrayList<M>> e: cells.entrySet()) {
+			long key = e.getKey();
+			int x = cellX(key);
+			int y = cellY(key);
+			if (x >= x0 && x <= x1 && y >= y0 && y <= y1) {
+				M mo = forEach(e.getValue(), r, s);
+				if (mo != null)
+					return mo;
+			}
+		}
+		return null;
+	}
+
+	/** Call the specified callback for map objects in a cell which are
+	 * within a region. */
+	private M forEach(ArrayList<M> objs, Rectangle2D r, MapSearcher s) {
+		int n = objs.size();
+		for (int i = 0; i < n; i++) {
+			M mo = objs.get(i);
+			AffineTransform t = mo.getTransform();
+			if (r.contains(t.getTranslateX(), t.getTranslateY()) &&
+			    s.next(mo))
+				return mo;
+		}
+		return null;
+	}
+}
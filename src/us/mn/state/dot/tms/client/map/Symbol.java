@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2016  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -37,6 +37,10 @@ public interface Symbol {
 	/** Hit-test map object */
 	boolean hit(Point2D p, MapObject mo);
 
+	/** Get the radius (from map object origin) of the symbol at the
+	 * current scale, in user coordinates */
+	double getRadius();
+
 	/** Get the legend icon */
 	Icon getLegend(Style sty);
 }
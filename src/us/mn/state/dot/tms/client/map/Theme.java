@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2004-2019  Minnesota Department of Transportation
+ * Copyright (C) 2004-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -104,6 +104,11 @@ public class Theme {
 		return symbol.hit(p, mo);
 	}
 
+	/** Get the radius of the symbol at the current scale */
+	public double getRadius() {
+		return symbol.getRadius();
+	}
+
 	/** Get tooltip text for the given map object */
 	public String getTip(MapObject mo) {
 		return mo.toString();
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2011-2016  Minnesota Department of Transportation
+ * Copyright (C) 2011-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -53,6 +53,12 @@ public class TileSymbol implements Symbol {
 		return false;
 	}
 
+	/** Get the radius of the symbol */
+	@Override
+	public double getRadius() {
+		return 0;
+	}
+
 	/** Get the legend icon */
 	@Override
 	public Icon getLegend(Style sty) {
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2007-2016  Minnesota Department of Transportation
+ * Copyright (C) 2007-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -153,6 +153,17 @@ public class VectorSymbol implements Symbol {
 		return shp.contains(ip);
 	}
 
+	/** Get the radius of the symbol at the current scale */
+	@Override
+	public double getRadius() {
+		Rectangle2D r = shape.getBounds2D();
+		double x = Math.max(Math.abs(r.getMinX()),
+			Math.abs(r.getMaxX()));
+		double y = Math.max(Math.abs(r.getMinY()),
+			Math.abs(r.getMaxY()));
+		return Math.hypot(x, y);
+	}
+
 	/** Get the legend icon */
 	@Override
 	public Icon getLegend(Style sty) {
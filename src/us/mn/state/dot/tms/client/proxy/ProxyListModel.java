@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2007-2016  Minnesota Department of Transportation
+ * Copyright (C) 2007-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,7 +14,6 @@
  */
 package us.mn.state.dot.tms.client.proxy;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import javax.swing.AbstractListModel;
@@ -33,8 +32,8 @@ public class ProxyListModel<T extends SonarObject>
 	/** Proxy type cache */
 	private final TypeCache<T> cache;
 
-	/** Proxy list */
-	private final ArrayList<T> list;
+	/** Sorted proxy list */
+	private final SortedProxyList<T> list;
 
 	/** Proxy comparator */
 	private final Comparator<T> comp = comparator();
@@ -58,7 +57,7 @@ public class ProxyListModel<T extends SonarObject>
 		protected void enumerationCompleteSwing(Collection<T> proxies) {
 			for (T proxy: proxies) {
 				if (check(proxy))
-					list.add(proxy);
+					list.append(proxy);
 			}
 			int sz = list.size() - 1;
 			if (sz >= 0)
@@ -77,7 +76,7 @@ public class ProxyListModel<T extends SonarObject>
 	/** Create a new proxy list model */
 	public ProxyListModel(TypeCache<T> c) {
 		cache = c;
-		list = new ArrayList<T>();
+		list = new SortedProxyList<T>(comp);
 	}
 
 	/** Initialize the proxy list model. This cannot be done in the
@@ -99,30 +98,13 @@ public class ProxyListModel<T extends SonarObject>
 
 	/** Add a new proxy to the model */
 	private int doProxyAdded(T proxy) {
-		if (check(proxy)) {
-			int n_size = list.size();
-			for (int i = 0; i < n_size; ++i) {
-				int c = comp.compare(proxy, list.get(i));
-				if (c == 0)
-					return -1;
-				if (c < 0) {
-					list.add(i, proxy);
-					return i;
-				}
-			}
-			list.add(proxy);
-			return n_size;
-		} else
-			return -1;
+		return check(proxy) ? list.add(proxy) : -1;
 	}
 
 	/** Remove a proxy from the model */
 	private int doProxyRemoved(T proxy) {
 		checkRemove(proxy);
-		int i = getIndex(proxy);
-		if (i >= 0)
-			list.remove(i);
-		return i;
+		return list.remove(proxy);
 	}
 
 	/** Check when proxy is removed */
@@ -132,8 +114,17 @@ public class ProxyListModel<T extends SonarObject>
 
 	/** Change a proxy in the list model */
 	private void proxyChangedSwing(T proxy) {
-		int pre = doProxyRemoved(proxy);
-		int post = doProxyAdded(proxy);
+		checkRemove(proxy);
+		boolean inc = check(proxy);
+		int pre = list.indexOf(proxy);
+		if (inc && pre >= 0 && list.isOrdered(pre)) {
+			// Still in the same position
+			fireContentsChanged(this, pre, pre);
+			return;
+		}
+		if (pre >= 0)
+			list.remove(pre);
+		int post = inc ? list.add(proxy) : -1;
 		if (pre >= 0 && post >= 0) {
 			int r0 = Math.min(pre, post);
 			int r1 = Math.max(pre, post);
@@ -163,10 +154,6 @@ public class ProxyListModel<T extends SonarObject>
 
 	/** Get the index of the given proxy */
 	public int getIndex(T proxy) {
-		for (int i = 0; i < list.size(); ++i) {
-			if (proxy == list.get(i))
-				return i;
-		}
-		return -1;
+		return list.indexOf(proxy);
 	}
 }
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2008-2025  Minnesota Department of Transportation
+ * Copyright (C) 2008-2026  Minnesota Department of Transportation
  * Copyright (C) 2010  AHMCT, University of California
  *
  * This program is free software; you can redistribute it and/or modify
@@ -18,6 +18,7 @@ package us.mn.state.dot.tms.client.proxy;
 import java.awt.FlowLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.MouseEvent;
+import java.awt.geom.Rectangle2D;
 import java.util.Collection;
 import javax.swing.Icon;
 import javax.swing.JLabel;
@@ -497,6 +498,26 @@ abstract public class ProxyManager<T extends SonarObject> {
 		return null;
 	}
 
+	/** Iterate through proxy objects within a region.
+	 * @param s Map searcher callback.
+	 * @param r Region in user coordinates (null for all).
+	 * @return Map object found, if any. */
+	public MapObject forEach(final MapSearcher s, Rectangle2D r) {
+		synchronized (map_cache) {
+			return map_cache.forEach(r, new MapSearcher() {
+				public boolean next(MapObject mo) {
+					MapGeoLoc loc = (MapGeoLoc) mo;
+					return isVisible(loc) && s.next(loc);
+				}
+			});
+		}
+	}
+
+	/** Update the position of a MapGeoLoc in the map cache */
+	public void updateGeoLoc(MapGeoLoc loc) {
+		map_cache.update(loc);
+	}
+
 	/** Check if a MapGeoLoc is visible */
 	private boolean isVisible(MapGeoLoc loc) {
 		return isLocationSet(loc) && isStyleVisible(loc);
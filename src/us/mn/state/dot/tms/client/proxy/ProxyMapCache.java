@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2008-2019  Minnesota Department of Transportation
+ * Copyright (C) 2008-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,14 +14,17 @@
  */
 package us.mn.state.dot.tms.client.proxy;
 
+import java.awt.geom.Rectangle2D;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Map;
 import us.mn.state.dot.sonar.SonarObject;
+import us.mn.state.dot.tms.client.map.MapSearcher;
+import us.mn.state.dot.tms.client.map.SpatialGrid;
 
 /**
  * A cache mapping from MapGeoLoc to proxy objects.  This cache
- * is an optimization to help ProxyManager.findProxy run fast.
+ * is an optimization to help ProxyManager.findProxy run fast.  It also
+ * contains a spatial grid of the MapGeoLocs, for searching a region.
  *
  * @author Douglas Lau
  */
@@ -33,32 +36,61 @@ public final class ProxyMapCache<T extends SonarObject>
 	private final HashMap<MapGeoLoc, T> map_proxies =
 		new HashMap<MapGeoLoc, T>();
 
+	/** Mapping from proxy objects to MapGeoLoc */
+	private final HashMap<T, MapGeoLoc> proxy_locs =
+		new HashMap<T, MapGeoLoc>();
+
+	/** Spatial grid of MapGeoLocs */
+	private final SpatialGrid<MapGeoLoc> grid =
+		new SpatialGrid<MapGeoLoc>();
+
 	/** Dispose of the proxy map cache */
 	public synchronized void dispose() {
 		map_proxies.clear();
+		proxy_locs.clear();
+		grid.clear();
 	}
 
 	/** Put an entry into cache.
 	 * @param loc Map object to associate with proxy.
 	 * @param proxy Proxy to associate with map object. */
 	public synchronized void put(MapGeoLoc loc, T proxy) {
+		MapGeoLoc ploc = proxy_locs.put(proxy, loc);
+		if (ploc != null && ploc != loc &&
+		    map_proxies.get(ploc) == proxy)
+		{
+			map_proxies.remove(ploc);
+			grid.remove(ploc);
+		}
 		map_proxies.put(loc, proxy);
+		grid.add(loc);
 	}
 
 	/** Remove an entry from cache.
 	 * @param proxy Proxy to remove from cache. */
 	public synchronized void remove(T proxy) {
-		Iterator<Map.Entry<MapGeoLoc, T>> it =
-			map_proxies.entrySet().iterator();
-		while (it.hasNext()) {
-			Map.Entry<MapGeoLoc, T> ent = it.next();
-			if (ent.getValue() == proxy) {
-				it.remove();
-				break;
-			}
+		MapGeoLoc loc = proxy_locs.remove(proxy);
+		if (loc != null && map_proxies.get(loc) == proxy) {
+			map_proxies.remove(loc);
+			grid.remove(loc);
 		}
 	}
 
+	/** Update the position of an entry after its transform changed.
+	 * @param loc Map object which was updated. */
+	public synchronized void update(MapGeoLoc loc) {
+		grid.update(loc);
+	}
+
+	/** Call the specified callback for each MapGeoLoc within a region.
+	 * The caller must synchronize on the cache.
+	 * @param r Region in user coordinates (null for all).
+	 * @param s Map searcher callback.
+	 * @return MapGeoLoc found, if any. */
+	public MapGeoLoc forEach(Rectangle2D r, MapSearcher s) {
+		return grid.forEach(r, s);
+	}
+
 	/** Lookup a proxy in the cache.
 	 * @param loc Map object to find associated proxy.
 	 * @return Proxy associated with map object. */
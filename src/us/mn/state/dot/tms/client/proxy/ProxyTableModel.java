@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2007-2023  Minnesota Department of Transportation
+ * Copyright (C) 2007-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -56,8 +56,8 @@ abstract public class ProxyTableModel<T extends SonarObject>
 	/** Proxy columns */
 	private final ArrayList<ProxyColumn<T>> columns;
 
-	/** Proxy list */
-	private final ArrayList<T> list;
+	/** Sorted proxy list */
+	private final SortedProxyList<T> list;
 
 	/** Proxy comparator */
 	private final Comparator<T> comp = comparator();
@@ -83,7 +83,7 @@ abstract public class ProxyTableModel<T extends SonarObject>
 		protected void enumerationCompleteSwing(Collection<T> proxies) {
 			for (T proxy: proxies) {
 				if (check(proxy))
-					list.add(proxy);
+					list.append(proxy);
 			}
 			int sz = list.size() - 1;
 			if (sz >= 0)
@@ -115,7 +115,7 @@ abstract public class ProxyTableModel<T extends SonarObject>
 		visible_row_count = vrc;
 		row_height = rh;
 		columns = createColumns();
-		list = new ArrayList<T>();
+		list = new SortedProxyList<T>(comp);
 	}
 
 	/** Create a new proxy table model.
@@ -213,35 +213,26 @@ abstract public class ProxyTableModel<T extends SonarObject>
 
 	/** Add a new proxy to the table model */
 	private int doProxyAdded(T proxy) {
-		if (check(proxy)) {
-			int n_size = list.size();
-			for (int i = 0; i < n_size; ++i) {
-				int c = comp.compare(proxy, list.get(i));
-				if (c == 0)
-					return -1;
-				if (c < 0) {
-					list.add(i, proxy);
-					return i;
-				}
-			}
-			list.add(proxy);
-			return n_size;
-		} else
-			return -1;
+		return check(proxy) ? list.add(proxy) : -1;
 	}
 
 	/** Remove a proxy from the table model */
 	private int doProxyRemoved(T proxy) {
-		int i = getIndex(proxy);
-		if (i >= 0)
-			list.remove(i);
-		return i;
+		return list.remove(proxy);
 	}
 
 	/** Change a proxy in the table model */
 	protected void proxyChangedSwing(T proxy) {
-		int pre = doProxyRemoved(proxy);
-		int post = doProxyAdded(proxy);
+		boolean inc = check(proxy);
+		int pre = list.indexOf(proxy);
+		if (inc && pre >= 0 && list.isOrdered(pre)) {
+			// Still in the same position
+			fireTableRowsUpdated(pre, pre);
+			return;
+		}
+		if (pre >= 0)
+			list.remove(pre);
+		int post = inc ? list.add(proxy) : -1;
 		if (pre >= 0 && post >= 0) {
 			int r0 = Math.min(pre, post);
 			int r1 = Math.max(pre, post);
@@ -273,11 +264,7 @@ abstract public class ProxyTableModel<T extends SonarObject>
 
 	/** Get the index of the given proxy */
 	public int getIndex(T proxy) {
-		for (int i = 0; i < list.size(); ++i) {
-			if (proxy == list.get(i))
-				return i;
-		}
-		return -1;
+		return list.indexOf(proxy);
 	}
 
 	/** Get the visible row count */
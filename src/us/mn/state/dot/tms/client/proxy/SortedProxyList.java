@@ -0,0 +1,117 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.proxy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import us.mn.state.dot.sonar.SonarObject;
+
+/**
+ * A sorted list of proxies, used by proxy list and table models.  Proxies
+ * are located with a binary search.  A linear scan is only needed when a
+ * proxy has changed position in the sort order, and proxies which are not
+ * in the list are rejected with an identity set lookup.
+ *
+ * @author Douglas Lau
+ */
+public class SortedProxyList<T extends SonarObject> {
+
+	/** Proxy comparator */
+	private final Comparator<T> comp;
+
+	/** Sorted proxy list */
+	private final ArrayList<T> list = new ArrayList<T>();
+
+	/** Set of all proxies in the list */
+	private final Set<T> members = Collections.newSetFromMap(
+		new IdentityHashMap<T, Boolean>());
+
+	/** Create a new sorted proxy list */
+	public SortedProxyList(Comparator<T> c) {
+		comp = c;
+	}
+
+	/** Get the number of proxies in the list */
+	public int size() {
+		return list.size();
+	}
+
+	/** Get the proxy at the specified index */
+	public T get(int i) {
+		return list.get(i);
+	}
+
+	/** Append a proxy which sorts after all others in the list.  This
+	 * is used when populating the list from a sorted enumeration. */
+	public void append(T proxy) {
+		assert list.isEmpty() ||
+		       comp.compare(list.get(list.size() - 1), proxy) < 0;
+		list.add(proxy);
+		members.add(proxy);
+	}
+
+	/** Add a proxy to the list.
+	 * @return Index of added proxy, or -1 if an equal proxy exists. */
+	public int add(T proxy) {
+		int i = Collections.binarySearch(list, proxy, comp);
+		if (i >= 0)
+			return -1;
+		i = -(i + 1);
+		list.add(i, proxy);
+		members.add(proxy);
+		return i;
+	}
+
+	/** Get the index of a proxy.
+	 * @return Index of proxy, or -1 if not in the list. */
+	public int indexOf(T proxy) {
+		if (!members.contains(proxy))
+			return -1;
+		int i = Collections.binarySearch(list, proxy, comp);
+		if (i >= 0 && list.get(i) == proxy)
+			return i;
+		// Sort order of proxy has changed
+		for (i = 0; i < list.size(); i++) {
+			if (list.get(i) == proxy)
+				return i;
+		}
+		return -1;
+	}
+
+	/** Remove the proxy at the specified index */
+	public void remove(int i) {
+		members.remove(list.remove(i));
+	}
+
+	/** Remove a proxy from the list.
+	 * @return Index of removed proxy, or -1 if not in the list. */
+	public int remove(T proxy) {
+		int i = indexOf(proxy);
+		if (i >= 0)
+			remove(i);
+		return i;
+	}
+
+	/** Check if the proxy at an index is still in sort order */
+	public boolean isOrdered(int i) {
+		T proxy = list.get(i);
+		return (i == 0 || comp.compare(list.get(i - 1), proxy) < 0) &&
+		       (i == list.size() - 1 ||
+		        comp.compare(proxy, list.get(i + 1)) < 0);
+	}
+}
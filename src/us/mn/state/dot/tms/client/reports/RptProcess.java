@@ -1,6 +1,7 @@
 /*
  * IRIS -- Intelligent Roadway Information System
  * Copyright (C) 2017-2018  SRF Consulting Group
+ * Copyright (C) 2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -35,13 +36,15 @@ import us.mn.state.dot.tms.utils.I18N;
  * 0.5 seconds, this displays a progress dialog
  * that provides a button to cancel the request.
  * 
- * Once the server returns a report, this closes
- * the progress dialog (if shown) and displays a
+ * Once the server returns a report, this requests
+ * any remaining pages of results, then closes the
+ * progress dialog (if shown) and displays a
  * RptResultForm containing the report data.
  * 
  * @author John L. Stanley - SRF Consulting
+ * @author Douglas Lau
  */
-public class RptProcess extends SwingWorker<String,Integer> {
+public class RptProcess extends SwingWorker<RptResults,Integer> {
 
 	protected final Session session;
 	protected final String ssRequest;
@@ -54,12 +57,20 @@ public class RptProcess extends SwingWorker<String,Integer> {
 		this.ssRequest = ssReq;
 	}
 
+	/** Check if a results string is valid */
+	static private boolean isValidResults(String ssResults) {
+		return (ssResults != null)
+		    && !ssResults.isEmpty()
+		    && (ssResults.charAt(0) == '{');
+	}
+
 	/** Submit a report request and wait for the results. */
 	@Override
-	protected String doInBackground() throws Exception {
+	protected RptResults doInBackground() throws Exception {
 		TypeCache<RptConduit> cache = null;
 		String conduitName = null;
-		String ssResults = null;
+		RptResults res = null;
+		int page = 0;
 
 		indMon = new IndProgressMonitor(session.getDesktop(),
 				I18N.get("report.generating"), null);
@@ -86,13 +97,20 @@ public class RptProcess extends SwingWorker<String,Integer> {
 					conduit.setRequest(ssRequest);
 			}
 
-			// If server has returned a report, exit.
-			if (conduit != null) {
-				ssResults = conduit.getResults();
-				if ((ssResults != null)
-				 && !ssResults.isEmpty()
-				 && (ssResults.charAt(0) == '{'))
-					break;
+			// If server has returned the current page,
+			// add it to results and request the next.
+			if (conduit != null && conduit.getPage() == page) {
+				String ssResults = conduit.getResults();
+				if (isValidResults(ssResults)) {
+					if (null == res)
+						res = new RptResults();
+					res.initFromResultsString(ssResults);
+					page++;
+					if (page >= conduit.getPageCount())
+						break;
+					conduit.setPage(page);
+					continue;
+				}
 			}
 
 			// update progress monitor and take a nap
@@ -101,7 +119,7 @@ public class RptProcess extends SwingWorker<String,Integer> {
 			publish(x);
 			Thread.sleep(100);
 		}
-		return ssResults;
+		return res;
 	}
 	
 	/** Update progress monitor */
@@ -121,9 +139,8 @@ public class RptProcess extends SwingWorker<String,Integer> {
 				return;
 			}
 
-			String ssResults = get();
-			if (ssResults != null) {
-				RptResults res = new RptResults(ssResults);
+			RptResults res = get();
+			if (res != null) {
 				RptResultsForm form = new RptResultsForm(res);
 				session.getDesktop().show(form);
 			}
@@ -1,6 +1,7 @@
 /*
  * IRIS -- Intelligent Roadway Information System
  * Copyright (C) 2017-2018  SRF Consulting Group
+ * Copyright (C) 2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -171,6 +172,8 @@ public class RptResultsForm extends AbstractForm {
 	/** Create or update the report results form */
 	public void updateForm() {
 		removeAll();
+		for (String ex: results.getExceptions())
+			add(new JLabel(ex));
 		RptResultsModel m = new RptResultsModel(results);
 		report_tbl = new ZTable();
 		report_tbl.setModel(m);
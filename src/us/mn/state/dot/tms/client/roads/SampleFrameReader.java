@@ -0,0 +1,197 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.roads;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.zip.GZIPInputStream;
+import us.mn.state.dot.tms.SampleFrame;
+
+/**
+ * Reader for binary sample frames.  Requests are conditional, so an
+ * unchanged frame is not transferred.  The sensor index is only fetched
+ * when the frame refers to a different index.
+ *
+ * @author Douglas Lau
+ */
+public class SampleFrameReader {
+
+	/** Name of sensor index file (relative to frame URL) */
+	static private final String INDEX_BIN = "det_index.bin.gz";
+
+	/** Timeout for direct URL Connections */
+	static private final int URL_TIMEOUT_MS = 5 * 1000;
+
+	/** A resource fetched with conditional requests.  Validators from a
+	 * response are only used once its content has been parsed. */
+	static private class Resource {
+		private final URL url;
+		private long last_modified = 0;
+		private String etag = null;
+		private long next_modified = 0;
+		private String next_etag = null;
+		private Resource(URL u) {
+			url = u;
+		}
+
+		/** Open the resource.
+		 * @return Input stream, or null if not modified. */
+		private InputStream open() throws IOException {
+			URLConnection conn = url.openConnection();
+			conn.setConnectTimeout(URL_TIMEOUT_MS);
+			conn.setReadTimeout(URL_TIMEOUT_MS);
+			if (conn instanceof HttpURLConnection)
+				return openHttp((HttpURLConnection) conn);
+			else
+				return conn.getInputStream();
+		}
+
+		/** Open an HTTP resource with a conditional request */
+		private InputStream openHttp(HttpURLConnection conn)
+			throws IOException
+		{
+			if (last_modified > 0)
+				conn.setIfModifiedSince(last_modified);
+			if (etag != null)
+				conn.setRequestProperty("If-None-Match", etag);
+			if (conn.getResponseCode() ==
+			    HttpURLConnection.HTTP_NOT_MODIFIED)
+			{
+				conn.disconnect();
+				return null;
+			}
+			InputStream in = conn.getInputStream();
+			next_modified = conn.getLastModified();
+			next_etag = conn.getHeaderField("ETag");
+			return in;
+		}
+
+		/** Commit validators, after content was parsed successfully */
+		private void commit() {
+			last_modified = next_modified;
+			etag = next_etag;
+		}
+
+		/** Forget validators, forcing the next request */
+		private void reset() {
+			last_modified = 0;
+			etag = null;
+		}
+	}
+
+	/** Open a gzip'd data input stream */
+	static private DataInputStream openData(InputStream in)
+		throws IOException
+	{
+		return new DataInputStream(new BufferedInputStream(
+			new GZIPInputStream(in)));
+	}
+
+	/** Sample frame resource */
+	private final Resource frame_res;
+
+	/** Sensor index resource */
+	private final Resource index_res;
+
+	/** Sample frame (arrays reused for each read) */
+	private final SampleFrame frame = new SampleFrame();
+
+	/** Sensor names, indexed by ordinal */
+	private String[] sensors = new String[0];
+
+	/** Sensor index ID */
+	private int index_id = 0;
+
+	/** Time stamp of most recent frame */
+	private long stamp = 0;
+
+	/** Get the time stamp of most recent frame */
+	public long getStamp() {
+		return stamp;
+	}
+
+	/** Create a new sample frame reader */
+	public SampleFrameReader(URL u) throws IOException {
+		frame_res = new Resource(u);
+		index_res = new Resource(new URL(u, INDEX_BIN));
+	}
+
+	/** Read a sample frame, updating a segment builder.
+	 * @return true if a new frame was read. */
+	public boolean read(SegmentBuilder builder) throws IOException {
+		if (!readFrame())
+			return false;
+		for (int i = 0; i < sensors.length; i++) {
+			if (frame.hasData(i)) {
+				builder.update(new SensorSample(sensors[i],
+					frame.getFlow(i), frame.getSpeed(i),
+					frame.getOcc(i)));
+			}
+		}
+		return true;
+	}
+
+	/** Read a sample frame, and the sensor index if it changed.  Frame
+	 * validators are only committed once the index also matches, so a
+	 * failed index read is retried with the frame next time.
+	 * @return true if a new frame was read. */
+	boolean readFrame() throws IOException {
+		InputStream in = frame_res.open();
+		if (null == in)
+			return false;
+		try (DataInputStream dis = openData(in)) {
+			frame.read(dis);
+		}
+		if (frame.getStamp() == stamp) {
+			frame_res.commit();
+			return false;
+		}
+		if (frame.getIndexId() != index_id)
+			readIndex();
+		if (frame.getIndexId() != index_id ||
+		    frame.size() != sensors.length)
+		{
+			// Index out of date; try again next time
+			frame_res.reset();
+			index_res.reset();
+			throw new IOException("Sensor index mismatch");
+		}
+		frame_res.commit();
+		stamp = frame.getStamp();
+		return true;
+	}
+
+	/** Get the number of sensors in the index */
+	int getSensorCount() {
+		return sensors.length;
+	}
+
+	/** Read the sensor index */
+	private void readIndex() throws IOException {
+		InputStream in = index_res.open();
+		if (in != null) {
+			try (DataInputStream dis = openData(in)) {
+				sensors = SampleFrame.readIndex(dis);
+				index_id = SampleFrame.indexId(sensors);
+			}
+			index_res.commit();
+		}
+	}
+}
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2018  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -68,6 +68,11 @@ public class SegmentBuilder implements Iterable<Segment> {
 	private SensorReader createReader(Properties props) throws IOException,
 		SAXException, ParserConfigurationException
 	{
+		String bin = props.getProperty("tdxml.sample.url");
+		if (bin != null) {
+			return new SensorReader(new SampleFrameReader(
+				new URL(bin)), this);
+		}
 		String loc = props.getProperty("tdxml.detector.url");
 		return (loc != null)
 		     ? new SensorReader(new URL(loc), this)
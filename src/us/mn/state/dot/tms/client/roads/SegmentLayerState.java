@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2018  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -15,6 +15,7 @@
 package us.mn.state.dot.tms.client.roads;
 
 import java.awt.event.MouseEvent;
+import java.awt.geom.Rectangle2D;
 import us.mn.state.dot.tms.R_Node;
 import us.mn.state.dot.tms.client.map.MapBean;
 import us.mn.state.dot.tms.client.map.MapObject;
@@ -59,6 +60,12 @@ public class SegmentLayerState extends ProxyLayerState<R_Node> {
 			return forEachStation(s);
 	}
 
+	/** Iterate through all segments (not indexed by region) */
+	@Override
+	public MapObject forEach(MapSearcher s, Rectangle2D r) {
+		return forEach(s);
+	}
+
 	/** Is the zoom level past the "individual lane" threshold? */
 	private boolean isPastLaneZoomThreshold() {
 		return map.getModel().getZoomLevel().ordinal() >= 14;
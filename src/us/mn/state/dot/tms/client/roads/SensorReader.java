@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2018  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -34,7 +34,7 @@ import us.mn.state.dot.sched.Scheduler;
 /**
  * SensorReader reads and parses an XML document at a 30-second interval.
  * SensorSample objects are created for each sample element, and reported
- * to the segment layer.
+ * to the segment layer.  Alternatively, it can read binary sample frames.
  *
  * @author Douglas Lau
  */
@@ -82,6 +82,9 @@ public class SensorReader {
 	/** SAX parser */
 	private final SAXParser parser;
 
+	/** Binary sample frame reader (null for XML) */
+	private final SampleFrameReader frame_reader;
+
 	/** Time stamp from previous read */
 	private String last_stamp = "";
 
@@ -106,12 +109,27 @@ public class SensorReader {
 		}
 	};
 
-	/** Create a new sensor reader */
+	/** Create a new sensor reader for XML documents */
 	public SensorReader(URL u, SegmentBuilder sb) throws SAXException,
 		ParserConfigurationException
+	{
+		this(u, sb, null);
+	}
+
+	/** Create a new sensor reader for binary sample frames */
+	public SensorReader(SampleFrameReader fr, SegmentBuilder sb)
+		throws SAXException, ParserConfigurationException
+	{
+		this(null, sb, fr);
+	}
+
+	/** Create a new sensor reader */
+	private SensorReader(URL u, SegmentBuilder sb, SampleFrameReader fr)
+		throws SAXException, ParserConfigurationException
 	{
 		url = u;
 		builder = sb;
+		frame_reader = fr;
 		SAXParserFactory factory = SAXParserFactory.newInstance();
 		parser = factory.newSAXParser();
 		// Read the sensor data right away
@@ -133,7 +151,10 @@ public class SensorReader {
 	private void readXmlFile() {
 		try {
 			time_changed = false;
-			parse();
+			if (frame_reader != null)
+				time_changed = frame_reader.read(builder);
+			else
+				parse();
 		}
 		catch (Exception e) {
 			logErr(e.getMessage());
@@ -144,13 +165,20 @@ public class SensorReader {
 				receive_stamp = now;
 				builder.completeSamples();
 			} else {
-				logErr("lastStamp: " + last_stamp);
+				logErr("lastStamp: " + getLastStamp());
 				if (now - receive_stamp > SAMPLE_VALID_MS)
 					builder.clearSamples();
 			}
 		}
 	}
 
+	/** Get the time stamp from previous read */
+	private String getLastStamp() {
+		return (frame_reader != null)
+		      ? new Date(frame_reader.getStamp()).toString()
+		      : last_stamp;
+	}
+
 	/** Log an error to stderr */
 	private void logErr(String msg) {
 		System.err.println("" + new Date() + " SensorReader " + msg);
@@ -1,6 +1,7 @@
 /*
  * IRIS -- Intelligent Roadway Information System
  * Copyright (C) 2017-2018  SRF Consulting Group
+ * Copyright (C) 2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -21,6 +22,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Container for report results.
@@ -118,20 +120,49 @@ public class RptResults {
 	RptStringSet exceptions = new RptStringSet("exceptions");
 	
 	public void addException(String message) {
-		exceptions.add(message);
+		exceptions.add((message != null) ? message : "Unknown error");
+	}
+
+	/** Get exception messages (included with every page of results) */
+	public Set<String> getExceptions() {
+		return exceptions;
 	}
 		
 	//-------------------------------------------
 
+	/** Flag indicating report generation was canceled */
+	private volatile boolean canceled = false;
+
+	/** Set the canceled flag (checked by report generators) */
+	public void setCanceled(boolean c) {
+		canceled = c;
+	}
+
+	/** Check if report generation was canceled */
+	public boolean isCanceled() {
+		return canceled;
+	}
+
+	//-------------------------------------------
+
 	/** Converts result to a composite-results String. */
 	public String toResultsString() {
+		return toResultsString(0, list.size());
+	}
+
+	/** Converts a page of results to a composite-results String.
+	 * @param first Index of first row in page.
+	 * @param n Maximum number of rows in page. */
+	public String toResultsString(int first, int n) {
 		RptStringSetMap rssm = new RptStringSetMap();
 		RptResultItem item;
 		RptStringSet rssRow;
 
 		// convert to RptStringSetMap
+		int last = Math.min(first + n, list.size());
 		int i = 0;
-		Iterator<RptResultItem> iter = list.iterator();
+		Iterator<RptResultItem> iter = list.subList(
+			Math.min(first, last), last).iterator();
 		while (iter.hasNext()) {
 			item = iter.next();
 			++i;
@@ -142,6 +173,8 @@ public class RptResults {
 			rssRow.add(item.getDescription());
 			rssm.add(rssRow);
 		}
+		if (!exceptions.isEmpty())
+			rssm.add(exceptions);
 
 		return rssm.toCompositeString();
 	}
@@ -165,6 +198,9 @@ public class RptResults {
 				++row;
 				key = "row" + row;
 			}
+			RptStringSet ex = rssm.get(exceptions.getName());
+			if (ex != null)
+				exceptions.addAll(ex);
 			this.sortcol = SORTonDATETIME;
 		} catch (IOException e) {
 			e.printStackTrace();
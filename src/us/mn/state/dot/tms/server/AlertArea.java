@@ -0,0 +1,149 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.ArrayList;
+import org.postgis.LinearRing;
+import org.postgis.MultiPolygon;
+import org.postgis.Point;
+import org.postgis.Polygon;
+import us.mn.state.dot.tms.geo.GeodeticDatum;
+
+/**
+ * Alert area, for testing distances from points to a set of polygons
+ * without a database query.  This is equivalent to PostGIS ST_DWithin on
+ * geography, within the accuracy of a local equirectangular projection
+ * (well under 1% for distances of a few tens of kilometers).
+ *
+ * @author Douglas Lau
+ */
+public class AlertArea {
+
+	/** Mean radius of Earth (in meters) */
+	static private final double MEAN_RADIUS =
+		GeodeticDatum.WGS_84.getMeanRadius();
+
+	/** Meters per degree of latitude */
+	static private final double M_PER_DEG = MEAN_RADIUS * Math.PI / 180;
+
+	/** Polygons, each an array of rings.  Rings are arrays of
+	 * alternating longitude / latitude values. */
+	private final ArrayList<double[][]> polys = new ArrayList<double[][]>();
+
+	/** Bounding box */
+	private double min_lat = Double.POSITIVE_INFINITY;
+	private double max_lat = Double.NEGATIVE_INFINITY;
+	private double min_lon = Double.POSITIVE_INFINITY;
+	private double max_lon = Double.NEGATIVE_INFINITY;
+
+	/** Create a new alert area */
+	public AlertArea(MultiPolygon mp) {
+		if (mp != null) {
+			for (Polygon pg: mp.getPolygons())
+				addPolygon(pg);
+		}
+	}
+
+	/** Add one polygon */
+	private void addPolygon(Polygon pg) {
+		double[][] rings = new double[pg.numRings()][];
+		for (int r = 0; r < rings.length; r++) {
+			LinearRing lr = pg.getRing(r);
+			double[] ring = new double[lr.numPoints() * 2];
+			for (int i = 0; i < lr.numPoints(); i++) {
+				Point pt = lr.getPoint(i);
+				ring[i * 2] = pt.x;
+				ring[i * 2 + 1] = pt.y;
+				min_lon = Math.min(min_lon, pt.x);
+				max_lon = Math.max(max_lon, pt.x);
+				min_lat = Math.min(min_lat, pt.y);
+				max_lat = Math.max(max_lat, pt.y);
+			}
+			rings[r] = ring;
+		}
+		polys.add(rings);
+	}
+
+	/** Check if a point is within a distance of the area.
+	 * @param lat Latitude of point.
+	 * @param lon Longitude of point.
+	 * @param m Distance (meters).
+	 * @return true if point is inside or within distance. */
+	public boolean isWithin(double lat, double lon, double m) {
+		double dlat = m / M_PER_DEG;
+		double dlon = dlat / Math.max(0.01,
+			Math.cos(Math.toRadians(lat)));
+		if (lat < min_lat - dlat || lat > max_lat + dlat ||
+		    lon < min_lon - dlon || lon > max_lon + dlon)
+			return false;
+		return distance(lat, lon) <= m;
+	}
+
+	/** Calculate the distance from a point to the area.
+	 * @param lat Latitude of point.
+	 * @param lon Longitude of point.
+	 * @return Distance (meters), or 0 if inside. */
+	public double distance(double lat, double lon) {
+		double dist = Double.POSITIVE_INFINITY;
+		double kx = M_PER_DEG * Math.cos(Math.toRadians(lat));
+		for (double[][] rings: polys) {
+			if (contains(rings, lat, lon))
+				return 0;
+			for (double[] ring: rings) {
+				for (int i = 2; i < ring.length; i += 2) {
+					double d = segmentDistance(
+						(ring[i - 2] - lon) * kx,
+						(ring[i - 1] - lat) * M_PER_DEG,
+						(ring[i] - lon) * kx,
+						(ring[i + 1] - lat) * M_PER_DEG);
+					dist = Math.min(dist, d);
+				}
+			}
+		}
+		return dist;
+	}
+
+	/** Check if a polygon contains a point (even-odd rule, so points
+	 * within holes are excluded) */
+	static private boolean contains(double[][] rings, double lat,
+		double lon)
+	{
+		boolean inside = false;
+		for (double[] ring: rings) {
+			for (int i = 2; i < ring.length; i += 2) {
+				double x0 = ring[i - 2];
+				double y0 = ring[i - 1];
+				double x1 = ring[i];
+				double y1 = ring[i + 1];
+				if ((y0 > lat) != (y1 > lat) &&
+				    lon < (x1 - x0) * (lat - y0) / (y1 - y0) + x0)
+					inside = !inside;
+			}
+		}
+		return inside;
+	}
+
+	/** Calculate distance from origin to a line segment */
+	static private double segmentDistance(double x0, double y0, double x1,
+		double y1)
+	{
+		double dx = x1 - x0;
+		double dy = y1 - y0;
+		double len2 = dx * dx + dy * dy;
+		double t = (len2 > 0) ? -(x0 * dx + y0 * dy) / len2 : 0;
+		t = Math.max(0, Math.min(1, t));
+		return Math.hypot(x0 + t * dx, y0 + t * dy);
+	}
+}
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2021-2025  Minnesota Department of Transportation
+ * Copyright (C) 2021-2026  Minnesota Department of Transportation
  * Copyright (C) 2020  SRF Consulting Group, Inc.
  *
  * This program is free software; you can redistribute it and/or modify
@@ -21,6 +21,7 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -259,80 +260,112 @@ public class AlertData {
 			log("no valid geocodes found!");
 	}
 
-	/** Table containing NWS forecast zone geometries */
-	static private final String NWS_ZONE_TABLE = "cap.nws_zones";
+	/** Cached polygons of NWS forecast zones */
+	static private final PolygonStore NWS_ZONES =
+		new PolygonStore("cap.nws_zones", "state_zone");
 
 	/** Create Polygons from a list of NWS forecast zones */
 	static private void createPolygonsNwsZones(List<String> zones,
-		List<Polygon> polys) throws JSONException, SQLException,
-		TMSException
+		List<Polygon> polys) throws TMSException
 	{
-		String codes = String.join(",", zones);
-		log("got UGC codes: " + codes);
-		BaseObjectImpl.store.query("SELECT geog FROM " + NWS_ZONE_TABLE
-			+ " WHERE state_zone IN (" + codes + ");",
-			new PolygonFactory(polys));
-	}
-
-	/** Result factory for building polygons */
-	static private class PolygonFactory implements ResultFactory {
-		private final List<Polygon> polys;
-		private PolygonFactory(List<Polygon> p) {
-			polys = p;
+		log("got UGC codes: " + String.join(",", zones));
+		NWS_ZONES.lookup(zones, polys);
+	}
+
+	/** Cached polygons of US county boundaries */
+	static private final PolygonStore NWS_COUNTIES =
+		new PolygonStore("cap.nws_counties", "fips");
+
+	/** Create Polygons from a list of SAME (FIPS) county codes */
+	static private void createPolygonsFipsCodes(List<String> fips_codes,
+		List<Polygon> polys) throws TMSException
+	{
+		log("got FIPS codes: " + String.join(",", fips_codes));
+		NWS_COUNTIES.lookup(fips_codes, polys);
+	}
+
+	/** Polygon store for a table of zone geometries.  Polygons for a code
+	 * are queried the first time it is referenced by an alert, and kept
+	 * after that.  Codes which are not found are not cached, since the
+	 * tables may be loaded or updated after an alert refers to them; they
+	 * are queried again for each alert. */
+	static private class PolygonStore {
+		private final String table;
+		private final String column;
+		private final HashMap<String, List<Polygon>> polys =
+			new HashMap<String, List<Polygon>>();
+		private PolygonStore(String t, String c) {
+			table = t;
+			column = c;
 		}
 
-		@Override
-		public void create(ResultSet row) throws SQLException {
-			MultiPolygon mp = SQLConnection.multiPolygon(
-				row.getObject(1));
+		/** Lookup polygons for a list of codes */
+		private synchronized void lookup(List<String> codes,
+			List<Polygon> pgons) throws TMSException
+		{
+			ArrayList<String> missing = new ArrayList<String>();
+			for (String code: codes) {
+				if (!polys.containsKey(code))
+					missing.add("'" + code + "'");
+			}
+			if (missing.size() > 0)
+				query(missing);
+			for (String code: codes) {
+				List<Polygon> pl = polys.get(code);
+				if (pl != null)
+					pgons.addAll(pl);
+				else
+					log("code not found: " + code);
+			}
+		}
+
+		/** Query polygons for a list of (quoted) codes */
+		private void query(List<String> codes) throws TMSException {
+			BaseObjectImpl.store.query("SELECT " + column +
+				", geog FROM " + table + " WHERE " + column +
+				" IN (" + String.join(",", codes) + ");",
+				new ResultFactory()
+			{
+				@Override public void create(ResultSet row)
+					throws SQLException
+				{
+					addPolygons(row.getString(1),
+						row.getObject(2));
+				}
+			});
+		}
+
+		/** Add polygons for one code */
+		private void addPolygons(String code, Object geog) {
+			List<Polygon> pl = polys.get(code);
+			if (null == pl) {
+				pl = new ArrayList<Polygon>();
+				polys.put(code, pl);
+			}
+			MultiPolygon mp = SQLConnection.multiPolygon(geog);
 			if (mp != null) {
 				Polygon[] pgons = mp.getPolygons();
 				for (int i = 0; i < pgons.length; i++)
-					polys.add(pgons[i]);
+					pl.add(pgons[i]);
 			} else
 				log("invalid geom PostGIS table!");
 		}
 	}
 
-	/** Table containing US County boundary geometries */
-	static private final String NWS_COUNTIES_TABLE = "cap.nws_counties";
-
-	/** Create Polygons from a list of SAME (FIPS) county codes */
-	static private void createPolygonsFipsCodes(List<String> fips_codes,
-		List<Polygon> polys) throws JSONException, SQLException,
-		TMSException
-	{
-		String codes = String.join(",", fips_codes);
-		log("got FIPS codes: " + codes);
-		BaseObjectImpl.store.query("SELECT geog FROM " +
-			NWS_COUNTIES_TABLE + " WHERE fips IN (" + codes + ");",
-			new PolygonFactory(polys));
-	}
-
-	/** Build query to find DMS within a MultiPolygon */
-	static private String buildDMSQuery(MultiPolygon mp, int th) {
-		return "SELECT d.name " +
-			"FROM iris." + DMS.SONAR_TYPE + " d " +
-			"JOIN iris." + GeoLoc.SONAR_TYPE + " g " +
-			"ON d.geo_loc=g.name " +
-			"WHERE ST_DWithin('" + mp + "'," +
-				"ST_Point(g.lon,g.lat)::geography," + th + ")";
-	}
-
 	/** Format a UGC code containing an NWS forecast zone ID.
 	 *
 	 *  UGC fields will come in as "{STATE}Z{CODE}" (e.g. "MNZ060").
 	 *  We want "{STATE}{CODE}" (e.g. "MN060"), which matches the data from
 	 *  NWS_ZONE_TABLE. */
 	static private String formatUGC(String ugc) {
-		return "'" + String.join("", ugc.split("Z")) + "'";
+		return String.join("", ugc.split("Z"));
 	}
 
 	/** Format a SAME (FIPS) code containing a county ID */
 	static private String formatFIPS(String fips) {
 		while (fips.startsWith("0"))
 			fips = fips.substring(1);
-		return "'" + fips + "'";
+		return fips;
 	}
 
 	/** Get the distance threshold for auto DMS */
@@ -515,12 +548,28 @@ public class AlertData {
 	}
 
 	/** Find signs within the alert area */
-	private boolean findSigns() throws TMSException {
+	private boolean findSigns() {
 		log("searching for DMS");
-		findSigns(all_dms, optionalDmsMeters());
+		AlertArea area = new AlertArea(geo_poly);
+		int auto_m = autoDmsMeters();
+		int opt_m = optionalDmsMeters();
+		Iterator<DMS> it = DMSHelper.iterator();
+		while (it.hasNext()) {
+			DMS d = it.next();
+			GeoLoc loc = d.getGeoLoc();
+			Double lat = (loc != null) ? loc.getLat() : null;
+			Double lon = (loc != null) ? loc.getLon() : null;
+			if (lat != null && lon != null &&
+			    area.isWithin(lat, lon, opt_m))
+			{
+				log("found DMS, " + d.getName());
+				all_dms.add(d);
+				if (area.isWithin(lat, lon, auto_m))
+					auto_dms.add(d);
+			}
+		}
 		if (all_dms.size() > 0) {
 			log("found " + all_dms.size() + " auto+opt signs");
-			findSigns(auto_dms, autoDmsMeters());
 			log("found " + auto_dms.size() + " auto signs");
 			return true;
 		} else {
@@ -529,26 +578,6 @@ public class AlertData {
 		}
 	}
 
-	/** Find all signs within given alert area threshold */
-	private void findSigns(TreeSet<DMS> signs, int th) throws TMSException {
-		BaseObjectImpl.store.query(buildDMSQuery(geo_poly, th),
-			new ResultFactory()
-		{
-			@Override public void create(ResultSet row) {
-				try {
-					String nm = row.getString(1);
-					log("found DMS, " + nm);
-					DMS d = DMSHelper.lookup(nm);
-					if (d != null)
-						signs.add(d);
-				}
-				catch (SQLException e) {
-					log("finding DMS, " + e.getMessage());
-				}
-			}
-		});
-	}
-
 	/** Create alert info for one configuration */
 	private void createAlertInfo(AlertConfig cfg) throws SonarException,
 		TMSException
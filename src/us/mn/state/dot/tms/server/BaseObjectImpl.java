@@ -20,7 +20,7 @@ import java.sql.SQLException;
 import java.text.NumberFormat;
 import java.util.Arrays;
 import java.util.Date;
-import us.mn.state.dot.sched.Job;
+import java.util.List;
 import us.mn.state.dot.sonar.Name;
 import us.mn.state.dot.sonar.SonarException;
 import us.mn.state.dot.sonar.SonarObject;
@@ -30,6 +30,7 @@ import us.mn.state.dot.tms.BaseHelper;
 import us.mn.state.dot.tms.TMSException;
 import static us.mn.state.dot.tms.server.MainServer.FLUSH;
 import us.mn.state.dot.tms.server.event.BaseEvent;
+import us.mn.state.dot.tms.server.event.EventSink;
 
 /**
  * Base object class for storable SONAR objects.
@@ -543,12 +544,22 @@ abstract public class BaseObjectImpl implements Storable, SonarObject {
 		return nf.format(value);
 	}
 
+	/** Number format for doubles (one per thread, to avoid creating a
+	 * new format for each lon/lat value in XML export) */
+	static private final ThreadLocal<NumberFormat> DOUBLE_FORMAT =
+		new ThreadLocal<NumberFormat>()
+	{
+		@Override protected NumberFormat initialValue() {
+			NumberFormat nf = NumberFormat.getNumberInstance();
+			nf.setGroupingUsed(false);
+			nf.setMaximumFractionDigits(5);
+			return nf;
+		}
+	};
+
 	/** Format a double value */
 	static String formatDouble(double value) {
-		NumberFormat nf = NumberFormat.getNumberInstance();
-		nf.setGroupingUsed(false);
-		nf.setMaximumFractionDigits(5);
-		return nf.format(value);
+		return DOUBLE_FORMAT.get().format(value);
 	}
 
 	/** Get a String array from a particular column of a ResultSet.
@@ -585,12 +596,16 @@ abstract public class BaseObjectImpl implements Storable, SonarObject {
 		return null;
 	}
 
+	/** Event sink for buffered event storage */
+	static private final EventSink event_sink = new EventSink(FLUSH);
+
 	/** Log an event */
-	static public void logEvent(final BaseEvent ev) {
-		FLUSH.addJob(new Job() {
-			public void perform() throws TMSException {
-				ev.doStore();
-			}
-		});
+	static public void logEvent(BaseEvent ev) {
+		event_sink.add(ev);
+	}
+
+	/** Log a batch of events */
+	static public void logEvents(List<? extends BaseEvent> evs) {
+		event_sink.addAll(evs);
 	}
 }
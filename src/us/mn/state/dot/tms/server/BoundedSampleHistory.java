@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2001-2019  Minnesota Department of Transportation
+ * Copyright (C) 2001-2026  Minnesota Department of Transportation
  * Copyright (C) 2011  University of Minnesota Duluth (NATSRL)
  *
  * This program is free software; you can redistribute it and/or modify
@@ -16,15 +16,17 @@
 package us.mn.state.dot.tms.server;
 
 /**
- * Bounded Sample History container.
+ * Bounded Sample History container.  Samples are stored in a primitive
+ * ring buffer, with NaN for missing data, so pushing and averaging do not
+ * allocate.
  *
  * @author Chongmyung Park (chongmyung.park@gmail.com)
  * @author Douglas Lau
  */
 public class BoundedSampleHistory {
 
-	/** Sample data history */
-	private final Double[] samples;
+	/** Sample data history (NaN for missing data) */
+	private final double[] samples;
 
 	/** Sample cursor (most recent) */
 	private int cursor = -1;
@@ -37,7 +39,7 @@ public class BoundedSampleHistory {
 	 * @param max_samples Maximum number of samples to retain.
 	 */
 	public BoundedSampleHistory(int max_samples) {
-		samples = new Double[max_samples];
+		samples = new double[max_samples];
 	}
 
 	/**
@@ -45,8 +47,16 @@ public class BoundedSampleHistory {
 	 * @param sam Current sample data, or null for missing data.
 	 */
 	public void push(Double sam) {
+		push((sam != null) ? sam : Double.NaN);
+	}
+
+	/**
+	 * Add one data sample to the history.
+	 * @param sam Current sample data (negative or NaN for missing data).
+	 */
+	public void push(double sam) {
 		cursor = nextIndex(cursor);
-		samples[cursor] = filterSample(sam);
+		samples[cursor] = (sam >= 0) ? sam : Double.NaN;
 		if (n_samples < samples.length)
 			n_samples++;
 	}
@@ -62,12 +72,13 @@ public class BoundedSampleHistory {
 	}
 
 	/**
-	 * Filter out negative data samples.
-	 * @param sam Sample data.
-	 * @return Sample data, with negative values replaced with null.
+	 * Get the sample array index for a time step.
+	 * @param t Time-step index (0 for most recent).
+	 * @return Index into samples array.
 	 */
-	private Double filterSample(Double sam) {
-		return (sam != null && sam >= 0) ? sam : null;
+	private int index(int t) {
+		int idx = cursor - t;
+		return (idx < 0) ? idx + samples.length : idx;
 	}
 
 	/**
@@ -76,13 +87,19 @@ public class BoundedSampleHistory {
 	 * @return Sample data, or null for missing data.
 	 */
 	public Double get(int t) {
-		if (t < n_samples) {
-			int idx = cursor - t;
-			if (idx < 0)
-				idx += samples.length;
-			return samples[idx];
-		} else
-			return null;
+		double v = value(t);
+		return Double.isNaN(v) ? null : v;
+	}
+
+	/**
+	 * Return sample at given time step index (in reversed direction).
+	 * @param t Time-step index (0 for most recent).
+	 * @return Sample data, or NaN for missing data.
+	 */
+	public double value(int t) {
+		return (t >= 0 && t < n_samples)
+		      ? samples[index(t)]
+		      : Double.NaN;
 	}
 
 	/**
@@ -108,16 +125,32 @@ public class BoundedSampleHistory {
 	 * @return Average of the specified samples, or null for missing data.
 	 */
 	public Double average(int t, int n_sam) {
+		double avg = averageValue(t, n_sam);
+		return Double.isNaN(avg) ? null : avg;
+	}
+
+	/**
+	 * Return the average of the specified number of samples.
+	 * @param t Starting time-step index (0 for most recent).
+	 * @param n_sam Number of samples to calculate average.
+	 * @return Average of the specified samples, or NaN for missing data.
+	 */
+	public double averageValue(int t, int n_sam) {
+		int end = Math.min(t + n_sam, n_samples);
+		if (t < 0 || t >= end)
+			return Double.NaN;
 		double sum = 0;
 		int count = 0;
-		for (int i = t; i < t + n_sam; i++) {
-			Double d = get(i);
-			if (d != null) {
+		int idx = index(t);
+		for (int i = t; i < end; i++) {
+			double d = samples[idx];
+			if (!Double.isNaN(d)) {
 				sum += d;
 				count++;
 			}
+			idx = (idx > 0) ? idx - 1 : samples.length - 1;
 		}
-		return (count > 0) ? sum / count : null;
+		return (count > 0) ? sum / count : Double.NaN;
 	}
 
 	/**
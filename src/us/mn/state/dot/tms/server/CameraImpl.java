@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2025  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  * Copyright (C) 2014       AHMCT, University of California
  * Copyright (C) 2022-2024  SRF Consulting Group
  *
@@ -39,7 +39,6 @@ import us.mn.state.dot.tms.ItemStyle;
 import us.mn.state.dot.tms.SystemAttrEnum;
 import us.mn.state.dot.tms.TMSException;
 import us.mn.state.dot.tms.geo.Position;
-import static us.mn.state.dot.tms.server.XmlWriter.createAttribute;
 import us.mn.state.dot.tms.server.comm.CameraPoller;
 import us.mn.state.dot.tms.server.comm.DevicePoller;
 import us.mn.state.dot.tms.server.event.CameraVideoEvent;
@@ -506,19 +505,22 @@ public class CameraImpl extends DeviceImpl implements Camera {
 			doWriteXml(w);
 	}
 
+	/** XML element fragment */
+	private transient final XmlFragment xml_frag =
+		new XmlFragment("camera");
+
 	/** Write camera an an XML element */
 	private void doWriteXml(Writer w) throws IOException {
-		w.write("<camera");
-		w.write(createAttribute("name", getName()));
-		w.write(createAttribute("description",
-		        GeoLocHelper.getLocation(geo_loc)));
+		XmlFragment f = xml_frag;
+		f.begin();
+		f.attr("name", getName());
+		f.attr("description", GeoLocHelper.getLocation(geo_loc));
 		Position pos = GeoLocHelper.getWgs84Position(geo_loc);
 		if (pos != null) {
-			w.write(createAttribute("lon",
-			        formatDouble(pos.getLongitude())));
-			w.write(createAttribute("lat",
-			        formatDouble(pos.getLatitude())));
+			f.attr("lon", formatDouble(pos.getLongitude()));
+			f.attr("lat", formatDouble(pos.getLatitude()));
 		}
+		w.write(f.end());
 		w.write("/>\n");
 	}
 
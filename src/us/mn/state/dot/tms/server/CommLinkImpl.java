@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2025  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  * Copyright (C) 2015-2017  SRF Consulting Group
  *
  * This program is free software; you can redistribute it and/or modify
@@ -33,7 +33,6 @@ import us.mn.state.dot.tms.CommLink;
 import us.mn.state.dot.tms.CommLinkHelper;
 import us.mn.state.dot.tms.CommProtocol;
 import us.mn.state.dot.tms.TMSException;
-import static us.mn.state.dot.tms.server.XmlWriter.createAttribute;
 import us.mn.state.dot.tms.server.comm.DevicePoller;
 import us.mn.state.dot.tms.server.comm.DevicePollerFactory;
 
@@ -46,12 +45,12 @@ import us.mn.state.dot.tms.server.comm.DevicePollerFactory;
  */
 public class CommLinkImpl extends BaseObjectImpl implements CommLink {
 
-	/** Seconds to offset each poll from start of interval */
-	static private final int OFFSET_SECS = 2;
-
 	/** Poller scheduler for repeating jobs */
 	static private final Scheduler POLLER = new Scheduler("poller");
 
+	/** Schedule for spreading polls over the poll period */
+	static private final PollSchedule SCHEDULE = new PollSchedule();
+
 	/** Load all the comm links */
 	static protected void loadAll() throws TMSException {
 		store.query("SELECT name, description, uri, poll_enabled, " +
@@ -162,18 +161,32 @@ public class CommLinkImpl extends BaseObjectImpl implements CommLink {
 	/** Long polling job */
 	private transient PollJob long_poll_job;
 
+	/** Poll schedule slot */
+	private transient PollSchedule.Slot poll_slot;
+
+	/** Long poll schedule slot */
+	private transient PollSchedule.Slot long_poll_slot;
+
 	/** Destroy existing poll jobs */
 	private void destroyPollJobs() {
 		POLLER.removeJob(poll_job);
 		POLLER.removeJob(long_poll_job);
+		SCHEDULE.release(poll_slot);
+		SCHEDULE.release(long_poll_slot);
+		poll_slot = null;
+		long_poll_slot = null;
 	}
 
 	/** Create polling jobs */
 	private synchronized void createPollJobs(int p, int lp) {
 		destroyPollJobs();
-		poll_job = new PollJob(p, OFFSET_SECS, false);
+		poll_slot = SCHEDULE.place(name, p);
+		poll_job = new PollJob(p, poll_slot.offset_ms, false);
 		POLLER.addJob(poll_job);
-		long_poll_job = new PollJob(lp, OFFSET_SECS + 2, true);
+		long_poll_slot = SCHEDULE.place(name, lp);
+		int lo = (long_poll_slot.offset_ms +
+			PollSchedule.LONG_OFFSET_MS) % (lp * 1000);
+		long_poll_job = new PollJob(lp, lo, true);
 		POLLER.addJob(long_poll_job);
 	}
 
@@ -181,8 +194,8 @@ public class CommLinkImpl extends BaseObjectImpl implements CommLink {
 	private class PollJob extends Job {
 		private final int period;
 		private final boolean is_long;
-		private PollJob(int p, int o, boolean lng) {
-			super(Calendar.SECOND, p, Calendar.SECOND, o);
+		private PollJob(int p, int o_ms, boolean lng) {
+			super(Calendar.SECOND, p, Calendar.MILLISECOND, o_ms);
 			period = p;
 			is_long = lng;
 		}
@@ -411,13 +424,18 @@ public class CommLinkImpl extends BaseObjectImpl implements CommLink {
 		controllers.remove(d);
 	}
 
+	/** XML element fragment */
+	private transient final XmlFragment xml_frag =
+		new XmlFragment("commlink");
+
 	/** Write the comm link as an XML element */
 	public void writeXml(Writer w) throws IOException {
-		w.write("<commlink");
-		w.write(createAttribute("name", getName()));
-		w.write(createAttribute("description", getDescription()));
-		w.write(createAttribute("protocol",
-			getCommProtocol().toString()));
+		XmlFragment f = xml_frag;
+		f.begin();
+		f.attr("name", getName());
+		f.attr("description", getDescription());
+		f.attr("protocol", getCommProtocol().toString());
+		w.write(f.end());
 		w.write("/>\n");
 	}
 
@@ -0,0 +1,61 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.IOException;
+import java.util.Calendar;
+import java.util.Iterator;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.tms.Controller;
+import us.mn.state.dot.tms.ControllerHelper;
+import us.mn.state.dot.tms.server.comm.CommStats;
+import us.mn.state.dot.tms.server.comm.LatencyHistogram;
+
+/**
+ * Job to publish comm statistics.  Controller counters and round-trip
+ * times are sent to clients in one batch, and per-protocol statistics are
+ * written to a text file.
+ *
+ * @author Douglas Lau
+ */
+public class CommStatsJob extends Job {
+
+	/** Seconds between publications */
+	static private final int PERIOD_SECS = 30;
+
+	/** Seconds to offset each publication from start of interval */
+	static private final int OFFSET_SECS = 7;
+
+	/** Histogram snapshot (reused for all controllers) */
+	private final int[] snap = new int[LatencyHistogram.N_BUCKETS];
+
+	/** Create a new comm stats job */
+	public CommStatsJob() {
+		super(Calendar.SECOND, PERIOD_SECS, Calendar.SECOND,
+			OFFSET_SECS);
+	}
+
+	/** Perform the comm stats job */
+	@Override
+	public void perform() throws IOException {
+		Iterator<Controller> it = ControllerHelper.iterator();
+		while (it.hasNext()) {
+			Controller c = it.next();
+			if (c instanceof ControllerImpl)
+				((ControllerImpl) c).publishCommStats(snap);
+		}
+		new CommStatsWriter(CommStats.getAll(), PERIOD_SECS).write();
+	}
+}
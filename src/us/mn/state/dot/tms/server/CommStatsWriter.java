@@ -0,0 +1,90 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import us.mn.state.dot.tms.server.comm.CommStats;
+import us.mn.state.dot.tms.server.comm.LatencyHistogram;
+import static us.mn.state.dot.tms.server.comm.LatencyHistogram.getCount;
+import static us.mn.state.dot.tms.server.comm.LatencyHistogram.getMax;
+import static us.mn.state.dot.tms.server.comm.LatencyHistogram.getPercentile;
+
+/**
+ * Write per-protocol comm statistics to a text file.  There is one line for
+ * each protocol, covering the interval since the last file was written.
+ * Times are in microseconds.
+ *
+ * @author Douglas Lau
+ */
+public class CommStatsWriter extends XmlWriter {
+
+	/** Comm stats file name */
+	static private final String COMM_STATS_FILE = "comm_stats.txt";
+
+	/** Column header */
+	static private final String HEADER = "# protocol period_s " +
+		"success failed polls rtt_p50 rtt_p90 rtt_p99 rtt_max " +
+		"waits wait_p50 wait_p99 wait_max\n";
+
+	/** Comm stats to write */
+	private final CommStats[] stats;
+
+	/** Period of statistics (seconds) */
+	private final int period;
+
+	/** Histogram snapshot */
+	private final int[] snap = new int[LatencyHistogram.N_BUCKETS];
+
+	/** Create a new comm stats writer */
+	public CommStatsWriter(CommStats[] cs, int p) {
+		super(COMM_STATS_FILE, false);
+		stats = cs;
+		period = p;
+	}
+
+	/** Write the comm stats file */
+	@Override
+	protected void write(Writer w) throws IOException {
+		w.write(HEADER);
+		for (CommStats cs: stats)
+			write(w, cs);
+	}
+
+	/** Write stats for one protocol */
+	private void write(Writer w, CommStats cs) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		sb.append(cs.protocol);
+		sb.append(' ').append(period);
+		sb.append(' ').append(cs.drainSuccessOps());
+		sb.append(' ').append(cs.drainFailedOps());
+		Arrays.fill(snap, 0);
+		cs.round_trip.drainTo(snap);
+		sb.append(' ').append(getCount(snap));
+		sb.append(' ').append(getPercentile(snap, 50));
+		sb.append(' ').append(getPercentile(snap, 90));
+		sb.append(' ').append(getPercentile(snap, 99));
+		sb.append(' ').append(getMax(snap));
+		Arrays.fill(snap, 0);
+		cs.queue_wait.drainTo(snap);
+		sb.append(' ').append(getCount(snap));
+		sb.append(' ').append(getPercentile(snap, 50));
+		sb.append(' ').append(getPercentile(snap, 99));
+		sb.append(' ').append(getMax(snap));
+		sb.append('\n');
+		w.write(sb.toString());
+	}
+}
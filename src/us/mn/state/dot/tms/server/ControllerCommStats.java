@@ -0,0 +1,92 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.Arrays;
+import us.mn.state.dot.tms.server.comm.LatencyHistogram;
+
+/**
+ * Comm statistics to publish for one controller.  Counters are marked
+ * changed on each operation, and taken in batches by CommStatsJob.
+ *
+ * Round-trip times are accumulated over as many publication periods as
+ * needed to get MIN_ROUND_TRIPS samples, so that percentiles of slowly
+ * polled controllers are not just one sample (flickering on each period).
+ * After MAX_PERIODS, whatever was recorded is published anyway, so a
+ * controller which stopped polling is cleared.
+ *
+ * @author Douglas Lau
+ */
+class ControllerCommStats {
+
+	/** Minimum number of round-trip samples to publish percentiles */
+	static final int MIN_ROUND_TRIPS = 20;
+
+	/** Maximum number of periods to accumulate round-trip samples */
+	static final int MAX_PERIODS = 10;
+
+	/** Format round-trip time percentiles (ms) */
+	static String formatRoundTrip(int[] snap) {
+		if (LatencyHistogram.getCount(snap) > 0) {
+			long p50 = LatencyHistogram.getPercentile(snap, 50);
+			long p90 = LatencyHistogram.getPercentile(snap, 90);
+			long p99 = LatencyHistogram.getPercentile(snap, 99);
+			return (p50 / 1000) + " / " + (p90 / 1000) + " / " +
+				(p99 / 1000);
+		} else
+			return null;
+	}
+
+	/** Comm counters changed since last publication (bits) */
+	private int changed;
+
+	/** Mark a comm counter changed */
+	synchronized void markChanged(int bit) {
+		changed |= bit;
+	}
+
+	/** Take the set of changed comm counters */
+	synchronized int takeChanged() {
+		int c = changed;
+		changed = 0;
+		return c;
+	}
+
+	/** Round-trip time histogram (us) */
+	private final LatencyHistogram round_trip = new LatencyHistogram();
+
+	/** Periods since round-trip times were taken (CommStatsJob only) */
+	private int n_periods = 0;
+
+	/** Record the round-trip time of one poll (us) */
+	void recordRoundTrip(long us) {
+		round_trip.record(us);
+	}
+
+	/** Take round-trip times to publish, once per period.
+	 * @param snap Histogram snapshot to fill (N_BUCKETS long).
+	 * @return true if snapshot was filled, or false if more samples are
+	 *         needed (keep the published value). */
+	boolean takeRoundTrip(int[] snap) {
+		n_periods++;
+		if (round_trip.getCount() < MIN_ROUND_TRIPS &&
+		    n_periods < MAX_PERIODS)
+			return false;
+		n_periods = 0;
+		Arrays.fill(snap, 0);
+		round_trip.drainTo(snap);
+		return true;
+	}
+}
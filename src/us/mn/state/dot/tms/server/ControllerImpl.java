@@ -42,7 +42,6 @@ import us.mn.state.dot.tms.TMSException;
 import us.mn.state.dot.tms.VehLengthClass;
 import us.mn.state.dot.tms.geo.Position;
 import static us.mn.state.dot.tms.server.Constants.MISSING_DATA;
-import static us.mn.state.dot.tms.server.XmlWriter.createAttribute;
 import us.mn.state.dot.tms.server.comm.CamKeyboardPoller;
 import us.mn.state.dot.tms.server.comm.DevicePoller;
 import us.mn.state.dot.tms.server.comm.FeedPoller;
@@ -823,7 +822,7 @@ public class ControllerImpl extends BaseObjectImpl implements Controller,
 	/** Increment the timeout error count */
 	private void incrementTimeoutErr() {
 		timeoutErr++;
-		notifyAttribute("timeoutErr");
+		markChanged(TIMEOUT_ERR);
 	}
 
 	/** Checksum error count */
@@ -838,7 +837,7 @@ public class ControllerImpl extends BaseObjectImpl implements Controller,
 	/** Increment the checksum error count */
 	private void incrementChecksumErr() {
 		checksumErr++;
-		notifyAttribute("checksumErr");
+		markChanged(CHECKSUM_ERR);
 	}
 
 	/** Parsing error count */
@@ -853,7 +852,7 @@ public class ControllerImpl extends BaseObjectImpl implements Controller,
 	/** Increment the parsing error count */
 	private void incrementParsingErr() {
 		parsingErr++;
-		notifyAttribute("parsingErr");
+		markChanged(PARSING_ERR);
 	}
 
 	/** Controller error count */
@@ -868,7 +867,7 @@ public class ControllerImpl extends BaseObjectImpl implements Controller,
 	/** Increment the controller error count */
 	public void incrementControllerErr() {
 		controllerErr++;
-		notifyAttribute("controllerErr");
+		markChanged(CONTROLLER_ERR);
 	}
 
 	/** Increment a comm error counter */
@@ -901,7 +900,7 @@ public class ControllerImpl extends BaseObjectImpl implements Controller,
 	/** Increment the successful operation count */
 	private void incrementSuccessOps() {
 		successOps++;
-		notifyAttribute("successOps");
+		markChanged(SUCCESS_OPS);
 	}
 
 	/** Failed operations count */
@@ -916,7 +915,64 @@ public class ControllerImpl extends BaseObjectImpl implements Controller,
 	/** Increment the failed operation count */
 	private void incrementFailedOps() {
 		failedOps++;
-		notifyAttribute("failedOps");
+		markChanged(FAILED_OPS);
+	}
+
+	/** Comm counter bits */
+	static private final int TIMEOUT_ERR = 1 << 0;
+	static private final int CHECKSUM_ERR = 1 << 1;
+	static private final int PARSING_ERR = 1 << 2;
+	static private final int CONTROLLER_ERR = 1 << 3;
+	static private final int SUCCESS_OPS = 1 << 4;
+	static private final int FAILED_OPS = 1 << 5;
+
+	/** Comm stats to publish */
+	private transient final ControllerCommStats comm_stats =
+		new ControllerCommStats();
+
+	/** Mark a comm counter changed.  Clients are notified in batches by
+	 * publishCommStats, rather than on every operation. */
+	private void markChanged(int bit) {
+		comm_stats.markChanged(bit);
+	}
+
+	/** Record the round-trip time of one poll (us) */
+	public void recordRoundTrip(long us) {
+		comm_stats.recordRoundTrip(us);
+	}
+
+	/** Round-trip time percentiles (ms) */
+	private transient String roundTrip;
+
+	/** Get round-trip time percentiles (ms) */
+	@Override
+	public String getRoundTrip() {
+		return roundTrip;
+	}
+
+	/** Publish comm counters and round-trip times to clients.
+	 * @param snap Histogram snapshot to use (N_BUCKETS long). */
+	public void publishCommStats(int[] snap) {
+		int c = comm_stats.takeChanged();
+		if ((c & TIMEOUT_ERR) != 0)
+			notifyAttribute("timeoutErr");
+		if ((c & CHECKSUM_ERR) != 0)
+			notifyAttribute("checksumErr");
+		if ((c & PARSING_ERR) != 0)
+			notifyAttribute("parsingErr");
+		if ((c & CONTROLLER_ERR) != 0)
+			notifyAttribute("controllerErr");
+		if ((c & SUCCESS_OPS) != 0)
+			notifyAttribute("successOps");
+		if ((c & FAILED_OPS) != 0)
+			notifyAttribute("failedOps");
+		if (comm_stats.takeRoundTrip(snap)) {
+			String rt = ControllerCommStats.formatRoundTrip(snap);
+			if (!objectEquals(rt, roundTrip)) {
+				roundTrip = rt;
+				notifyAttribute("roundTrip");
+			}
+		}
 	}
 
 	/** Clear the counters and status */
@@ -1109,25 +1165,28 @@ public class ControllerImpl extends BaseObjectImpl implements Controller,
 		geo_loc.notifyRemove();
 	}
 
+	/** XML element fragment */
+	private transient final XmlFragment xml_frag =
+		new XmlFragment("controller");
+
 	/** Write the controller as an XML element */
 	public void writeXml(Writer w) throws IOException {
-		w.write("<controller");
-		w.write(createAttribute("name", getName()));
-		w.write(createAttribute("condition", condition));
-		w.write(createAttribute("drop", getDrop()));
+		XmlFragment f = xml_frag;
+		f.begin();
+		f.attr("name", getName());
+		f.attr("condition", condition);
+		f.attr("drop", getDrop());
 		CommLink cl = getCommLink();
 		if (cl != null)
-			w.write(createAttribute("commlink", cl.getName()));
+			f.attr("commlink", cl.getName());
 		Position pos = ControllerHelper.getPosition(this);
 		if (pos != null) {
-			w.write(createAttribute("lon",
-				formatDouble(pos.getLongitude())));
-			w.write(createAttribute("lat",
-				formatDouble(pos.getLatitude())));
+			f.attr("lon", formatDouble(pos.getLongitude()));
+			f.attr("lat", formatDouble(pos.getLatitude()));
 		}
-		w.write(createAttribute("location",
-			ControllerHelper.getLocation(this)));
-		w.write(createAttribute("notes", getNotes()));
+		f.attr("location", ControllerHelper.getLocation(this));
+		f.attr("notes", getNotes());
+		w.write(f.end());
 		w.write("/>\n");
 	}
 }
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2007-2025  Minnesota Department of Transportation
+ * Copyright (C) 2007-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -109,7 +109,9 @@ public class Corridor extends CorridorBase<R_NodeImpl> {
 		w.write("</corridor>\n");
 	}
 
-	/** Find the current bottlenecks on the corridor */
+	/** Find the current bottlenecks on the corridor.  This only updates
+	 * stations on this corridor, so corridors can be checked in parallel;
+	 * use debugBottlenecks to log the results. */
 	public void findBottlenecks() {
 		final TreeMap<Float, StationImpl> upstream =
 			new TreeMap<Float, StationImpl>();
@@ -120,6 +122,15 @@ public class Corridor extends CorridorBase<R_NodeImpl> {
 					upstream.put(m, s);
 				} else
 					s.clearBottleneck();
+				return false;
+			}
+		});
+	}
+
+	/** Log the bottleneck calculation for all stations */
+	public void debugBottlenecks() {
+		findStation(new StationFinder() {
+			public boolean check(float m, StationImpl s) {
 				s.debug();
 				return false;
 			}
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2007-2022  Minnesota Department of Transportation
+ * Copyright (C) 2007-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -16,9 +16,17 @@ package us.mn.state.dot.tms.server;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import us.mn.state.dot.tms.Direction;
 import us.mn.state.dot.tms.GeoLoc;
 import us.mn.state.dot.tms.GeoLocHelper;
@@ -35,10 +43,95 @@ import us.mn.state.dot.tms.units.Distance;
  */
 public class CorridorManager {
 
+	/** Thread pool for per-corridor calculations */
+	static private final ForkJoinPool pool = new ForkJoinPool();
+
+	/** Perform a list of tasks in parallel, waiting for all to finish.
+	 * Each task must only update objects in its own partition. */
+	static void invokeAll(List<Callable<Void>> tasks) {
+		for (Future<Void> f: pool.invokeAll(tasks))
+			checkResult(f);
+	}
+
+	/** Task to perform on each item of a partition */
+	static interface ItemTask<T> {
+		void perform(T item);
+	}
+
+	/** Perform a task on all items of some partitions, waiting for all
+	 * to finish.  Partitions are done in parallel, with the items of each
+	 * done in order on one thread, so the results are the same as doing
+	 * every partition serially.  Any exception is rethrown.
+	 * @param parts Partitions (for example, stations of each corridor).
+	 * @param task Task to perform on each item. */
+	static <T> void invokePartitions(Collection<? extends List<T>> parts,
+		final ItemTask<T> task)
+	{
+		ArrayList<Callable<Void>> tasks =
+			new ArrayList<Callable<Void>>();
+		for (final List<T> p: parts) {
+			tasks.add(new Callable<Void>() {
+				public Void call() {
+					for (T item: p)
+						task.perform(item);
+					return null;
+				}
+			});
+		}
+		invokeAll(tasks);
+	}
+
+	/** Perform a list of tasks in parallel, waiting until a timeout.
+	 * Tasks which are not done by the timeout are cancelled, but any
+	 * which have started keep running until they finish.  If the timeout
+	 * is not positive, no tasks are started.
+	 * @param ms Timeout (ms).
+	 * @return true if all tasks finished before the timeout. */
+	static boolean invokeAll(List<Callable<Void>> tasks, long ms) {
+		if (ms <= 0)
+			return tasks.isEmpty();
+		boolean done = true;
+		try {
+			for (Future<Void> f: pool.invokeAll(tasks, ms,
+				TimeUnit.MILLISECONDS))
+			{
+				if (f.isCancelled())
+					done = false;
+				else
+					checkResult(f);
+			}
+		}
+		catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+		return done;
+	}
+
+	/** Check the result of a finished task, rethrowing any exception */
+	static private void checkResult(Future<Void> f) {
+		try {
+			f.get();
+		}
+		catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+		catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
 	/** Map to hold all corridors */
 	private final Map<String, Corridor> corridors =
 		new TreeMap<String, Corridor>();
 
+	/** Serial number, incremented each time corridors are created */
+	private volatile int serial = 0;
+
+	/** Get the corridor serial number */
+	public int getSerial() {
+		return serial;
+	}
+
 	/** Create all corridors from the existing r_nodes */
 	public synchronized void createCorridors() {
 		corridors.clear();
@@ -53,6 +146,7 @@ public class CorridorManager {
 		}
 		for (Corridor c: corridors.values())
 			c.arrangeNodes();
+		serial++;
 	}
 
 	/** Add an r_node to the proper corridor */
@@ -87,8 +181,19 @@ public class CorridorManager {
 
 	/** Find the current bottlenecks for all corridors */
 	public synchronized void findBottlenecks() {
+		ArrayList<Callable<Void>> tasks =
+			new ArrayList<Callable<Void>>();
+		for (final Corridor c: corridors.values()) {
+			tasks.add(new Callable<Void>() {
+				public Void call() {
+					c.findBottlenecks();
+					return null;
+				}
+			});
+		}
+		invokeAll(tasks);
 		for (Corridor c: corridors.values())
-			c.findBottlenecks();
+			c.debugBottlenecks();
 	}
 
 	/** Lookup the corridor for a location */
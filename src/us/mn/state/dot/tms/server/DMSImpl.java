@@ -70,7 +70,6 @@ import us.mn.state.dot.tms.WeatherSensor;
 import us.mn.state.dot.tms.WeatherSensorHelper;
 import us.mn.state.dot.tms.geo.Position;
 import static us.mn.state.dot.tms.server.MainServer.FLUSH;
-import static us.mn.state.dot.tms.server.XmlWriter.createAttribute;
 import us.mn.state.dot.tms.server.comm.DevicePoller;
 import us.mn.state.dot.tms.server.comm.DMSPoller;
 import us.mn.state.dot.tms.server.event.BrightnessSample;
@@ -214,7 +213,9 @@ public class DMSImpl extends DeviceImpl implements DMS, Comparable<DMSImpl> {
 		sign_config = SignConfigHelper.lookup(sc);
 		sign_detail = SignDetailHelper.lookup(sd);
 		msg_sched = SignMessageHelper.lookup(ms);
+		SignMessageImpl.addRef(msg_sched);
 		msg_current = SignMessageHelper.lookup(mc);
+		SignMessageImpl.addRef(msg_current);
 		lock = lk;
 		status = st;
 		pixel_failures = pf;
@@ -240,6 +241,9 @@ public class DMSImpl extends DeviceImpl implements DMS, Comparable<DMSImpl> {
 		super.doDestroy();
 		setPreset(null);
 		geo_loc.notifyRemove();
+		SignMessageImpl.release(msg_sched);
+		SignMessageImpl.release(msg_current);
+		SignMessageImpl.release(msg_next);
 	}
 
 	/** Set the controller to which this DMS is assigned */
@@ -637,8 +641,32 @@ public class DMSImpl extends DeviceImpl implements DMS, Comparable<DMSImpl> {
 	/** Check if a planned action is valid */
 	@Override
 	protected boolean checkPlannedAction(PlannedAction pa) {
-		return pa.condition &&
-		       DMSHelper.isRasterizable(this, pa.multi);
+		return pa.condition && isRasterizable(pa.multi);
+	}
+
+	/** Serial number of raster resources.  This is bumped on any change
+	 * to a font, glyph, graphic or sign config. */
+	static private volatile int raster_serial = 0;
+
+	/** Note a change to a raster resource */
+	static void rasterChanged() {
+		raster_serial++;
+	}
+
+	/** Cached rasterizable checks of planned action MULTI strings */
+	private transient final RasterCache raster_cache = new RasterCache();
+
+	/** Check if a planned action MULTI string is rasterizable.  Planned
+	 * actions usually repeat the same MULTI on every cycle, so rendering
+	 * is skipped if it was checked before with the same sign config, and
+	 * no raster resources have changed since. */
+	private boolean isRasterizable(String ms) {
+		Boolean r = raster_cache.lookup(sign_config, raster_serial, ms);
+		if (null == r) {
+			r = DMSHelper.isRasterizable(this, ms);
+			raster_cache.put(ms, r);
+		}
+		return r;
 	}
 
 	/** Set the scheduled sign message.
@@ -648,6 +676,7 @@ public class DMSImpl extends DeviceImpl implements DMS, Comparable<DMSImpl> {
 		if (!objectEquals(msg_sched, sm)) {
 			try {
 				store.update(this, "msg_sched", sm);
+				swapRef(msg_sched, sm);
 				msg_sched = sm;
 				notifyAttribute("msgSched");
 				return true;
@@ -715,6 +744,7 @@ public class DMSImpl extends DeviceImpl implements DMS, Comparable<DMSImpl> {
 	private void setMsgCurrent(SignMessage sm) {
 		try {
 			store.update(this, "msg_current", sm);
+			swapRef(msg_current, sm);
 			msg_current = sm;
 		}
 		catch (TMSException e) {
@@ -781,6 +811,7 @@ public class DMSImpl extends DeviceImpl implements DMS, Comparable<DMSImpl> {
 	 * a sign.
 	 * @see us.mn.state.dot.tms.server.DeviceImpl#acquire */
 	public void setMsgNext(SignMessage sm) {
+		swapRef(msg_next, sm);
 		msg_next = sm;
 	}
 
@@ -894,11 +925,12 @@ public class DMSImpl extends DeviceImpl implements DMS, Comparable<DMSImpl> {
 		}
 	}
 
-	/** Check if the sign has a reference to a sign message */
-	public boolean hasReference(final SignMessage sm) {
-		return sm == msg_current ||
-		       sm == msg_next ||
-		       sm == msg_sched;
+	/** Replace a sign message reference, updating reference counts */
+	static private void swapRef(SignMessage old, SignMessage sm) {
+		if (old != sm) {
+			SignMessageImpl.addRef(sm);
+			SignMessageImpl.release(old);
+		}
 	}
 
 	/** DMS lock (JSON) */
@@ -1187,34 +1219,41 @@ public class DMSImpl extends DeviceImpl implements DMS, Comparable<DMSImpl> {
 		return s;
 	}
 
+	/** XML element fragment */
+	private transient final XmlFragment xml_frag =
+		new XmlFragment("dms");
+
 	/** Write DMS as an XML element */
 	public void writeXml(Writer w) throws IOException {
-		w.write("<dms");
-		w.write(createAttribute("name", getName()));
-		w.write(createAttribute("description",
-			GeoLocHelper.getLocation(geo_loc)));
+		XmlFragment f = xml_frag;
+		f.begin();
+		f.attr("name", getName());
+		f.attr("description", GeoLocHelper.getLocation(geo_loc));
 		Position pos = GeoLocHelper.getWgs84Position(geo_loc);
 		if (pos != null) {
-			w.write(createAttribute("lon",
-				formatDouble(pos.getLongitude())));
-			w.write(createAttribute("lat",
-				formatDouble(pos.getLatitude())));
+			f.attr("lon", formatDouble(pos.getLongitude()));
+			f.attr("lat", formatDouble(pos.getLatitude()));
 		}
 		SignConfig sc = sign_config;
 		if (sc != null) {
-			w.write(createAttribute("width_pixels",
-				sc.getPixelWidth()));
-			w.write(createAttribute("height_pixels",
-				sc.getPixelHeight()));
+			f.attr("width_pixels", sc.getPixelWidth());
+			f.attr("height_pixels", sc.getPixelHeight());
 		}
+		w.write(f.end());
 		w.write("/>\n");
 	}
 
+	/** Sign message XML element fragment */
+	private transient final XmlFragment sign_msg_frag =
+		new XmlFragment("sign_message");
+
 	/** Write the sign message as xml */
 	public void writeSignMessageXml(Writer w) throws IOException {
 		SignMessage sm = getMsgCurrent();
-		if (sm instanceof SignMessageImpl)
-			((SignMessageImpl) sm).writeXml(w, this);
+		if (sm instanceof SignMessageImpl) {
+			((SignMessageImpl) sm).writeXml(w, this,
+				sign_msg_frag);
+		}
 	}
 
 	/** Get the DMS poller */
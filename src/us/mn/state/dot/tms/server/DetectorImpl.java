@@ -38,6 +38,7 @@ import us.mn.state.dot.tms.GeoLocHelper;
 import us.mn.state.dot.tms.LaneCode;
 import us.mn.state.dot.tms.R_Node;
 import us.mn.state.dot.tms.Road;
+import us.mn.state.dot.tms.SampleFrame;
 import us.mn.state.dot.tms.SystemAttrEnum;
 import us.mn.state.dot.tms.TMSException;
 import us.mn.state.dot.tms.VehLengthClass;
@@ -1121,44 +1122,75 @@ public class DetectorImpl extends DeviceImpl implements Detector,VehicleSampler{
 		v_log.clear_bin(stamp);
 	}
 
+	/** XML element fragment */
+	private transient final XmlFragment xml_frag =
+		new XmlFragment("detector");
+
 	/** Write a single detector as an XML element */
 	public void writeXmlElement(Writer w) throws IOException {
 		LaneCode lc = LaneCode.fromCode(lane_code);
 		short lane = getLaneNumber();
 		float field = getFieldLength();
 		String l = DetectorHelper.getLabel(this);
-		w.write("<detector");
-		w.write(createAttribute("name", name));
+		XmlFragment f = xml_frag;
+		f.begin();
+		f.attr("name", name);
 		if (!l.equals("FUTURE"))
-			w.write(createAttribute("label", l));
+			f.attr("label", l);
 		if (abandoned)
-			w.write(createAttribute("abandoned", "t"));
+			f.attr("abandoned", "t");
 		if (LaneCode.MAINLINE != lc)
-			w.write(createAttribute("category", lc));
+			f.attr("category", lc);
 		if (lane > 0)
-			w.write(createAttribute("lane", lane));
+			f.attr("lane", lane);
 		if (field != DEFAULT_FIELD_FT)
-			w.write(createAttribute("field", field));
+			f.attr("field", field);
 		Controller c = getController();
 		if (c != null)
-			w.write(createAttribute("controller", c.getName()));
+			f.attr("controller", c.getName());
+		w.write(f.end());
 		w.write("/>\n");
 	}
 
+	/** Check if binned sample data should be written */
+	private boolean isSampleWritable() {
+		return !abandoned && isSampling();
+	}
+
+	/** Get the binned speed sample (MISSING_DATA for non-mainline) */
+	private int getSampleSpeed(long stamp, int per_ms) {
+		int speed = Math.round(getSpeed(stamp, per_ms));
+		return (isMainline() && speed > 0) ? speed : MISSING_DATA;
+	}
+
+	/** Set the current sample data in a binary sample frame.
+	 * @param sf Sample frame.
+	 * @param i Sensor ordinal in frame. */
+	public void setSampleFrame(SampleFrame sf, int i, long stamp,
+		int per_ms)
+	{
+		if (isSampleWritable()) {
+			// MISSING_DATA is negative, as required by frame
+			sf.setSample(i, getFlowRaw(stamp, per_ms),
+				getSampleSpeed(stamp, per_ms),
+				getOccupancy(stamp, per_ms));
+		}
+	}
+
 	/** Print binned data as an XML element */
 	public void writeSampleXml(Writer w, long stamp, int per_ms)
 		throws IOException
 	{
-		if (abandoned || !isSampling())
+		if (!isSampleWritable())
 			return;
 		int flow = getFlowRaw(stamp, per_ms);
-		int speed = Math.round(getSpeed(stamp, per_ms));
+		int speed = getSampleSpeed(stamp, per_ms);
 		float occ = getOccupancy(stamp, per_ms);
 		w.write("\t<sample");
 		w.write(createAttribute("sensor", name));
 		if (flow != MISSING_DATA)
 			w.write(createAttribute("flow", flow));
-		if (isMainline() && speed > 0)
+		if (speed != MISSING_DATA)
 			w.write(createAttribute("speed", speed));
 		if (occ >= 0)
 			w.write(createAttribute("occ", formatFloat(occ, 2)));
@@ -44,6 +44,9 @@ import us.mn.state.dot.tms.RampMeterHelper;
  */
 public class DeviceActionJob extends Job {
 
+	/** Cache of derived values for action tags */
+	static private final TagCache TAG_CACHE = new TagCache();
+
 	/** Single action plan to process (null for all) */
 	private final ActionPlanImpl plan;
 
@@ -61,8 +64,10 @@ public class DeviceActionJob extends Job {
 	/** Perform device actions */
 	@Override
 	public void perform() {
-		if (plan == null)
+		if (plan == null) {
+			TAG_CACHE.clearValues();
 			clearActions();
+		}
 		processActions();
 		chooseActions();
 	}
@@ -174,7 +179,8 @@ public class DeviceActionJob extends Job {
 	private void checkAction(DeviceAction da, Device d, GeoLoc loc) {
 		if (d instanceof DeviceImpl) {
 			DeviceImpl dev = (DeviceImpl) d;
-			TagProcessor tag = new TagProcessor(da, dev, loc);
+			TagProcessor tag = new TagProcessor(TAG_CACHE, da,
+				dev, loc);
 			PlannedAction pa = tag.process();
 			dev.addPlannedAction(pa);
 		}
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2024  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,14 +14,24 @@
  */
 package us.mn.state.dot.tms.server;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.zip.GZIPOutputStream;
 import us.mn.state.dot.sched.Job;
 import us.mn.state.dot.tms.Detector;
 import us.mn.state.dot.tms.DetectorHelper;
+import us.mn.state.dot.tms.SampleFrame;
 import us.mn.state.dot.tms.SystemAttrEnum;
+import us.mn.state.dot.tms.utils.FileIO;
 
 /**
  * Job to flush XML data
@@ -33,9 +43,38 @@ public class FlushXmlJob extends Job {
 	/** Detector data file */
 	static private final String SAMPLE_XML = "det_sample.xml";
 
+	/** Binary sample frame file */
+	static private final String SAMPLE_BIN = "det_sample.bin.gz";
+
+	/** Binary sensor index file */
+	static private final String INDEX_BIN = "det_index.bin.gz";
+
+	/** Comparator for sorting detectors by name */
+	static private final Comparator<DetectorImpl> NAME_COMPARATOR =
+		new Comparator<DetectorImpl>()
+	{
+		public int compare(DetectorImpl a, DetectorImpl b) {
+			return a.getName().compareTo(b.getName());
+		}
+	};
+
+	/** Create a gzip'd data output stream to a temp file */
+	static private DataOutputStream createDataStream(File temp)
+		throws IOException
+	{
+		return new DataOutputStream(new BufferedOutputStream(
+			new GZIPOutputStream(new FileOutputStream(temp))));
+	}
+
 	/** Station manager */
 	private final StationManager station_manager;
 
+	/** Binary sample frame */
+	private final SampleFrame frame = new SampleFrame();
+
+	/** ID of most recently written sensor index */
+	private Integer index_id;
+
 	/** Create a new flush XML samples job */
 	public FlushXmlJob(StationManager sm) {
 		station_manager = sm;
@@ -46,6 +85,7 @@ public class FlushXmlJob extends Job {
 	public void perform() throws IOException {
 		if (SystemAttrEnum.LEGACY_XML_DETECTOR_ENABLE.getBoolean()) {
 			writeSampleXml();
+			writeSampleFrame();
 			station_manager.writeSampleXml();
 		}
 		station_manager.writeSampleJson();
@@ -103,6 +143,50 @@ public class FlushXmlJob extends Job {
 		}
 	}
 
+	/** Write the detector data as a binary sample frame.  The sensor
+	 * index is only written when the set of detectors changes. */
+	private void writeSampleFrame() throws IOException {
+		ArrayList<DetectorImpl> dets = new ArrayList<DetectorImpl>();
+		Iterator<Detector> it = DetectorHelper.iterator();
+		while (it.hasNext()) {
+			Detector d = it.next();
+			if (d instanceof DetectorImpl)
+				dets.add((DetectorImpl) d);
+		}
+		Collections.sort(dets, NAME_COMPARATOR);
+		String[] sensors = new String[dets.size()];
+		for (int i = 0; i < sensors.length; i++)
+			sensors[i] = dets.get(i).getName();
+		int id = SampleFrame.indexId(sensors);
+		if (index_id == null || index_id != id) {
+			writeIndex(sensors);
+			index_id = id;
+		}
+		long stamp = station_manager.getStamp();
+		int per_ms = DetectorImpl.BIN_PERIOD_MS;
+		frame.reset(id, stamp, per_ms / 1000, sensors.length);
+		for (int i = 0; i < sensors.length; i++)
+			dets.get(i).setSampleFrame(frame, i, stamp, per_ms);
+		File file = new File(XmlWriter.XML_OUTPUT_DIRECTORY,
+			SAMPLE_BIN);
+		File temp = new File(file.getAbsolutePath() + "~");
+		try (DataOutputStream dos = createDataStream(temp)) {
+			frame.write(dos);
+		}
+		FileIO.atomicMove(temp.toPath(), file.toPath());
+	}
+
+	/** Write the binary sensor index */
+	private void writeIndex(String[] sensors) throws IOException {
+		File file = new File(XmlWriter.XML_OUTPUT_DIRECTORY,
+			INDEX_BIN);
+		File temp = new File(file.getAbsolutePath() + "~");
+		try (DataOutputStream dos = createDataStream(temp)) {
+			SampleFrame.writeIndex(dos, sensors);
+		}
+		FileIO.atomicMove(temp.toPath(), file.toPath());
+	}
+
 	/** Write the tail of the detector XML file */
 	private void writeSampleXmlTail(Writer w) throws IOException {
 		w.write("</traffic_sample>\n");
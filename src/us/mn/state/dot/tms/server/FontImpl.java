@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2024  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -80,6 +80,19 @@ public class FontImpl extends BaseObjectImpl implements Font {
 		charSpacing = cs;
 	}
 
+	/** Initialize the transient fields */
+	@Override
+	protected void initTransients() {
+		DMSImpl.rasterChanged();
+	}
+
+	/** Destroy an object */
+	@Override
+	public void doDestroy() throws TMSException {
+		super.doDestroy();
+		DMSImpl.rasterChanged();
+	}
+
 	/** Font number */
 	private int f_number;
 
@@ -87,6 +100,7 @@ public class FontImpl extends BaseObjectImpl implements Font {
 	@Override
 	public void setNumber(int n) {
 		f_number = n;
+		DMSImpl.rasterChanged();
 	}
 
 	/** Set the font number */
@@ -110,6 +124,7 @@ public class FontImpl extends BaseObjectImpl implements Font {
 	@Override
 	public void setHeight(int h) {
 		height = h;
+		DMSImpl.rasterChanged();
 	}
 
 	/** Set the font height (pixels) */
@@ -133,6 +148,7 @@ public class FontImpl extends BaseObjectImpl implements Font {
 	@Override
 	public void setWidth(int w) {
 		width = w;
+		DMSImpl.rasterChanged();
 	}
 
 	/** Set the font width (pixels) */
@@ -156,6 +172,7 @@ public class FontImpl extends BaseObjectImpl implements Font {
 	@Override
 	public void setCharSpacing(int s) {
 		charSpacing = s;
+		DMSImpl.rasterChanged();
 	}
 
 	/** Set the default horizontal spacing between characters (pixels) */
@@ -179,6 +196,7 @@ public class FontImpl extends BaseObjectImpl implements Font {
 	@Override
 	public void setLineSpacing(int s) {
 		lineSpacing = s;
+		DMSImpl.rasterChanged();
 	}
 
 	/** Set the default vertical spacing between lines (pixels) */
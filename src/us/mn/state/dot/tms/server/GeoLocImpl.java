@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2005-2024  Minnesota Department of Transportation
+ * Copyright (C) 2005-2026  Minnesota Department of Transportation
  * Copyright (C) 2014       AHMCT, University of California
  * Copyright (C) 2016-2017  SRF Consulting Group
  *
@@ -119,7 +119,7 @@ public class GeoLocImpl extends BaseObjectImpl implements GeoLoc {
 	/** Create a new geo location */
 	public GeoLocImpl(String n, String rn) {
 		super(n);
-		resource_n = rn;
+		resource_n = StringPool.intern(rn);
 	}
 	
 	/** Create a new geo location */
@@ -154,7 +154,7 @@ public class GeoLocImpl extends BaseObjectImpl implements GeoLoc {
 		cross_street = x;
 		cross_dir = xd;
 		cross_mod = xm;
-		landmark = lm;
+		landmark = StringPool.intern(lm);
 		lat = lt;
 		lon = ln;
 	}
@@ -326,7 +326,7 @@ public class GeoLocImpl extends BaseObjectImpl implements GeoLoc {
 	/** Set the landmark */
 	@Override
 	public void setLandmark(String lm) {
-		landmark = lm;
+		landmark = StringPool.intern(lm);
 	}
 
 	/** Set the landmark */
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2007-2024  Minnesota Department of Transportation
+ * Copyright (C) 2007-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -23,6 +23,7 @@ import us.mn.state.dot.tms.ChangeVetoException;
 import us.mn.state.dot.tms.Font;
 import us.mn.state.dot.tms.FontHelper;
 import us.mn.state.dot.tms.Glyph;
+import us.mn.state.dot.tms.GlyphHelper;
 import us.mn.state.dot.tms.TMSException;
 import us.mn.state.dot.tms.utils.Base64;
 
@@ -80,6 +81,20 @@ public class GlyphImpl extends BaseObjectImpl implements Glyph {
 		super(n);
 	}
 
+	/** Initialize the transient fields */
+	@Override
+	protected void initTransients() {
+		DMSImpl.rasterChanged();
+	}
+
+	/** Destroy an object */
+	@Override
+	public void doDestroy() throws TMSException {
+		super.doDestroy();
+		GlyphHelper.releaseBitmap(name);
+		DMSImpl.rasterChanged();
+	}
+
 	/** Font to which the glyph belongs */
 	private Font font;
 
@@ -105,6 +120,7 @@ public class GlyphImpl extends BaseObjectImpl implements Glyph {
 	@Override
 	public void setWidth(int w) {
 		width = w;
+		DMSImpl.rasterChanged();
 	}
 
 	/** Set the width (pixels) */
@@ -128,6 +144,7 @@ public class GlyphImpl extends BaseObjectImpl implements Glyph {
 	@Override
 	public void setPixels(String p) {
 		pixels = p;
+		DMSImpl.rasterChanged();
 	}
 
 	/** Set the pixel data (base64 encoded) */
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2025  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -35,7 +35,6 @@ import us.mn.state.dot.tms.R_Node;
 import us.mn.state.dot.tms.Road;
 import us.mn.state.dot.tms.TMSException;
 import us.mn.state.dot.tms.geo.Position;
-import static us.mn.state.dot.tms.server.XmlWriter.createAttribute;
 
 /**
  * An incident is an event (crash, stall, etc.) which has an effect on traffic.
@@ -349,35 +348,36 @@ public class IncidentImpl extends BaseObjectImpl implements Incident {
 		user_id = uid;
 	}
 
+	/** XML element fragment */
+	private transient final XmlFragment xml_frag =
+		new XmlFragment("incident");
+
 	/** Write the incident as xml */
 	public void writeXml(Writer w) throws IOException {
 		String dtl = lookupDetail();
 		String loc = lookupLocation();
-		w.write("<incident");
-		w.write(createAttribute("name", getName()));
+		XmlFragment f = xml_frag;
+		f.begin();
+		f.attr("name", getName());
 		if (replaces != null)
-			w.write(createAttribute("replaces", replaces));
-		w.write(createAttribute("event_type",
-			EventType.fromId(event_desc)));
-		w.write(createAttribute("event_date", event_date));
+			f.attr("replaces", replaces);
+		f.attr("event_type", EventType.fromId(event_desc));
+		f.attr("event_date", event_date);
 		if (dtl != null)
-			w.write(createAttribute("detail", dtl));
-		w.write(createAttribute("lane_code",
-			LaneCode.fromCode(lane_code)));
-		w.write(createAttribute("road", road));
-		w.write(createAttribute("dir",
-			Direction.fromOrdinal(dir).abbrev));
+			f.attr("detail", dtl);
+		f.attr("lane_code", LaneCode.fromCode(lane_code));
+		f.attr("road", road);
+		f.attr("dir", Direction.fromOrdinal(dir).abbrev);
 		if (loc != null && loc.length() > 0)
-			w.write(createAttribute("location", loc));
+			f.attr("location", loc);
 		Position pos = getWgs84Position();
-		w.write(createAttribute("lon",
-			formatDouble(pos.getLongitude())));
-		w.write(createAttribute("lat",
-			formatDouble(pos.getLatitude())));
-		w.write(createAttribute("camera", camera));
-		w.write(createAttribute("impact", impact));
-		w.write(createAttribute("cleared", cleared));
-		w.write(createAttribute("confirmed", confirmed));
+		f.attr("lon", formatDouble(pos.getLongitude()));
+		f.attr("lat", formatDouble(pos.getLatitude()));
+		f.attr("camera", camera);
+		f.attr("impact", impact);
+		f.attr("cleared", cleared);
+		f.attr("confirmed", confirmed);
+		w.write(f.end());
 		w.write("/>\n");
 	}
 
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2001-2025  Minnesota Department of Transportation
+ * Copyright (C) 2001-2026  Minnesota Department of Transportation
  * Copyright (C) 2011-2012  University of Minnesota Duluth (NATSRL)
  *
  * This program is free software; you can redistribute it and/or modify
@@ -18,6 +18,9 @@ package us.mn.state.dot.tms.server;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
 import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.sched.TimeSteward;
 import us.mn.state.dot.tms.EventType;
@@ -185,8 +188,9 @@ public class KAdaptiveAlgorithm implements MeterAlgorithmState {
 		return (k != null) && (k < K_LOW);
 	}
 
-	/** States for all K adaptive algorithms */
-	static private HashMap<String, KAdaptiveAlgorithm> ALL_ALGS =
+	/** States for all K adaptive algorithms.  This is locked, since
+	 * states are added by metering tasks on multiple threads. */
+	static private final HashMap<String, KAdaptiveAlgorithm> ALL_ALGS =
 		new HashMap<String, KAdaptiveAlgorithm>();
 
 	/** Create algorithm state for a meter */
@@ -202,28 +206,63 @@ public class KAdaptiveAlgorithm implements MeterAlgorithmState {
 
 	/** Lookup an algorithm for a corridor */
 	static private KAdaptiveAlgorithm lookupAlgorithm(Corridor c) {
-		KAdaptiveAlgorithm alg = ALL_ALGS.get(c.getName());
-		if (null == alg) {
-			alg = new KAdaptiveAlgorithm(c);
-			alg.log("adding");
-			ALL_ALGS.put(c.getName(), alg);
+		synchronized (ALL_ALGS) {
+			KAdaptiveAlgorithm alg = ALL_ALGS.get(c.getName());
+			if (null == alg) {
+				alg = new KAdaptiveAlgorithm(c);
+				alg.log("adding");
+				ALL_ALGS.put(c.getName(), alg);
+			}
+			return alg;
 		}
-		return alg;
 	}
 
-	/** Process one interval for all K adaptive algorithm states */
-	static public void processAllStates() {
-		long stamp = DetectorImpl.calculateEndTime(PERIOD_MS);
-		Iterator<KAdaptiveAlgorithm> it =
-			ALL_ALGS.values().iterator();
-		while (it.hasNext()) {
-			KAdaptiveAlgorithm alg = it.next();
-			alg.updateStations(stamp);
-			if (alg.isDone()) {
-				alg.log("isDone: removing");
-				it.remove();
+	/** Create tasks to process one interval for all K adaptive algorithm
+	 * states, one for each corridor.
+	 * @param skip Corridors to skip (calculations still in progress).
+	 * @return Mapping of corridor names to tasks. */
+	static public TreeMap<String, Callable<Void>> createStationTasks(
+		Set<String> skip)
+	{
+		final long stamp = DetectorImpl.calculateEndTime(PERIOD_MS);
+		TreeMap<String, Callable<Void>> tasks =
+			new TreeMap<String, Callable<Void>>();
+		synchronized (ALL_ALGS) {
+			for (KAdaptiveAlgorithm alg: ALL_ALGS.values()) {
+				String cid = alg.corridor.getName();
+				if (!skip.contains(cid))
+					tasks.put(cid, alg.createTask(stamp));
 			}
 		}
+		return tasks;
+	}
+
+	/** Remove K adaptive algorithm states which are done.
+	 * @param skip Corridors to skip (calculations still in progress). */
+	static public void removeDoneStates(Set<String> skip) {
+		synchronized (ALL_ALGS) {
+			Iterator<KAdaptiveAlgorithm> it =
+				ALL_ALGS.values().iterator();
+			while (it.hasNext()) {
+				KAdaptiveAlgorithm alg = it.next();
+				if (skip.contains(alg.corridor.getName()))
+					continue;
+				if (alg.isDone()) {
+					alg.log("isDone: removing");
+					it.remove();
+				}
+			}
+		}
+	}
+
+	/** Create a task to update stations for one interval */
+	private Callable<Void> createTask(final long stamp) {
+		return new Callable<Void>() {
+			public Void call() {
+				updateStations(stamp);
+				return null;
+			}
+		};
 	}
 
 	/** Metering corridor */
@@ -540,15 +579,15 @@ public class KAdaptiveAlgorithm implements MeterAlgorithmState {
 		/** Get 1 minute density at current time step.
 		 * @return average 1 min density; missing data returns 0. */
 		public double getDensity() {
-			Double avg = density_hist.average(0, steps(60));
-			return (avg != null) ? avg : 0;
+			double avg = density_hist.averageValue(0, steps(60));
+			return Double.isNaN(avg) ? 0 : avg;
 		}
 
 		/** Get 1 minute speed at current time step.
 		 * @return Average 1 min speed; missing data returns 0. */
 		private double getSpeed() {
-			Double avg = speed_hist.average(0, steps(60));
-			return (avg != null) ? avg : 0;
+			double avg = speed_hist.averageValue(0, steps(60));
+			return Double.isNaN(avg) ? 0 : avg;
 		}
 
 		/** Find downstream segment station node.  This is the station
@@ -749,8 +788,8 @@ public class KAdaptiveAlgorithm implements MeterAlgorithmState {
 		 * @param step Time step in past (0 for current).
 		 * @return Cumulative demand at specified time. */
 		private float cumulativeDemand(int step) {
-			Double d = demand_accum_hist.get(step);
-			return (d != null) ? d.floatValue() : 0;
+			double d = demand_accum_hist.value(step);
+			return Double.isNaN(d) ? 0 : (float) d;
 		}
 
 		/** Validate meter state.
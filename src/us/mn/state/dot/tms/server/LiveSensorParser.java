@@ -14,17 +14,14 @@
  */
 package us.mn.state.dot.tms.server;
 
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Iterator;
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
+import java.util.Arrays;
 import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.tms.Detector;
 import us.mn.state.dot.tms.DetectorHelper;
@@ -33,6 +30,16 @@ import us.mn.state.dot.tms.server.comm.ParsingException;
 /**
  * Parser for JSON live sensor data from pollinator service.
  *
+ * The document is parsed as a stream, without building a JSON object tree.
+ * Samples are buffered in primitive arrays, since the time stamp and period
+ * may appear after them (object keys are unordered).  Once the document is
+ * complete and valid, each sample is stored into its detector's caches.
+ * A parser is intended to be reused for every period, from one thread.
+ *
+ * Detectors are looked up by sensor ID in the SONAR namespace, which is
+ * already a hash index kept current as detectors are added or removed, so
+ * the parser keeps no separate index.
+ *
  * @author Douglas Lau
  */
 public class LiveSensorParser {
@@ -47,86 +54,335 @@ public class LiveSensorParser {
 	/** Date formatter for RFC 3339 */
 	static private final String RFC3339 = "yyyy-MM-dd'T'HH:mm:ssXXX";
 
+	/** Input buffer size */
+	static private final int BUF_SZ = 64 * 1024;
+
+	/** Missing value (JSON null) */
+	static private final int MISSING = Integer.MIN_VALUE;
+
+	/** Initial capacity of sample buffers */
+	static private final int INITIAL_CAPACITY = 1024;
+
+	/** Date format for parsing time stamps */
+	private final SimpleDateFormat date_fmt =
+		new SimpleDateFormat(RFC3339);
+
+	/** Buffer for string values (UTF-8 bytes) */
+	private byte[] str_buf = new byte[64];
+
+	/** Input stream being parsed */
+	private InputStream in;
+
+	/** Pushed back byte (or -1) */
+	private int pushed = -1;
+
+	/** Time stamp from file */
+	private long stamp;
+
+	/** Data collection period (sec) */
+	private int period;
+
+	/** Buffered sensor IDs */
+	private String[] sids = new String[INITIAL_CAPACITY];
+
+	/** Buffered flow rates */
+	private int[] flows = new int[INITIAL_CAPACITY];
+
+	/** Buffered speeds */
+	private int[] speeds = new int[INITIAL_CAPACITY];
+
+	/** Number of buffered samples */
+	private int n_buffered;
+
 	/** Parse a date/time stamp */
-	static private long parseStamp(String v) throws ParsingException {
+	private long parseStamp(String v) throws ParsingException {
 		try {
-			return new SimpleDateFormat(RFC3339).parse(v).getTime();
+			return date_fmt.parse(v).getTime();
 		}
 		catch (ParseException e) {
 			throw new ParsingException(e);
 		}
 	}
 
-	/** Read a file into a string, in UTF-8 encoding */
-	static private String readFile(String path) throws IOException {
-		byte[] bytes = Files.readAllBytes(Paths.get(path));
-		return new String(bytes, StandardCharsets.UTF_8);
-	}
-
-	/** Time stamp from file */
-	private final long stamp;
-
-	/** Data collection period (sec) */
-	private final int period;
-
-	/** Read live sensor data from pollinator file */
-	public LiveSensorParser(long st) throws IOException, JSONException {
-		String doc;
-		try {
-			doc = readFile(SENSOR_JSON);
+	/** Read live sensor data from pollinator file.
+	 * @param st Expected time stamp at end of period.
+	 * @return Number of samples parsed. */
+	public int parse(long st) throws IOException {
+		try (InputStream is = new BufferedInputStream(
+			new FileInputStream(SENSOR_JSON), BUF_SZ))
+		{
+			return parse(is, st);
 		}
 		catch (IOException e) {
-			LOG.log("IO Error: " + e.getMessage());
+			LOG.log("Error: " + e.getMessage());
 			throw e;
 		}
+	}
+
+	/** Read live sensor data from an input stream.
+	 * @param is Input stream (should be buffered).
+	 * @param st Expected time stamp at end of period.
+	 * @return Number of samples parsed. */
+	protected int parse(InputStream is, long st) throws IOException {
+		in = is;
+		pushed = -1;
+		stamp = 0;
+		period = 0;
+		n_buffered = 0;
 		try {
-			JSONObject jo = new JSONObject(doc);
-			stamp = parseStamp(jo.getString("time_stamp"));
-			period = jo.getInt("period");
-			long p = period * 1000;
-			long stamp_end = stamp / p * p;
-			if (stamp_end == st)
-				parseSensorData(jo);
-			else {
-				LOG.log("Invalid stamp: " + stamp + ", " + st);
-			}
+			parseDocument();
+			return isValid(st) ? storeSamples() : 0;
 		}
-		catch (JSONException e) {
-			LOG.log("JSON Error: " + e.getMessage());
-			throw e;
+		finally {
+			in = null;
+			Arrays.fill(sids, 0, n_buffered, null);
+			n_buffered = 0;
+		}
+	}
+
+	/** Parse the document object */
+	private void parseDocument() throws IOException {
+		expect('{');
+		if (peekClean() == '}') {
+			read();
+			return;
+		}
+		do {
+			String key = parseString();
+			expect(':');
+			if ("time_stamp".equals(key))
+				stamp = parseStamp(parseString());
+			else if ("period".equals(key))
+				period = parseInt();
+			else if ("samples".equals(key))
+				parseSamples();
+			else
+				skipValue();
+		} while (nextSeparator('}'));
+	}
+
+	/** Check if the time stamp and period are valid */
+	private boolean isValid(long st) {
+		if (period <= 0) {
+			LOG.log("Invalid period: " + period);
+			return false;
+		}
+		long p = period * 1000;
+		long stamp_end = stamp / p * p;
+		if (stamp_end != st) {
+			LOG.log("Invalid stamp: " + stamp + ", " + st);
+			return false;
 		}
+		return true;
 	}
 
-	/** Parse live sensor data */
-	private void parseSensorData(JSONObject jo) throws JSONException {
-		JSONObject samples = jo.getJSONObject("samples");
-		Iterator<String> keys = samples.keys();
-		while (keys.hasNext()) {
-			String sid = keys.next();
-			Detector det = DetectorHelper.lookup(sid);
-			if (det instanceof DetectorImpl) {
-				storeSensorData((DetectorImpl) det,
-					samples.getJSONArray(sid));
-			} else {
-				LOG.log("Unknown sensor: " + sid);
+	/** Parse the samples object (an empty array is also accepted) */
+	private void parseSamples() throws IOException {
+		if (peekClean() == '[') {
+			read();
+			expect(']');
+			return;
+		}
+		expect('{');
+		if (peekClean() == '}') {
+			read();
+			return;
+		}
+		do {
+			String sid = parseString();
+			expect(':');
+			expect('[');
+			int flow = MISSING;
+			int speed = MISSING;
+			if (peekClean() == ']')
+				read();
+			else {
+				flow = parseInt();
+				if (nextSeparator(']')) {
+					speed = parseInt();
+					while (nextSeparator(']'))
+						skipValue();
+				}
 			}
+			bufferSample(sid, flow, speed);
+		} while (nextSeparator('}'));
+	}
+
+	/** Add a sample to the buffers */
+	private void bufferSample(String sid, int flow, int speed) {
+		if (n_buffered >= sids.length) {
+			int cap = sids.length * 2;
+			sids = Arrays.copyOf(sids, cap);
+			flows = Arrays.copyOf(flows, cap);
+			speeds = Arrays.copyOf(speeds, cap);
 		}
+		sids[n_buffered] = sid;
+		flows[n_buffered] = flow;
+		speeds[n_buffered] = speed;
+		n_buffered++;
+	}
+
+	/** Store all buffered samples.
+	 * @return Number of samples stored. */
+	private int storeSamples() {
+		for (int i = 0; i < n_buffered; i++)
+			storeSample(sids[i], flows[i], speeds[i]);
+		return n_buffered;
+	}
+
+	/** Store one sample.
+	 * @param sid Sensor ID.
+	 * @param flow Flow rate (vehicles per hour), or MISSING.
+	 * @param speed Speed (mph), or MISSING. */
+	protected void storeSample(String sid, int flow, int speed) {
+		Detector det = DetectorHelper.lookup(sid);
+		if (det instanceof DetectorImpl)
+			storeSensorData((DetectorImpl) det, flow, speed);
+		else
+			LOG.log("Unknown sensor: " + sid);
 	}
 
 	/** Store sensor data */
-	private void storeSensorData(DetectorImpl det, JSONArray values) {
-		Integer flow = values.optInt(0);
-		if (flow != null) {
+	private void storeSensorData(DetectorImpl det, int flow, int speed) {
+		if (flow != MISSING) {
 			int count = (flow * period) / 3600;
 			PeriodicSample ps = new PeriodicSample(stamp, period,
 				count);
 			det.storeVehCount(ps, true);
 		}
-		Integer speed = values.optInt(1);
-		if (speed != null) {
+		if (speed != MISSING) {
 			PeriodicSample ps = new PeriodicSample(stamp, period,
 				speed);
 			det.storeSpeed(ps, true);
 		}
 	}
+
+	/** Read the next byte */
+	private int read() throws IOException {
+		if (pushed >= 0) {
+			int b = pushed;
+			pushed = -1;
+			return b;
+		}
+		int b = in.read();
+		if (b < 0)
+			throw new ParsingException("Unexpected end of input");
+		return b;
+	}
+
+	/** Peek at the next non-whitespace byte */
+	private int peekClean() throws IOException {
+		int b = read();
+		while (b == ' ' || b == '\n' || b == '\r' || b == '\t')
+			b = read();
+		pushed = b;
+		return b;
+	}
+
+	/** Read the next non-whitespace byte */
+	private int readClean() throws IOException {
+		peekClean();
+		return read();
+	}
+
+	/** Expect a structural character */
+	private void expect(char c) throws IOException {
+		int b = readClean();
+		if (b != c) {
+			throw new ParsingException("Expected '" + c +
+				"', got '" + (char) b + "'");
+		}
+	}
+
+	/** Read a separator: comma or end character.
+	 * @return true for comma, false for end character. */
+	private boolean nextSeparator(char end) throws IOException {
+		int b = readClean();
+		if (b == ',')
+			return true;
+		else if (b == end)
+			return false;
+		else {
+			throw new ParsingException("Expected ',' or '" + end +
+				"', got '" + (char) b + "'");
+		}
+	}
+
+	/** Parse a string value (escapes other than \" and \\ are kept
+	 * verbatim, since they never appear in sensor IDs) */
+	private String parseString() throws IOException {
+		expect('"');
+		int n = 0;
+		for (int b = read(); b != '"'; b = read()) {
+			if (b == '\\')
+				b = read();
+			if (n >= str_buf.length)
+				str_buf = Arrays.copyOf(str_buf, n * 2);
+			str_buf[n++] = (byte) b;
+		}
+		return new String(str_buf, 0, n, StandardCharsets.UTF_8);
+	}
+
+	/** Parse an integer value (fractions are truncated).
+	 * @return Integer value, or MISSING for null. */
+	private int parseInt() throws IOException {
+		int b = readClean();
+		if (b == 'n') {
+			expectLiteral("ull");
+			return MISSING;
+		}
+		boolean neg = (b == '-');
+		if (neg)
+			b = read();
+		if (b < '0' || b > '9')
+			throw new ParsingException("Invalid number");
+		int v = 0;
+		while (b >= '0' && b <= '9') {
+			v = v * 10 + (b - '0');
+			b = read();
+		}
+		while ((b >= '0' && b <= '9') || b == '.' || b == 'e' ||
+		       b == 'E' || b == '+' || b == '-')
+			b = read();
+		pushed = b;
+		return neg ? -v : v;
+	}
+
+	/** Expect the remainder of a literal */
+	private void expectLiteral(String rest) throws IOException {
+		for (int i = 0; i < rest.length(); i++) {
+			if (read() != rest.charAt(i))
+				throw new ParsingException("Invalid literal");
+		}
+	}
+
+	/** Skip over any value */
+	private void skipValue() throws IOException {
+		int b = peekClean();
+		if (b == '"') {
+			parseString();
+			return;
+		}
+		if (b != '{' && b != '[') {
+			// number or literal
+			read();
+			b = read();
+			while (b != ',' && b != '}' && b != ']' && b != ' ' &&
+			       b != '\n' && b != '\r' && b != '\t')
+				b = read();
+			pushed = b;
+			return;
+		}
+		int depth = 0;
+		do {
+			b = read();
+			if (b == '"') {
+				pushed = b;
+				parseString();
+			} else if (b == '{' || b == '[')
+				depth++;
+			else if (b == '}' || b == ']')
+				depth--;
+		} while (depth > 0);
+	}
 }
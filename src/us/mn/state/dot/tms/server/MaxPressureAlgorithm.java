@@ -1223,8 +1223,8 @@ public class MaxPressureAlgorithm implements MeterAlgorithmState {
          * @param step Time step in past (0 for current).
          * @return Cumulative demand at specified time. */
         private float cumulativeDemand(int step) {
-            Double d = demand_accum_hist.get(step);
-            return (d != null) ? d.floatValue() : 0;
+            double d = demand_accum_hist.value(step);
+            return Double.isNaN(d) ? 0 : (float) d;
         }
 
         /** Calculate queue storage limit.  Project into the future the
@@ -14,49 +14,236 @@
  */
 package us.mn.state.dot.tms.server;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLongArray;
+import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.tms.MeterAlgorithm;
 import us.mn.state.dot.tms.RampMeter;
 import us.mn.state.dot.tms.RampMeterHelper;
 
 /**
  * Job to calculate ramp meter rates.
  *
+ * Meters are partitioned by corridor, since algorithm state is kept per
+ * corridor.  Stations and then meters of each partition are processed in
+ * parallel (on the corridor manager thread pool), so results do not depend
+ * on ordering.  One deadline applies to both phases.  Partitions which miss
+ * the deadline keep their previous rates, and are skipped until their
+ * calculation finishes.
+ *
  * @author Douglas Lau
  */
 public class MeteringJob extends Job {
 
+	/** Metering debug log */
+	static private final DebugLog METERING_LOG = new DebugLog("metering");
+
+	/** Deadline to finish metering calculations (ms) */
+	static private final long DEADLINE_MS = 20 * 1000;
+
+	/** Corridors with calculations still in progress */
+	static private final Set<String> busy =
+		Collections.synchronizedSet(new HashSet<String>());
+
+	/** Get a copy of the busy corridor set */
+	static Set<String> copyBusy() {
+		synchronized (busy) {
+			return new HashSet<String>(busy);
+		}
+	}
+
+	/** Perform per-corridor tasks in parallel, waiting until a deadline.
+	 * Each corridor is busy while its task is running, even after the
+	 * deadline has passed.
+	 * @param tasks Mapping of corridor names to tasks.
+	 * @param deadline Deadline (System.nanoTime).
+	 * @return true if all tasks finished before the deadline. */
+	static boolean invokeAll(Map<String, Callable<Void>> tasks,
+		long deadline)
+	{
+		ArrayList<Callable<Void>> bt = new ArrayList<Callable<Void>>();
+		for (Map.Entry<String, Callable<Void>> e: tasks.entrySet())
+			bt.add(createBusyTask(e.getKey(), e.getValue()));
+		long ms = (deadline - System.nanoTime()) / 1000000;
+		return CorridorManager.invokeAll(bt, ms);
+	}
+
+	/** Create a task which marks its corridor busy while running */
+	static private Callable<Void> createBusyTask(final String cid,
+		final Callable<Void> task)
+	{
+		return new Callable<Void>() {
+			public Void call() throws Exception {
+				busy.add(cid);
+				try {
+					return task.call();
+				}
+				finally {
+					busy.remove(cid);
+				}
+			}
+		};
+	}
+
+	/** Add an item to a corridor partition.  Partitions are sorted by
+	 * corridor name, and items in each keep the order they were added.
+	 * @param parts Mapping of corridor names to partitions.
+	 * @param cid Corridor name.
+	 * @param item Item to add.
+	 * @param skip Corridors to skip (calculations still in progress).
+	 * @return true if added, or false if the corridor was skipped. */
+	static <T> boolean addPartition(TreeMap<String, ArrayList<T>> parts,
+		String cid, T item, Set<String> skip)
+	{
+		if (skip.contains(cid))
+			return false;
+		ArrayList<T> p = parts.get(cid);
+		if (null == p) {
+			p = new ArrayList<T>();
+			parts.put(cid, p);
+		}
+		p.add(item);
+		return true;
+	}
+
 	/** Create a new metering job */
 	public MeteringJob() {
 		super(0);
 	}
 
+	/** Corridors validated during this job */
+	private final Set<String> validated =
+		Collections.synchronizedSet(new HashSet<String>());
+
+	/** Time spent validating each algorithm (ns) */
+	private final AtomicLongArray alg_ns =
+		new AtomicLongArray(MeterAlgorithm.values().length);
+
 	/** Perform the metering job */
 	@Override
 	public void perform() {
 		validateMetering();
 	}
 
-	/** Validate all metering algorithms */
+	/** Validate all metering algorithms.  The deadline applies to both
+	 * the station and meter phases. */
 	private void validateMetering() {
-		KAdaptiveAlgorithm.processAllStates();
+		long t0 = System.nanoTime();
+		long deadline = t0 + DEADLINE_MS * 1000000;
+		boolean done = invokeAll(KAdaptiveAlgorithm.createStationTasks(
+			copyBusy()), deadline);
+		// corridors with late station tasks are skipped
+		Set<String> skip = copyBusy();
+		KAdaptiveAlgorithm.removeDoneStates(skip);
+		long t1 = System.nanoTime();
+		TreeMap<String, ArrayList<RampMeterImpl>> parts =
+			partitionMeters(skip);
+		TreeMap<String, Callable<Void>> tasks =
+			new TreeMap<String, Callable<Void>>();
+		for (Map.Entry<String, ArrayList<RampMeterImpl>> e:
+		     parts.entrySet())
+		{
+			tasks.put(e.getKey(), createTask(e.getKey(),
+				e.getValue()));
+		}
+		done &= invokeAll(tasks, deadline);
+		long t2 = System.nanoTime();
+		for (Map.Entry<String, ArrayList<RampMeterImpl>> e:
+		     parts.entrySet())
+		{
+			if (!validated.contains(e.getKey())) {
+				logLate(e.getKey());
+				continue;
+			}
+			for (RampMeterImpl meter: e.getValue()) {
+				meter.updateQueueState();
+				meter.updateRatePlanned();
+			}
+		}
+		if (METERING_LOG.isOpen())
+			logTiming(t1 - t0, t2 - t1, done);
+	}
+
+	/** Partition all ramp meters by corridor name.  Meters are also
+	 * checked for expired locks.
+	 * @param skip Corridors to skip (calculations still in progress). */
+	private TreeMap<String, ArrayList<RampMeterImpl>> partitionMeters(
+		Set<String> skip)
+	{
+		TreeMap<String, ArrayList<RampMeterImpl>> parts =
+			new TreeMap<String, ArrayList<RampMeterImpl>>();
 		Iterator<RampMeter> it = RampMeterHelper.iterator();
 		while (it.hasNext()) {
 			RampMeter rm = it.next();
 			if (rm instanceof RampMeterImpl) {
 				RampMeterImpl meter = (RampMeterImpl) rm;
 				meter.checkLockExpired();
-				meter.validateAlgorithm();
+				Corridor c = meter.getCorridor();
+				String cid = (c != null) ? c.getName() : "";
+				if (!addPartition(parts, cid, meter, skip))
+					logLate(cid);
 			}
 		}
-		it = RampMeterHelper.iterator();
-		while (it.hasNext()) {
-			RampMeter rm = it.next();
-			if (rm instanceof RampMeterImpl) {
-				RampMeterImpl meter = (RampMeterImpl) rm;
-				meter.updateQueueState();
-				meter.updateRatePlanned();
+		return parts;
+	}
+
+	/** Create a task to validate meters on one corridor */
+	private Callable<Void> createTask(final String cid,
+		final ArrayList<RampMeterImpl> meters)
+	{
+		return new Callable<Void>() {
+			public Void call() {
+				for (RampMeterImpl meter: meters)
+					validateAlgorithm(meter);
+				validated.add(cid);
+				return null;
+			}
+		};
+	}
+
+	/** Validate the algorithm for one meter */
+	private void validateAlgorithm(RampMeterImpl meter) {
+		long t = System.nanoTime();
+		meter.validateAlgorithm();
+		int a = MeterAlgorithm.fromOrdinal(meter.getAlgorithm())
+			.ordinal();
+		alg_ns.addAndGet(a, System.nanoTime() - t);
+	}
+
+	/** Log a corridor which missed the deadline */
+	private void logLate(String cid) {
+		if (METERING_LOG.isOpen())
+			METERING_LOG.log("late: " + cid);
+	}
+
+	/** Log metering cycle timing */
+	private void logTiming(long st_ns, long val_ns, boolean done) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("stations: ");
+		sb.append(st_ns / 1000000);
+		sb.append(" ms, validate: ");
+		sb.append(val_ns / 1000000);
+		sb.append(" ms");
+		for (MeterAlgorithm ma: MeterAlgorithm.values()) {
+			long ns = alg_ns.get(ma.ordinal());
+			if (ns > 0) {
+				sb.append(", ");
+				sb.append(ma.name().toLowerCase());
+				sb.append(": ");
+				sb.append(ns / 1000000);
+				sb.append(" ms");
 			}
 		}
+		if (!done)
+			sb.append(", deadline missed");
+		METERING_LOG.log(sb.toString());
 	}
 }
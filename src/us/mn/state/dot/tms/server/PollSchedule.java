@@ -0,0 +1,172 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.TimeSteward;
+
+/**
+ * Poll schedule for comm links.  Rather than polling every link at the
+ * same instant, each link is placed in a time slot within a spread window
+ * near the start of the poll period.  A hash of the link name picks the
+ * preferred slot, so placement is stable across restarts; if that slot is
+ * full, the next slot with spare capacity is used instead.  The spread
+ * window ends early enough for station data to be collected before
+ * StationDataJob runs.
+ *
+ * @author Douglas Lau
+ */
+public class PollSchedule {
+
+	/** Poll schedule debug log */
+	static private final DebugLog POLL_LOG = new DebugLog("poll_sched");
+
+	/** Offset of spread window from start of period (ms) */
+	static private final int START_MS = 2000;
+
+	/** Time allowed for poll responses before station data is
+	 * calculated (ms) */
+	static private final int RESPONSE_MS = 12000;
+
+	/** End of spread window from start of period (ms) */
+	static public final int END_MS = StationDataJob.OFFSET_SECS * 1000 -
+		RESPONSE_MS;
+
+	/** Slot size (ms) */
+	static private final int SLOT_MS = 250;
+
+	/** Offset of long polls from normal polls (ms) */
+	static public final int LONG_OFFSET_MS = 2000;
+
+	/** Number of seconds in dispatch rate window */
+	static private final int RATE_SECS = 60;
+
+	/** Count of operations dispatched in each second of the minute */
+	static private final AtomicIntegerArray DISPATCHED =
+		new AtomicIntegerArray(RATE_SECS);
+
+	/** Count an operation dispatched to a comm link */
+	static public void countDispatch() {
+		long s = TimeSteward.currentTimeMillis() / 1000;
+		DISPATCHED.incrementAndGet((int) (s % RATE_SECS));
+	}
+
+	/** Log operation dispatch rates for the last minute, and reset */
+	static public void logDispatchRates() {
+		if (POLL_LOG.isOpen()) {
+			StringBuilder sb = new StringBuilder();
+			int total = 0;
+			int peak = 0;
+			for (int i = 0; i < RATE_SECS; i++) {
+				int n = DISPATCHED.getAndSet(i, 0);
+				total += n;
+				peak = Math.max(peak, n);
+				sb.append(' ');
+				sb.append(n);
+			}
+			POLL_LOG.log("ops/sec: peak " + peak + ", mean " +
+				(total / RATE_SECS) + "," + sb);
+		}
+	}
+
+	/** Mix the bits of a hash code */
+	static private int mix(int h) {
+		h ^= (h >>> 16);
+		h *= 0x85ebca6b;
+		h ^= (h >>> 13);
+		return h & Integer.MAX_VALUE;
+	}
+
+	/** A slot in the poll schedule */
+	static public class Slot {
+
+		/** Poll period (ms) */
+		private final int period_ms;
+
+		/** Slot number */
+		private final int slot;
+
+		/** Offset from start of poll period (ms) */
+		public final int offset_ms;
+
+		/** Create a new slot */
+		private Slot(int p, int s, int o) {
+			period_ms = p;
+			slot = s;
+			offset_ms = o;
+		}
+	}
+
+	/** Get the spread window start for a period (ms) */
+	static private int windowStart(int period_ms) {
+		return (period_ms > END_MS) ? START_MS : 0;
+	}
+
+	/** Get the number of slots for a period */
+	static private int numSlots(int period_ms) {
+		int end = Math.min(END_MS, period_ms);
+		return Math.max(1, (end - windowStart(period_ms)) / SLOT_MS);
+	}
+
+	/** Mapping of poll period (ms) to link count for each slot */
+	private final HashMap<Integer, int[]> loads =
+		new HashMap<Integer, int[]>();
+
+	/** Place a comm link in the schedule.
+	 * @param name Comm link name.
+	 * @param period_sec Poll period (seconds).
+	 * @return Slot for the link; must be released when no longer used. */
+	public synchronized Slot place(String name, int period_sec) {
+		int period_ms = period_sec * 1000;
+		int[] load = loads.get(period_ms);
+		if (null == load) {
+			load = new int[numSlots(period_ms)];
+			loads.put(period_ms, load);
+		}
+		int total = 0;
+		for (int n: load)
+			total += n;
+		// Slots are kept within one link of an even spread
+		int cap = total / load.length + 1;
+		int s = mix(name.hashCode()) % load.length;
+		while (load[s] >= cap)
+			s = (s + 1) % load.length;
+		load[s]++;
+		int o = windowStart(period_ms) + s * SLOT_MS;
+		return new Slot(period_ms, s, o);
+	}
+
+	/** Release a slot in the schedule */
+	public synchronized void release(Slot sl) {
+		if (sl != null) {
+			int[] load = loads.get(sl.period_ms);
+			if (load != null && load[sl.slot] > 0)
+				load[sl.slot]--;
+		}
+	}
+
+	/** Get the number of links in the busiest slot for a period */
+	public synchronized int getPeakLoad(int period_sec) {
+		int peak = 0;
+		int[] load = loads.get(period_sec * 1000);
+		if (load != null) {
+			for (int n: load)
+				peak = Math.max(peak, n);
+		}
+		return peak;
+	}
+}
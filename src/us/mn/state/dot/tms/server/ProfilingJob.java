@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2025  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -42,5 +42,8 @@ public class ProfilingJob extends Job {
 		profiler.debugMemory();
 		profiler.debugThreads();
 		profiler.appendUptimeLog();
+		PollSchedule.logDispatchRates();
+		if (MainServer.server != null)
+			MainServer.server.debugBuffers();
 	}
 }
@@ -32,7 +32,6 @@ import us.mn.state.dot.tms.R_NodeType;
 import us.mn.state.dot.tms.SystemAttrEnum; 
 import us.mn.state.dot.tms.TMSException;
 import us.mn.state.dot.tms.geo.Position;
-import static us.mn.state.dot.tms.server.XmlWriter.createAttribute;
 import us.mn.state.dot.tms.units.Distance;
 
 /**
@@ -606,52 +605,57 @@ public class R_NodeImpl extends BaseObjectImpl implements R_Node {
 		return fork;
 	}
 
+	/** XML element fragment */
+	private transient final XmlFragment xml_frag =
+		new XmlFragment("r_node");
+
 	/** Write the r_node as an XML element */
 	public void writeXml(Writer w, Map<String, RampMeterImpl> m_nodes)
 		throws IOException
 	{
-		w.write("  <r_node");
-		w.write(createAttribute("name", name));
+		XmlFragment xf = xml_frag;
+		xf.begin();
+		xf.attr("name", name);
 		if (node_type != R_NodeType.STATION)
-			w.write(" n_type='" + node_type.description + "'");
+			xf.attr("n_type", node_type.description);
 		if (pickable)
-			w.write(" pickable='t'");
+			xf.attr("pickable", "t");
 		if (above)
-			w.write(" above='t'");
+			xf.attr("above", "t");
 		if (transition != R_NodeTransition.NONE)
-			w.write(" transition='" + transition.description+"'");
-		String sid = station_id;
-		if (sid != null)
-			w.write(createAttribute("station_id", sid));
+			xf.attr("transition", transition.description);
+		xf.attr("station_id", station_id);
 		GeoLoc loc = geo_loc;
 		if (loc != null) {
 			String lbl = GeoLocHelper.getCrossLandmark(loc);
 			if (lbl != null && lbl.length() > 0)
-				w.write(createAttribute("label", lbl));
+				xf.attr("label", lbl);
 			Position pos = GeoLocHelper.getWgs84Position(loc);
 			if (pos != null) {
-				w.write(createAttribute("lon",
-					formatDouble(pos.getLongitude())));
-				w.write(createAttribute("lat",
-					formatDouble(pos.getLatitude())));
+				xf.attr("lon",
+					formatDouble(pos.getLongitude()));
+				xf.attr("lat",
+					formatDouble(pos.getLatitude()));
 			}
 		}
 		int l = getLanes();
 		if (l != 0)
-			w.write(" lanes='" + l + "'");
+			xf.attr("lanes", l);
 		if (getAttachSide())
-			w.write(" attach_side='left'");
+			xf.attr("attach_side", "left");
 		int s = getShift();
 		if (s != 0)
-			w.write(" shift='" + s + "'");
+			xf.attr("shift", s);
 		if (!getActive())
-			w.write(" active='f'");
+			xf.attr("active", "f");
 		int slim = getSpeedLimit();
 		if (slim != getDefaultSpeedLimit())
-			w.write(" s_limit='" + slim + "'");
+			xf.attr("s_limit", slim);
 		R_NodeImpl f = getFork();
 		if (f != null)
-			w.write(" forks='" + f.getName() + "'");
+			xf.attr("forks", f.getName());
+		w.write("  ");
+		w.write(xf.end());
 		DetectorImpl[] dets = getDetectors();
 		if (dets.length > 0 || m_nodes.containsKey(name)) {
 			w.write(">\n");
@@ -51,7 +51,6 @@ import us.mn.state.dot.tms.TMSException;
 import us.mn.state.dot.tms.geo.Position;
 import us.mn.state.dot.tms.units.Interval;
 import static us.mn.state.dot.tms.units.Interval.Units.MINUTES;
-import static us.mn.state.dot.tms.server.XmlWriter.createAttribute;
 import us.mn.state.dot.tms.server.comm.DevicePoller;
 import us.mn.state.dot.tms.server.comm.MeterPoller;
 import us.mn.state.dot.tms.server.event.MeterLockEvent;
@@ -866,21 +865,25 @@ public class RampMeterImpl extends DeviceImpl implements RampMeter {
 		return corridors.getCorridor(geo_loc);
 	}
 
+	/** XML element fragment */
+	private transient final XmlFragment xml_frag =
+		new XmlFragment("meter");
+
 	/** Write meter as an XML element */
 	public void writeXml(Writer w) throws IOException {
-		w.write("<meter");
-		w.write(createAttribute("name", getName()));
+		XmlFragment f = xml_frag;
+		f.begin();
+		f.attr("name", getName());
 		Position pos = GeoLocHelper.getWgs84Position(geo_loc);
 		if (pos != null) {
-			w.write(createAttribute("lon",
-				formatDouble(pos.getLongitude())));
-			w.write(createAttribute("lat",
-				formatDouble(pos.getLatitude())));
+			f.attr("lon", formatDouble(pos.getLongitude()));
+			f.attr("lat", formatDouble(pos.getLatitude()));
 		}
-		w.write(" storage='" + getStorage() + "'");
+		f.attr("storage", getStorage());
 		int mw = getMaxWait();
 		if (mw != DEFAULT_MAX_WAIT)
-			w.write(" max_wait='" + mw + "'");
+			f.attr("max_wait", mw);
+		w.write(f.end());
 		w.write("/>\n");
 	}
 }
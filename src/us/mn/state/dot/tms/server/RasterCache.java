@@ -0,0 +1,62 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.HashMap;
+import us.mn.state.dot.tms.SignConfig;
+
+/**
+ * Cache of rasterizable checks of MULTI strings for one sign.  Checks are
+ * only valid for one sign config and raster resource serial number; the
+ * cache is cleared when either changes, or when it is full.
+ *
+ * @author Douglas Lau
+ */
+class RasterCache {
+
+	/** Maximum number of cached checks */
+	static final int MAX_CHECKS = 8;
+
+	/** Sign config of cached checks */
+	private SignConfig config;
+
+	/** Raster resource serial number of cached checks */
+	private int serial = -1;
+
+	/** Cached checks of MULTI strings */
+	private final HashMap<String, Boolean> checks =
+		new HashMap<String, Boolean>();
+
+	/** Lookup a cached check.
+	 * @param sc Current sign config.
+	 * @param sn Current raster resource serial number.
+	 * @param ms MULTI string.
+	 * @return Cached check, or null if not cached. */
+	Boolean lookup(SignConfig sc, int sn, String ms) {
+		if (sc != config || sn != serial ||
+		    checks.size() >= MAX_CHECKS)
+		{
+			checks.clear();
+			config = sc;
+			serial = sn;
+		}
+		return checks.get(ms);
+	}
+
+	/** Cache a check (after lookup) */
+	void put(String ms, boolean r) {
+		checks.put(ms, r);
+	}
+}
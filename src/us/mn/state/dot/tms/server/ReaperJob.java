@@ -74,12 +74,6 @@ public class ReaperJob extends Job {
 	/** Seconds to offset each iteration from start of interval */
 	static private final int OFFSET_SECS = 27;
 
-	/** List of sign messages */
-	private final ArrayList<SignMessageImpl> sign_msgs;
-
-	/** List of zombie sign messages */
-	private final ArrayList<SignMessageImpl> zombie_msgs;
-
 	/** List of zombie incidents */
 	private final ArrayList<IncidentImpl> zombie_incs;
 
@@ -89,8 +83,6 @@ public class ReaperJob extends Job {
 	/** Create a new job to reap dead stuff */
 	public ReaperJob() {
 		super(Calendar.MINUTE, 1, Calendar.SECOND, OFFSET_SECS);
-		sign_msgs = new ArrayList<SignMessageImpl>();
-		zombie_msgs = new ArrayList<SignMessageImpl>();
 		zombie_incs = new ArrayList<IncidentImpl>();
 		zombie_alerts = new ArrayList<AlertInfoImpl>();
 	}
@@ -113,35 +105,9 @@ public class ReaperJob extends Job {
 
 	/** Reap sign messages which have not been used for awhile */
 	private void reapSignMessages() {
-		if (zombie_msgs.isEmpty()) {
-			if (sign_msgs.isEmpty())
-				findAllSignMessages();
-			else
-				checkForZombieMessages();
-		} else {
-			for (SignMessageImpl sm: zombie_msgs)
-				reapMessage(sm);
-			zombie_msgs.clear();
-		}
-	}
-
-	/** Find all sign messages */
-	private void findAllSignMessages() {
-		Iterator<SignMessage> it = SignMessageHelper.iterator();
-		while (it.hasNext()) {
-			SignMessage sm = it.next();
-			if (sm instanceof SignMessageImpl)
-				sign_msgs.add((SignMessageImpl) sm);
-		}
-	}
-
-	/** Check for zombie sign messages */
-	private void checkForZombieMessages() {
-		for (SignMessageImpl sm: sign_msgs) {
-			if (!isReferenced(sm))
-				zombie_msgs.add(sm);
-		}
-		sign_msgs.clear();
+		long now = TimeSteward.currentTimeMillis();
+		for (SignMessageImpl sm: SignMessageImpl.takeReapable(now))
+			reapMessage(sm);
 	}
 
 	/** Reap one sign message */
@@ -153,7 +119,7 @@ public class ReaperJob extends Job {
 		SignMessage m = SignMessageHelper.lookup(sm.getName());
 		if (m != sm)
 			logMsg(sm, "SignMessage lookup failed");
-		else if (!isReferenced(sm)) {
+		else if (!sm.isReferenced()) {
 			// NOTE: there is a race where a DMS could acquire
 			//       a reference just before notifyRemove
 			sm.notifyRemove();
@@ -161,20 +127,6 @@ public class ReaperJob extends Job {
 		}
 	}
 
-	/** Check if a sign message is referenced by any DMS */
-	private boolean isReferenced(SignMessage sm) {
-		Iterator<DMS> it = DMSHelper.iterator();
-		while (it.hasNext()) {
-			DMS dms = it.next();
-			if (dms instanceof DMSImpl) {
-				DMSImpl dmsi = (DMSImpl) dms;
-				if (dmsi.hasReference(sm))
-					return true;
-			}
-		}
-		return false;
-	}
-
 	/** Reap incidents which have been cleared for awhile */
 	private void reapIncidents() {
 		if (zombie_incs.isEmpty())
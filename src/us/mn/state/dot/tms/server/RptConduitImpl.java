@@ -1,6 +1,7 @@
 /*
  * IRIS -- Intelligent Roadway Information System
  * Copyright (C) 2017-2018  SRF Consulting Group
+ * Copyright (C) 2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -16,7 +17,15 @@ package us.mn.state.dot.tms.server;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.TimeSteward;
 import us.mn.state.dot.tms.RptConduit;
 import us.mn.state.dot.tms.TMSException;
 import us.mn.state.dot.tms.reports.RptGenItem;
@@ -31,11 +40,51 @@ import us.mn.state.dot.tms.server.reports.RptGen;
  * 
  * (Note that a RptConduit is a non-persistent SONAR object.)
  *
+ * Reports are generated one at a time by a single worker thread,
+ * using a dedicated database connection.  Results are returned to
+ * the client one page at a time.
+ *
  * @author John L. Stanley - SRF Consulting
+ * @author Douglas Lau
  */
 public class RptConduitImpl extends BaseObjectImpl
 	implements RptConduit
 {
+	/** Report debug log */
+	static private final DebugLog RPT_LOG = new DebugLog("report");
+
+	/** Maximum number of queued report requests */
+	static final int MAX_QUEUED = 4;
+
+	/** Number of result rows per page */
+	static public final int PAGE_ROWS = 5000;
+
+	/** Factory for the report worker thread */
+	static private final ThreadFactory THREAD_FACTORY =
+		new ThreadFactory()
+	{
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "report");
+			t.setDaemon(true);
+			return t;
+		}
+	};
+
+	/** Report executor (one thread, bounded queue) */
+	static final ThreadPoolExecutor executor =
+		new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+		new ArrayBlockingQueue<Runnable>(MAX_QUEUED), THREAD_FACTORY);
+
+	/** Database connection for reports (only used by executor) */
+	static private SQLConnection rpt_store;
+
+	/** Get the database connection for reports */
+	static private SQLConnection getReportStore() throws TMSException {
+		if (null == rpt_store)
+			rpt_store = store.copy();
+		return rpt_store;
+	}
+
 	/** Load all reports from the database (of which there are none...) */
 	static protected void loadAll() throws TMSException { }
 
@@ -64,6 +113,8 @@ public class RptConduitImpl extends BaseObjectImpl
 	@Override
 	public void setCanceled(boolean b) {
 		canceled = b;
+		if (b)
+			cancelReport();
 	}
 
 	@Override
@@ -83,13 +134,46 @@ public class RptConduitImpl extends BaseObjectImpl
 			return;
 		}
 
-		// generate the report in a new thread
-		Thread t = new Thread() {
-			public void run() {
-				generateReports();
-			}
-		};
-		t.start();
+		// generate the report on the report executor
+		final RptResults res = new RptResults();
+		try {
+			Future<?> f = executor.submit(new Runnable() {
+				public void run() {
+					generateReports(res);
+				}
+			});
+			setTask(res, f);
+		}
+		catch (RejectedExecutionException e) {
+			RPT_LOG.log(name + ": queue full");
+			res.addException("Report queue full");
+			setRptResults(res);
+		}
+	}
+
+	//-------------------------------------------
+
+	/** Results being generated */
+	private RptResults gen_res;
+
+	/** Future for report generation task */
+	private Future<?> future;
+
+	/** Set the report generation task */
+	private synchronized void setTask(RptResults res, Future<?> f) {
+		cancelReport();
+		gen_res = res;
+		future = f;
+	}
+
+	/** Cancel report generation (if in progress) */
+	private synchronized void cancelReport() {
+		if (gen_res != null)
+			gen_res.setCanceled(true);
+		if (future != null)
+			future.cancel(false);
+		gen_res = null;
+		future = null;
 	}
 
 	//-------------------------------------------
@@ -109,34 +193,110 @@ public class RptConduitImpl extends BaseObjectImpl
 		return results;
 	}
 
+	//-------------------------------------------
+
+	/** Complete report results */
+	private RptResults rpt_res;
+
+	/** Number of result pages */
+	private int page_count = 0;
+
+	@Override
+	public int getPageCount() {
+		return page_count;
+	}
+
+	/** Current result page */
+	private int page = 0;
+
+	@Override
+	public synchronized void setPage(int p) {
+		if (rpt_res != null && p >= 0 && p < page_count) {
+			setResultsNotify(pageString(p));
+			page = p;
+			notifyAttribute("page");
+		}
+	}
+
+	@Override
+	public int getPage() {
+		return page;
+	}
+
+	/** Get the results string for one page */
+	private String pageString(int p) {
+		String sRes = rpt_res.toResultsString(p * PAGE_ROWS,
+			PAGE_ROWS);
+		return (sRes.isEmpty()) ? "{empty: }" : sRes;
+	}
+
+	/** Set the report results and notify clients with first page */
+	synchronized void setRptResults(RptResults res) {
+		rpt_res = res;
+		int n = res.resultsSize();
+		page_count = Math.max(1, (n + PAGE_ROWS - 1) / PAGE_ROWS);
+		notifyAttribute("pageCount");
+		setResultsNotify(pageString(0));
+		page = 0;
+		notifyAttribute("page");
+	}
+
 	//-------------------------------------------
 	
-	protected void generateReports() {
+	/** Generate reports (on report executor thread) */
+	private void generateReports(RptResults res) {
+		long start = TimeSteward.currentTimeMillis();
+		long mem = usedMemory();
 		RptRequest req = new RptRequest();
-		RptResults res = new RptResults();
 		RptGen gen;
 
 		// run report generator(s)
 		req.initFromReqString(request);
 		for (RptGenItem it : req.getGenItemList()) {
+			if (res.isCanceled())
+				break;
 			if (it.getSelected()) {
 				try {
+					SQLConnection rs = getReportStore();
 					gen = RptGen.newGenerator(it.getGuiName());
-					gen.generateReport(store, req, res);
+					runGenerator(gen, rs, req, res);
 				} catch (Exception e) {
 					res.addException(e.getMessage());
 				}
 			}
 		}
+		if (RPT_LOG.isOpen()) {
+			long ms = TimeSteward.currentTimeMillis() - start;
+			long kb = (usedMemory() - mem) / 1024;
+			RPT_LOG.log(name + ": " + res.resultsSize() + " rows, "
+				+ ms + " ms, " + kb + " KB" + (res.isCanceled()
+				? ", canceled" : ""));
+		}
 
 		// return results
-		if (!canceled) {
-			String sRes = res.toResultsString();
-			if ((sRes == null) || sRes.isEmpty())
-				sRes = "{empty: }";
-			setResultsNotify(sRes);
+		if (!res.isCanceled())
+			setRptResults(res);
+	}
+
+	/** Run one report generator.  Any exception (such as reaching the row
+	 * limit) is added to the results, which are returned to the client
+	 * along with the rows generated so far. */
+	static void runGenerator(RptGen gen, SQLConnection rs, RptRequest req,
+		RptResults res)
+	{
+		try {
+			gen.generateReport(rs, req, res);
+		}
+		catch (Exception e) {
+			res.addException(e.getMessage());
 		}
 	}
+
+		/** Get the amount of heap memory used */
+	static private long usedMemory() {
+		Runtime rt = Runtime.getRuntime();
+		return rt.totalMemory() - rt.freeMemory();
+	}
 	
 	//-------------------------------------------
 	// Suppress the following two database operations
@@ -154,5 +314,6 @@ public class RptConduitImpl extends BaseObjectImpl
 	public void doDestroy() throws TMSException {
 		// suppress the following operation
 //		store.destroy(this);
+		cancelReport();
 	}
 }
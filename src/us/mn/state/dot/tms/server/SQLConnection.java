@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2005-2021  Minnesota Department of Transportation
+ * Copyright (C) 2005-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -21,8 +21,10 @@ import java.sql.ResultSet;
 import java.sql.Statement;
 import java.sql.SQLException;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
 import java.util.regex.Pattern;
 import java.util.regex.Matcher;
 import org.postgis.MultiPolygon;
@@ -96,7 +98,7 @@ public class SQLConnection {
 	}
 
 	/** Prepare a string array for SQL */
-	static private String prepareArray(Object value) {
+	static public String prepareArray(Object value) {
 		assert value != null;
 		return (value.getClass().isArray() || value instanceof List<?>)
 		      ? value.toString().replace("[", "{").replace("]", "}")
@@ -152,6 +154,11 @@ public class SQLConnection {
 		password = pswd;
 	}
 
+	/** Create a new (unopened) connection to the same database */
+	public SQLConnection copy() throws TMSException {
+		return new SQLConnection(location, user, password);
+	}
+
 	/** Close the current database connection */
 	private void close() throws SQLException {
 		statements.clear();
@@ -231,6 +238,49 @@ public class SQLConnection {
 		}
 	}
 
+	/** Query the database with a cursor, fetching rows in batches.
+	 * Autocommit is disabled for the duration of the query, so the
+	 * connection must not be shared with other threads.
+	 * @param sql SQL query.
+	 * @param fetch Number of rows to fetch at a time.
+	 * @param factory Factory called for each result. */
+	public synchronized void cursorQuery(String sql, int fetch,
+		ResultFactory factory) throws TMSException
+	{
+		try {
+			if (connection == null)
+				open();
+			connection.setAutoCommit(false);
+			try (Statement s = connection.createStatement()) {
+				s.setFetchSize(fetch);
+				try (ResultSet set = s.executeQuery(sql)) {
+					while (set.next())
+						factory.create(set);
+				}
+			}
+			finally {
+				connection.rollback();
+				connection.setAutoCommit(true);
+			}
+		}
+		catch (SQLException e) {
+			SQL_LOG.log("cursorQuery -> " + e);
+			try {
+				close();
+			}
+			catch (SQLException e2) {
+				SQL_LOG.log("cursorQuery.2 -> " + e2);
+			}
+			throw new TMSException(e);
+		}
+		catch (TMSException e) {
+			throw e;
+		}
+		catch (Exception e) {
+			throw new TMSException(e);
+		}
+	}
+
 	/** Update the database with the given SQL command */
 	public void update(String sql) throws TMSException {
 		Statement s = getStatement();
@@ -285,12 +335,8 @@ public class SQLConnection {
 				validateIdentifier(field);
 				keys.append(field);
 				keys.append(",");
-				String av = prepareArray(value);
-				String ev = escapeValue(av);
-				validateValue(ev);
-				values.append("'");
-				values.append(ev);
-				values.append("',");
+				values.append(formatValue(value));
+				values.append(",");
 			}
 		}
 		keys.setLength(keys.length() - 1);
@@ -300,6 +346,64 @@ public class SQLConnection {
 		update(sql);
 	}
 
+	/** Format a value as a SQL string constant */
+	static private String formatValue(Object value)
+		throws ChangeVetoException
+	{
+		String av = prepareArray(value);
+		String ev = escapeValue(av);
+		validateValue(ev);
+		return "'" + ev + "'";
+	}
+
+	/** Build SQL to create several records in one table.  Columns which
+	 * are null in some records are given their default value.
+	 * @param rows Storable records, all for the same table.
+	 * @return SQL INSERT statement with one row per record. */
+	static public String createSql(List<? extends Storable> rows)
+		throws ChangeVetoException
+	{
+		String table = rows.get(0).getTable();
+		validateIdentifier(table);
+		ArrayList<Map<String, Object>> cols =
+			new ArrayList<Map<String, Object>>();
+		TreeSet<String> keys = new TreeSet<String>();
+		for (Storable s: rows) {
+			validateName(s.getPKey());
+			if (!table.equals(s.getTable()))
+				throw new ChangeVetoException("Mixed tables");
+			Map<String, Object> columns = s.getColumns();
+			for (Map.Entry<String, Object> col: columns.entrySet()) {
+				if (col.getValue() != null) {
+					validateIdentifier(col.getKey());
+					keys.add(col.getKey());
+				}
+			}
+			cols.add(columns);
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append("INSERT INTO ");
+		sb.append(table);
+		sb.append(" (");
+		sb.append(String.join(",", keys));
+		sb.append(") VALUES ");
+		for (Map<String, Object> columns: cols) {
+			sb.append('(');
+			for (String key: keys) {
+				Object value = columns.get(key);
+				sb.append((value != null)
+					? formatValue(value)
+					: "DEFAULT");
+				sb.append(',');
+			}
+			sb.setLength(sb.length() - 1);
+			sb.append("),");
+		}
+		sb.setLength(sb.length() - 1);
+		sb.append(';');
+		return sb.toString();
+	}
+
 	/** Destroy one storable record */
 	public void destroy(Storable s) throws TMSException {
 		String esc_val = escapeValue(s.getPKey());
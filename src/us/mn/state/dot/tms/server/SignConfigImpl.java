@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2016-2025  Minnesota Department of Transportation
+ * Copyright (C) 2016-2026  Minnesota Department of Transportation
  * Copyright (C) 2021  Iteris Inc.
  *
  * This program is free software; you can redistribute it and/or modify
@@ -317,6 +317,7 @@ public class SignConfigImpl extends BaseObjectImpl implements SignConfig,
 	@Override
 	public void setDefaultFont(int df) {
 		default_font = df;
+		DMSImpl.rasterChanged();
 	}
 
 	/** Set the default font number */
@@ -346,6 +347,7 @@ public class SignConfigImpl extends BaseObjectImpl implements SignConfig,
 	@Override
 	public void setModuleWidth(Integer mw) {
 		module_width = mw;
+		DMSImpl.rasterChanged();
 	}
 
 	/** Set the module width (pixels) */
@@ -369,6 +371,7 @@ public class SignConfigImpl extends BaseObjectImpl implements SignConfig,
 	@Override
 	public void setModuleHeight(Integer mh) {
 		module_height = mh;
+		DMSImpl.rasterChanged();
 	}
 
 	/** Set the module height (pixels) */
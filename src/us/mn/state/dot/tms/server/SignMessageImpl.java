@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2025  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -18,9 +18,12 @@ import java.io.IOException;
 import java.io.Writer;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.TimeSteward;
 import us.mn.state.dot.sonar.SonarException;
 import us.mn.state.dot.tms.DMSHelper;
 import us.mn.state.dot.tms.SignConfig;
@@ -29,13 +32,17 @@ import us.mn.state.dot.tms.SignMessage;
 import us.mn.state.dot.tms.SignMessageHelper;
 import us.mn.state.dot.tms.SignMsgPriority;
 import us.mn.state.dot.tms.TMSException;
-import static us.mn.state.dot.tms.server.XmlWriter.createAttribute;
 
 /**
  * A sign message represents a message which can be displayed on a dynamic
  * message sign (DMS).  All values in these messages are *immutable* -- if any
  * changes are needed, a new sign message must be created.
  *
+ * Each message counts references from DMS (scheduled, current and next
+ * messages).  When the count drops to zero, the message is added to a
+ * timestamped free list, and ReaperJob removes it after a grace period.
+ * So reaping only looks at unreferenced messages, not every message.
+ *
  * @author Douglas Lau
  */
 public class SignMessageImpl extends BaseObjectImpl implements SignMessage {
@@ -43,6 +50,74 @@ public class SignMessageImpl extends BaseObjectImpl implements SignMessage {
 	/** Sign msg debug log */
 	static private final DebugLog MSG_LOG = new DebugLog("sign_msg");
 
+	/** Time to keep an unreferenced message before reaping (ms) */
+	static private final long REAP_GRACE_MS = 2 * 60 * 1000;
+
+	/** Free list entry for an unreferenced message */
+	static private class FreeEntry {
+		private final SignMessageImpl msg;
+		private final long stamp;
+		private FreeEntry(SignMessageImpl sm, long st) {
+			msg = sm;
+			stamp = st;
+		}
+	}
+
+	/** Free list of unreferenced messages, in time order.  This also
+	 * guards reference counts and free stamps of all messages. */
+	static private final ArrayDeque<FreeEntry> FREE_LIST =
+		new ArrayDeque<FreeEntry>();
+
+	/** Add a reference to a sign message */
+	static void addRef(SignMessage sm) {
+		if (sm instanceof SignMessageImpl) {
+			SignMessageImpl smi = (SignMessageImpl) sm;
+			synchronized (FREE_LIST) {
+				smi.ref_count++;
+			}
+		}
+	}
+
+	/** Release a reference to a sign message */
+	static void release(SignMessage sm) {
+		if (sm instanceof SignMessageImpl) {
+			SignMessageImpl smi = (SignMessageImpl) sm;
+			synchronized (FREE_LIST) {
+				if (smi.ref_count > 0) {
+					smi.ref_count--;
+					if (0 == smi.ref_count)
+						smi.free();
+				} else
+					smi.logMsg("release underflow");
+			}
+		}
+	}
+
+	/** Take messages which have been unreferenced for the grace period.
+	 * Messages which were referenced again are skipped.
+	 * @param now Current time.
+	 * @return Messages which may be reaped. */
+	static ArrayList<SignMessageImpl> takeReapable(long now) {
+		ArrayList<SignMessageImpl> msgs =
+			new ArrayList<SignMessageImpl>();
+		synchronized (FREE_LIST) {
+			while (!FREE_LIST.isEmpty()) {
+				FreeEntry fe = FREE_LIST.peek();
+				if (fe.stamp + REAP_GRACE_MS > now)
+					break;
+				FREE_LIST.poll();
+				SignMessageImpl sm = fe.msg;
+				if (0 == sm.ref_count &&
+				    fe.stamp == sm.free_stamp)
+				{
+					sm.free_stamp = 0;
+					msgs.add(sm);
+				}
+			}
+		}
+		return msgs;
+	}
+
 	/** Make a sign message name */
 	static private String makeName(SignConfig sc, String ms, String owner,
 		boolean st, boolean fb, boolean ps, SignMsgPriority mp)
@@ -133,6 +208,7 @@ public class SignMessageImpl extends BaseObjectImpl implements SignMessage {
 	public SignMessageImpl(String n) {
 		super(n);
 		logMsg("created (client)");
+		addFree();
 	}
 
 	/** Create a sign message */
@@ -149,17 +225,18 @@ public class SignMessageImpl extends BaseObjectImpl implements SignMessage {
 	}
 
 	/** Create a sign message */
-	private SignMessageImpl(String n, String sc, String ms, String owner,
+	SignMessageImpl(String n, String sc, String ms, String owner,
 		boolean st, boolean fb, boolean ps, int mp)
 	{
 		super(n);
 		sign_config = SignConfigHelper.lookup(sc);
-		multi = ms;
-		msg_owner = owner;
+		multi = StringPool.intern(ms);
+		msg_owner = StringPool.intern(owner);
 		sticky = st;
 		flash_beacon = fb;
 		pixel_service = ps;
 		msg_priority = mp;
+		addFree();
 	}
 
 	/** Create a new sign message (by IRIS) */
@@ -168,13 +245,40 @@ public class SignMessageImpl extends BaseObjectImpl implements SignMessage {
 	{
 		super(makeName(sc, ms, owner, st, fb, ps, mp));
 		sign_config = sc;
-		multi = ms;
-		msg_owner = owner;
+		multi = StringPool.intern(ms);
+		msg_owner = StringPool.intern(owner);
 		sticky = st;
 		flash_beacon = fb;
 		pixel_service = ps;
 		msg_priority = mp.ordinal();
 		logMsg("created (server)");
+		addFree();
+	}
+
+	/** Reference count (guarded by FREE_LIST) */
+	private transient int ref_count;
+
+	/** Time of latest free list entry, or 0 (guarded by FREE_LIST) */
+	private transient long free_stamp;
+
+	/** Add a new (unreferenced) message to the free list */
+	private void addFree() {
+		synchronized (FREE_LIST) {
+			free();
+		}
+	}
+
+	/** Add to the free list (FREE_LIST lock must be held) */
+	private void free() {
+		free_stamp = TimeSteward.currentTimeMillis();
+		FREE_LIST.add(new FreeEntry(this, free_stamp));
+	}
+
+	/** Check if the message is referenced by any DMS */
+	boolean isReferenced() {
+		synchronized (FREE_LIST) {
+			return ref_count > 0;
+		}
 	}
 
 	/** Log a message */
@@ -192,7 +296,9 @@ public class SignMessageImpl extends BaseObjectImpl implements SignMessage {
 		return sign_config;
 	}
 
-	/** Message MULTI string, contains message text for all pages */
+	/** Message MULTI string, contains message text for all pages.
+	 * The same MULTI is often used by many messages (with different sign
+	 * configs or owners), so it is pooled. */
 	private String multi;
 
 	/** Get the message MULTI string.
@@ -260,18 +366,22 @@ public class SignMessageImpl extends BaseObjectImpl implements SignMessage {
 		return msg_priority;
 	}
 
-	/** Write the SignMessage object as xml */
-	public void writeXml(Writer w, DMSImpl dms) throws IOException {
-		w.write("<sign_message");
-		w.write(createAttribute("dms", dms.getName()));
-		w.write(createAttribute("status", DMSHelper.getAllStyles(dms)));
-		w.write(createAttribute("flash_beacon", flash_beacon));
-		w.write(createAttribute("run_priority", msg_priority));
-		w.write(createAttribute("act_priority", msg_priority));
-		w.write(createAttribute("duration", null));
-		w.write(createAttribute("incident", null));
-		w.write(createAttribute("multi", multi));
-		w.write(createAttribute("bitmaps", "")); // encode from multi?
+	/** Write the SignMessage object as xml.
+	 * @param w Writer for XML.
+	 * @param dms DMS with the message.
+	 * @param f XML fragment for the DMS sign message. */
+	public void writeXml(Writer w, DMSImpl dms, XmlFragment f)
+		throws IOException
+	{
+		f.begin();
+		f.attr("dms", dms.getName());
+		f.attr("status", DMSHelper.getAllStyles(dms));
+		f.attr("flash_beacon", flash_beacon);
+		f.attr("run_priority", msg_priority);
+		f.attr("act_priority", msg_priority);
+		f.attr("multi", multi);
+		f.attr("bitmaps", ""); // encode from multi?
+		w.write(f.end());
 		w.write("/>\n");
 	}
 }
@@ -16,8 +16,10 @@ package us.mn.state.dot.tms.server;
 
 import java.util.Calendar;
 import java.util.Iterator;
+import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.sched.Job;
 import us.mn.state.dot.sched.Scheduler;
+import us.mn.state.dot.sched.TimeSteward;
 import static us.mn.state.dot.tms.server.MainServer.TIMER;
 
 /**
@@ -27,11 +29,15 @@ import static us.mn.state.dot.tms.server.MainServer.TIMER;
  */
 public class StationDataJob extends Job {
 
+	/** Station data debug log */
+	static private final DebugLog STATION_LOG =
+		new DebugLog("station_data");
+
 	/** Seconds to offset from start of interval.
 	 *
 	 * This must be *after* binned detector data has been collected, to
 	 * enable station data calculation. */
-	static private final int OFFSET_SECS = 26;
+	static final int OFFSET_SECS = 26;
 
 	/** FLUSH Scheduler for writing XML (I/O to disk) */
 	private final Scheduler flush;
@@ -45,6 +51,9 @@ public class StationDataJob extends Job {
 	/** Period (ms) */
 	private final int per_ms;
 
+	/** Parser for live sensor data from pollinator */
+	private final LiveSensorParser sensor_parser = new LiveSensorParser();
+
 	/** Create a new station data job */
 	public StationDataJob(Scheduler f) {
 		super(Calendar.SECOND, 30, Calendar.SECOND, OFFSET_SECS);
@@ -61,15 +70,24 @@ public class StationDataJob extends Job {
 			long stamp = DetectorImpl.calculateEndTime(per_ms);
 			try {
 				// parse sensor data from pollinator
-				new LiveSensorParser(stamp);
+				sensor_parser.parse(stamp);
 			}
 			catch (Exception e) {
 				// ignore errors
 			}
+			long t0 = TimeSteward.currentTimeMillis();
 			station_manager.calculateData(stamp);
 			// Perform flush job after station data calculated
 			flush.addJob(flush_job);
+			long t1 = TimeSteward.currentTimeMillis();
 			BaseObjectImpl.corridors.findBottlenecks();
+			long t2 = TimeSteward.currentTimeMillis();
+			if (STATION_LOG.isOpen()) {
+				STATION_LOG.log("calc: " + (t1 - t0) +
+					" ms, bneck: " + (t2 - t1) +
+					" ms, latency: " + (t2 - stamp) +
+					" ms");
+			}
 		}
 		finally {
 			TIMER.addJob(new MeteringJob());
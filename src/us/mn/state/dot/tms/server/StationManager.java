@@ -20,8 +20,11 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Writer;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.TreeMap;
+import us.mn.state.dot.tms.R_NodeHelper;
 import us.mn.state.dot.tms.Station;
 import us.mn.state.dot.tms.StationHelper;
 import us.mn.state.dot.tms.utils.DevelCfg;
@@ -64,17 +67,43 @@ class StationManager {
 		return stamp;
 	}
 
-	/** Calculate the current data for all stations */
-	public void calculateData(long st) {
+	/** Calculate the current data for all stations.  Stations are
+	 * partitioned by corridor, and each partition is calculated in
+	 * parallel.  Station data only depends on its own detectors, so the
+	 * results do not depend on ordering. */
+	public void calculateData(final long st) {
 		stamp = st;
+		CorridorManager.invokePartitions(partitionStations().values(),
+			new CorridorManager.ItemTask<StationImpl>()
+		{
+			public void perform(StationImpl si) {
+				si.calculateData(st, per_ms);
+			}
+		});
+	}
+
+	/** Partition all stations by corridor name */
+	private TreeMap<String, ArrayList<StationImpl>> partitionStations() {
+		TreeMap<String, ArrayList<StationImpl>> parts =
+			new TreeMap<String, ArrayList<StationImpl>>();
 		Iterator<Station> it = StationHelper.iterator();
 		while (it.hasNext()) {
 			Station s = it.next();
 			if (s instanceof StationImpl) {
 				StationImpl si = (StationImpl) s;
-				si.calculateData(stamp, per_ms);
+				String cid = R_NodeHelper.getCorridorName(
+					si.getR_Node());
+				if (null == cid)
+					cid = "";
+				ArrayList<StationImpl> p = parts.get(cid);
+				if (null == p) {
+					p = new ArrayList<StationImpl>();
+					parts.put(cid, p);
+				}
+				p.add(si);
 			}
 		}
+		return parts;
 	}
 
 	/** Write the station data out as XML */
@@ -0,0 +1,61 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+/**
+ * Pool of shared strings, for values which are repeated by many objects
+ * (such as sign message MULTI strings and owners).  Each distinct value is
+ * held once; strings from database rows or client requests are replaced
+ * with the pooled instance.  Entries are weak, so a value is dropped from
+ * the pool once no object refers to it.  This is separate from
+ * String.intern, to avoid filling the fixed-size JVM string table.
+ *
+ * @author Douglas Lau
+ */
+public class StringPool {
+
+	/** Mapping of strings to pooled instances */
+	static private final WeakHashMap<String, WeakReference<String>> POOL =
+		new WeakHashMap<String, WeakReference<String>>();
+
+	/** Get the pooled instance of a string.
+	 * @param s String value (may be null).
+	 * @return Shared string equal to s, or null. */
+	static public String intern(String s) {
+		if (null == s)
+			return null;
+		synchronized (POOL) {
+			WeakReference<String> ref = POOL.get(s);
+			String p = (ref != null) ? ref.get() : null;
+			if (p != null)
+				return p;
+			POOL.put(s, new WeakReference<String>(s));
+			return s;
+		}
+	}
+
+	/** Get the number of pooled strings */
+	static public int size() {
+		synchronized (POOL) {
+			return POOL.size();
+		}
+	}
+
+	/** Don't allow instantiation */
+	private StringPool() { }
+}
@@ -0,0 +1,205 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.tms.GeoLoc;
+import us.mn.state.dot.tms.Road;
+import us.mn.state.dot.tms.Station;
+import us.mn.state.dot.tms.TagReader;
+import us.mn.state.dot.tms.units.Interval;
+import static us.mn.state.dot.tms.SystemAttrEnum.ROUTE_MAX_LEGS;
+import static us.mn.state.dot.tms.SystemAttrEnum.ROUTE_MAX_MILES;
+import static us.mn.state.dot.tms.units.Interval.Units.MINUTES;
+
+/**
+ * Cache of derived values for action tags.  Travel times and speed
+ * advisory stations are calculated at most once per device action cycle,
+ * no matter how many device actions refer to them.  Routes only depend on
+ * the corridors and route finder system attributes, so they are kept until
+ * either of those change.  Origin / destination pairs with no route are
+ * only remembered for one cycle.
+ *
+ * This class is not thread-safe; it is only used by the TIMER thread.
+ *
+ * @author Douglas Lau
+ */
+public class TagCache {
+
+	/** Travel time for a route */
+	static public class RouteTime {
+
+		/** Travel time (minutes) */
+		public final int min;
+
+		/** Travel time to final destination (minutes) */
+		public final int min_final;
+
+		/** Create a new route travel time */
+		private RouteTime(int mn, int mn_final) {
+			min = mn;
+			min_final = mn_final;
+		}
+	}
+
+	/** Make a position key for a location */
+	static private String positionKey(GeoLoc loc) {
+		Road r = loc.getRoadway();
+		return ((r != null) ? r.getName() : "") + ' ' +
+			loc.getRoadDir() + ' ' + loc.getLat() + ' ' +
+			loc.getLon();
+	}
+
+	/** Calculate the travel time for a route */
+	static private int calculateTravelTime(Route r, boolean final_dest)
+		throws BadRouteException
+	{
+		RouteLeg leg = r.leg;
+		Interval t = new Interval(0);
+		while (leg != null) {
+			RouteLegTimer rlt = new RouteLegTimer(leg, final_dest);
+			t = t.add(rlt.calculateTime());
+			leg = leg.prev;
+		}
+		return t.floor(MINUTES) + (r.getTurns() + 1);
+	}
+
+	/** Get the route finder parameters (system attributes) */
+	static private String routeParams() {
+		return ROUTE_MAX_MILES.getInt() + " " + ROUTE_MAX_LEGS.getInt();
+	}
+
+	/** Corridor serial number when routes were cached */
+	private int corridor_serial = -1;
+
+	/** Route finder parameters when routes were cached */
+	private String route_params = "";
+
+	/** Mapping of origin / destination positions to routes */
+	private final HashMap<String, Route> routes =
+		new HashMap<String, Route>();
+
+	/** Origin / destination positions with no route found */
+	private final HashSet<String> no_routes = new HashSet<String>();
+
+	/** Mapping of routes to travel times (or exceptions) */
+	private final HashMap<Route, Object> times =
+		new HashMap<Route, Object>();
+
+	/** Mapping of tag reader pairs to matched travel times */
+	private final HashMap<String, Interval> tag_times =
+		new HashMap<String, Interval>();
+
+	/** Mapping of locations to speed advisory station finders */
+	private final HashMap<GeoLoc, VSStationFinder> vss_finders =
+		new HashMap<GeoLoc, VSStationFinder>();
+
+	/** Clear values derived from traffic data.  This should be called
+	 * at the start of each device action cycle. */
+	public void clearValues() {
+		String params = routeParams();
+		if (!params.equals(route_params)) {
+			routes.clear();
+			route_params = params;
+		}
+		no_routes.clear();
+		times.clear();
+		tag_times.clear();
+		vss_finders.clear();
+	}
+
+	/** Find a route to a station.
+	 * @param org Origin location.
+	 * @param s Destination station.
+	 * @return Route to station, or null if none found. */
+	public Route findRoute(GeoLoc org, Station s) {
+		CorridorManager cm = BaseObjectImpl.corridors;
+		int serial = cm.getSerial();
+		if (serial != corridor_serial) {
+			routes.clear();
+			no_routes.clear();
+			times.clear();
+			vss_finders.clear();
+			corridor_serial = serial;
+		}
+		GeoLoc dest = s.getR_Node().getGeoLoc();
+		String key = positionKey(org) + '\t' + positionKey(dest);
+		Route r = routes.get(key);
+		if (r != null || no_routes.contains(key))
+			return r;
+		r = createRoute(cm, org, dest);
+		if (r != null)
+			routes.put(key, r);
+		else
+			no_routes.add(key);
+		return r;
+	}
+
+	/** Create a route from an origin to a destination */
+	Route createRoute(CorridorManager cm, GeoLoc org, GeoLoc dest) {
+		return new RouteFinder(cm).findRoute(org, dest);
+	}
+
+	/** Get the current travel time for a route */
+	public RouteTime getTravelTime(Route r) throws BadRouteException {
+		Object t = times.get(r);
+		if (null == t) {
+			try {
+				t = new RouteTime(calculateTravelTime(r, false),
+					calculateTravelTime(r, true));
+			}
+			catch (BadRouteException e) {
+				t = e;
+			}
+			times.put(r, t);
+		}
+		if (t instanceof BadRouteException)
+			throw (BadRouteException) t;
+		return (RouteTime) t;
+	}
+
+	/** Get the tag-matched travel time between two tag readers.
+	 * @param org Origin tag reader.
+	 * @param dest Destination tag reader.
+	 * @return Median travel time, or null if too few tags matched. */
+	public Interval getTagTravelTime(TagReader org, TagReader dest) {
+		String key = org.getName() + '\t' + dest.getName();
+		if (tag_times.containsKey(key))
+			return tag_times.get(key);
+		int[] tt = TagReaderImpl.MATCHER.getTravelTimes(org.getName(),
+			dest.getName(), TimeSteward.currentTimeMillis());
+		Integer sec = TagMatcher.getPercentile(tt, 50);
+		Interval t = (sec != null) ? new Interval(sec) : null;
+		tag_times.put(key, t);
+		return t;
+	}
+
+	/** Find the speed advisory station for a location.
+	 * @param cor Corridor of location.
+	 * @param loc Device location.
+	 * @param m Mile point of location on corridor.
+	 * @return Station finder after searching. */
+	public VSStationFinder findVSS(Corridor cor, GeoLoc loc, float m) {
+		VSStationFinder vss_finder = vss_finders.get(loc);
+		if (null == vss_finder) {
+			vss_finder = new VSStationFinder(m);
+			cor.findStation(vss_finder);
+			vss_finders.put(loc, vss_finder);
+		}
+		return vss_finder;
+	}
+}
@@ -0,0 +1,344 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Tag matcher for AVI (automatic vehicle identification) travel times.
+ * Each tag read is matched with the previous read of the same tag at a
+ * different reader, within a time window.  The elapsed time is recorded as
+ * a travel time sample for that pair of readers (a segment).
+ *
+ * Tag IDs are never stored -- each one is hashed (SipHash-2-4) with a
+ * random key, which is created at startup and kept only in memory.  Reads
+ * are stored in open-addressing hash tables of primitive arrays, one table
+ * for each time bucket.  Expired buckets are cleared and reused, so there
+ * is no per-read expiry work.
+ *
+ * @author Douglas Lau
+ */
+public class TagMatcher {
+
+	/** Duration of one time bucket (ms) */
+	static private final long BUCKET_MS = 60 * 1000;
+
+	/** Number of time buckets in the match window */
+	static private final int N_BUCKETS = 30;
+
+	/** Rolling window for travel time distributions (ms) */
+	static public final long ROLLING_MS = 15 * 60 * 1000;
+
+	/** Maximum number of samples kept for each segment */
+	static private final int MAX_SAMPLES = 256;
+
+	/** Minimum number of samples for a valid travel time */
+	static public final int MIN_SAMPLES = 3;
+
+	/** Initial capacity of a read table (must be power of 2) */
+	static private final int INITIAL_CAPACITY = 1024;
+
+	/** Rotate a long value left */
+	static private long rotl(long v, int b) {
+		return (v << b) | (v >>> (64 - b));
+	}
+
+	/** Hash table of tag reads for one time bucket */
+	static private class ReadTable {
+
+		/** Bucket period number (stamp / BUCKET_MS) */
+		private long period = -1;
+
+		/** Tag hash keys (0 for empty slot) */
+		private long[] keys = new long[INITIAL_CAPACITY];
+
+		/** Read time stamps */
+		private long[] stamps = new long[INITIAL_CAPACITY];
+
+		/** Reader IDs */
+		private int[] readers = new int[INITIAL_CAPACITY];
+
+		/** Number of reads in table */
+		private int size;
+
+		/** Clear the table and reuse it for a new period */
+		private void clear(long p) {
+			if (size > 0) {
+				Arrays.fill(keys, 0);
+				size = 0;
+			}
+			period = p;
+		}
+
+		/** Find the slot for a key.
+		 * @return Slot containing key, or empty slot. */
+		private int slot(long k) {
+			int mask = keys.length - 1;
+			int i = (int) (k ^ (k >>> 32)) & mask;
+			while (keys[i] != 0 && keys[i] != k)
+				i = (i + 1) & mask;
+			return i;
+		}
+
+		/** Put a read into the table */
+		private void put(long k, long st, int r) {
+			if (2 * (size + 1) > keys.length)
+				grow();
+			int i = slot(k);
+			if (keys[i] == 0) {
+				keys[i] = k;
+				size++;
+			}
+			stamps[i] = st;
+			readers[i] = r;
+		}
+
+		/** Double the table capacity */
+		private void grow() {
+			long[] ks = keys;
+			long[] sts = stamps;
+			int[] rs = readers;
+			keys = new long[ks.length * 2];
+			stamps = new long[ks.length * 2];
+			readers = new int[ks.length * 2];
+			for (int j = 0; j < ks.length; j++) {
+				if (ks[j] != 0) {
+					int i = slot(ks[j]);
+					keys[i] = ks[j];
+					stamps[i] = sts[j];
+					readers[i] = rs[j];
+				}
+			}
+		}
+	}
+
+	/** Travel time samples for one segment (pair of readers) */
+	static private class Segment {
+
+		/** Sample time stamps (circular buffer) */
+		private final long[] stamps = new long[MAX_SAMPLES];
+
+		/** Sample travel times (seconds) */
+		private final int[] secs = new int[MAX_SAMPLES];
+
+		/** Index of next sample */
+		private int head;
+
+		/** Number of samples */
+		private int count;
+
+		/** Add a travel time sample */
+		private void add(long st, int s) {
+			stamps[head] = st;
+			secs[head] = s;
+			head = (head + 1) % MAX_SAMPLES;
+			count = Math.min(count + 1, MAX_SAMPLES);
+		}
+
+		/** Get sorted travel times within the rolling window */
+		private int[] getTimes(long now) {
+			int[] t = new int[count];
+			int n = 0;
+			for (int j = 0; j < count; j++) {
+				if (now - stamps[j] <= ROLLING_MS &&
+				    stamps[j] <= now)
+					t[n++] = secs[j];
+			}
+			t = Arrays.copyOf(t, n);
+			Arrays.sort(t);
+			return t;
+		}
+	}
+
+	/** Get a percentile from sorted travel times.
+	 * @param times Sorted travel times.
+	 * @param p Percentile (0 to 100).
+	 * @return Travel time (seconds), or null if too few samples. */
+	static public Integer getPercentile(int[] times, double p) {
+		if (times.length < MIN_SAMPLES)
+			return null;
+		int i = (int) Math.ceil(times.length * p / 100) - 1;
+		return times[Math.max(0, Math.min(i, times.length - 1))];
+	}
+
+	/** Hash key (first half) */
+	private final long key0;
+
+	/** Hash key (second half) */
+	private final long key1;
+
+	/** Read tables for each time bucket */
+	private final ReadTable[] tables = new ReadTable[N_BUCKETS];
+
+	/** Mapping of reader names to IDs */
+	private final HashMap<String, Integer> reader_ids =
+		new HashMap<String, Integer>();
+
+	/** Mapping of segment keys to segments */
+	private final HashMap<Long, Segment> segments =
+		new HashMap<Long, Segment>();
+
+	/** Number of reads matched */
+	private long n_matched;
+
+	/** Create a new tag matcher */
+	public TagMatcher() {
+		SecureRandom rng = new SecureRandom();
+		key0 = rng.nextLong();
+		key1 = rng.nextLong();
+		for (int i = 0; i < N_BUCKETS; i++)
+			tables[i] = new ReadTable();
+	}
+
+	/** Hash a tag ID (SipHash-2-4 of one 64-bit word) */
+	private long hashTag(TagType tt, Integer agency, int tid) {
+		long ag = (agency != null) ? (agency & 0xFFFFFF) : 0xFFFFFF;
+		long m = ((long) tt.ordinal() << 56) | (ag << 32) |
+			(tid & 0xFFFFFFFFL);
+		long v0 = key0 ^ 0x736f6d6570736575L;
+		long v1 = key1 ^ 0x646f72616e646f6dL;
+		long v2 = key0 ^ 0x6c7967656e657261L;
+		long v3 = key1 ^ 0x7465646279746573L;
+		long b = 8L << 56;
+		for (int r = 0; r < 8; r++) {
+			if (0 == r)
+				v3 ^= m;
+			else if (2 == r) {
+				v0 ^= m;
+				v3 ^= b;
+			} else if (4 == r) {
+				v0 ^= b;
+				v2 ^= 0xff;
+			}
+			v0 += v1;
+			v1 = rotl(v1, 13);
+			v1 ^= v0;
+			v0 = rotl(v0, 32);
+			v2 += v3;
+			v3 = rotl(v3, 16);
+			v3 ^= v2;
+			v0 += v3;
+			v3 = rotl(v3, 21);
+			v3 ^= v0;
+			v2 += v1;
+			v1 = rotl(v1, 17);
+			v1 ^= v2;
+			v2 = rotl(v2, 32);
+		}
+		long h = v0 ^ v1 ^ v2 ^ v3;
+		return (h != 0) ? h : 1;
+	}
+
+	/** Get the ID of a reader */
+	private int readerId(String reader) {
+		Integer r = reader_ids.get(reader);
+		if (null == r) {
+			r = reader_ids.size();
+			reader_ids.put(reader, r);
+		}
+		return r;
+	}
+
+	/** Get a segment key */
+	static private long segmentKey(int org, int dest) {
+		return ((long) org << 32) | dest;
+	}
+
+	/** Get the read table for a period, or null if expired */
+	private ReadTable lookupTable(long p) {
+		ReadTable t = tables[(int) (p % N_BUCKETS)];
+		return (t.period == p) ? t : null;
+	}
+
+	/** Record a tag read.
+	 * @param reader Name of tag reader.
+	 * @param stamp Timestamp of read event.
+	 * @param tt Tag Type.
+	 * @param agency Agency ID.
+	 * @param tid Tag (transponder) ID.
+	 * @return true if read was matched with a previous read. */
+	public synchronized boolean record(String reader, long stamp,
+		TagType tt, Integer agency, int tid)
+	{
+		if (stamp < 0)
+			return false;
+		long p = stamp / BUCKET_MS;
+		ReadTable cur = tables[(int) (p % N_BUCKETS)];
+		if (cur.period > p)
+			return false;
+		if (cur.period < p)
+			cur.clear(p);
+		long k = hashTag(tt, agency, tid);
+		int r = readerId(reader);
+		boolean matched = match(k, stamp, r, p);
+		cur.put(k, stamp, r);
+		return matched;
+	}
+
+	/** Match a read with the latest previous read of the same tag */
+	private boolean match(long k, long stamp, int r, long p) {
+		for (long q = p; q > p - N_BUCKETS && q >= 0; q--) {
+			ReadTable t = lookupTable(q);
+			if (t != null) {
+				int i = t.slot(k);
+				if (t.keys[i] == k) {
+					return addSample(t.readers[i], r,
+						t.stamps[i], stamp);
+				}
+			}
+		}
+		return false;
+	}
+
+	/** Add a travel time sample to a segment */
+	private boolean addSample(int org, int dest, long st0, long st1) {
+		if (org == dest || st1 <= st0)
+			return false;
+		Long sk = segmentKey(org, dest);
+		Segment seg = segments.get(sk);
+		if (null == seg) {
+			seg = new Segment();
+			segments.put(sk, seg);
+		}
+		seg.add(st1, (int) ((st1 - st0) / 1000));
+		n_matched++;
+		return true;
+	}
+
+	/** Get sorted travel times for a segment.
+	 * @param org Name of origin tag reader.
+	 * @param dest Name of destination tag reader.
+	 * @param now Current time stamp.
+	 * @return Sorted travel times (seconds) within the rolling window. */
+	public synchronized int[] getTravelTimes(String org, String dest,
+		long now)
+	{
+		Integer o = reader_ids.get(org);
+		Integer d = reader_ids.get(dest);
+		if (o != null && d != null) {
+			Segment seg = segments.get(segmentKey(o, d));
+			if (seg != null)
+				return seg.getTimes(now);
+		}
+		return new int[0];
+	}
+
+	/** Get the number of reads matched */
+	public synchronized long getMatchedCount() {
+		return n_matched;
+	}
+}
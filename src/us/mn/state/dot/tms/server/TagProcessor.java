@@ -24,7 +24,6 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import us.mn.state.dot.sched.DebugLog;
-import us.mn.state.dot.sched.Job;
 import us.mn.state.dot.sched.TimeSteward;
 import us.mn.state.dot.tms.ActionPlan;
 import us.mn.state.dot.tms.Detector;
@@ -43,13 +42,13 @@ import us.mn.state.dot.tms.SignMsgSource;
 import us.mn.state.dot.tms.Station;
 import us.mn.state.dot.tms.StationHelper;
 import us.mn.state.dot.tms.SystemAttrEnum;
+import us.mn.state.dot.tms.TagReader;
+import us.mn.state.dot.tms.TagReaderHelper;
 import us.mn.state.dot.tms.TimeActionHelper;
-import us.mn.state.dot.tms.TMSException;
 import us.mn.state.dot.tms.TollZone;
 import us.mn.state.dot.tms.TollZoneHelper;
 import us.mn.state.dot.tms.WeatherSensor;
 import us.mn.state.dot.tms.WeatherSensorHelper;
-import static us.mn.state.dot.tms.server.MainServer.FLUSH;
 import us.mn.state.dot.tms.server.event.PriceMessageEvent;
 import us.mn.state.dot.tms.server.event.TravelTimeEvent;
 import us.mn.state.dot.tms.server.comm.clearguide.ClearGuidePoller;
@@ -111,12 +110,7 @@ public class TagProcessor {
 
 	/** Log an event */
 	static private void logEvent(EventType et, String d, String sid) {
-		final TravelTimeEvent ev = new TravelTimeEvent(et, d, sid);
-		FLUSH.addJob(new Job() {
-			public void perform() throws TMSException {
-				ev.doStore();
-			}
-		});
+		BaseObjectImpl.logEvent(new TravelTimeEvent(et, d, sid));
 	}
 
 	/** Travel time data (for hashmap) */
@@ -206,6 +200,9 @@ public class TagProcessor {
 		}
 	}
 
+	/** Cache of derived values */
+	private final TagCache cache;
+
 	/** Action plan */
 	private final ActionPlanImpl plan;
 
@@ -264,7 +261,10 @@ public class TagProcessor {
 	}
 
 	/** Create a new device action tag processor */
-	public TagProcessor(DeviceAction da, DeviceImpl d, GeoLoc gl) {
+	public TagProcessor(TagCache tc, DeviceAction da, DeviceImpl d,
+		GeoLoc gl)
+	{
+		cache = tc;
 		// NOTE: should always be ActionPlanImpl
 		plan = (ActionPlanImpl) da.getActionPlan();
 		action = da;
@@ -317,6 +317,11 @@ public class TagProcessor {
 			// Add tag for processTravelTimes to replace
 			super.addTravelTime(sid, null, null);
 		}
+		@Override public void addTagTravelTime(String org,
+			String dest)
+		{
+			addSpan(tagTravelTimeSpan(org, dest));
+		}
 		@Override public void addSpeedAdvisory() {
 			addSpan(speedAdvisorySpan());
 		}
@@ -448,8 +453,7 @@ public class TagProcessor {
 
 	/** Calculate the speed advisory */
 	private String calculateSpeedAdvisory(Corridor cor, float m) {
-		VSStationFinder vss_finder = new VSStationFinder(m);
-		cor.findStation(vss_finder);
+		VSStationFinder vss_finder = cache.findVSS(cor, loc, m);
 		if (plan.isLoggerOpen())
 			vss_finder.debug(plan);
 		if (!vss_finder.foundVSS())
@@ -782,14 +786,7 @@ public class TagProcessor {
 	/** Find a route to a travel time destination */
 	private Route findRoute(String sid) {
 		Station s = StationHelper.lookup(sid);
-		return (s != null) ? findRoute(s) : null;
-	}
-
-	/** Find a route to a travel time destination */
-	private Route findRoute(Station s) {
-		GeoLoc dest = s.getR_Node().getGeoLoc();
-		RouteFinder rf = new RouteFinder(BaseObjectImpl.corridors);
-		return rf.findRoute(loc, dest);
+		return (s != null) ? cache.findRoute(loc, s) : null;
 	}
 
 	/** Process travel time tag */
@@ -809,32 +806,10 @@ public class TagProcessor {
 	private TravelTime createTravelTime(Route r, OverLimitMode mode,
 		String o_txt) throws BadRouteException
 	{
-		int mn = calculateTravelTime(r, false);
-		int mn_final = calculateTravelTime(r, true);
+		TagCache.RouteTime rt = cache.getTravelTime(r);
 		int slow = maximumTripMinutes(r.getDistance());
-		return new TravelTime(r, mode, o_txt, mn, mn_final, slow);
-	}
-
-	/** Calculate the travel time for the given route */
-	private int calculateTravelTime(Route r, boolean final_dest)
-		throws BadRouteException
-	{
-		return getTravelTime(r, final_dest).floor(MINUTES) +
-			(r.getTurns() + 1);
-	}
-
-	/** Get the current travel time */
-	private Interval getTravelTime(Route r, boolean final_dest)
-		throws BadRouteException
-	{
-		RouteLeg leg = r.leg;
-		Interval t = new Interval(0);
-		while (leg != null) {
-			RouteLegTimer rlt = new RouteLegTimer(leg, final_dest);
-			t = t.add(rlt.calculateTime());
-			leg = leg.prev;
-		}
-		return t;
+		return new TravelTime(r, mode, o_txt, rt.min, rt.min_final,
+			slow);
 	}
 
 	/** Determine if all travel times should display "OVER" mode.
@@ -911,6 +886,23 @@ public class TagProcessor {
 		return fail("Invalid mode: " + mode);
 	}
 
+	/** Calculate tag-matched travel time span.
+	 * @param org Origin tag reader name.
+	 * @param dest Destination tag reader name. */
+	private String tagTravelTimeSpan(String org, String dest) {
+		addSource(SignMsgSource.travel_time);
+		TagReader o = TagReaderHelper.lookup(org);
+		if (null == o)
+			return fail("Tag reader not found: " + org);
+		TagReader d = TagReaderHelper.lookup(dest);
+		if (null == d)
+			return fail("Tag reader not found: " + dest);
+		Interval t = cache.getTagTravelTime(o, d);
+		return (t != null)
+		      ? String.valueOf(Math.max(1, t.round(MINUTES)))
+		      : fail("Too few tags matched: " + org + "," + dest);
+	}
+
 	/** Calculate parking area availability span */
 	private String parkingSpan(String pid, String l_txt, String c_txt) {
 		addSource(SignMsgSource.parking);
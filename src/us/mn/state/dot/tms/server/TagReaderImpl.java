@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2014-2024  Minnesota Department of Transportation
+ * Copyright (C) 2014-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -16,6 +16,7 @@ package us.mn.state.dot.tms.server;
 
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeSet;
 import java.sql.ResultSet;
@@ -32,6 +33,7 @@ import us.mn.state.dot.tms.TMSException;
 import us.mn.state.dot.tms.TollZone;
 import us.mn.state.dot.tms.server.comm.DevicePoller;
 import us.mn.state.dot.tms.server.comm.TagReaderPoller;
+import us.mn.state.dot.tms.server.event.BaseEvent;
 import us.mn.state.dot.tms.server.event.TagReadEvent;
 
 /**
@@ -42,6 +44,9 @@ import us.mn.state.dot.tms.server.event.TagReadEvent;
  */
 public class TagReaderImpl extends DeviceImpl implements TagReader {
 
+	/** Tag matcher for travel times between tag readers */
+	static public final TagMatcher MATCHER = new TagMatcher();
+
 	/** Tag Reader / DMS table mapping */
 	static private TableMapping mapping;
 
@@ -254,9 +259,26 @@ public class TagReaderImpl extends DeviceImpl implements TagReader {
 	 * @param hov HOV switch flag. */
 	public void logRead(long stamp, TagType tt, Integer agency, int tid,
 		boolean hov)
+	{
+		logRead(stamp, tt, agency, tid, hov, null);
+	}
+
+	/** Log a tag (transponder) read event.
+	 * @param stamp Timestamp of read event.
+	 * @param tt Tag Type.
+	 * @param agency Agency ID.
+	 * @param tid Tag (transponder) ID.
+	 * @param hov HOV switch flag.
+	 * @param batch Batch to add event (logged later), or null. */
+	public void logRead(long stamp, TagType tt, Integer agency, int tid,
+		boolean hov, List<BaseEvent> batch)
 	{
 		TagReadEvent ev = new TagReadEvent(EventType.TAG_READ,
 			new Date(stamp), tt.ordinal(), agency, tid, name, hov);
-		logEvent(ev);
+		if (batch != null)
+			batch.add(ev);
+		else
+			logEvent(ev);
+		MATCHER.record(name, stamp, tt, agency, tid);
 	}
 }
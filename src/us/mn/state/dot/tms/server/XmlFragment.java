@@ -0,0 +1,115 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.Arrays;
+
+/**
+ * A cached XML element fragment for one object.  Attribute values are
+ * gathered on each export and compared with the values used for the cached
+ * fragment; the element is only serialized again when a value changed.
+ * The fragment is an element start tag without the closing "/>" or ">", so
+ * it can be used for empty elements or elements with children.
+ *
+ * A fragment is built with begin, attr (for each attribute) and end.  It is
+ * not thread-safe; all XML export jobs run on the FLUSH thread.
+ *
+ * @author Douglas Lau
+ */
+public class XmlFragment {
+
+	/** Element tag */
+	private final String tag;
+
+	/** Attribute names */
+	private String[] names = new String[8];
+
+	/** Attribute values */
+	private Object[] values = new Object[8];
+
+	/** Number of attributes added since begin */
+	private int n_attrs;
+
+	/** Number of attributes in cached fragment */
+	private int n_cached;
+
+	/** Flag indicating a value changed since the cached fragment */
+	private boolean changed;
+
+	/** Cached fragment */
+	private String xml;
+
+	/** Create a new XML fragment */
+	public XmlFragment(String t) {
+		tag = t;
+	}
+
+	/** Begin gathering attribute values */
+	public void begin() {
+		n_attrs = 0;
+		changed = false;
+	}
+
+	/** Add an attribute.  Null values are skipped, as with
+	 * XmlWriter.createAttribute.
+	 * @param name Attribute name (must be a valid XML name).
+	 * @param value Attribute value. */
+	public void attr(String name, Object value) {
+		if (null == value)
+			return;
+		int i = n_attrs;
+		if (i >= names.length) {
+			names = Arrays.copyOf(names, i * 2);
+			values = Arrays.copyOf(values, i * 2);
+		}
+		if (changed || i >= n_cached || !name.equals(names[i]) ||
+		    !value.equals(values[i]))
+		{
+			// cached fragment is invalid until end, in case an
+			// exception is thrown before then
+			changed = true;
+			xml = null;
+			names[i] = name;
+			values[i] = value;
+		}
+		n_attrs = i + 1;
+	}
+
+	/** End gathering attribute values.
+	 * @return Element start tag, without closing "/>" or ">". */
+	public String end() {
+		if (changed || n_attrs != n_cached || null == xml) {
+			xml = render();
+			n_cached = n_attrs;
+			changed = false;
+		}
+		return xml;
+	}
+
+	/** Render the fragment */
+	private String render() {
+		StringBuilder sb = new StringBuilder(16 + n_attrs * 24);
+		sb.append('<');
+		sb.append(tag);
+		for (int i = 0; i < n_attrs; i++) {
+			sb.append(' ');
+			sb.append(names[i]);
+			sb.append("='");
+			XmlWriter.appendElementValue(sb, values[i].toString());
+			sb.append('\'');
+		}
+		return sb.toString();
+	}
+}
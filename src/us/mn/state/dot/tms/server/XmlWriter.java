@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2005-2022  Minnesota Department of Transportation
+ * Copyright (C) 2005-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -50,14 +50,52 @@ abstract public class XmlWriter {
 		return e;
 	}
 
+	/** Get the escape sequence for a character, or null */
+	static private String escape(char c) {
+		switch (c) {
+		case '&': return "&amp;";
+		case '<': return "&lt;";
+		case '>': return "&gt;";
+		case '"': return "&quot;";
+		case '\'': return "&apos;";
+		default: return null;
+		}
+	}
+
+	/** Find the first character in a value which must be escaped */
+	static private int firstEscape(String v) {
+		for (int i = 0; i < v.length(); i++) {
+			if (escape(v.charAt(i)) != null)
+				return i;
+		}
+		return -1;
+	}
+
+	/** Append an xml element value to a string builder */
+	static public void appendElementValue(StringBuilder sb, String v) {
+		int f = firstEscape(v);
+		if (f < 0) {
+			sb.append(v);
+			return;
+		}
+		sb.append(v, 0, f);
+		for (int i = f; i < v.length(); i++) {
+			char c = v.charAt(i);
+			String e = escape(c);
+			if (e != null)
+				sb.append(e);
+			else
+				sb.append(c);
+		}
+	}
+
 	/** Validate an xml element value */
 	static public String validateElementValue(String v) {
-		v = v.replace("&", "&amp;");
-		v = v.replace("<", "&lt;");
-		v = v.replace(">", "&gt;");
-		v = v.replace("\"", "&quot;");
-		v = v.replace("\'", "&apos;");
-		return v;
+		if (firstEscape(v) < 0)
+			return v;
+		StringBuilder sb = new StringBuilder(v.length() + 16);
+		appendElementValue(sb, v);
+		return sb.toString();
 	}
 
 	/** Create an XML attribute */
@@ -66,7 +104,7 @@ abstract public class XmlWriter {
 			StringBuilder sb = new StringBuilder(" ");
 			sb.append(validateElementName(name));
 			sb.append("='");
-			sb.append(validateElementValue(value.toString()));
+			appendElementValue(sb, value.toString());
 			sb.append("'");
 			return sb.toString();
 		} else
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2016-2025  Minnesota Department of Transportation
+ * Copyright (C) 2016-2026  Minnesota Department of Transportation
  * Copyright (C) 2017       SRF Consulting Group
  *
  * This program is free software; you can redistribute it and/or modify
@@ -36,6 +36,7 @@ import us.mn.state.dot.sched.Work;
 import us.mn.state.dot.sched.Worker;
 import us.mn.state.dot.tms.CommConfig;
 import us.mn.state.dot.tms.CommLink;
+import us.mn.state.dot.tms.CommLinkHelper;
 import us.mn.state.dot.tms.CommState;
 import us.mn.state.dot.tms.server.ControllerImpl;
 import us.mn.state.dot.tms.utils.HexString;
@@ -118,6 +119,9 @@ abstract public class BasePoller implements DevicePoller {
 	/** Protocol logger */
 	private final DebugLog logger;
 
+	/** Comm stats for the protocol */
+	private final CommStats stats;
+
 	/** Set of owned operations.  All access must be synchronized. */
 	private final HashSet<Operation> op_set = new HashSet<Operation>();
 
@@ -174,6 +178,7 @@ abstract public class BasePoller implements DevicePoller {
 		close_on_timeout = cot;
 		idle_disconnect_sec = cc.getIdleDisconnectSec();
 		logger = new DebugLog(name + ".log");
+		stats = CommStats.lookup(CommLinkHelper.getProtocol(link));
 		tx_buf = ByteBuffer.allocate(BUF_SZ);
 		rx_buf = ByteBuffer.allocate(BUF_SZ);
 		log("CREATED");
@@ -272,6 +277,8 @@ abstract public class BasePoller implements DevicePoller {
 	private void drop(Operation op) {
 		if (logger.isOpen())
 			log("DROPPING " + op);
+		if (op.getRuns() > 0)
+			stats.recordOperation(op.isSuccess());
 		op.destroy();
 		removeWorking(op);
 	}
@@ -298,6 +305,7 @@ abstract public class BasePoller implements DevicePoller {
 
 	/** Add an operation to the poll queue */
 	private void addPollQueue(Operation op) {
+		op.markQueued();
 		synchronized (op_set) {
 			if (!p_queue.add(op)) {
 				// This should never happen
@@ -311,6 +319,7 @@ abstract public class BasePoller implements DevicePoller {
 	private void addRecvQueue(Operation op) {
 		// r_queue is sorted by expire time
 		op.setRemaining(timeout_ms);
+		op.markSent();
 		if (!r_queue.add(op)) {
 			// This should never happen
 			elog("ERR RECV " + op);
@@ -508,8 +517,10 @@ abstract public class BasePoller implements DevicePoller {
 	/** Poll an operation */
 	private void pollOperation() {
 		Operation op = pollQueue();
-		if (op != null)
+		if (op != null) {
+			stats.recordQueueWait(op.getQueued());
 			pollOperation(op);
+		}
 		updateInterest(getInterest());
 	}
 
@@ -623,11 +634,14 @@ abstract public class BasePoller implements DevicePoller {
 	/** Parse received data */
 	private boolean recvOperation(Operation op) {
 		try {
+			long st = op.getSent();
 			synchronized (rx_buf) {
 				ByteBuffer rx = rx_buf.asReadOnlyBuffer();
 				rx.flip();
 				op.recv(rx);
 			}
+			if (st != 0)
+				stats.recordRoundTrip(op.getController(), st);
 			return true;
 		}
 		catch (NotReceivedException e) {
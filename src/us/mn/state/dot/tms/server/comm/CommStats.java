@@ -0,0 +1,116 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm;
+
+import java.util.EnumMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import us.mn.state.dot.tms.CommProtocol;
+import us.mn.state.dot.tms.server.ControllerImpl;
+
+/**
+ * Comm statistics for one protocol.  Round-trip times are recorded for each
+ * poll, both here and for the polled controller.  Queue wait is the time an
+ * operation waits in the poll queue before it is polled.  All values are in
+ * microseconds.  Statistics are collected at a fixed interval by
+ * CommStatsJob.
+ *
+ * @author Douglas Lau
+ */
+public class CommStats {
+
+	/** Comm stats for all protocols */
+	static private final EnumMap<CommProtocol, CommStats> ALL =
+		new EnumMap<CommProtocol, CommStats>(CommProtocol.class);
+
+	/** Get comm stats for a protocol */
+	static public CommStats lookup(CommProtocol p) {
+		if (null == p)
+			return new CommStats(null);
+		synchronized (ALL) {
+			CommStats cs = ALL.get(p);
+			if (null == cs) {
+				cs = new CommStats(p);
+				ALL.put(p, cs);
+			}
+			return cs;
+		}
+	}
+
+	/** Get comm stats for all protocols which have been used */
+	static public CommStats[] getAll() {
+		synchronized (ALL) {
+			return ALL.values().toArray(new CommStats[0]);
+		}
+	}
+
+	/** Get elapsed time since a nanoTime stamp (us) */
+	static public long elapsedMicros(long st) {
+		return (System.nanoTime() - st) / 1000;
+	}
+
+	/** Comm protocol */
+	public final CommProtocol protocol;
+
+	/** Round-trip time histogram */
+	public final LatencyHistogram round_trip = new LatencyHistogram();
+
+	/** Queue wait histogram */
+	public final LatencyHistogram queue_wait = new LatencyHistogram();
+
+	/** Count of successful operations */
+	private final AtomicInteger success_ops = new AtomicInteger();
+
+	/** Count of failed operations */
+	private final AtomicInteger failed_ops = new AtomicInteger();
+
+	/** Create comm stats for a protocol */
+	private CommStats(CommProtocol p) {
+		protocol = p;
+	}
+
+	/** Record the round-trip time of a poll.
+	 * @param c Controller polled.
+	 * @param st Time stamp when the poll was sent (nanoTime). */
+	public void recordRoundTrip(ControllerImpl c, long st) {
+		long us = elapsedMicros(st);
+		round_trip.record(us);
+		if (c != null)
+			c.recordRoundTrip(us);
+	}
+
+	/** Record the time an operation waited in the poll queue.
+	 * @param st Time stamp when the operation was queued (nanoTime). */
+	public void recordQueueWait(long st) {
+		queue_wait.record(elapsedMicros(st));
+	}
+
+	/** Record a completed operation */
+	public void recordOperation(boolean success) {
+		if (success)
+			success_ops.incrementAndGet();
+		else
+			failed_ops.incrementAndGet();
+	}
+
+	/** Get the successful operation count, and reset */
+	public int drainSuccessOps() {
+		return success_ops.getAndSet(0);
+	}
+
+	/** Get the failed operation count, and reset */
+	public int drainFailedOps() {
+		return failed_ops.getAndSet(0);
+	}
+}
@@ -243,6 +243,7 @@ public class CommThread<T extends ControllerProperty> {
 	{
 		while (shouldContinue()) {
 			OpController<T> op = queue.next(idle_disconnect_ms);
+			poller.stats.recordQueueWait(op.getQueued());
 			doPoll(m, op);
 		}
 	}
@@ -255,7 +256,9 @@ public class CommThread<T extends ControllerProperty> {
 		throws IOException
 	{
 		try {
+			long st = System.nanoTime();
 			o.poll(createCommMessage(m, o));
+			poller.stats.recordRoundTrip(o.getController(), st);
 		}
 		catch (DeviceContentionException e) {
 			handleContention(o, e);
@@ -307,8 +310,10 @@ public class CommThread<T extends ControllerProperty> {
 			throw new ReconnectException();
 		}
 		finally {
-			if (o.isDone() || !requeueOperation(o))
+			if (o.isDone() || !requeueOperation(o)) {
+				poller.stats.recordOperation(o.isSuccess());
 				o.cleanup();
+			}
 		}
 	}
 
@@ -0,0 +1,124 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Latency histogram with log-linear buckets.  Each power-of-two range of
+ * values is split into a fixed number of sub-buckets, so the bucket width
+ * is proportional to the value (like HdrHistogram).  Recording a value
+ * does not allocate or lock, so it can be done from any comm thread.
+ *
+ * @author Douglas Lau
+ */
+public class LatencyHistogram {
+
+	/** Number of bits for sub-bucket precision */
+	static private final int SUB_BITS = 4;
+
+	/** Number of sub-buckets in each power-of-two range */
+	static private final int HALF = 1 << (SUB_BITS - 1);
+
+	/** Maximum value which can be recorded (about 134 seconds) */
+	static private final long MAX_VALUE = (1L << 27) - 1;
+
+	/** Number of buckets */
+	static public final int N_BUCKETS = index(MAX_VALUE) + 1;
+
+	/** Get the bucket index of a value */
+	static private int index(long v) {
+		if (v < (HALF << 1))
+			return (int) Math.max(0, v);
+		int b = 63 - Long.numberOfLeadingZeros(v);
+		int shift = b - SUB_BITS + 1;
+		return shift * HALF + (int) (v >>> shift);
+	}
+
+	/** Get the lowest value in a bucket */
+	static private long lowestValue(int i) {
+		if (i < (HALF << 1))
+			return i;
+		int shift = i / HALF - 1;
+		return (long) (i - shift * HALF) << shift;
+	}
+
+	/** Get the highest value in a bucket */
+	static private long highestValue(int i) {
+		return lowestValue(i + 1) - 1;
+	}
+
+	/** Get the total count of values in a snapshot */
+	static public long getCount(int[] snap) {
+		long n = 0;
+		for (int c: snap)
+			n += c;
+		return n;
+	}
+
+	/** Get a percentile value from a snapshot.
+	 * @param snap Snapshot counts (from drainTo).
+	 * @param p Percentile (0 to 100).
+	 * @return Highest value in the percentile bucket, or 0 if empty. */
+	static public long getPercentile(int[] snap, double p) {
+		long total = getCount(snap);
+		if (total <= 0)
+			return 0;
+		long rank = Math.max(1, (long) Math.ceil(total * p / 100));
+		long n = 0;
+		for (int i = 0; i < snap.length; i++) {
+			n += snap[i];
+			if (n >= rank)
+				return highestValue(i);
+		}
+		return highestValue(snap.length - 1);
+	}
+
+	/** Get the maximum value from a snapshot */
+	static public long getMax(int[] snap) {
+		for (int i = snap.length - 1; i >= 0; i--) {
+			if (snap[i] > 0)
+				return highestValue(i);
+		}
+		return 0;
+	}
+
+	/** Bucket counts */
+	private final AtomicIntegerArray counts =
+		new AtomicIntegerArray(N_BUCKETS);
+
+	/** Record one value */
+	public void record(long v) {
+		counts.incrementAndGet(index(Math.min(v, MAX_VALUE)));
+	}
+
+	/** Get the count of recorded values (not yet drained) */
+	public long getCount() {
+		long n = 0;
+		for (int i = 0; i < N_BUCKETS; i++)
+			n += counts.get(i);
+		return n;
+	}
+
+	/** Drain counts into a snapshot, and reset.
+	 * @param snap Snapshot counts (N_BUCKETS long).  Counts are added to
+	 *             any values already in the snapshot. */
+	public void drainTo(int[] snap) {
+		for (int i = 0; i < N_BUCKETS; i++) {
+			if (counts.get(i) != 0)
+				snap[i] += counts.getAndSet(i, 0);
+		}
+	}
+}
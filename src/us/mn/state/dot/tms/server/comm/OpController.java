@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2005-2025  Minnesota Department of Transportation
+ * Copyright (C) 2005-2026  Minnesota Department of Transportation
  * Copyright (C) 2012  Iteris Inc.
  * Copyright (C) 2014-2015  AHMCT, University of California
  *
@@ -87,6 +87,19 @@ abstract public class OpController<T extends ControllerProperty> {
 	/** Device ID */
 	protected final String id;
 
+	/** Time stamp when the operation was queued (nanoTime) */
+	private long queued;
+
+	/** Mark the time the operation was queued */
+	final void markQueued() {
+		queued = System.nanoTime();
+	}
+
+	/** Get the time stamp when the operation was queued (nanoTime) */
+	final long getQueued() {
+		return queued;
+	}
+
 	/** Success or failure of operation */
 	private boolean success = true;
 
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2025  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  * Copyright (C) 2017       SRF Consulting Group
  *
  * This program is free software; you can redistribute it and/or modify
@@ -17,6 +17,7 @@ package us.mn.state.dot.tms.server.comm;
 
 import java.io.PrintStream;
 import us.mn.state.dot.tms.CommState;
+import us.mn.state.dot.tms.server.PollSchedule;
 
 /**
  * A prioritized queue which sorts Operation objects by their priority
@@ -75,6 +76,7 @@ public final class OpQueue<T extends ControllerProperty> {
 		if (shouldAdd(op)) {
 			op.begin();
 			add(op);
+			PollSchedule.countDispatch();
 			return true;
 		} else
 			return false;
@@ -101,6 +103,7 @@ public final class OpQueue<T extends ControllerProperty> {
 
 	/** Add an operation to the queue */
 	private void add(OpController<T> op) {
+		op.markQueued();
 		PriorityLevel priority = op.getPriority();
 		Node<T> prev = null;
 		Node<T> node = front;
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2005-2025  Minnesota Department of Transportation
+ * Copyright (C) 2005-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -195,6 +195,36 @@ public final class Operation implements Comparable<Operation> {
 		return expire - TimeSteward.currentTimeMillis();
 	}
 
+	/** Time stamp when the operation was queued (nanoTime) */
+	private long queued;
+
+	/** Mark the time the operation was queued for polling */
+	public void markQueued() {
+		queued = System.nanoTime();
+	}
+
+	/** Get the time stamp when the operation was queued (nanoTime) */
+	public long getQueued() {
+		return queued;
+	}
+
+	/** Time stamp when the current step was sent (nanoTime), or 0 if the
+	 * step waits indefinitely for data */
+	private long sent;
+
+	/** Mark the time the current step was sent */
+	public void markSent() {
+		OpStep s = step;
+		sent = (s != null && s.isWaitingIndefinitely())
+		      ? 0
+		      : System.nanoTime();
+	}
+
+	/** Get the time stamp when the current step was sent (nanoTime) */
+	public long getSent() {
+		return sent;
+	}
+
 	/** Success or failure of operation */
 	private boolean success = true;
 
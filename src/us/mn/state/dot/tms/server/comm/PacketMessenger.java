@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2015-2016  Minnesota Department of Transportation
+ * Copyright (C) 2015-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -17,39 +17,39 @@ package us.mn.state.dot.tms.server.comm;
 import java.io.InputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.net.DatagramSocket;
 import java.net.SocketAddress;
 import java.net.URI;
+import java.nio.channels.DatagramChannel;
 import us.mn.state.dot.tms.server.ControllerImpl;
 import static us.mn.state.dot.tms.utils.URIUtil.UDP;
 
 /**
  * A PacketMessenger is a class which can poll a field controller and get the
- * response using a UDP socket connection.
+ * response using a UDP socket connection.  The channel is non-blocking, so
+ * packets must be received using a selector.
  *
  * @author Douglas Lau
  */
 public class PacketMessenger extends Messenger {
 
 	/** Create a packet messenger.
-	 * @param uri URI of remote host.
-	 * @param rt Receive timeout (ms). */
-	static public PacketMessenger create(String uri, int rt)
+	 * @param uri URI of remote host. */
+	static public PacketMessenger create(String uri)
 		throws MessengerException
 	{
 		URI u = createURI(UDP, uri);
 		if ("udp".equals(u.getScheme()))
-			return createPacketMessenger(u, rt);
+			return createPacketMessenger(u);
 		else
 			throw INVALID_URI_SCHEME;
 	}
 
 	/** Create a packet datagram messenger */
-	static private PacketMessenger createPacketMessenger(URI u, int rt)
+	static private PacketMessenger createPacketMessenger(URI u)
 		throws MessengerException
 	{
 		try {
-			return new PacketMessenger(createSocketAddress(u), rt);
+			return new PacketMessenger(createSocketAddress(u));
 		}
 		catch (IOException e) {
 			throw new MessengerException(e);
@@ -63,26 +63,21 @@ public class PacketMessenger extends Messenger {
 	/** Remote address to connect */
 	private final SocketAddress remote;
 
-	/** Receive timeout (ms) */
-	private final int timeout;
+	/** UDP channel */
+	private final DatagramChannel channel;
 
-	/** UDP socket */
-	private final DatagramSocket socket;
-
-	/** Get the UDP socket */
-	public DatagramSocket getSocket() {
-		return socket;
+	/** Get the UDP channel */
+	public DatagramChannel getChannel() {
+		return channel;
 	}
 
 	/** Create a new datagram packet messenger.
-	 * @param ra Remote socket address.
-	 * @param rt Read timeout (ms). */
-	public PacketMessenger(SocketAddress ra, int rt) throws IOException {
+	 * @param ra Remote socket address. */
+	public PacketMessenger(SocketAddress ra) throws IOException {
 		remote = ra;
-		timeout = rt;
-		socket = new DatagramSocket();
-		socket.setSoTimeout(timeout);
-		socket.connect(remote);
+		channel = DatagramChannel.open();
+		channel.configureBlocking(false);
+		channel.connect(remote);
 	}
 
 	/** Get the input stream.
@@ -103,9 +98,8 @@ public class PacketMessenger extends Messenger {
 
 	/** Close the datagram packet messenger */
 	@Override
-	public void close() {
-		socket.disconnect();
-		socket.close();
+	public void close() throws IOException {
+		channel.close();
 	}
 
 	/** Drain any bytes from the input stream */
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2014-2025  Minnesota Department of Transportation
+ * Copyright (C) 2014-2026  Minnesota Department of Transportation
  * Copyright (C) 2015-2017  SRF Consulting Group
  *
  * This program is free software; you can redistribute it and/or modify
@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.tms.CommConfig;
 import us.mn.state.dot.tms.CommLink;
+import us.mn.state.dot.tms.CommLinkHelper;
 import us.mn.state.dot.tms.CommState;
 import us.mn.state.dot.tms.server.ControllerImpl;
 
@@ -53,6 +54,9 @@ public class ThreadedPoller<T extends ControllerProperty>
 	/** Protocol logger */
 	protected final DebugLog logger;
 
+	/** Comm stats for the protocol */
+	final CommStats stats;
+
 	/** Write a message to the protocol log */
 	public void log(String msg) {
 		if (logger.isOpen())
@@ -75,6 +79,7 @@ public class ThreadedPoller<T extends ControllerProperty>
 		timeout_ms = cc.getTimeoutMs();
 		idle_disconnect_sec = cc.getIdleDisconnectSec();
 		no_resp_disconnect_sec = cc.getNoResponseDisconnectSec();
+		stats = CommStats.lookup(CommLinkHelper.getProtocol(link));
 		log("CREATED");
 	}
 
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2015  Minnesota Department of Transportation
+ * Copyright (C) 2015-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -27,6 +27,23 @@ public class Command {
 	/** Acknowledge command bit */
 	static private final int ACKNOWLEDGE_BIT = 0x0001;
 
+	/** All commands, indexed by group and flags (commands are immutable,
+	 * so parsing a packet can return a shared instance) */
+	static private final Command[] ALL = createAll();
+
+	/** Create all commands */
+	static private Command[] createAll() {
+		CommandGroup[] groups = CommandGroup.values();
+		Command[] all = new Command[groups.length * 4];
+		for (CommandGroup cg: groups) {
+			for (int f = 0; f < 4; f++) {
+				all[cg.ordinal() * 4 + f] = new Command(cg,
+					(f & 2) != 0, (f & 1) != 0);
+			}
+		}
+		return all;
+	}
+
 	/** Create a command from bits.
 	 * @param b Bits of command from packet.
 	 * @return Valid command, or null on error. */
@@ -36,15 +53,24 @@ public class Command {
 			int bits = cg.bits |
 			          (b & UNSOLICITED_BIT) |
 			          (b & ACKNOWLEDGE_BIT);
-			if (bits == b) {
-				boolean uns = (b & UNSOLICITED_BIT) != 0;
-				boolean ack = (b & ACKNOWLEDGE_BIT) != 0;
-				return new Command(cg, uns, ack);
-			}
+			if (bits == b)
+				return lookup(cg, (b & UNSOLICITED_BIT) != 0,
+					(b & ACKNOWLEDGE_BIT) != 0);
 		}
 		return null;
 	}
 
+	/** Lookup a shared command instance.
+	 * @param cg Command group.
+	 * @param uns Unsolicited flag.
+	 * @param ack Acknowledge flag.
+	 * @return Shared command. */
+	static public Command lookup(CommandGroup cg, boolean uns, boolean ack)
+	{
+		int f = (uns ? 2 : 0) | (ack ? 1 : 0);
+		return ALL[cg.ordinal() * 4 + f];
+	}
+
 	/** Command group */
 	public final CommandGroup group;
 
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2015  Minnesota Department of Transportation
+ * Copyright (C) 2015-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -28,6 +28,9 @@ public enum CommandGroup {
 	MODE			(0x0400),
 	DIAGNOSTIC		(0x0200);
 
+	/** Cached values array */
+	static private final CommandGroup[] VALUES = values();
+
 	/** Create a new command group */
 	private CommandGroup(int b) {
 		bits = b;
@@ -39,7 +42,7 @@ public enum CommandGroup {
 	/** Get the bits for all command groups */
 	static private int group_bits() {
 		int b = 0;
-		for (CommandGroup cg: values())
+		for (CommandGroup cg: VALUES)
 			b |= cg.bits;
 		return b;
 	}
@@ -47,7 +50,7 @@ public enum CommandGroup {
 	/** Lookup the command group for a command */
 	static public CommandGroup lookup(int b) {
 		int g_bits = b & group_bits();
-		for (CommandGroup cg: values()) {
+		for (CommandGroup cg: VALUES) {
 			if ((cg.bits & g_bits) == cg.bits)
 				return cg;
 		}
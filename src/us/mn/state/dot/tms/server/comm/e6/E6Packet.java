@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2015-2018  Minnesota Department of Transportation
+ * Copyright (C) 2015-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -16,9 +16,9 @@ package us.mn.state.dot.tms.server.comm.e6;
 
 import java.io.EOFException;
 import java.io.IOException;
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
 import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
 import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.tms.server.comm.ChecksumException;
 import us.mn.state.dot.tms.server.comm.ControllerException;
@@ -26,7 +26,7 @@ import us.mn.state.dot.tms.server.comm.ParsingException;
 import us.mn.state.dot.tms.utils.HexString;
 
 /**
- * E6 packet.
+ * E6 packet.  Received packets are decoded in place, without allocating.
  *
  * @author Douglas Lau
  */
@@ -42,16 +42,20 @@ public class E6Packet {
 	/** Exception thrown when stream is closed */
 	static private final EOFException CLOSED = new EOFException("CLOSED");
 
+	/** Exception thrown when a packet could not be sent */
+	static private final IOException SEND_FULL =
+		new IOException("SEND BUFFER FULL");
+
 	/** Log a packet */
 	private void log(String x) {
 		if (E6_PKT_LOG.isOpen()) {
-			E6_PKT_LOG.log(x + datagram.getSocketAddress() + ' ' +
-				toString());
+			E6_PKT_LOG.log(x + channel.socket()
+				.getRemoteSocketAddress() + ' ' + toString());
 		}
 	}
 
-	/** Datagram socket */
-	private final DatagramSocket socket;
+	/** Datagram channel */
+	private final DatagramChannel channel;
 
 	/** Flag for rx packets */
 	private final boolean rx;
@@ -59,9 +63,8 @@ public class E6Packet {
 	/** Packet buffer */
 	private final byte[] pkt = new byte[128];
 
-	/** Datagram for UDP send/recv */
-	private final DatagramPacket datagram =
-		new DatagramPacket(pkt, pkt.length);
+	/** Byte buffer for UDP send/recv */
+	private final ByteBuffer buf = ByteBuffer.wrap(pkt);
 
 	/** Number of bytes in packet */
 	private int n_bytes = 0;
@@ -73,8 +76,8 @@ public class E6Packet {
 	private byte csn = 0;
 
 	/** Create a new E6 packet */
-	public E6Packet(DatagramSocket s, boolean r) {
-		socket = s;
+	public E6Packet(DatagramChannel c, boolean r) {
+		channel = c;
 		rx = r;
 	}
 
@@ -88,8 +91,10 @@ public class E6Packet {
 				csn++;
 		}
 		format(cmd, data);
-		datagram.setLength(n_bytes);
-		socket.send(datagram);
+		buf.clear();
+		buf.limit(n_bytes);
+		if (channel.write(buf) < n_bytes)
+			throw SEND_FULL;
 		log("tx");
 	}
 
@@ -185,6 +190,15 @@ public class E6Packet {
 		throw new ParsingException("BAD LEN: " + n_bytes);
 	}
 
+	/** Parse a tag transaction from the packet data (skipping the
+	 * response field), without copying the data first.
+	 * @return Tag transaction, or null if there is no data. */
+	public TagTransaction parseTransaction() {
+		return (n_bytes > 9)
+		      ? new TagTransaction(pkt, 8, n_bytes - 9)
+		      : null;
+	}
+
 	/** Update the message sequence number (MSN) */
 	private void updateMsn() {
 		msn = (byte) (parseMsn() + 1);
@@ -197,13 +211,23 @@ public class E6Packet {
 		updateMsn();
 	}
 
-	/** Receive one packet */
-	public void receive() throws IOException {
-		datagram.setLength(128);
-		socket.receive(datagram);
-		n_bytes = datagram.getLength();
-		if (n_bytes < 0)
+	/** Receive one packet, if one is available.
+	 * @return true if a packet was received. */
+	public boolean receive() throws IOException {
+		buf.clear();
+		int n = channel.read(buf);
+		if (n < 0)
 			throw CLOSED;
+		if (0 == n)
+			return false;
+		n_bytes = n;
+		checkPacket();
+		log("rx");
+		return true;
+	}
+
+	/** Check length and checksum of a received packet */
+	private void checkPacket() throws IOException {
 		int n_len = (pkt[0] << 8) | pkt[1];
 		if (n_bytes < 7 || n_len != n_bytes)
 			throw new ParsingException("BAD LEN: " + n_len);
@@ -213,7 +237,6 @@ public class E6Packet {
 		xsum &= 0xFF;
 		if (xsum != (pkt[n_bytes - 1] & 0xFF))
 			throw new ChecksumException(pkt);
-		log("rx");
 	}
 
 	/** Parse the command */
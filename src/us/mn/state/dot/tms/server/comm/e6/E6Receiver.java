@@ -0,0 +1,212 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.e6;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import us.mn.state.dot.tms.server.BaseObjectImpl;
+import us.mn.state.dot.tms.server.event.BaseEvent;
+import static java.nio.channels.SelectionKey.OP_READ;
+
+/**
+ * E6 receiver.  One thread receives packets for all E6 tag readers, using a
+ * selector on their non-blocking datagram channels.  Tag read events from
+ * all readers are added to the event sink in batches, once for each pass
+ * through the ready channels.
+ *
+ * @author Douglas Lau
+ */
+public class E6Receiver {
+
+	/** Maximum packets to receive from one channel in each pass, so one
+	 * busy reader cannot starve the others */
+	static private final int MAX_PACKETS = 64;
+
+	/** Shared receiver for all E6 threads */
+	static private E6Receiver receiver;
+
+	/** Get the shared receiver (starting it if necessary) */
+	static private synchronized E6Receiver getReceiver()
+		throws IOException
+	{
+		if (null == receiver) {
+			receiver = new E6Receiver();
+			receiver.thread.start();
+		}
+		return receiver;
+	}
+
+	/** Register a channel with the shared receiver.
+	 * @param ch Datagram channel (non-blocking).
+	 * @param t E6 thread to receive packets from the channel. */
+	static public void register(DatagramChannel ch, E6Thread t)
+		throws IOException
+	{
+		getReceiver().add(ch, t);
+	}
+
+	/** Channel registration */
+	static private class Registration {
+		private final DatagramChannel channel;
+		private final E6Thread e6_thread;
+		private Registration(DatagramChannel ch, E6Thread t) {
+			channel = ch;
+			e6_thread = t;
+		}
+	}
+
+	/** Selector for all channels */
+	private final Selector selector;
+
+	/** Receive thread */
+	private final Thread thread;
+
+	/** Pending registrations (must be done on receive thread) */
+	private final ArrayList<Registration> pending =
+		new ArrayList<Registration>();
+
+	/** Flag indicating receiver is closed (protected by pending) */
+	private boolean closed = false;
+
+	/** Batch of events to log */
+	private final ArrayList<BaseEvent> batch = new ArrayList<BaseEvent>();
+
+	/** Create a new E6 receiver */
+	private E6Receiver() throws IOException {
+		selector = Selector.open();
+		thread = new Thread("E6 Recv") {
+			@Override
+			public void run() {
+				receiveLoop();
+			}
+		};
+		thread.setDaemon(true);
+	}
+
+	/** Add a channel registration */
+	private void add(DatagramChannel ch, E6Thread t) throws IOException {
+		synchronized (pending) {
+			if (closed)
+				throw new IOException("E6 receiver closed");
+			pending.add(new Registration(ch, t));
+		}
+		selector.wakeup();
+	}
+
+	/** Register all pending channels */
+	private void registerPending() {
+		synchronized (pending) {
+			for (Registration r: pending) {
+				try {
+					r.channel.register(selector, OP_READ,
+						r.e6_thread);
+				}
+				catch (ClosedChannelException e) {
+					// thread already closed the messenger
+				}
+			}
+			pending.clear();
+		}
+	}
+
+	/** Receive packets until the thread is interrupted.  If the selector
+	 * fails, the receiver is closed, and all registered threads fail (so
+	 * they reconnect and register with a new receiver). */
+	private void receiveLoop() {
+		IOException ex = new IOException("E6 receiver interrupted");
+		while (!thread.isInterrupted()) {
+			try {
+				selector.select();
+			}
+			catch (IOException e) {
+				E6Thread.E6_LOG.log("select: " +
+					e.getMessage());
+				ex = e;
+				break;
+			}
+			try {
+				receivePass();
+			}
+			catch (RuntimeException e) {
+				E6Thread.E6_LOG.log("receive: " + e);
+				batch.clear();
+			}
+		}
+		close(ex);
+	}
+
+	/** Make one pass through the ready channels */
+	private void receivePass() {
+		registerPending();
+		receiveSelected();
+		if (!batch.isEmpty()) {
+			BaseObjectImpl.logEvents(batch);
+			batch.clear();
+		}
+	}
+
+	/** Close the receiver, failing all registered threads */
+	private void close(IOException e) {
+		synchronized (E6Receiver.class) {
+			if (receiver == this)
+				receiver = null;
+		}
+		synchronized (pending) {
+			closed = true;
+			for (Registration r: pending)
+				r.e6_thread.receiveFailed(e);
+			pending.clear();
+		}
+		for (SelectionKey key: selector.keys()) {
+			if (key.isValid())
+				((E6Thread) key.attachment()).receiveFailed(e);
+		}
+		try {
+			selector.close();
+		}
+		catch (IOException e2) {
+			E6Thread.E6_LOG.log("close: " + e2.getMessage());
+		}
+	}
+
+	/** Receive packets from all selected channels */
+	private void receiveSelected() {
+		Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+		while (it.hasNext()) {
+			SelectionKey key = it.next();
+			it.remove();
+			if (key.isValid())
+				receive(key);
+		}
+	}
+
+	/** Receive packets from one channel.  Any exception stops receiving
+	 * for that reader only, not the shared receive thread. */
+	private void receive(SelectionKey key) {
+		E6Thread t = (E6Thread) key.attachment();
+		try {
+			t.receivePackets(MAX_PACKETS, batch);
+		}
+		catch (IOException | RuntimeException e) {
+			key.cancel();
+			t.receiveFailed(e);
+		}
+	}
+}
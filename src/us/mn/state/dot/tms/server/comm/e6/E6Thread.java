@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2015-2024  Minnesota Department of Transportation
+ * Copyright (C) 2015-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -15,12 +15,10 @@
 package us.mn.state.dot.tms.server.comm.e6;
 
 import java.io.IOException;
-import java.net.DatagramSocket;
-import java.net.SocketTimeoutException;
 import java.net.URI;
+import java.nio.channels.DatagramChannel;
+import java.util.List;
 import us.mn.state.dot.sched.DebugLog;
-import us.mn.state.dot.sched.TimeSteward;
-import us.mn.state.dot.tms.DeviceRequest;
 import us.mn.state.dot.tms.server.TagReaderImpl;
 import us.mn.state.dot.tms.server.comm.CommThread;
 import us.mn.state.dot.tms.server.comm.Messenger;
@@ -28,9 +26,11 @@ import us.mn.state.dot.tms.server.comm.MessengerException;
 import us.mn.state.dot.tms.server.comm.OpController;
 import us.mn.state.dot.tms.server.comm.OpQueue;
 import us.mn.state.dot.tms.server.comm.PacketMessenger;
+import us.mn.state.dot.tms.server.event.BaseEvent;
 
 /**
- * A thread to communicate with TransCore E6 tag readers.
+ * A thread to communicate with TransCore E6 tag readers.  Packets from the
+ * reader are received by the shared E6Receiver thread.
  *
  * @author Douglas Lau
  */
@@ -40,11 +40,8 @@ public class E6Thread extends CommThread<E6Property> {
 	static private final Command TAG_RESPONSE = new Command(
 		CommandGroup.MODE);
 
-	/** Thread group for all receive threads */
-	static private final ThreadGroup RECV = new ThreadGroup("Recv");
-
 	/** E6 debug log */
-	static private final DebugLog E6_LOG = new DebugLog("e6");
+	static final DebugLog E6_LOG = new DebugLog("e6");
 
 	/** Packet timeout (ms) */
 	private final int timeout;
@@ -54,9 +51,6 @@ public class E6Thread extends CommThread<E6Property> {
 		return timeout;
 	}
 
-	/** Thread to receive packets */
-	private final Thread rx_thread;
-
 	/** E6 poller */
 	private final E6Poller poller;
 
@@ -69,6 +63,9 @@ public class E6Thread extends CommThread<E6Property> {
 	/** Response Packet */
 	private E6Packet resp_pkt;
 
+	/** Ack packet data (only used by receive thread) */
+	private final byte[] ack_data = new byte[3];
+
 	/** Create a new E6 thread */
 	public E6Thread(E6Poller dp, OpQueue<E6Property> q, URI s, String u,
 		int rt, int nrd)
@@ -76,27 +73,6 @@ public class E6Thread extends CommThread<E6Property> {
 		super(dp, q, s, u, rt, nrd, E6_LOG);
 		poller = dp;
 		timeout = rt;
- 		rx_thread = new Thread(RECV, "Recv: " + dp.name) {
-			@Override
-			public void run() {
-				receivePackets();
-			}
-		};
-		rx_thread.setDaemon(true);
-	}
-
-	/** Start the thread */
-	@Override
-	public void start() {
-		super.start();
-		rx_thread.start();
-	}
-
-	/** Destroy the comm thread */
-	@Override
-	public void destroy() {
-		rx_thread.interrupt();
-		super.destroy();
 	}
 
 	/** Create a messenger.
@@ -107,13 +83,20 @@ public class E6Thread extends CommThread<E6Property> {
 	 * @throws MessengerException if the messenger could not be created. */
 	@Override
 	protected Messenger createMessenger(URI s, String u, int rt, int nrd)
-		throws MessengerException
+		throws MessengerException, IOException
 	{
-		PacketMessenger m = PacketMessenger.create(u, rt);
-		DatagramSocket ds = m.getSocket();
-		tx_pkt = new E6Packet(ds, false);
-		rx_pkt = new E6Packet(ds, true);
-		resp_pkt = new E6Packet(ds, true);
+		PacketMessenger m = PacketMessenger.create(u);
+		DatagramChannel ch = m.getChannel();
+		tx_pkt = new E6Packet(ch, false);
+		rx_pkt = new E6Packet(ch, true);
+		resp_pkt = new E6Packet(ch, true);
+		try {
+			E6Receiver.register(ch, this);
+		}
+		catch (IOException e) {
+			m.close();
+			throw e;
+		}
 		return m;
 	}
 
@@ -128,49 +111,29 @@ public class E6Thread extends CommThread<E6Property> {
 		return new E6Message(m, o, E6_LOG, this);
 	}
 
-	/** Receive packets */
-	private void receivePackets() {
-		try {
-			while (receivePacket());
-		}
-		catch (IOException e) {
-			logException(e);
-		}
-		finally {
-			destroy();
-		}
-	}
-
-	/** Receive one packet */
-	private boolean receivePacket() throws IOException {
-		if (rx_thread.isInterrupted())
-			return false;
+	/** Receive available packets (on E6Receiver thread).
+	 * @param n_max Maximum number of packets to receive.
+	 * @param batch Batch to add tag read events. */
+	void receivePackets(int n_max, List<BaseEvent> batch)
+		throws IOException
+	{
 		E6Packet rx = rx_pkt;
 		E6Packet tx = tx_pkt;
 		E6Packet rp = resp_pkt;
-		if (rx == null || tx == null || rp == null) {
-			try {
-				TimeSteward.sleep(200);
-				return true;
-			}
-			catch (InterruptedException e) {
-				return false;
-			}
-		}
-		try {
-			doReceivePacket(rx, tx, rp);
-		}
-		catch (SocketTimeoutException e) {
-			// we expect lots of timeouts
-		}
-		return true;
+		for (int i = 0; i < n_max && rx.receive(); i++)
+			doReceivePacket(rx, tx, rp, batch);
 	}
 
-	/** Receive one packet */
-	private void doReceivePacket(E6Packet rx, E6Packet tx, E6Packet rp)
-		throws IOException
+	/** Handle a receive failure (on E6Receiver thread) */
+	void receiveFailed(Exception e) {
+		logException(e);
+		destroy();
+	}
+
+	/** Handle one received packet */
+	private void doReceivePacket(E6Packet rx, E6Packet tx, E6Packet rp,
+		List<BaseEvent> batch) throws IOException
 	{
-		rx.receive();
 		Command cmd = rx.parseCommand();
 		if (cmd.acknowledge)
 			return;
@@ -182,7 +145,7 @@ public class E6Thread extends CommThread<E6Property> {
 		if (cmd.equals(TAG_RESPONSE)) {
 			Response rsp = rx.parseResponse();
 			if (rsp == Response.COMMAND_COMPLETE)
-				logTagTransaction(rx);
+				logTagTransaction(rx, batch);
 		}
 	}
 
@@ -190,8 +153,8 @@ public class E6Thread extends CommThread<E6Property> {
 	private void sendAck(E6Packet rx, E6Packet tx, Command cmd)
 		throws IOException
 	{
-		Command c = new Command(cmd.group, false, true);
-		byte[] data = new byte[3];
+		Command c = Command.lookup(cmd.group, false, true);
+		byte[] data = ack_data;
 		data[0] = (byte) (Response.ACK.bits() >> 8);
 		data[1] = (byte) (Response.ACK.bits() >> 0);
 		data[2] = rx.parseMsn();
@@ -199,14 +162,12 @@ public class E6Thread extends CommThread<E6Property> {
 	}
 
 	/** Log a real-time tag transaction */
-	private void logTagTransaction(E6Packet rx) throws IOException {
-		byte[] data = rx.parseData();
-		if (data.length > 2) {
-			TagTransaction tt = new TagTransaction(data, 2,
-				data.length - 2);
+	private void logTagTransaction(E6Packet rx, List<BaseEvent> batch) {
+		TagTransaction tt = rx.parseTransaction();
+		if (tt != null) {
 			TagReaderImpl tr = poller.getReader();
 			if (tr != null)
-				tt.logRead(tr);
+				tt.logRead(tr, batch);
 			if (E6_LOG.isOpen())
 				E6_LOG.log(readerId() + ": " + tt.toString());
 		}
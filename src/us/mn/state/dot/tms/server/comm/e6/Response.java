@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2015  Minnesota Department of Transportation
+ * Copyright (C) 2015-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -39,6 +39,9 @@ public enum Response {
 	STATUS_CHANGE_ERR	(UNSOLICITED,  ERROR,	0x10),
 	STATUS_CHANGE_OK	(UNSOLICITED,  OK,	0x10);
 
+	/** Cached values array */
+	static private final Response[] VALUES = values();
+
 	/** Create a new response */
 	private Response(ResponseType rt, ResponseStatus rs, int cr) {
 		r_type = rt;
@@ -81,7 +84,7 @@ public enum Response {
 	static private Response fromValues(ResponseType rt, ResponseStatus rs,
 		int cr)
 	{
-		for (Response r: values()) {
+		for (Response r: VALUES) {
 			if (rt == r.r_type &&
 			    rs == r.r_stat &&
 			    cr == r.cmd_resp)
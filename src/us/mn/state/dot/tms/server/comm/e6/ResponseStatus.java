@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2015  Minnesota Department of Transportation
+ * Copyright (C) 2015-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -24,6 +24,9 @@ public enum ResponseStatus {
 	ERROR			(0x0200),
 	CONTROL			(0x0100);
 
+	/** Cached values array */
+	static private final ResponseStatus[] VALUES = values();
+
 	/** Create a new response status */
 	private ResponseStatus(int b) {
 		bits = b;
@@ -35,7 +38,7 @@ public enum ResponseStatus {
 	/** Get the bits for all response statuses */
 	static private int status_bits() {
 		int b = 0;
-		for (ResponseStatus rs: values())
+		for (ResponseStatus rs: VALUES)
 			b |= rs.bits;
 		return b;
 	}
@@ -43,7 +46,7 @@ public enum ResponseStatus {
 	/** Lookup the response status for a response */
 	static public ResponseStatus lookup(int b) {
 		int s_bits = b & status_bits();
-		for (ResponseStatus rs: values()) {
+		for (ResponseStatus rs: VALUES) {
 			if ((rs.bits & s_bits) == rs.bits)
 				return rs;
 		}
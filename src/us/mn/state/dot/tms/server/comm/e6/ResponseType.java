@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2015  Minnesota Department of Transportation
+ * Copyright (C) 2015-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -24,6 +24,9 @@ public enum ResponseType {
 	ASYNCHRONOUS		(0x4000),
 	UNSOLICITED		(0x2000);
 
+	/** Cached values array */
+	static private final ResponseType[] VALUES = values();
+
 	/** Create a new response type */
 	private ResponseType(int b) {
 		bits = b;
@@ -35,7 +38,7 @@ public enum ResponseType {
 	/** Get the bits for all response types */
 	static private int type_bits() {
 		int b = 0;
-		for (ResponseType rt: values())
+		for (ResponseType rt: VALUES)
 			b |= rt.bits;
 		return b;
 	}
@@ -43,7 +46,7 @@ public enum ResponseType {
 	/** Lookup the response type for a response */
 	static public ResponseType lookup(int b) {
 		int t_bits = b & type_bits();
-		for (ResponseType rt: values()) {
+		for (ResponseType rt: VALUES) {
 			if ((rt.bits & t_bits) == rt.bits)
 				return rt;
 		}
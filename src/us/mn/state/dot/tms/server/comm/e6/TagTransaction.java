@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2015-2023  Minnesota Department of Transportation
+ * Copyright (C) 2015-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -15,10 +15,12 @@
 package us.mn.state.dot.tms.server.comm.e6;
 
 import java.util.Date;
+import java.util.List;
 import us.mn.state.dot.tms.server.TagReaderImpl;
 import us.mn.state.dot.tms.server.TagType;
 import us.mn.state.dot.tms.server.comm.CRC;
 import us.mn.state.dot.tms.server.comm.ParsingException;
+import us.mn.state.dot.tms.server.event.BaseEvent;
 
 /**
  * Tag transaction.
@@ -345,14 +347,23 @@ public class TagTransaction extends E6Property {
 
 	/** Log one tag read */
 	public void logRead(TagReaderImpl tr) {
+		logRead(tr, null);
+	}
+
+	/** Log one tag read.
+	 * @param tr Tag reader.
+	 * @param batch Batch to add event (logged later), or null. */
+	public void logRead(TagReaderImpl tr, List<BaseEvent> batch) {
 		if (isValidRead()) {
 			Long stamp = getStamp();
 			TagType typ = getTagType();
 			Integer agency = getAgency();
 			Integer tid = getId();
 			Boolean hov = getHOV();
-			if (stamp != null && typ != null && tid != null)
-				tr.logRead(stamp, typ, agency, tid, hov);
+			if (stamp != null && typ != null && tid != null) {
+				tr.logRead(stamp, typ, agency, tid, hov,
+					batch);
+			}
 		}
 	}
 
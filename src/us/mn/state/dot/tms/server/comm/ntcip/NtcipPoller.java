@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2025  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  * Copyright (C) 2015-2017  SRF Consulting Group
  * Copyright (C) 2017-2021  Iteris Inc.
  *
@@ -17,6 +17,7 @@
 package us.mn.state.dot.tms.server.comm.ntcip;
 
 import java.net.URI;
+import java.util.WeakHashMap;
 import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.tms.CommProtocol;
 import us.mn.state.dot.tms.CommLink;
@@ -40,6 +41,7 @@ import us.mn.state.dot.tms.server.comm.LCSPoller;
 import us.mn.state.dot.tms.server.comm.SamplePoller;
 import us.mn.state.dot.tms.server.comm.ThreadedPoller;
 import us.mn.state.dot.tms.server.comm.WeatherPoller;
+import us.mn.state.dot.tms.server.comm.snmp.VarBindLimit;
 import us.mn.state.dot.tms.utils.URIUtil;
 
 /**
@@ -66,6 +68,21 @@ public class NtcipPoller extends ThreadedPoller implements AlarmPoller,
 	/** Communication protocol */
 	private final CommProtocol protocol;
 
+	/** Variable binding limits learned for each controller.  Entries
+	 * are dropped once a removed controller is no longer referenced. */
+	private final WeakHashMap<ControllerImpl, VarBindLimit> limits =
+		new WeakHashMap<ControllerImpl, VarBindLimit>();
+
+	/** Get the variable binding limit for a controller */
+	public synchronized VarBindLimit getVarBindLimit(ControllerImpl c) {
+		VarBindLimit lim = limits.get(c);
+		if (null == lim) {
+			lim = new VarBindLimit();
+			limits.put(c, lim);
+		}
+		return lim;
+	}
+
 	/** Create a new Ntcip poller */
 	public NtcipPoller(CommLink link, CommProtocol cp) {
 		super(link, default_uri(cp), NTCIP_LOG);
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2023  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -96,16 +96,19 @@ public class NtcipThread extends CommThread {
 		return (o instanceof OpNtcip) && ((OpNtcip) o).isVaisalaLx();
 	}
 
-	/** Generate a request-ID */
-	private int generateReqId(OpController o) {
+	/** Get the request-ID generator for an operation */
+	private ReqIdGenerator getReqIdGenerator(OpController o) {
 		if (isLedstar(o))
-			return req_id_gen_ledstar.next();
+			return req_id_gen_ledstar;
 		else if (isVaisalaLx(o))
-			return req_id_gen_lx.next();
+			return req_id_gen_lx;
 		else
-			return req_id_gen.next();
+			return req_id_gen;
 	}
 
+	/** NTCIP poller */
+	private final NtcipPoller poller;
+
 	/** Communication protocol */
 	private final CommProtocol protocol;
 
@@ -118,6 +121,7 @@ public class NtcipThread extends CommThread {
 		int rt, int nrd, DebugLog log, CommProtocol cp)
 	{
 		super(p, q, s, u, rt, nrd, log);
+		poller = p;
 		protocol = cp;
 	}
 
@@ -142,8 +146,8 @@ public class NtcipThread extends CommThread {
 		throws IOException
 	{
 		ControllerImpl c = o.getController();
-		int req_id = generateReqId(o);
 		return snmp.new Message(m.getOutputStream(c),
-			m.getInputStream("", c), c.getPassword(), req_id);
+			m.getInputStream("", c), c.getPassword(),
+			getReqIdGenerator(o), poller.getVarBindLimit(c));
 	}
 }
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2025  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  * Copyright (C) 2023       SRF Consulting Group
  *
  * This program is free software; you can redistribute it and/or modify
@@ -119,10 +119,10 @@ public class OpQueryDMSStatus extends OpDMS {
 		return new QueryBrightness();
 	}
 
-	/** Phase to query the brightness status */
+	/** Phase to query the brightness and message table status */
 	protected class QueryBrightness extends Phase {
 
-		/** Query the DMS brightness status */
+		/** Query the DMS brightness and message table status */
 		@SuppressWarnings("unchecked")
 		protected Phase poll(CommMessage mess) throws IOException {
 			ASN1Integer b_level =
@@ -132,28 +132,6 @@ public class OpQueryDMSStatus extends OpDMS {
 			ASN1Enum<DmsIllumControl> control = new ASN1Enum<
 				DmsIllumControl>(DmsIllumControl.class,
 				dmsIllumControl.node);
-			mess.add(p_level);
-			mess.add(max_level);
-			mess.add(b_level);
-			mess.add(light);
-			mess.add(control);
-			mess.queryProps();
-			logQuery(p_level);
-			logQuery(max_level);
-			logQuery(b_level);
-			logQuery(light);
-			logQuery(control);
-			putStatus(DMS.LIGHT_OUTPUT, getPercent(light));
-			return new QueryMessageTable();
-		}
-	}
-
-	/** Phase to query the DMS message table status */
-	protected class QueryMessageTable extends Phase {
-
-		/** Query the DMS message table status */
-		@SuppressWarnings("unchecked")
-		protected Phase poll(CommMessage mess) throws IOException {
 			ASN1Integer perm_num = dmsNumPermanentMsg.makeInt();
 			ASN1Integer chg_num = dmsNumChangeableMsg.makeInt();
 			ASN1Integer chg_max = dmsMaxChangeableMsg.makeInt();
@@ -161,6 +139,11 @@ public class OpQueryDMSStatus extends OpDMS {
 			ASN1Integer vol_num = dmsNumVolatileMsg.makeInt();
 			ASN1Integer vol_max = dmsMaxVolatileMsg.makeInt();
 			ASN1Integer vol_mem = dmsFreeVolatileMemory.makeInt();
+			mess.add(p_level);
+			mess.add(max_level);
+			mess.add(b_level);
+			mess.add(light);
+			mess.add(control);
 			mess.add(perm_num);
 			mess.add(chg_num);
 			mess.add(chg_max);
@@ -169,6 +152,11 @@ public class OpQueryDMSStatus extends OpDMS {
 			mess.add(vol_max);
 			mess.add(vol_mem);
 			mess.queryProps();
+			logQuery(p_level);
+			logQuery(max_level);
+			logQuery(b_level);
+			logQuery(light);
+			logQuery(control);
 			logQuery(perm_num);
 			logQuery(chg_num);
 			logQuery(chg_max);
@@ -176,6 +164,7 @@ public class OpQueryDMSStatus extends OpDMS {
 			logQuery(vol_num);
 			logQuery(vol_max);
 			logQuery(vol_mem);
+			putStatus(DMS.LIGHT_OUTPUT, getPercent(light));
 			return new ControllerTemperature();
 		}
 	}
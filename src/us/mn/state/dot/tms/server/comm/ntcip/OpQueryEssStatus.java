@@ -1,7 +1,7 @@
 /*
  * IRIS -- Intelligent Roadway Information System
  * Copyright (C) 2017 Iteris Inc.
- * Copyright (C) 2019-2025  Minnesota Department of Transportation
+ * Copyright (C) 2019-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -63,19 +63,51 @@ public class OpQueryEssStatus extends OpEss {
 	/** Create the second phase of the operation */
 	@Override
 	protected Phase phaseTwo() {
-		return new QueryPressure();
+		return new QueryRequired();
 	}
 
-	/** Phase to query atmospheric pressure */
-	protected class QueryPressure extends Phase {
+	/** Phase to query all required objects in one request.  These
+	 * objects have no fallback if unsupported, so packing them together
+	 * does not change which errors fail the operation.  Objects with
+	 * vendor or version fallbacks are still queried in separate phases,
+	 * since one noSuchName error would fail a whole request. */
+	protected class QueryRequired extends Phase {
 
 		@SuppressWarnings("unchecked")
 		protected Phase poll(CommMessage mess) throws IOException {
 			mess.add(ess_rec.atmospheric_values
 				.atmospheric_pressure);
+			mess.add(ts_table.num_temp_sensors);
+			mess.add(ts_table.wet_bulb_temp.node);
+			mess.add(ts_table.dew_point_temp.node);
+			mess.add(ts_table.max_air_temp.node);
+			mess.add(ts_table.min_air_temp.node);
+			mess.add(ess_rec.precip_values.relative_humidity.node);
+			mess.add(ess_rec.precip_values.precip_rate);
+			mess.add(ess_rec.precip_values.precip_1_hour);
+			mess.add(ess_rec.precip_values.precip_3_hours);
+			mess.add(ess_rec.precip_values.precip_6_hours);
+			mess.add(ess_rec.precip_values.precip_12_hours);
+			mess.add(ess_rec.precip_values.precip_24_hours);
+			mess.add(ess_rec.precip_values.precip_situation);
+			mess.add(ps_table.num_sensors);
 			mess.queryProps();
 			logQuery(ess_rec.atmospheric_values
 				.atmospheric_pressure);
+			logQuery(ts_table.num_temp_sensors);
+			logQuery(ts_table.wet_bulb_temp.node);
+			logQuery(ts_table.dew_point_temp.node);
+			logQuery(ts_table.max_air_temp.node);
+			logQuery(ts_table.min_air_temp.node);
+			logQuery(ess_rec.precip_values.relative_humidity.node);
+			logQuery(ess_rec.precip_values.precip_rate);
+			logQuery(ess_rec.precip_values.precip_1_hour);
+			logQuery(ess_rec.precip_values.precip_3_hours);
+			logQuery(ess_rec.precip_values.precip_6_hours);
+			logQuery(ess_rec.precip_values.precip_12_hours);
+			logQuery(ess_rec.precip_values.precip_24_hours);
+			logQuery(ess_rec.precip_values.precip_situation);
+			logQuery(ps_table.num_sensors);
 			return new QueryVisibility();
 		}
 	}
@@ -125,7 +157,7 @@ public class OpQueryEssStatus extends OpEss {
 				mess.queryProps();
 				logQuery(ws_table.num_sensors);
 				return ws_table.isDone()
-				      ? new QueryTemperatureSensors()
+				      ? nextTemperatureRow()
 				      : new QueryWindTableV2();
 			}
 			catch (NoSuchName e) {
@@ -154,7 +186,7 @@ public class OpQueryEssStatus extends OpEss {
 			catch (NoSuchName e) {
 				// Some controllers sometimes seem to randomly
 				// forget what windSensorGustDirection is
-				return new QueryTemperatureSensors();
+				return nextTemperatureRow();
 			}
 			logQuery(tr.avg_speed.node);
 			logQuery(tr.avg_direction.node);
@@ -163,7 +195,7 @@ public class OpQueryEssStatus extends OpEss {
 			logQuery(tr.gust_speed.node);
 			logQuery(tr.gust_direction.node);
 			return ws_table.isDone()
-			      ? new QueryTemperatureSensors()
+			      ? nextTemperatureRow()
 			      : new QueryWindSensorsV2();
 		}
 	}
@@ -185,7 +217,7 @@ public class OpQueryEssStatus extends OpEss {
 			}
 			catch (NoSuchName e) {
 				// Note: these objects are deprecated in V2
-				return new QueryTemperatureSensors();
+				return nextTemperatureRow();
 			}
 			logQuery(ws_table.avg_direction.node);
 			logQuery(ws_table.avg_speed.node);
@@ -193,31 +225,15 @@ public class OpQueryEssStatus extends OpEss {
 			logQuery(ws_table.spot_speed.node);
 			logQuery(ws_table.gust_direction.node);
 			logQuery(ws_table.gust_speed.node);
-			return new QueryTemperatureSensors();
+			return nextTemperatureRow();
 		}
 	}
 
-	/** Phase to query the temperature sensors and other data */
-	protected class QueryTemperatureSensors extends Phase {
-
-		/** Query values */
-		@SuppressWarnings("unchecked")
-		protected Phase poll(CommMessage mess) throws IOException {
-			mess.add(ts_table.num_temp_sensors);
-			mess.add(ts_table.wet_bulb_temp.node);
-			mess.add(ts_table.dew_point_temp.node);
-			mess.add(ts_table.max_air_temp.node);
-			mess.add(ts_table.min_air_temp.node);
-			mess.queryProps();
-			logQuery(ts_table.num_temp_sensors);
-			logQuery(ts_table.wet_bulb_temp.node);
-			logQuery(ts_table.dew_point_temp.node);
-			logQuery(ts_table.max_air_temp.node);
-			logQuery(ts_table.min_air_temp.node);
-			return ts_table.isDone()
-			      ? new QueryPrecipitation()
-			      : new QueryTemperatureTable();
-		}
+	/** Get phase to query next temperature sensor row */
+	private Phase nextTemperatureRow() {
+		return ts_table.isDone()
+		      ? nextPavementRow()
+		      : new QueryTemperatureTable();
 	}
 
 	/** Phase to query all rows in temperature table */
@@ -235,52 +251,10 @@ public class OpQueryEssStatus extends OpEss {
 			catch (NoSuchName e) {
 				// Some controllers sometimes seem to randomly
 				// forget what essAirTemperature is
-				return new QueryPrecipitation();
+				return nextPavementRow();
 			}
 			logQuery(tr.air_temp.node);
-			return ts_table.isDone()
-			      ? new QueryPrecipitation()
-			      : new QueryTemperatureTable();
-		}
-	}
-
-	/** Phase to query precipitation values */
-	protected class QueryPrecipitation extends Phase {
-
-		/** Query values */
-		@SuppressWarnings("unchecked")
-		protected Phase poll(CommMessage mess) throws IOException {
-			mess.add(ess_rec.precip_values.relative_humidity.node);
-			mess.add(ess_rec.precip_values.precip_rate);
-			mess.add(ess_rec.precip_values.precip_1_hour);
-			mess.add(ess_rec.precip_values.precip_3_hours);
-			mess.add(ess_rec.precip_values.precip_6_hours);
-			mess.add(ess_rec.precip_values.precip_12_hours);
-			mess.add(ess_rec.precip_values.precip_24_hours);
-			mess.add(ess_rec.precip_values.precip_situation);
-			mess.queryProps();
-			logQuery(ess_rec.precip_values.relative_humidity.node);
-			logQuery(ess_rec.precip_values.precip_rate);
-			logQuery(ess_rec.precip_values.precip_1_hour);
-			logQuery(ess_rec.precip_values.precip_3_hours);
-			logQuery(ess_rec.precip_values.precip_6_hours);
-			logQuery(ess_rec.precip_values.precip_12_hours);
-			logQuery(ess_rec.precip_values.precip_24_hours);
-			logQuery(ess_rec.precip_values.precip_situation);
-			return new QueryPavement();
-		}
-	}
-
-	/** Phase to query pavement values */
-	protected class QueryPavement extends Phase {
-
-		/** Query values */
-		@SuppressWarnings("unchecked")
-		protected Phase poll(CommMessage mess) throws IOException {
-			mess.add(ps_table.num_sensors);
-			mess.queryProps();
-			logQuery(ps_table.num_sensors);
-			return nextPavementRow();
+			return nextTemperatureRow();
 		}
 	}
 
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2024  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  * Copyright (C) 2021  Iteris Inc.
  *
  * This program is free software; you can redistribute it and/or modify
@@ -22,11 +22,13 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.TreeMap;
 import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.tms.BitmapGraphic;
 import us.mn.state.dot.tms.DMSHelper;
 import us.mn.state.dot.tms.Font;
 import us.mn.state.dot.tms.FontFinder;
 import us.mn.state.dot.tms.FontHelper;
 import us.mn.state.dot.tms.Glyph;
+import us.mn.state.dot.tms.GlyphHelper;
 import us.mn.state.dot.tms.SignConfigHelper;
 import us.mn.state.dot.tms.server.DMSImpl;
 import us.mn.state.dot.tms.server.comm.CommMessage;
@@ -40,7 +42,6 @@ import us.mn.state.dot.tms.server.comm.snmp.ASN1OctetString;
 import us.mn.state.dot.tms.server.comm.snmp.DisplayString;
 import us.mn.state.dot.tms.server.comm.snmp.GenError;
 import us.mn.state.dot.tms.server.comm.snmp.NoSuchName;
-import us.mn.state.dot.tms.utils.Base64;
 
 /**
  * Operation to send a set of fonts to a DMS controller.
@@ -586,7 +587,12 @@ public class OpSendDMSFonts extends OpDMS {
 		protected Phase poll(CommMessage mess) throws IOException {
 			int row = frow.row;
 			int code_point = glyph.getCodePoint();
-			byte[] pixels = Base64.decode(glyph.getPixels());
+			BitmapGraphic bg = GlyphHelper.createBitmap(glyph);
+			if (null == bg) {
+				throw new ControllerException(
+					"Invalid glyph: " + code_point);
+			}
+			byte[] pixels = bg.getPixelData();
 			ASN1Integer char_width = characterWidth.makeInt(row,
 				code_point);
 			ASN1OctetString char_bitmap = new ASN1OctetString(
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2025  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  * Copyright (C) 2017       SRF Consulting Group
  *
  * This program is free software; you can redistribute it and/or modify
@@ -43,7 +43,6 @@ import us.mn.state.dot.tms.server.comm.snmp.BadValue;
 import us.mn.state.dot.tms.server.comm.snmp.DisplayString;
 import us.mn.state.dot.tms.server.comm.snmp.GenError;
 import us.mn.state.dot.tms.server.comm.snmp.NoSuchName;
-import us.mn.state.dot.tms.utils.Base64;
 import us.mn.state.dot.tms.utils.MultiSyntaxError;
 
 /**
@@ -992,7 +991,7 @@ public class OpSendDMSMessage extends OpDMS {
 		private SendGraphicBlock(Graphic g, int r) throws IOException {
 			graphic = g;
 			row = r;
-			bitmap = Base64.decode(g.getPixels());
+			bitmap = GraphicHelper.getPixelData(g);
 			block = 1;
 		}
 
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2024  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -17,11 +17,12 @@ package us.mn.state.dot.tms.server.comm.ntcip.mib1203;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.Collection;
+import us.mn.state.dot.tms.BitmapGraphic;
 import us.mn.state.dot.tms.Font;
 import us.mn.state.dot.tms.FontHelper;
 import us.mn.state.dot.tms.Glyph;
+import us.mn.state.dot.tms.GlyphHelper;
 import us.mn.state.dot.tms.server.comm.ntcip.CRCStream;
-import us.mn.state.dot.tms.utils.Base64;
 
 /**
  * FontVersionByteStream is used to calculate fontVersionID.  It is encoded
@@ -56,20 +57,24 @@ public class FontVersionByteStream extends CRCStream {
 			dos.writeShort(size);
 		}
 		for (Glyph glyph: glyphs) {
-			byte[] bitmap = Base64.decode(glyph.getPixels());
+			BitmapGraphic bitmap = GlyphHelper.createBitmap(glyph);
+			if (null == bitmap) {
+				throw new IOException("Invalid glyph: " +
+					glyph.getCodePoint());
+			}
 			dos.writeShort(glyph.getCodePoint());
 			dos.writeByte(glyph.getWidth());
-			int len = bitmap.length;
+			int len = bitmap.length();
 			if (len <= 0x7F) {
-				dos.writeByte(bitmap.length);
+				dos.writeByte(len);
 			} else if (len <= 0xFF) {
 				dos.writeByte(0x81); // one length octet
-				dos.writeByte(bitmap.length);
+				dos.writeByte(len);
 			} else {
 				dos.writeByte(0x82); // two length octets
-				dos.writeShort(bitmap.length);
+				dos.writeShort(len);
 			}
-			dos.write(bitmap);
+			bitmap.writePixelData(dos);
 		}
 	}
 }
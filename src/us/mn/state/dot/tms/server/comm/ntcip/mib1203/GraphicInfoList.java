@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2018  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -17,8 +17,8 @@ package us.mn.state.dot.tms.server.comm.ntcip.mib1203;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import us.mn.state.dot.tms.Graphic;
+import us.mn.state.dot.tms.GraphicHelper;
 import us.mn.state.dot.tms.server.comm.ntcip.CRCStream;
-import us.mn.state.dot.tms.utils.Base64;
 
 /**
  * GraphicInfoList is used to calculate a GraphicID.  It is encoded
@@ -41,6 +41,6 @@ public class GraphicInfoList extends CRCStream {
 		dos.writeByte(c >> 16);	// transparent color red
 		dos.writeByte(c >> 8);	// transparent color green
 		dos.writeByte(c >> 0);	// transparent color blue
-		dos.write(Base64.decode(graphic.getPixels()));
+		GraphicHelper.writePixelData(graphic, dos);
 	}
 }
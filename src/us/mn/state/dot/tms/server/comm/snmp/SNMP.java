@@ -19,6 +19,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
+import java.util.List;
 import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.tms.server.comm.CommMessage;
 import us.mn.state.dot.tms.server.comm.ParsingException;
@@ -91,8 +92,14 @@ public class SNMP extends BER {
 		/** Community name */
 		private final String community;
 
-		/** SNMP request-id */
-		public final int request_id;
+		/** Request-ID generator */
+		private final ReqIdGenerator req_id_gen;
+
+		/** Variable binding limit for the controller */
+		private final VarBindLimit limit;
+
+		/** SNMP request-id of current PDU */
+		private int request_id;
 
 		/** List of objects set or get with this message */
 		private final ArrayList<ASN1Object> mos =
@@ -100,12 +107,13 @@ public class SNMP extends BER {
 
 		/** Create a new SNMP message */
 		public Message(OutputStream o, InputStream i, String c,
-			int req_id)
+			ReqIdGenerator gen, VarBindLimit lim)
 		{
 			os = o;
 			is = i;
 			community = (c != null) ? c : PUBLIC;
-			request_id = req_id;
+			req_id_gen = gen;
+			limit = lim;
 		}
 
 		/** Set flag to enable query logging */
@@ -120,20 +128,29 @@ public class SNMP extends BER {
 		}
 
 		/** Query the controller properties.  This is accomplished with
-		 * an SNMP get-request.
+		 * one or more SNMP get-requests, each packed with as many
+		 * objects as the controller will accept.
 		 * @throws IOException On any errors sending a request or
 		 *         receiving response */
 		public void queryProps() throws IOException {
-			if (mos.isEmpty())
-				return;
-			is.skip(is.available());
-			encodeVarBindList(false);
-			encodeRequestPDU(SNMPTag.GET_REQUEST);
-			encodeSNMPMessage(community);
-			encoder.writeTo(os);
-			encoder.reset();
-			os.flush();
-			decodeResponse();
+			int start = 0;
+			while (start < mos.size()) {
+				int end = Math.min(mos.size(),
+					start + limit.get());
+				List<ASN1Object> pdu = mos.subList(start, end);
+				try {
+					sendRequest(SNMPTag.GET_REQUEST, pdu,
+						false);
+					limit.accepted(pdu.size());
+					start = end;
+				}
+				catch (TooBig e) {
+					if (!limit.reduce(pdu.size()))
+						throw e;
+					SNMP_LOG.log("tooBig: " + pdu.size() +
+						" -> " + limit.get());
+				}
+			}
 		}
 
 		/** Log a property query */
@@ -159,25 +176,39 @@ public class SNMP extends BER {
 		 * @throws IOException On any errors sending a request or
 		 *         receiving response */
 		public void storeProps() throws IOException {
-			if (mos.isEmpty())
-				return;
+			// Objects are never split between set-requests, since
+			// the controller must apply them all together
+			if (!mos.isEmpty())
+				sendRequest(SNMPTag.SET_REQUEST, mos, true);
+		}
+
+		/** Send one request PDU and decode the response.
+		 * @param tag PDU type identifier.
+		 * @param pdu Objects to encode in the PDU.
+		 * @param set Flag to encode object values. */
+		private void sendRequest(Tag tag, List<ASN1Object> pdu,
+			boolean set) throws IOException
+		{
+			request_id = req_id_gen.next();
 			is.skip(is.available());
-			encodeVarBindList(true);
-			encodeRequestPDU(SNMPTag.SET_REQUEST);
+			encodeVarBindList(pdu, set);
+			encodeRequestPDU(tag);
 			encodeSNMPMessage(community);
 			encoder.writeTo(os);
 			encoder.reset();
 			os.flush();
-			decodeResponse();
+			decodeResponse(pdu);
 		}
 
 		/** Decode a response to a SET or GET request */
-		private void decodeResponse() throws IOException {
+		private void decodeResponse(List<ASN1Object> pdu)
+			throws IOException
+		{
 			for (int i = 0;; i++) {
 				try {
 					decodeSNMPMessage(is, community);
-					decodeResponsePDU(is);
-					decodeVarBindList(is);
+					decodeResponsePDU(is, pdu);
+					decodeVarBindList(is, pdu);
 					return;
 				}
 				catch (RequestIDException e) {
@@ -202,9 +233,11 @@ public class SNMP extends BER {
 		}
 
 		/** Encode the variable binding list */
-		private void encodeVarBindList(boolean set) throws IOException {
+		private void encodeVarBindList(List<ASN1Object> pdu,
+			boolean set) throws IOException
+		{
 			ByteArrayOutputStream vb = new ByteArrayOutputStream();
-			for (ASN1Object mo: mos) {
+			for (ASN1Object mo: pdu) {
 				encodeVarBind(mo, set);
 				vb.write(getEncodedData());
 			}
@@ -236,17 +269,17 @@ public class SNMP extends BER {
 		}
 
 		/** Decode the variable binding list */
-		private void decodeVarBindList(InputStream is)
-			throws IOException
+		private void decodeVarBindList(InputStream is,
+			List<ASN1Object> pdu) throws IOException
 		{
 			decodeSequence(is);
-			for (ASN1Object mo: mos)
+			for (ASN1Object mo: pdu)
 				decodeVarBind(is, mo);
 		}
 
 		/** Decode an SNMP response PDU */
-		private void decodeResponsePDU(InputStream is)
-			throws IOException
+		private void decodeResponsePDU(InputStream is,
+			List<ASN1Object> pdu) throws IOException
 		{
 			if (decodeIdentifier(is) != SNMPTag.GET_RESPONSE)
 				throw new ParsingException("!GET_RESPONSE TAG");
@@ -261,28 +294,28 @@ public class SNMP extends BER {
 			case TOO_BIG:
 				throw new TooBig();
 			case NO_SUCH_NAME:
-				throw new NoSuchName(getName(index));
+				throw new NoSuchName(getName(pdu, index));
 			case BAD_VALUE:
-				throw new BadValue(getObject(index));
+				throw new BadValue(getObject(pdu, index));
 			case READ_ONLY:
-				throw new ReadOnly(getName(index));
+				throw new ReadOnly(getName(pdu, index));
 			case GEN_ERROR:
-				throw new GenError(getObject(index));
+				throw new GenError(getObject(pdu, index));
 			}
 		}
 
 		/** Get the object name/value */
-		private String getObject(int i) {
-			if (i > 0 && i <= mos.size())
-				return mos.get(i - 1).toString();
+		private String getObject(List<ASN1Object> pdu, int i) {
+			if (i > 0 && i <= pdu.size())
+				return pdu.get(i - 1).toString();
 			else
 				return String.valueOf(i);
 		}
 
 		/** Get the object name */
-		private String getName(int i) {
-			if (i > 0 && i <= mos.size())
-				return mos.get(i - 1).getName();
+		private String getName(List<ASN1Object> pdu, int i) {
+			if (i > 0 && i <= pdu.size())
+				return pdu.get(i - 1).getName();
 			else
 				return String.valueOf(i);
 		}
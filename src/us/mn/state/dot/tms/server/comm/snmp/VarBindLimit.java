@@ -0,0 +1,68 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.snmp;
+
+/**
+ * Variable binding limit.  This is the maximum number of variable bindings
+ * which a controller will accept in one PDU.  It starts out at a generous
+ * upper bound and is reduced whenever the controller responds with a tooBig
+ * error.  After a number of full PDUs are accepted, a larger limit is
+ * probed, so a transient error does not pin the limit low.
+ *
+ * @author Douglas Lau
+ */
+public class VarBindLimit {
+
+	/** Maximum number of variable bindings in one PDU */
+	static public final int MAX_VAR_BINDS = 64;
+
+	/** Number of full PDUs accepted before probing a larger limit */
+	static public final int PROBE_COUNT = 32;
+
+	/** Current limit */
+	private int limit = MAX_VAR_BINDS;
+
+	/** Count of full PDUs accepted at current limit */
+	private int n_accepted = 0;
+
+	/** Get the current limit */
+	public synchronized int get() {
+		return limit;
+	}
+
+	/** Reduce the limit after a tooBig error.
+	 * @param n Number of variable bindings in rejected PDU.
+	 * @return true if limit was reduced, false if it cannot be. */
+	public synchronized boolean reduce(int n) {
+		if (n > 1) {
+			limit = Math.min(limit, n / 2);
+			n_accepted = 0;
+			return true;
+		} else
+			return false;
+	}
+
+	/** Record a PDU accepted by the controller.
+	 * @param n Number of variable bindings in accepted PDU. */
+	public synchronized void accepted(int n) {
+		if (n >= limit && limit < MAX_VAR_BINDS) {
+			n_accepted++;
+			if (n_accepted >= PROBE_COUNT) {
+				limit = Math.min(MAX_VAR_BINDS, limit * 2);
+				n_accepted = 0;
+			}
+		}
+	}
+}
@@ -0,0 +1,511 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.event;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.sched.Scheduler;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.tms.EventConfigHelper;
+import us.mn.state.dot.tms.TMSException;
+import us.mn.state.dot.tms.server.BatchFactory;
+import us.mn.state.dot.tms.server.SQLConnection;
+import us.mn.state.dot.tms.server.Storable;
+import us.mn.state.dot.tms.utils.DevelCfg;
+
+/**
+ * Event sink, which buffers events for each table and stores them with
+ * multi-row INSERT statements.
+ *
+ * Events are written when a table has FLUSH_ROWS pending, or FLUSH_DELAY_MS
+ * after the first event was buffered.  At most MAX_BUFFERED events are held
+ * in memory; beyond that, new events are dropped (and logged to stderr, at
+ * most once every DROP_WARN_MS).  If the database is unavailable, event rows
+ * are spilled to a file (up to MAX_SPILL_BYTES), which is replayed once the
+ * database recovers.  The spill file contains column values, not SQL -- on
+ * replay, statements are created (and validated) just like new events.
+ *
+ * @author Douglas Lau
+ */
+public class EventSink {
+
+	/** Event sink debug log */
+	static private final DebugLog LOG = new DebugLog("event_sink");
+
+	/** Number of pending rows in one table to trigger a flush */
+	static final int FLUSH_ROWS = 500;
+
+	/** Delay after first buffered event before flushing (ms) */
+	static final int FLUSH_DELAY_MS = 5000;
+
+	/** Maximum number of events buffered in memory */
+	static final int MAX_BUFFERED = 50000;
+
+	/** Minimum interval between dropped event warnings (ms) */
+	static private final long DROP_WARN_MS = 60 * 1000;
+
+	/** Maximum number of rows in one INSERT statement */
+	static final int MAX_ROWS = 1000;
+
+	/** Maximum size of spill file (bytes) */
+	static private final long MAX_SPILL_BYTES = 32 * 1024 * 1024;
+
+	/** Spill file for event rows which could not be stored */
+	static private final File SPILL_FILE = new File(DevelCfg.get(
+		"event.spill.file", "/var/lib/iris/event_spill"));
+
+	/** Magic number at start of spill file ("IEV1") */
+	static private final int SPILL_MAGIC = 0x49455631;
+
+	/** Prefix of event table names */
+	static private final String TABLE_PREFIX = "event.";
+
+	/** Event row read from the spill file */
+	static private class SpillRow implements Storable {
+		private final String table;
+		private final Map<String, Object> columns =
+			new LinkedHashMap<String, Object>();
+		private SpillRow(String t) {
+			table = t;
+		}
+		@Override public String getTable() {
+			return table;
+		}
+		@Override public String getPKeyName() {
+			return "name";
+		}
+		@Override public String getPKey() {
+			return null;
+		}
+		@Override public Map<String, Object> getColumns() {
+			return columns;
+		}
+	}
+
+	/** Scheduler for writing events */
+	private final Scheduler flush;
+
+	/** Spill file for event rows which could not be stored */
+	private final File spill_file;
+
+	/** Pending events for each table */
+	private HashMap<String, ArrayList<BaseEvent>> pending =
+		new HashMap<String, ArrayList<BaseEvent>>();
+
+	/** Number of pending events */
+	private int n_pending = 0;
+
+	/** Number of events dropped since last flush */
+	private int n_dropped = 0;
+
+	/** Number of events dropped since last warning */
+	private int n_unwarned = 0;
+
+	/** Time of last dropped event warning */
+	private long warned = 0;
+
+	/** Flag indicating a delayed flush is scheduled */
+	private boolean delayed = false;
+
+	/** Flag indicating an immediate flush is scheduled */
+	private boolean immediate = false;
+
+	/** Job to flush pending events */
+	private class FlushJob extends Job {
+		private FlushJob(int ms) {
+			super(ms);
+		}
+		@Override public void perform() {
+			flushEvents();
+		}
+	}
+
+	/** Create a new event sink */
+	public EventSink(Scheduler f) {
+		this(f, SPILL_FILE);
+	}
+
+	/** Create a new event sink with a spill file */
+	EventSink(Scheduler f, File sf) {
+		flush = f;
+		spill_file = sf;
+	}
+
+	/** Add an event to be stored.  This may be called from any thread.
+	 * @param ev Event to store.
+	 * @return true if added, false if dropped. */
+	public synchronized boolean add(BaseEvent ev) {
+		return addPending(ev);
+	}
+
+	/** Add a batch of events to be stored.  This may be called from any
+	 * thread, and only locks the sink once for the batch.
+	 * @param evs Events to store.
+	 * @return Number of events added (others were dropped). */
+	public synchronized int addAll(List<? extends BaseEvent> evs) {
+		int n = 0;
+		for (BaseEvent ev: evs) {
+			if (addPending(ev))
+				n++;
+		}
+		return n;
+	}
+
+	/** Add a pending event */
+	private boolean addPending(BaseEvent ev) {
+		if (n_pending >= MAX_BUFFERED) {
+			n_dropped++;
+			return false;
+		}
+		String table = ev.getTable();
+		ArrayList<BaseEvent> evs = pending.get(table);
+		if (null == evs) {
+			evs = new ArrayList<BaseEvent>();
+			pending.put(table, evs);
+		}
+		evs.add(ev);
+		n_pending++;
+		if (evs.size() >= FLUSH_ROWS) {
+			if (!immediate) {
+				immediate = true;
+				flush.addJob(new FlushJob(0));
+			}
+		} else if (!delayed) {
+			delayed = true;
+			flush.addJob(new FlushJob(FLUSH_DELAY_MS));
+		}
+		return true;
+	}
+
+	/** Take all pending events */
+	private synchronized HashMap<String, ArrayList<BaseEvent>> take() {
+		HashMap<String, ArrayList<BaseEvent>> evs = pending;
+		pending = new HashMap<String, ArrayList<BaseEvent>>();
+		if (n_dropped > 0) {
+			LOG.log("dropped " + n_dropped + " events");
+			n_unwarned += n_dropped;
+		}
+		warnDropped();
+		n_pending = 0;
+		n_dropped = 0;
+		delayed = false;
+		immediate = false;
+		return evs;
+	}
+
+	/** Log a message to stderr */
+	void logStderr(String msg) {
+		System.err.println(TimeSteward.currentDateTimeString(true) +
+			" Event sink " + msg);
+	}
+
+	/** Warn about dropped events (rate limited) */
+	private void warnDropped() {
+		long now = TimeSteward.currentTimeMillis();
+		if (n_unwarned > 0 && now - warned >= DROP_WARN_MS) {
+			logStderr("dropped " + n_unwarned + " events (over " +
+				MAX_BUFFERED + " buffered)");
+			n_unwarned = 0;
+			warned = now;
+		}
+	}
+
+	/** Flush all pending events (on FLUSH thread) */
+	public void flushEvents() {
+		ArrayList<List<? extends Storable>> batches =
+			new ArrayList<List<? extends Storable>>();
+		for (ArrayList<BaseEvent> evs: take().values())
+			createBatches(evs, batches);
+		if (batches.isEmpty())
+			return;
+		if (spill_file.exists())
+			replaySpill();
+		spill(storeAll(batches));
+	}
+
+	/** Create batches (one per INSERT statement) of events in one table */
+	private void createBatches(List<BaseEvent> evs,
+		List<List<? extends Storable>> batches)
+	{
+		ArrayList<BaseEvent> rows = new ArrayList<BaseEvent>();
+		for (BaseEvent ev: evs) {
+			if (isStoreEnabled(ev))
+				rows.add(ev);
+		}
+		for (int i = 0; i < rows.size(); i += MAX_ROWS) {
+			batches.add(rows.subList(i,
+				Math.min(rows.size(), i + MAX_ROWS)));
+		}
+	}
+
+	/** Check if storing an event is enabled */
+	boolean isStoreEnabled(BaseEvent ev) {
+		return EventConfigHelper.isStoreEnabled(ev.eventConfigName());
+	}
+
+	/** Store rows one at a time (after an invalid value).
+	 * @return Rows not stored, due to the database being unavailable. */
+	private List<? extends Storable> storeEach(
+		List<? extends Storable> rows)
+	{
+		for (int i = 0; i < rows.size(); i++) {
+			try {
+				storeRow(rows.get(i));
+			}
+			catch (TMSException e) {
+				if (isConnectionError(e))
+					return rows.subList(i, rows.size());
+				LOG.log("store: " + e.getMessage());
+			}
+		}
+		return Collections.emptyList();
+	}
+
+	/** Store one row */
+	void storeRow(Storable s) throws TMSException {
+		BaseEvent.store.create(s);
+	}
+
+	/** Check if an exception was caused by a connection error */
+	static private boolean isConnectionError(TMSException e) {
+		Throwable c = e.getCause();
+		if (c instanceof SQLException) {
+			String state = ((SQLException) c).getSQLState();
+			return (state != null) && state.startsWith("08");
+		}
+		return false;
+	}
+
+	/** Store a list of statements in one batch */
+	void store(List<String> stmts) throws TMSException {
+		final Iterator<String> it = stmts.iterator();
+		BaseEvent.store.batch(new BatchFactory() {
+			public String next() {
+				return it.hasNext() ? it.next() : null;
+			}
+		});
+	}
+
+	/** Store a list of batches, with one INSERT statement for each.
+	 * Batches with invalid values are stored one row at a time.  If
+	 * storing all statements fails due to an invalid statement, they are
+	 * stored individually (dropping invalid ones).
+	 * @return Batches not stored, due to the database being
+	 *         unavailable. */
+	private List<List<? extends Storable>> storeAll(
+		List<List<? extends Storable>> batches)
+	{
+		ArrayList<List<? extends Storable>> rest =
+			new ArrayList<List<? extends Storable>>();
+		ArrayList<List<? extends Storable>> valid =
+			new ArrayList<List<? extends Storable>>();
+		ArrayList<String> stmts = new ArrayList<String>();
+		for (List<? extends Storable> b: batches) {
+			try {
+				stmts.add(SQLConnection.createSql(b));
+				valid.add(b);
+			}
+			catch (TMSException e) {
+				LOG.log("invalid event: " + e.getMessage());
+				List<? extends Storable> r = rest.isEmpty()
+				                           ? storeEach(b)
+				                           : b;
+				if (!r.isEmpty())
+					rest.add(r);
+			}
+		}
+		if (stmts.isEmpty() || !rest.isEmpty()) {
+			rest.addAll(valid);
+			return rest;
+		}
+		try {
+			store(stmts);
+			return rest;
+		}
+		catch (TMSException e) {
+			LOG.log("batch: " + e.getMessage());
+			if (isConnectionError(e)) {
+				rest.addAll(valid);
+				return rest;
+			}
+		}
+		for (int i = 0; i < stmts.size(); i++) {
+			try {
+				store(stmts.subList(i, i + 1));
+			}
+			catch (TMSException e) {
+				if (isConnectionError(e)) {
+					rest.addAll(valid.subList(i,
+						valid.size()));
+					return rest;
+				}
+				LOG.log("dropped: " + stmts.get(i));
+			}
+		}
+		return rest;
+	}
+
+	/** Count the rows in a list of batches */
+	static private int countRows(List<List<? extends Storable>> batches) {
+		int n = 0;
+		for (List<? extends Storable> b: batches)
+			n += b.size();
+		return n;
+	}
+
+	/** Spill event rows to a file */
+	private void spill(List<List<? extends Storable>> batches) {
+		if (batches.isEmpty())
+			return;
+		int n_rows = countRows(batches);
+		long len = spill_file.length();
+		if (len >= MAX_SPILL_BYTES) {
+			LOG.log("spill file full, dropped " + n_rows +
+				" events");
+			return;
+		}
+		try (DataOutputStream dos = new DataOutputStream(
+			new BufferedOutputStream(new FileOutputStream(
+			spill_file, true))))
+		{
+			if (0 == len)
+				dos.writeInt(SPILL_MAGIC);
+			for (List<? extends Storable> b: batches) {
+				for (Storable s: b)
+					writeRow(dos, s);
+			}
+			LOG.log("spilled " + n_rows + " events");
+		}
+		catch (IOException e) {
+			LOG.log("spill: " + e.getMessage());
+		}
+	}
+
+	/** Write one event row to the spill file */
+	static private void writeRow(DataOutputStream dos, Storable s)
+		throws IOException
+	{
+		ArrayList<String> keys = new ArrayList<String>();
+		ArrayList<String> values = new ArrayList<String>();
+		for (Map.Entry<String, Object> col: s.getColumns().entrySet()) {
+			Object value = col.getValue();
+			if (value != null) {
+				keys.add(col.getKey());
+				values.add(SQLConnection.prepareArray(value));
+			}
+		}
+		dos.writeUTF(s.getTable());
+		dos.writeShort(keys.size());
+		for (int i = 0; i < keys.size(); i++) {
+			dos.writeUTF(keys.get(i));
+			byte[] b = values.get(i).getBytes(
+				StandardCharsets.UTF_8);
+			dos.writeInt(b.length);
+			dos.write(b);
+		}
+	}
+
+	/** Read one event row from the spill file.
+	 * @return Event row, or null at end of file. */
+	static private SpillRow readRow(DataInputStream dis)
+		throws IOException
+	{
+		String table;
+		try {
+			table = dis.readUTF();
+		}
+		catch (EOFException e) {
+			return null;
+		}
+		if (!table.startsWith(TABLE_PREFIX))
+			throw new IOException("invalid table: " + table);
+		SpillRow row = new SpillRow(table);
+		int n_cols = dis.readUnsignedShort();
+		for (int i = 0; i < n_cols; i++) {
+			String key = dis.readUTF();
+			int len = dis.readInt();
+			if (len < 0 || len > MAX_SPILL_BYTES)
+				throw new IOException("corrupt file");
+			byte[] b = new byte[len];
+			dis.readFully(b);
+			row.columns.put(key, new String(b,
+				StandardCharsets.UTF_8));
+		}
+		return row;
+	}
+
+	/** Read event rows from the spill file, grouped into batches */
+	private List<List<? extends Storable>> readSpill() {
+		ArrayList<List<? extends Storable>> batches =
+			new ArrayList<List<? extends Storable>>();
+		try (DataInputStream dis = new DataInputStream(
+			new BufferedInputStream(new FileInputStream(
+			spill_file))))
+		{
+			if (dis.readInt() != SPILL_MAGIC)
+				throw new IOException("invalid spill file");
+			ArrayList<SpillRow> b = null;
+			while (true) {
+				SpillRow row = readRow(dis);
+				if (null == row)
+					break;
+				if (null == b || b.size() >= MAX_ROWS ||
+				    !b.get(0).table.equals(row.table))
+				{
+					b = new ArrayList<SpillRow>();
+					batches.add(b);
+				}
+				b.add(row);
+			}
+		}
+		catch (IOException e) {
+			// Keep any complete rows from a truncated file
+			LOG.log("replay: " + e.getMessage());
+		}
+		return batches;
+	}
+
+	/** Replay event rows from the spill file */
+	private void replaySpill() {
+		List<List<? extends Storable>> batches = readSpill();
+		List<List<? extends Storable>> rest = storeAll(batches);
+		if (batches.isEmpty() || countRows(rest) < countRows(batches)) {
+			if (spill_file.delete()) {
+				LOG.log("replayed " + (countRows(batches) -
+					countRows(rest)) + " events");
+				spill(rest);
+			} else
+				LOG.log("replay: could not delete spill file");
+		}
+	}
+}
@@ -31,7 +31,10 @@ public class CTMLink extends SimLink {
 
     protected double cell_len;
 
-    protected Cell[] cells;
+    // cells are stored in a range of a (possibly shared) cell store
+    protected CellStore store;
+    protected int first;
+    protected int ncells;
 
 
     public CTMLink(double L, int lanes, double v, double Q, double w, double K){
@@ -48,17 +51,31 @@ public class CTMLink extends SimLink {
         int ncells = Math.max(1, (int)Math.floor(L / (v * MaxPressureAlgorithm.CTM_DT / 3600.0)));
         // minimum of 1 cell
 
-        cells = new Cell[ncells];
-
-        for(int i = 0; i < cells.length; i++){
-            cells[i] = new Cell(this);
-        }
+        this.ncells = ncells;
+        store = new CellStore(ncells);
+        first = store.add(this, ncells);
+    }
+    
+    // move cells into a cell store shared by all links of a network
+    public void moveTo(CellStore s){
+        int f = s.add(this, ncells);
+        s.copy(store, first, f, ncells);
+        store = s;
+        first = f;
+    }
+    
+    public double getCellOccupancy(int i){
+        return store.getOccupancy(first + i);
+    }
+    
+    public double getCellDensity(int i){
+        return store.getDensity(first + i);
     }
     
     public void propagateExcessRemovedFlow(double y){
-        for(int i = cells.length-1; i >= 0; i--){
-            double removed = Math.min(y, cells[i].getOccupancy());
-            cells[i].addOccupancy(-removed);
+        for(int i = first+ncells-1; i >= first; i--){
+            double removed = Math.min(y, store.getOccupancy(i));
+            store.addOccupancy(i, -removed);
             
             y -= removed;
             
@@ -76,7 +93,7 @@ public class CTMLink extends SimLink {
     }
     
     public double getDensity(){
-        return getOccupancy() / (cell_len * cells.length);
+        return getOccupancy() / (cell_len * ncells);
     }
     
     public double getAvgDensity(){
@@ -86,9 +103,9 @@ public class CTMLink extends SimLink {
     public double cleanupAddFlow(double y){
         double total_added = 0;
         
-        for(int i = 0; i < cells.length; i++){
-            double added = Math.min(y, cells[i].getMaxOccupancy() - cells[i].getOccupancy());
-            cells[i].addOccupancy(added);
+        for(int i = first; i < first+ncells; i++){
+            double added = Math.min(y, store.getMaxOccupancy(i) - store.getOccupancy(i));
+            store.addOccupancy(i, added);
             
             total_added += added;
             y -= added;
@@ -101,17 +118,11 @@ public class CTMLink extends SimLink {
     }
     
     public int getNumCells(){
-        return cells.length;
+        return ncells;
     }
 
     public double getOccupancy(){
-        double total_n = 0;
-
-        for(Cell c : cells){
-            total_n += c.getOccupancy();
-        }
-
-        return total_n;
+        return store.getOccupancy(first, ncells);
     }
     
     public void prepare(long stamp, int PERIOD_MS){
@@ -119,19 +130,18 @@ public class CTMLink extends SimLink {
     }
 
     public void addFlow(double y){
-        cells[0].addOccupancy(y);
+        store.addOccupancy(first, y);
     }
 
     public void removeFlow(double y){
-        int idx = cells.length-1;
+        int idx = first+ncells-1;
 
         // if y > occupancy, propagate backwards
-        while(y > EPSILON && idx >= 0){
+        while(y > EPSILON && idx >= first){
             
-            Cell cell = cells[idx];
-            double remove = Math.min(y, cell.getOccupancy());
+            double remove = Math.min(y, store.getOccupancy(idx));
 
-            cell.addOccupancy(-remove);
+            store.addOccupancy(idx, -remove);
             y -= remove;
             
             idx --;
@@ -146,33 +156,23 @@ public class CTMLink extends SimLink {
     }
     
     public double getCleanupMaxAdd(){
-        double total = 0;
-        
-        for(Cell c : cells){
-            total += c.getMaxOccupancy() - c.getOccupancy();
-        }
-        return total;
+        return store.getSpace(first, ncells);
     }
     
     public double getCleanupMaxRemove(){
-        double total = 0;
-        
-        for(Cell c : cells){
-            total += c.getOccupancy();
-        }
-        return total;
+        return store.getOccupancy(first, ncells);
     }
 
     // sending flow for next CTM timestep
     // units of veh
     public double getSendingFlow(){
-        return cells[cells.length-1].getSendingFlow();
+        return store.getSendingFlow(first+ncells-1);
     }
 
     // receiving flow for next CTM timestep
     // units of veh
     public double getReceivingFlow(){
-        return cells[0].getReceivingFlow();
+        return store.getReceivingFlow(first);
     }
     
     public double getCriticalDensity(){
@@ -181,20 +181,11 @@ public class CTMLink extends SimLink {
 
     // calculate state at next CTM time step
     public void step(){
-        for(int i = 1; i < cells.length; i++){
-            double S = cells[i-1].getSendingFlow();
-            double R = cells[i].getReceivingFlow();
-            double y = Math.max(0, Math.min(S, R)); // in case it becomes negative due to sensor fault
-
-            cells[i].addFlow(y);
-            cells[i-1].removeFlow(y);
-        }
+        store.step(first, ncells);
     }
 
     // set state to state at next time step
     public void update(){
-        for(int i = 0; i < cells.length; i++){
-            cells[i].update();
-        }
+        store.update(first, ncells);
     }
 }
@@ -14,6 +14,7 @@
  */
 package us.mn.state.dot.tms.server.maxpressure;
 
+import java.util.ArrayList;
 import java.util.List;
 import us.mn.state.dot.tms.server.MaxPressureAlgorithm;
 import static us.mn.state.dot.tms.server.MaxPressureAlgorithm.CTM_DT;
@@ -37,11 +38,33 @@ public class CTMNetwork {
     
     public MergeNode center_merge; // merge that I am modeling with this sim
     
+    // cells of all CTM links, so they can be stepped together
+    private final CellStore store;
+    
+    // links which are not CTM links (point queues)
+    private final List<SimLink> point_links = new ArrayList<>();
+    
     public CTMNetwork(MergeNode center_merge, List<SimNode> nodes, List<SimLink> links){
         this.nodes = nodes;
         this.links = links;
         
         this.center_merge = center_merge;
+        
+        int ncells = 0;
+        for(SimLink l : links){
+            if(l instanceof CTMLink){
+                ncells += ((CTMLink)l).getNumCells();
+            }
+            else{
+                point_links.add(l);
+            }
+        }
+        store = new CellStore(ncells);
+        for(SimLink l : links){
+            if(l instanceof CTMLink){
+                ((CTMLink)l).moveTo(store);
+            }
+        }
     }
     
     public boolean isDownstreamCongested(){
@@ -88,10 +111,10 @@ public class CTMNetwork {
         
         
         do{
-            int n = Math.min(ncells, inc.cells.length);
+            int n = Math.min(ncells, inc.getNumCells());
             
             for(int i = 0; i < n; i++){
-                total += inc.cells[inc.cells.length-1-i].getOccupancy();
+                total += inc.getCellOccupancy(inc.getNumCells()-1-i);
             }
             
             ncells -= n;
@@ -180,12 +203,12 @@ public class CTMNetwork {
         outer: do{
 
             
-            for(int i = link.cells.length-1; i >= 0; i--){
+            for(int i = link.getNumCells()-1; i >= 0; i--){
                 double end = rem_len;
                 double start = Math.max(0, rem_len - link.cell_len); // in case look_len is not divisible by cell_len
 
                 // integrate x/L * k dx from start to end
-                double k = link.cells[i].getDensity();
+                double k = link.getCellDensity(i);
                 
                 double integral = (end*end / 2 - start*start / 2) / look_len * k;
                 
@@ -225,13 +248,13 @@ public class CTMNetwork {
         CTMLink link = center_merge.out;
         
         outer: do{
-            for(int i = 0; i < link.cells.length; i++){
+            for(int i = 0; i < link.getNumCells(); i++){
                 double start = link.cell_len * i + carry_len;
                 double end = Math.min(link.cell_len * (i+1) + carry_len, look_len);
 
                 // integrate (L-x)/L * k dx from start to end
                 // = [Lx - x^2/2] / L * k = x * k - x^2/2/L * k
-                double k = link.cells[i].getDensity();
+                double k = link.getCellDensity(i);
                 double integral = (end - start) * k - (end*end/2 - start*start/2) / look_len * k;
                 
                 output += integral;
@@ -244,7 +267,7 @@ public class CTMNetwork {
             }
             
             // if we have to go to the next link, then the starting point is farther
-            carry_len += link.cells.length * link.cell_len;
+            carry_len += link.getNumCells() * link.cell_len;
             
             if(look_len - carry_len > EPSILON){
                 link = link.end.getMainlineOut();
@@ -308,22 +331,7 @@ public class CTMNetwork {
         double ent = 0;
         double exit = 0;
        
-        
-       
-        for(int i = 0; i < num_steps; i++){
-            for(SimLink l : links){
-                l.step();
-            }
-
-            for(SimNode n : nodes){
-                n.step();
-            }
-
-            for(SimLink l : links){
-                l.update();
-            }
-
-        }
+        simulate(num_steps);
         
         // clean up process
         // 1) propagate excess removed flow backwards
@@ -340,4 +348,44 @@ public class CTMNetwork {
         }
    }
 
+    // simulate CTM time steps, using the sensor data from the last prepare
+    private void simulate(int num_steps){
+        for(int i = 0; i < num_steps; i++){
+            // CTM links only depend on their own cells, so all of them
+            // are stepped and updated in one loop over the cell store
+            store.step();
+            for(SimLink l : point_links){
+                l.step();
+            }
+
+            for(SimNode n : nodes){
+                n.step();
+            }
+
+            store.update();
+            for(SimLink l : point_links){
+                l.update();
+            }
+        }
+    }
+
+    /**
+    * Look ahead a number of CTM time steps, assuming the sensor data from
+    * the last time step continues. The state is restored afterwards.
+    * @return predicted average density (veh/mi/lane) downstream of the merge
+    */
+    public double lookahead(int num_steps){
+        store.save();
+        for(SimLink l : point_links){
+            l.save();
+        }
+        simulate(num_steps);
+        double k = getDownstreamAvgDensity();
+        store.restore();
+        for(SimLink l : point_links){
+            l.restore();
+        }
+        return k;
+    }
+
 }
@@ -0,0 +1,200 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.maxpressure;
+
+import java.util.Arrays;
+import us.mn.state.dot.tms.server.MaxPressureAlgorithm;
+
+/**
+ * Cell store for the cell transmission model.  Cells of all CTM links in a
+ * network are stored in flat primitive arrays, with each link owning a
+ * contiguous range.  Cells are ordered from upstream to downstream within
+ * each link, so a whole network can be stepped in one loop.
+ * @author Douglas Lau
+ */
+public class CellStore {
+
+    /** Capacity drop factor when density is above critical */
+    static private final double CAPACITY_DROP = 0.85;
+
+    /** Number of cells in use */
+    private int size;
+
+    /** Occupancy (veh) */
+    private final double[] n;
+
+    /** Pending flow for next time step (veh) */
+    private final double[] y;
+
+    /** Capacity for one time step (veh) */
+    private final double[] cap;
+
+    /** Receiving capacity after capacity drop (veh) */
+    private final double[] drop_cap;
+
+    /** Ratio of congested wave speed to free flow speed */
+    private final double[] wv;
+
+    /** Maximum (jam) occupancy (veh) */
+    private final double[] max_n;
+
+    /** Cell length (mi) */
+    private final double[] cell_len;
+
+    /** Critical density (veh/mi) */
+    private final double[] k_crit;
+
+    /** Flag for first cell of a link (no upstream cell to send flow) */
+    private final boolean[] first;
+
+    /** Saved occupancy for lookahead */
+    private final double[] saved;
+
+    /** Create a new cell store.
+     * @param c Capacity (number of cells). */
+    public CellStore(int c){
+        n = new double[c];
+        y = new double[c];
+        cap = new double[c];
+        drop_cap = new double[c];
+        wv = new double[c];
+        max_n = new double[c];
+        cell_len = new double[c];
+        k_crit = new double[c];
+        first = new boolean[c];
+        saved = new double[c];
+    }
+
+    /** Get the number of cells in use */
+    public int size(){
+        return size;
+    }
+
+    /** Add cells for a link.
+     * @return Index of first cell. */
+    public int add(CTMLink link, int ncells){
+        int f = size;
+        if(f + ncells > n.length){
+            throw new IllegalStateException("Cell store full");
+        }
+        double dt = MaxPressureAlgorithm.CTM_DT;
+        for(int i = f; i < f + ncells; i++){
+            // same expressions as the per-cell model, so results match
+            cap[i] = link.Q * dt/3600.0;
+            drop_cap[i] = link.Q * CAPACITY_DROP * dt/3600.0;
+            wv[i] = link.w / link.v;
+            max_n[i] = link.K * link.cell_len;
+            cell_len[i] = link.cell_len;
+            k_crit[i] = link.getCriticalDensity();
+            first[i] = (i == f);
+        }
+        size = f + ncells;
+        return f;
+    }
+
+    /** Copy occupancy of a range of cells from another store */
+    public void copy(CellStore src, int src_f, int f, int ncells){
+        System.arraycopy(src.n, src_f, n, f, ncells);
+        System.arraycopy(src.y, src_f, y, f, ncells);
+    }
+
+    public double getOccupancy(int i){
+        return n[i];
+    }
+
+    public double getMaxOccupancy(int i){
+        return max_n[i];
+    }
+
+    public double getDensity(int i){
+        return n[i] / cell_len[i];
+    }
+
+    public void addOccupancy(int i, double add){
+        n[i] = Math.max(0, n[i] + add);
+    }
+
+    /** Get sum of occupancy over a range of cells */
+    public double getOccupancy(int f, int ncells){
+        double total = 0;
+        for(int i = f; i < f + ncells; i++){
+            total += n[i];
+        }
+        return total;
+    }
+
+    /** Get sum of available space over a range of cells */
+    public double getSpace(int f, int ncells){
+        double total = 0;
+        for(int i = f; i < f + ncells; i++){
+            total += max_n[i] - n[i];
+        }
+        return total;
+    }
+
+    public double getSendingFlow(int i){
+        return Math.min(n[i], cap[i]);
+    }
+
+    public double getReceivingFlow(int i){
+        double q = (n[i] / cell_len[i] > k_crit[i])
+                 ? drop_cap[i]
+                 : cap[i];
+        return Math.min(q, wv[i] * (max_n[i] - n[i]));
+    }
+
+    /** Calculate transition flows between cells of all links */
+    public void step(){
+        step(0, size);
+    }
+
+    /** Calculate transition flows between cells in a range */
+    public void step(int f, int ncells){
+        for(int i = f + 1; i < f + ncells; i++){
+            if(!first[i]){
+                double S = getSendingFlow(i - 1);
+                double R = getReceivingFlow(i);
+                // in case it becomes negative due to sensor fault
+                double yi = Math.max(0, Math.min(S, R));
+                y[i] += yi;
+                y[i - 1] -= yi;
+            }
+        }
+    }
+
+    /** Apply pending flows to all cells */
+    public void update(){
+        update(0, size);
+    }
+
+    /** Apply pending flows to a range of cells */
+    public void update(int f, int ncells){
+        for(int i = f; i < f + ncells; i++){
+            n[i] = Math.max(0, n[i] + y[i]);
+            y[i] = 0;
+        }
+    }
+
+    /** Save occupancy of all cells (between time steps) */
+    public void save(){
+        System.arraycopy(n, 0, saved, 0, size);
+    }
+
+    /** Restore occupancy saved before lookahead */
+    public void restore(){
+        System.arraycopy(saved, 0, n, 0, size);
+        Arrays.fill(y, 0, size, 0);
+    }
+}
@@ -38,6 +38,9 @@ public class EntranceLink extends SimLink {
     private double S_base;
     
     protected double queue;
+    
+    // state saved for lookahead
+    private double saved_queue, saved_entered;
 
     public EntranceLink(R_NodeImpl det_rnode, SamplerSet det){
         start = new DummyNode(det_rnode);
@@ -112,6 +115,16 @@ public class EntranceLink extends SimLink {
         
     }
     
+    public void save(){
+        saved_queue = queue;
+        saved_entered = actual_entered;
+    }
+    
+    public void restore(){
+        queue = saved_queue;
+        actual_entered = saved_entered;
+    }
+    
     public void step(){
         // nothing to do here
     }
@@ -34,6 +34,9 @@ public class ExitLink extends SimLink {
     private double R_base;
     protected double queue; // vehicles to remove that have not been removed
     
+    // state saved for lookahead
+    private double saved_queue, saved_exited;
+    
     public ExitLink(R_NodeImpl det_rnode, SamplerSet det){
         end = new DummyNode(det_rnode);
         this.det = det;
@@ -81,6 +84,16 @@ public class ExitLink extends SimLink {
     public void update(){
     }
     
+    public void save(){
+        saved_queue = queue;
+        saved_exited = actual_exited;
+    }
+    
+    public void restore(){
+        queue = saved_queue;
+        actual_exited = saved_exited;
+    }
+    
     public void step(){
         // nothing to do here
     }
@@ -50,4 +50,10 @@ public abstract class SimLink {
     
     
     public abstract void prepare(long stamp, int PERIOD_MS); // used to obtain sensor data for next time period (usually multiple CTM time steps)
+    
+    // save and restore state around a lookahead simulation
+    public void save(){
+    }
+    public void restore(){
+    }
 }
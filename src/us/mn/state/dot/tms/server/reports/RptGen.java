@@ -1,6 +1,7 @@
 /*
  * IRIS -- Intelligent Roadway Information System
  * Copyright (C) 2017-2018  SRF Consulting Group
+ * Copyright (C) 2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -30,6 +31,12 @@ import us.mn.state.dot.tms.server.SQLConnection;
  */
 public abstract class RptGen {
 
+	/** Number of rows to fetch from the database at a time */
+	static protected final int FETCH_ROWS = 1000;
+
+	/** Maximum number of result rows for one report */
+	static public final int MAX_ROWS = 250000;
+
 	/** Returns RptGenEnum that corresponds to this class. */
 	abstract public RptGenEnum getEnum();
 
@@ -73,6 +80,19 @@ public abstract class RptGen {
 					throws TMSException;
 
 	//-------------------------------------------
+
+	/** Check that another row may be added to the results.
+	 * @throws TMSException if canceled or the row limit is reached. */
+	protected void checkResults(RptResults results) throws TMSException {
+		if (results.isCanceled())
+			throw new TMSException("Report canceled");
+		if (results.resultsSize() >= MAX_ROWS) {
+			throw new TMSException("Report limited to " + MAX_ROWS
+				+ " rows");
+		}
+	}
+
+	//-------------------------------------------
 	
 	/** Helper method for building dynamic SQL
 	 *  "WHERE ... and ..." strings.
@@ -1,6 +1,7 @@
 /*
  * IRIS -- Intelligent Roadway Information System
  * Copyright (C) 2017-2018  SRF Consulting Group
+ * Copyright (C) 2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -83,13 +84,15 @@ public class RptGen_SignEvents extends RptGen {
 		if (!str_device_list.isEmpty())
 			sWhere = addWhere(sWhere, "device_id in ('" + str_device_list + "')");
 
-		// run query and gather results
-		store.query("SELECT event_date, description, device_id, multi, msg_owner "
+		// stream query results with a cursor
+		store.cursorQuery("SELECT event_date, description, device_id, multi, msg_owner "
 				+ "FROM public.sign_event_view"
 				+ sWhere
 				+ " ORDER BY event_date, device_id;",
+			FETCH_ROWS,
 			new ResultFactory() {
 				public void create(ResultSet row) throws Exception {
+					checkResults(results);
 					Timestamp tsTime = row.getTimestamp(1);	// event_date
 					String sDescr    = row.getString(2);	// event_description
 					String sDevName  = row.getString(3);	// device_id
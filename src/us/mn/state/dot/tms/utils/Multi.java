@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2025  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  * Copyright (C) 2009  AHMCT, University of California
  * Copyright (C) 2019-2020  SRF Consulting Group
  * Copyright (C) 2021  Iteris Inc.
@@ -166,6 +166,11 @@ public interface Multi {
 
 	/* IRIS-specific action tags (not part of MULTI) */
 
+	/** Add a tag-matched (AVI) travel time.
+	 * @param org Origin tag reader name.
+	 * @param dest Destination tag reader name. */
+	void addTagTravelTime(String org, String dest);
+
 	/** Add a ClearGuide advisory.
 	 * @param dms DMS name
 	 * @param wid Workzone ID
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2025  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  * Copyright (C) 2019-2020  SRF Consulting Group
  * Copyright (C) 2021  Iteris Inc.
  *
@@ -139,6 +139,12 @@ public class MultiAdapter implements Multi {
 	@Override
 	public void addGraphic(int g_num, Integer x, Integer y, String g_id) {}
 
+	/** Add a tag-matched (AVI) travel time.
+	 * @param org Origin tag reader name.
+	 * @param dest Destination tag reader name. */
+	@Override
+	public void addTagTravelTime(String org, String dest) {}
+
 	/** Add a ClearGuide advisory */
 	@Override
 	public void addClearGuideAdvisory(String dms, int wid, int min,
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2006-2025  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  * Copyright (C) 2019-2020  SRF Consulting Group
  * Copyright (C) 2021  Iteris Inc.
  *
@@ -374,6 +374,18 @@ public class MultiBuilder implements Multi {
 		multi.append("]");
 	}
 
+	/** Add a tag-matched (AVI) travel time.
+	 * @param org Origin tag reader name.
+	 * @param dest Destination tag reader name. */
+	@Override
+	public void addTagTravelTime(String org, String dest) {
+		multi.append("[avi");
+		multi.append(org);
+		multi.append(',');
+		multi.append(dest);
+		multi.append("]");
+	}
+
 	/** Add an exit backup warning.
 	 * @param did Exit detector ID.
 	 * @param occ Occupancy threshold to activate warning. */
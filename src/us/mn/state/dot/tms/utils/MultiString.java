@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2006-2025  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  * Copyright (C) 2014-2015  AHMCT, University of California
  * Copyright (C) 2019-2020  SRF Consulting Group
  * Copyright (C) 2021  Iteris Inc.
@@ -83,6 +83,8 @@ public class MultiString {
 		public void setTextRectangle(int x, int y, int w, int h) {}
 		// action tags also not allowed in MsgText
 		@Override
+		public void addTagTravelTime(String org, String dest) {}
+		@Override
 		public void addClearGuideAdvisory(String dms, int wid,
 			int min, int max, String mode, int idx) {}
 		@Override
@@ -159,6 +161,8 @@ public class MultiString {
 			parseCharSpacing(null, cb);
 		else if (ltag.startsWith("tr"))
 			parseTextRectangle(tag.substring(2), cb);
+		else if (ltag.startsWith("avi"))
+			parseTagTravelTime(tag.substring(3), cb);
 		else if (ltag.startsWith("cg"))
 			parseClearGuideAdvisory(tag.substring(2), cb);
 		else if (ltag.startsWith("exit"))
@@ -399,6 +403,16 @@ public class MultiString {
 			cb.addExitWarning(did, occ);
 	}
 
+	/** Parse tag-matched travel time from a [aviorg,dest] tag.
+	 * @param v Tag travel time value (org,dest from tag).
+	 * @param cb Callback to set tag travel time. */
+	static private void parseTagTravelTime(String v, Multi cb) {
+		String[] args = v.split(",", 2);
+		if (args.length == 2 && !args[0].isEmpty() &&
+		    !args[1].isEmpty())
+			cb.addTagTravelTime(args[0], args[1]);
+	}
+
 	/** Parse tolling tag [tz{p,o,c},z1,...zn].
 	 * @param v Tolling tag value ({p,o,c},z1,...zn).
 	 * @param cb Callback to set tag. */
@@ -555,6 +569,10 @@ public class MultiString {
 				if (!m.matches())
 					valid[0] = false;
 			}
+			@Override
+			public void addTagTravelTime(String org, String dest) {
+				valid[0] = false;
+			}
 			@Override public void addClearGuideAdvisory(
 				String dms, int wid, int min, int max,
 				String mode, int idx)
@@ -1,7 +1,7 @@
 /*
  * IRIS -- Intelligent Roadway Information System
  * Copyright (C) 2019-2025  SRF Consulting Group
- * Copyright (C) 2021-2024  Minnesota Department of Transportation
+ * Copyright (C) 2021-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -254,6 +254,14 @@ public class WMultiParser implements Multi {
 		page.addToken(new WtSlowWarning(spd, dist, mode));
 	}
 
+	/* (non-Javadoc)
+	 * @see us.mn.state.dot.tms.utils.Multi#addTagTravelTime(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public void addTagTravelTime(String org, String dest) {
+		page.addToken(new WtTagTravelTime(org, dest));
+	}
+
 	/* (non-Javadoc)
 	 * @see us.mn.state.dot.tms.utils.Multi#addExitWarning(java.lang.String, int)
 	 */
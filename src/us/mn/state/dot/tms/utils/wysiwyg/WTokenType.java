@@ -119,6 +119,11 @@ public enum WTokenType {
 //	 * @param o_txt Over limit text. */
 	travelTime(              "Travel Time"),
 
+//	/** Add a tag-matched (AVI) travel time.
+//	 * @param org Origin tag reader name.
+//	 * @param dest Destination tag reader name. */
+	tagTravelTime(           "Tag Travel Time"),
+
 //	/** Add a speed advisory */
 	speedAdvisory(           "Speed Advisory"),
 //
@@ -0,0 +1,52 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.utils.wysiwyg.token;
+
+import us.mn.state.dot.tms.utils.Multi;
+import us.mn.state.dot.tms.utils.wysiwyg.WTokenType;
+
+/** Tag-matched (AVI) travel time token for WYSIWYG editor */
+public class WtTagTravelTime extends Wt_IrisToken {
+
+	String org;
+	String dest;
+
+	public WtTagTravelTime(String org, String dest) {
+		super(WTokenType.tagTravelTime, "[avi");
+		this.org = org;
+		this.dest = dest;
+		updateString();
+	}
+
+	@Override
+	public void doMulti(Multi cb) {
+		cb.addTagTravelTime(org, dest);
+	}
+
+	@Override
+	public void appendParameters(StringBuilder sb) {
+		sb.append(org);
+		sb.append(',');
+		sb.append(dest);
+	}
+
+	/** Get width of WYSIWYG box.
+	 * @param chsp Character spacing (null = use font default)
+	 */
+	@Override
+	public Integer getBoxWidth(Integer chsp) {
+		return null;
+	}
+}
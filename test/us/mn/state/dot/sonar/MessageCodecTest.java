@@ -0,0 +1,183 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import junit.framework.TestCase;
+
+/**
+ * Message encoder / decoder tests
+ *
+ * @author Douglas Lau
+ */
+public class MessageCodecTest extends TestCase {
+
+	/** Copy encoded data to a decoder buffer, n bytes at a time */
+	static List<List<String>> transfer(MessageEncoder enc,
+		MessageDecoder dec, ByteBuffer app_in, int n) throws IOException
+	{
+		ArrayList<List<String>> msgs = new ArrayList<List<String>>();
+		enc.flush();
+		ByteBuffer buf = enc.getBuffer();
+		((Buffer) buf).flip();
+		while (buf.hasRemaining()) {
+			int len = Math.min(n, buf.remaining());
+			app_in.put(buf.array(), buf.position(), len);
+			((Buffer) buf).position(buf.position() + len);
+			List<String> p = dec.decode();
+			while (p != null) {
+				msgs.add(p);
+				if ("z".equals(p.get(0)))
+					dec.startInflate();
+				p = dec.decode();
+			}
+		}
+		enc.compact();
+		return msgs;
+	}
+
+	/** Encode an attribute message */
+	static void encodeAttr(MessageEncoder enc, int i)
+		throws IOException
+	{
+		enc.encode(Message.ATTRIBUTE, "detector/D" + (i % 4000) +
+			"/volume", new String[] { "" + (i % 17), "° µ" });
+	}
+
+	/** Check decoded attribute messages */
+	static private void checkAttrs(List<List<String>> msgs, int start) {
+		for (int i = 0; i < msgs.size(); i++) {
+			List<String> p = msgs.get(i);
+			int j = start + i;
+			assertTrue(p.size() == 4);
+			assertTrue(p.get(0).equals("a"));
+			assertTrue(p.get(1).equals("detector/D" + (j % 4000) +
+				"/volume"));
+			assertTrue(p.get(2).equals("" + (j % 17)));
+			assertTrue(p.get(3).equals("° µ"));
+		}
+	}
+
+	/** Test switching to compressed mode in the middle of a stream */
+	private void checkSwitch(int n) throws IOException {
+		ByteBuffer app_in = ByteBuffer.allocate(1024);
+		MessageEncoder enc = new MessageEncoder(0);
+		MessageDecoder dec = new MessageDecoder(app_in);
+		for (int i = 0; i < 10; i++)
+			encodeAttr(enc, i);
+		enc.encode(Message.COMPRESS, "deflate");
+		enc.startDeflate();
+		for (int i = 10; i < 1000; i++)
+			encodeAttr(enc, i);
+		List<List<String>> msgs = transfer(enc, dec, app_in, n);
+		assertTrue(msgs.size() == 1001);
+		assertTrue(msgs.remove(10).get(0).equals("z"));
+		checkAttrs(msgs, 0);
+		for (int i = 1000; i < 1100; i++)
+			encodeAttr(enc, i);
+		msgs = transfer(enc, dec, app_in, n);
+		assertTrue(msgs.size() == 100);
+		checkAttrs(msgs, 1000);
+	}
+
+	public void testSwitch() throws IOException {
+		checkSwitch(1);
+		checkSwitch(7);
+		checkSwitch(1000);
+	}
+
+	public void testUnicode() throws IOException {
+		ByteBuffer app_in = ByteBuffer.allocate(64);
+		MessageEncoder enc = new MessageEncoder(0);
+		MessageDecoder dec = new MessageDecoder(app_in);
+		enc.encode(Message.SHOW, "€ 🚗 °");
+		List<List<String>> msgs = transfer(enc, dec, app_in, 1);
+		assertTrue(msgs.size() == 1);
+		assertTrue(msgs.get(0).get(1).equals("€ 🚗 °"));
+	}
+
+	/** Encode messages and get the wire size.
+	 * @param deflate Flag to enable compressed mode.
+	 * @param batch Number of messages per flush.
+	 * @return Total number of encoded bytes. */
+	private long encodeSize(boolean deflate, int batch)
+		throws IOException
+	{
+		ByteBuffer app_in = ByteBuffer.allocate(1 << 16);
+		MessageEncoder enc = new MessageEncoder(0);
+		MessageDecoder dec = new MessageDecoder(app_in);
+		if (deflate) {
+			enc.encode(Message.COMPRESS, "deflate");
+			enc.startDeflate();
+		}
+		long total = 0;
+		int n_msgs = 0;
+		for (int i = 0; i < 1000; i++) {
+			encodeAttr(enc, i);
+			if ((i + 1) % batch == 0) {
+				enc.flush();
+				total += enc.getBuffer().position();
+				n_msgs += transfer(enc, dec, app_in,
+					1 << 16).size();
+			}
+		}
+		assertTrue(n_msgs >= 1000);
+		return total;
+	}
+
+	/** Check wire size of repetitive attribute messages */
+	public void testSize() throws IOException {
+		long plain = encodeSize(false, 1);
+		long d1 = encodeSize(true, 1);
+		long d50 = encodeSize(true, 50);
+		assertTrue(d1 < plain);
+		assertTrue(d50 * 3 < plain);
+	}
+
+	public void testStop() throws IOException {
+		ByteBuffer app_in = ByteBuffer.allocate(1024);
+		MessageEncoder enc = new MessageEncoder(0);
+		MessageDecoder dec = new MessageDecoder(app_in);
+		enc.startDeflate();
+		dec.startInflate();
+		assertTrue(enc.isDeflating() && dec.isInflating());
+		encodeAttr(enc, 0);
+		assertTrue(transfer(enc, dec, app_in, 1000).size() == 1);
+		enc.stopDeflate();
+		dec.stopInflate();
+		assertFalse(enc.isDeflating() || dec.isInflating());
+		// Encoding after stop is not compressed
+		encodeAttr(enc, 1);
+		checkAttrs(transfer(enc, dec, app_in, 1000), 1);
+	}
+
+	public void testBadStream() throws IOException {
+		ByteBuffer app_in = ByteBuffer.allocate(64);
+		MessageDecoder dec = new MessageDecoder(app_in);
+		dec.startInflate();
+		app_in.put("not compressed".getBytes("UTF-8"));
+		try {
+			dec.decode();
+			fail();
+		}
+		catch (IOException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import junit.framework.TestCase;
+import us.mn.state.dot.sched.TimeSteward;
+
+/**
+ * Type snapshot tests
+ *
+ * @author Douglas Lau
+ */
+public class TypeSnapshotTest extends TestCase {
+
+	/** One hour (ms) */
+	static private final long HOUR_MS = 60 * 60 * 1000;
+
+	/** Write and read a snapshot */
+	static private TypeSnapshot copy(TypeSnapshot ts, String tname)
+		throws IOException
+	{
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try (DataOutputStream dos = new DataOutputStream(bos)) {
+			ts.write(dos);
+		}
+		TypeSnapshot c = new TypeSnapshot(tname);
+		c.read(new DataInputStream(new ByteArrayInputStream(
+			bos.toByteArray())));
+		return c;
+	}
+
+	public void testEnumeration() {
+		TypeSnapshot ts = new TypeSnapshot("thing");
+		assertTrue(ts.getToken() == null);
+		ts.startEnumeration("a:10", false);
+		ts.updateAttribute("T1", "value", new String[] { "5" });
+		ts.putObject("T1");
+		ts.putObject("T2");
+		assertTrue(ts.getToken() == null);
+		ts.completeEnumeration();
+		assertTrue(ts.getToken().equals("a:10"));
+		ts.startEnumeration("a:12", true);
+		ts.removeObject("T2");
+		assertTrue(ts.getToken() == null);
+		ts.completeEnumeration();
+		assertTrue(ts.getToken().equals("a:12"));
+		assertTrue(ts.size() == 1);
+		ts.startEnumeration("b:1", false);
+		assertTrue(ts.size() == 0);
+	}
+
+	public void testExpire() {
+		TypeSnapshot ts = new TypeSnapshot("thing");
+		ts.startEnumeration("a:10", false);
+		ts.completeEnumeration();
+		long now = TimeSteward.currentTimeMillis();
+		assertTrue(ts.getToken(now).equals("a:10"));
+		ts.startEnumeration("a:12", true);
+		ts.completeEnumeration();
+		// Delta enumerations do not extend the expiration
+		assertTrue(ts.getToken(now + HOUR_MS).equals("a:12"));
+		assertTrue(ts.getToken(now + 24 * HOUR_MS) == null);
+	}
+
+	public void testReadWrite() throws IOException {
+		TypeSnapshot ts = new TypeSnapshot("thing");
+		ts.startEnumeration("a:10", false);
+		ts.updateAttribute("T1", "notes", new String[] { "° \u001f" });
+		ts.updateAttribute("T1", "list", new String[] { "x", "", "z" });
+		ts.putObject("T1");
+		ts.putObject("T2");
+		ts.completeEnumeration();
+		TypeSnapshot c = copy(ts, "thing");
+		assertTrue(c.getToken().equals("a:10"));
+		long now = TimeSteward.currentTimeMillis();
+		assertTrue(c.getToken(now + 24 * HOUR_MS) == null);
+		assertTrue(c.size() == 2);
+		try {
+			copy(ts, "other");
+			fail();
+		}
+		catch (IOException e) {
+			// expected
+		}
+	}
+
+	public void testShare() throws IOException {
+		TypeSnapshot ts = new TypeSnapshot("thing");
+		ts.startEnumeration("a:10", false);
+		for (int i = 0; i < 10; i++) {
+			String[] v = ts.share(new String[] {
+				new String("on") });
+			ts.updateAttribute("T" + i, new String("state"), v);
+		}
+		ts.completeEnumeration();
+		String[] v0 = ts.getAttribute("T0", "state");
+		assertTrue(v0[0] == ts.getAttribute("T9", "state")[0]);
+		TypeSnapshot c = copy(ts, "thing");
+		assertTrue(c.getAttribute("T0", "state")[0] ==
+			c.getAttribute("T9", "state")[0]);
+	}
+
+	/** Test an attribute changed by the server without a notify */
+	public void testStale() {
+		TypeSnapshot ts = new TypeSnapshot("thing");
+		ts.startEnumeration("a:10", false);
+		ts.updateAttribute("T1", "notes", new String[] { "old" });
+		ts.completeEnumeration();
+		long now = TimeSteward.currentTimeMillis();
+		// a delta resync does not include the change
+		ts.startEnumeration("a:12", true);
+		ts.completeEnumeration();
+		assertTrue(ts.getAttribute("T1", "notes")[0].equals("old"));
+		// until the token expires, forcing a full enumeration
+		assertTrue(ts.getToken(now + 24 * HOUR_MS) == null);
+		ts.startEnumeration("a:20", false);
+		assertTrue(ts.getAttribute("T1", "notes") == null);
+		ts.updateAttribute("T1", "notes", new String[] { "new" });
+		ts.completeEnumeration();
+		assertTrue(ts.getAttribute("T1", "notes")[0].equals("new"));
+	}
+}
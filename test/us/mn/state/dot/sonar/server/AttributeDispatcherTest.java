@@ -0,0 +1,242 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar.server;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import junit.framework.TestCase;
+import us.mn.state.dot.sonar.SonarException;
+import us.mn.state.dot.sonar.SonarObject;
+
+/**
+ * Attribute dispatcher tests
+ *
+ * @author Douglas Lau
+ */
+public class AttributeDispatcherTest extends TestCase {
+
+	/** Test SONAR type */
+	static public interface Widget extends SonarObject {
+		String SONAR_TYPE = "widget";
+		int getCount();
+		void setCount(int c);
+		Float getLevel();
+		void setLevel(Float l);
+		boolean getEnabled();
+		void setEnabled(boolean e);
+		String[] getTags();
+		void setTags(String[] t);
+		Widget getPeer();
+		void setPeer(Widget p);
+		Object getOther();
+		String getLabel();
+		void setLabel(String l);
+	}
+
+	/** Test SONAR object */
+	static public class WidgetImpl implements Widget {
+		private final String name;
+		private int count;
+		private Float level;
+		private boolean enabled = true;
+		private String[] tags = { "a", "b" };
+		private Widget peer;
+		private String label = "";
+		public WidgetImpl(String n) {
+			name = n;
+		}
+		public String getTypeName() { return SONAR_TYPE; }
+		public String getName() { return name; }
+		public String getNotes() { return "#" + name; }
+		public void destroy() { }
+		public int getCount() { return count; }
+		public void setCount(int c) { count = c; }
+		public Float getLevel() { return level; }
+		public void setLevel(Float l) { level = l; }
+		public boolean getEnabled() { return enabled; }
+		public void setEnabled(boolean e) { enabled = e; }
+		public String[] getTags() { return tags; }
+		public void setTags(String[] t) { tags = t; }
+		public Widget getPeer() { return peer; }
+		public void setPeer(Widget p) { peer = p; }
+		public Object getOther() { return peer; }
+		public String getLabel() { return label; }
+		public void setLabel(String l) { label = l; }
+		public void doSetLabel(String l) throws IOException {
+			if (l.isEmpty())
+				throw new IOException("Empty label");
+			setLabel(l);
+		}
+	}
+
+	/** Number of objects in test namespace */
+	static final int N_OBJS = 10000;
+
+	/** Create a test namespace */
+	private ServerNamespace createNamespace() throws SonarException {
+		ServerNamespace ns = new ServerNamespace();
+		ns.registerType(WidgetImpl.class);
+		for (int i = 0; i < N_OBJS; i++)
+			ns.addObject(new WidgetImpl("W" + i));
+		return ns;
+	}
+
+	/** Get an attribute value */
+	static private String[] get(AttributeDispatcher ad, SonarObject o,
+		String a) throws SonarException
+	{
+		return ad.getValue(o, a);
+	}
+
+	public void testGet() throws Exception {
+		ServerNamespace ns = createNamespace();
+		AttributeDispatcher ad = new AttributeDispatcher(
+			WidgetImpl.class, ns);
+		WidgetImpl w = (WidgetImpl) ns.lookupObject(Widget.SONAR_TYPE,
+			"W1");
+		w.setCount(17);
+		w.setPeer((Widget) ns.lookupObject(Widget.SONAR_TYPE, "W2"));
+		assertTrue(get(ad, w, "count")[0].equals("17"));
+		assertTrue(get(ad, w, "enabled")[0].equals("true"));
+		assertTrue(get(ad, w, "peer")[0].equals("W2"));
+		assertTrue(get(ad, w, "other")[0].equals("W2"));
+		assertTrue(get(ad, w, "tags").length == 2);
+		assertTrue(get(ad, w, "tags")[1].equals("b"));
+		String nul = get(ad, w, "level")[0];
+		w.setPeer(null);
+		assertTrue(get(ad, w, "peer")[0].equals(nul));
+		assertTrue(get(ad, w, "other")[0].equals(nul));
+		assertTrue(ad.isGettable("label"));
+		assertFalse(ad.isGettable("notes2"));
+		try {
+			get(ad, w, "bogus");
+			fail();
+		}
+		catch (SonarException e) {
+			// expected
+		}
+	}
+
+	public void testSet() throws Exception {
+		ServerNamespace ns = createNamespace();
+		AttributeDispatcher ad = new AttributeDispatcher(
+			WidgetImpl.class, ns);
+		WidgetImpl w = (WidgetImpl) ns.lookupObject(Widget.SONAR_TYPE,
+			"W3");
+		ad.setValue(w, "count", new String[] { "42" });
+		assertTrue(w.getCount() == 42);
+		ad.setValue(w, "level", new String[] { "2.5" });
+		assertTrue(w.getLevel() == 2.5f);
+		ad.setValue(w, "enabled", new String[] { "false" });
+		assertFalse(w.getEnabled());
+		ad.setValue(w, "tags", new String[] { "x", "y", "z" });
+		assertTrue(w.getTags().length == 3);
+		ad.setValue(w, "peer", new String[] { "W4" });
+		assertTrue(w.getPeer().getName().equals("W4"));
+		ad.setValue(w, "peer", get(ad, w, "level"));
+		assertTrue(w.getPeer() == null);
+		ad.setValue(w, "label", new String[] { "hello" });
+		assertTrue(w.getLabel().equals("hello"));
+		try {
+			ad.setValue(w, "label", new String[] { "" });
+			fail();
+		}
+		catch (SonarException e) {
+			assertTrue(e.getMessage().equals("Empty label"));
+		}
+		try {
+			ad.setValue(w, "count", new String[] { "x" });
+			fail();
+		}
+		catch (SonarException e) {
+			// expected
+		}
+		try {
+			ad.setValue(w, "count", new String[] { "1", "2" });
+			fail();
+		}
+		catch (SonarException e) {
+			// expected
+		}
+		try {
+			ad.setValue(w, "other", new String[] { "W1" });
+			fail();
+		}
+		catch (SonarException e) {
+			// expected
+		}
+	}
+
+	/** Enumerate all attributes with reflection (for reference) */
+	static int enumerateReflection(ServerNamespace ns,
+		ArrayList<Method> getters) throws Exception
+	{
+		int n = 0;
+		for (int i = 0; i < N_OBJS; i++) {
+			SonarObject o = ns.lookupObject(Widget.SONAR_TYPE,
+				"W" + i);
+			for (Method m: getters) {
+				Object r = m.invoke(o);
+				if (r instanceof Object[]) {
+					for (Object v: (Object[]) r)
+						n += ns.marshall(v).length();
+				} else
+					n += ns.marshall(r).length();
+			}
+		}
+		return n;
+	}
+
+	/** Enumerate all attributes with the dispatcher */
+	static int enumerateDispatcher(ServerNamespace ns,
+		AttributeDispatcher ad) throws Exception
+	{
+		int n = 0;
+		String[] attrs = ad.getGettableAttributes();
+		for (int i = 0; i < N_OBJS; i++) {
+			SonarObject o = ns.lookupObject(Widget.SONAR_TYPE,
+				"W" + i);
+			for (String a: attrs) {
+				for (String v: ad.getValue(o, a))
+					n += v.length();
+			}
+		}
+		return n;
+	}
+
+	/** Get getter methods for all gettable attributes */
+	static ArrayList<Method> getGetters(AttributeDispatcher ad)
+		throws Exception
+	{
+		ArrayList<Method> getters = new ArrayList<Method>();
+		for (String a: ad.getGettableAttributes()) {
+			String g = "get" + a.substring(0, 1).toUpperCase() +
+				a.substring(1);
+			getters.add(WidgetImpl.class.getMethod(g));
+		}
+		return getters;
+	}
+
+	/** Check dispatcher enumeration matches reflection */
+	public void testEnumerate() throws Exception {
+		ServerNamespace ns = createNamespace();
+		AttributeDispatcher ad = new AttributeDispatcher(
+			WidgetImpl.class, ns);
+		int nr = enumerateReflection(ns, getGetters(ad));
+		assertTrue(nr > 0);
+		assertTrue(nr == enumerateDispatcher(ns, ad));
+	}
+}
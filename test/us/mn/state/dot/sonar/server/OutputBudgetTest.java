@@ -0,0 +1,217 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar.server;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import junit.framework.TestCase;
+import us.mn.state.dot.sonar.Message;
+import us.mn.state.dot.sonar.MessageEncoder;
+
+/**
+ * Output budget tests
+ *
+ * @author Douglas Lau
+ */
+public class OutputBudgetTest extends TestCase {
+
+	/** Budget for tests (bytes) */
+	static private final int BUDGET = 1 << 16;
+
+	/** Limit for tests (bytes) */
+	static private final int LIMIT = 1 << 20;
+
+	/** Maximum collapsed updates for tests */
+	static private final int MAX_COLLAPSED = 1 << 12;
+
+	/** Take encoded messages, clearing the encoder buffer */
+	static private List<String> take(MessageEncoder enc)
+		throws IOException
+	{
+		enc.flush();
+		ByteBuffer buf = enc.getBuffer();
+		String s = new String(buf.array(), 0, buf.position(),
+			Charset.forName("UTF-8"));
+		((Buffer) buf).clear();
+		return split(s);
+	}
+
+	/** Split encoded data into messages */
+	static private List<String> split(String s) {
+		ArrayList<String> msgs = new ArrayList<String>();
+		for (String m: s.split("" + Message.RECORD_SEP.code)) {
+			if (!m.isEmpty())
+				msgs.add(m.replace(Message.UNIT_SEP.code, ' '));
+		}
+		return msgs;
+	}
+
+	/** Take compressed messages, clearing the encoder buffer */
+	static private List<String> inflate(MessageEncoder enc, Inflater inf)
+		throws IOException, DataFormatException
+	{
+		enc.flush();
+		ByteBuffer buf = enc.getBuffer();
+		inf.setInput(buf.array(), 0, buf.position());
+		StringBuilder sb = new StringBuilder();
+		byte[] out = new byte[1 << 14];
+		while (!inf.needsInput()) {
+			int n = inf.inflate(out);
+			sb.append(new String(out, 0, n,
+				Charset.forName("UTF-8")));
+		}
+		((Buffer) buf).clear();
+		return split(sb.toString());
+	}
+
+	/** Create an attribute name */
+	static private String attr(int i) {
+		return "detector/D" + i + "/volume";
+	}
+
+	/** Collapse attribute updates, checking none overflow */
+	static private void collapseAll(OutputBudget ob, int n, int v) {
+		for (int i = 0; i < n; i++) {
+			assertTrue(ob.collapse(attr(i), new String[] {
+				"" + (i + v) }));
+		}
+	}
+
+	public void testCollapse() {
+		OutputBudget ob = new OutputBudget(BUDGET, LIMIT,
+			MAX_COLLAPSED);
+		assertFalse(ob.shouldCollapse(BUDGET));
+		assertTrue(ob.shouldCollapse(BUDGET + 1));
+		collapseAll(ob, 10, 0);
+		collapseAll(ob, 10, 5);
+		assertTrue(ob.size() == 10);
+		// once collapsing, later updates must wait until drained
+		assertTrue(ob.shouldCollapse(0));
+		ob.clear();
+		assertTrue(ob.isEmpty());
+		assertFalse(ob.shouldCollapse(0));
+	}
+
+	/** Test a REMOVE after collapsed updates */
+	public void testRemoveOrder() throws IOException {
+		OutputBudget ob = new OutputBudget(BUDGET, LIMIT,
+			MAX_COLLAPSED);
+		MessageEncoder enc = new MessageEncoder(0);
+		ob.collapse("dms/V1/msgCurrent", new String[] { "A" });
+		ob.collapse("dms/V2/msgCurrent", new String[] { "B" });
+		ob.collapse("dms/V1/msgCurrent", new String[] { "C" });
+		// a drain while over budget must not encode anything
+		assertFalse(ob.drain(enc, BUDGET + 1));
+		assertTrue(ob.size() == 2);
+		// as in ConnectionImpl.notifyRemove
+		assertTrue(ob.encodeAll(enc));
+		enc.encode(Message.REMOVE, "dms/V1");
+		assertTrue(ob.isEmpty());
+		assertFalse(ob.encodeAll(enc));
+		assertTrue(take(enc).equals(Arrays.asList(
+			"a dms/V1/msgCurrent C",
+			"a dms/V2/msgCurrent B",
+			"r dms/V1")));
+	}
+
+	/** Test draining collapsed updates as output is written */
+	public void testDrain() throws IOException {
+		OutputBudget ob = new OutputBudget(BUDGET, LIMIT,
+			MAX_COLLAPSED);
+		MessageEncoder enc = new MessageEncoder(0);
+		collapseAll(ob, MAX_COLLAPSED, 0);
+		collapseAll(ob, MAX_COLLAPSED / 2, 7);
+		ArrayList<String> msgs = new ArrayList<String>();
+		int n_drains = 0;
+		while (!ob.isEmpty()) {
+			// network buffer is almost full
+			assertTrue(ob.drain(enc, BUDGET - 2048));
+			enc.flush();
+			assertTrue(enc.getBuffer().position() > 0);
+			msgs.addAll(take(enc));
+			n_drains++;
+		}
+		assertTrue(n_drains > 1);
+		assertTrue(msgs.size() == MAX_COLLAPSED);
+		for (int i = 0; i < MAX_COLLAPSED; i++) {
+			int v = (i < MAX_COLLAPSED / 2) ? i + 7 : i;
+			String m = "a " + attr(i) + " " + v;
+			assertTrue(msgs.get(i).equals(m));
+		}
+	}
+
+	/** Test encoding all collapsed updates at the output limit */
+	public void testLimit() throws IOException {
+		OutputBudget ob = new OutputBudget(BUDGET, LIMIT,
+			MAX_COLLAPSED);
+		MessageEncoder enc = new MessageEncoder(0);
+		assertFalse(ob.isOverLimit(LIMIT));
+		assertTrue(ob.isOverLimit(LIMIT + 1));
+		collapseAll(ob, 100, 0);
+		assertFalse(ob.drain(enc, LIMIT));
+		assertTrue(ob.size() == 100);
+		// before an object or remove, all must be encoded
+		assertTrue(ob.encodeAll(enc));
+		assertTrue(ob.isEmpty());
+		assertTrue(take(enc).size() == 100);
+	}
+
+	/** Test overflow of collapsed updates */
+	public void testOverflow() {
+		OutputBudget ob = new OutputBudget(BUDGET, LIMIT,
+			MAX_COLLAPSED);
+		collapseAll(ob, MAX_COLLAPSED, 0);
+		// replacing an update does not overflow
+		assertTrue(ob.collapse(attr(0), new String[] { "x" }));
+		assertTrue(ob.size() == MAX_COLLAPSED);
+		assertFalse(ob.collapse(attr(MAX_COLLAPSED),
+			new String[] { "y" }));
+		assertTrue(ob.size() == MAX_COLLAPSED + 1);
+	}
+
+	/** Test draining collapsed updates to a compressed client */
+	public void testDeflate() throws IOException, DataFormatException {
+		OutputBudget ob = new OutputBudget(BUDGET, LIMIT,
+			MAX_COLLAPSED);
+		MessageEncoder enc = new MessageEncoder(0);
+		enc.startDeflate();
+		Inflater inf = new Inflater();
+		collapseAll(ob, MAX_COLLAPSED, 0);
+		ArrayList<String> msgs = new ArrayList<String>();
+		int n_drains = 0;
+		while (!ob.isEmpty()) {
+			assertTrue(ob.drain(enc, 0));
+			// data held by the deflater counts against budget
+			assertTrue(enc.getEncodedBytes() <= BUDGET + 64);
+			msgs.addAll(inflate(enc, inf));
+			n_drains++;
+		}
+		inf.end();
+		enc.stopDeflate();
+		assertTrue(n_drains > 1);
+		assertTrue(msgs.size() == MAX_COLLAPSED);
+		for (int i = 0; i < MAX_COLLAPSED; i++) {
+			String m = "a " + attr(i) + " " + i;
+			assertTrue(msgs.get(i).equals(m));
+		}
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import junit.framework.TestCase;
+import us.mn.state.dot.sonar.MessageEncoder;
+import us.mn.state.dot.sonar.Name;
+import us.mn.state.dot.sonar.SonarException;
+import us.mn.state.dot.sonar.SonarObject;
+
+/**
+ * Server namespace resync tests
+ *
+ * @author Douglas Lau
+ */
+public class ServerNamespaceTest extends TestCase {
+
+	/** Test SONAR type */
+	static public interface Thing extends SonarObject {
+		String SONAR_TYPE = "thing";
+		int getValue();
+		void setValue(int v);
+		String getLocation();
+	}
+
+	/** Test SONAR object */
+	static public class ThingImpl implements Thing {
+		private final String name;
+		private int value;
+		public ThingImpl(String n) {
+			name = n;
+		}
+		public String getTypeName() { return SONAR_TYPE; }
+		public String getName() { return name; }
+		public String getNotes() { return "notes for " + name; }
+		public void destroy() { }
+		public int getValue() { return value; }
+		public void setValue(int v) { value = v; }
+		public String getLocation() { return "I-94 EB @ " + name; }
+	}
+
+	/** Number of objects in test namespace */
+	static final int N_OBJS = 10000;
+
+	/** Create a test namespace */
+	static ServerNamespace createNamespace()
+		throws SonarException
+	{
+		ServerNamespace ns = new ServerNamespace();
+		ns.registerType(ThingImpl.class);
+		for (int i = 0; i < N_OBJS; i++)
+			ns.addObject(new ThingImpl("T" + i));
+		return ns;
+	}
+
+	/** Enumerate a type and return the encoded messages */
+	static String enumerate(ServerNamespace ns, String token)
+		throws SonarException, IOException
+	{
+		MessageEncoder enc = new MessageEncoder(0);
+		ns.enumerate(enc, new Name(Thing.SONAR_TYPE), token);
+		enc.flush();
+		ByteBuffer buf = enc.getBuffer();
+		return new String(buf.array(), 0, buf.position(),
+			StandardCharsets.UTF_8);
+	}
+
+	/** Get the parameters of the first message */
+	static String[] firstMessage(String msgs) {
+		return msgs.substring(0, msgs.indexOf('\u001e'))
+		           .split("\u001f");
+	}
+
+	/** Change an object attribute */
+	static void change(ServerNamespace ns, int i, int v) {
+		ThingImpl t = (ThingImpl) ns.lookupObject(Thing.SONAR_TYPE,
+			"T" + i);
+		t.setValue(v);
+		ns.touch(new Name(t, "value"));
+	}
+
+	public void testFull() throws Exception {
+		ServerNamespace ns = createNamespace();
+		String msgs = enumerate(ns, "");
+		String[] p = firstMessage(msgs);
+		assertTrue(p.length == 4);
+		assertTrue(p[1].equals(Thing.SONAR_TYPE));
+		assertTrue(p[3].equals("f"));
+		assertTrue(msgs.contains("\u001eo\u001fT9999\u001e"));
+		p = firstMessage(enumerate(ns, "bogus:" + N_OBJS));
+		assertTrue(p[3].equals("f"));
+	}
+
+	public void testDelta() throws Exception {
+		ServerNamespace ns = createNamespace();
+		String full = enumerate(ns, "");
+		String tok = firstMessage(full)[2];
+		for (int i = 0; i < 10; i++)
+			change(ns, i * 100, 5);
+		ns.removeObject(ns.lookupObject(Thing.SONAR_TYPE, "T42"));
+		String delta = enumerate(ns, tok);
+		String[] p = firstMessage(delta);
+		assertTrue(p[3].equals("d"));
+		assertFalse(p[2].equals(tok));
+		assertTrue(delta.contains("\u001eo\u001fT900\u001e"));
+		assertFalse(delta.contains("\u001eo\u001fT901\u001e"));
+		assertTrue(delta.contains("\u001er\u001fT42\u001e"));
+		// Nothing changed since latest token
+		String none = enumerate(ns, p[2]);
+		assertFalse(none.contains("\u001eo\u001f"));
+		assertTrue(delta.length() < full.length());
+	}
+
+	public void testTooManyRemoved() throws Exception {
+		ServerNamespace ns = createNamespace();
+		String tok = firstMessage(enumerate(ns, ""))[2];
+		for (int i = 0; i < 5000; i++) {
+			ns.removeObject(ns.lookupObject(Thing.SONAR_TYPE,
+				"T" + i));
+		}
+		assertTrue(firstMessage(enumerate(ns, tok))[3].equals("f"));
+	}
+
+	/** Test an attribute changed without a notify (not safe to resync) */
+	public void testUnnotified() throws Exception {
+		ServerNamespace ns = createNamespace();
+		String tok = firstMessage(enumerate(ns, ""))[2];
+		ThingImpl t = (ThingImpl) ns.lookupObject(Thing.SONAR_TYPE,
+			"T5");
+		t.setValue(77);
+		String delta = enumerate(ns, tok);
+		assertTrue(firstMessage(delta)[3].equals("d"));
+		assertFalse(delta.contains("\u001eo\u001fT5\u001e"));
+		// only a full enumeration refreshes it
+		String full = enumerate(ns, "");
+		assertTrue(full.contains("\u001eo\u001fT5\u001e"));
+	}
+}
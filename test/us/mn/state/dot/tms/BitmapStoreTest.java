@@ -0,0 +1,125 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.utils.Base64;
+
+/**
+ * Bitmap store tests
+ *
+ * @author Douglas Lau
+ */
+public class BitmapStoreTest extends TestCase {
+
+	static final ColorScheme MONO = ColorScheme.MONOCHROME_1_BIT;
+
+	static private final ColorScheme COLOR = ColorScheme.COLOR_24_BIT;
+
+	/** Create encoded random pixel data */
+	static String randomPixels(Random rng, int len) {
+		byte[] p = new byte[len];
+		rng.nextBytes(p);
+		return Base64.encode(p);
+	}
+
+	public void testLookup() throws IOException {
+		BitmapStore bs = new BitmapStore();
+		Random rng = new Random(1);
+		String p0 = randomPixels(rng, 7);
+		RasterGraphic rg = bs.lookup("A", p0, MONO, null, 7, 8);
+		assertTrue(rg instanceof BitmapGraphic);
+		assertTrue(Arrays.equals(rg.getPixelData(), Base64.decode(p0)));
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		rg.writePixelData(os);
+		assertTrue(Arrays.equals(os.toByteArray(), Base64.decode(p0)));
+		// same version (not same string instance)
+		assertTrue(bs.lookup("A", new String(p0), MONO, null, 7, 8) ==
+			rg);
+		// new version
+		String p1 = randomPixels(rng, 7);
+		RasterGraphic rg1 = bs.lookup("A", p1, MONO, null, 7, 8);
+		assertTrue(rg1 != rg);
+		assertTrue(Arrays.equals(rg1.getPixelData(),
+			Base64.decode(p1)));
+		assertTrue(Arrays.equals(rg.getPixelData(), Base64.decode(p0)));
+		// wrong length, invalid data or unsupported color scheme
+		assertTrue(bs.lookup("A", p1, MONO, null, 8, 8) == null);
+		assertTrue(bs.lookup("B", "!!", MONO, null, 1, 1) == null);
+		assertTrue(bs.lookup("C", null, MONO, null, 1, 1) == null);
+		assertTrue(bs.lookup("D", p1, ColorScheme.COLOR_CLASSIC, null,
+			7, 1) == null);
+		String p2 = randomPixels(rng, 12);
+		RasterGraphic pg = bs.lookup("E", p2, COLOR, 0, 2, 2);
+		assertTrue(pg instanceof PixmapGraphic);
+		assertTrue(Arrays.equals(pg.getPixelData(1, 3),
+			Arrays.copyOfRange(Base64.decode(p2), 1, 4)));
+		assertTrue(bs.lookup("E", p2, COLOR, null, 2, 2) != pg);
+		assertTrue(bs.size() == 5);
+		bs.remove("E");
+		assertTrue(bs.size() == 4);
+	}
+
+	public void testReadOnly() {
+		BitmapStore bs = new BitmapStore();
+		RasterGraphic rg = bs.lookup("A", Base64.encode(new byte[2]),
+			MONO, null, 4, 4);
+		try {
+			rg.setPixel(0, 0, DmsColor.AMBER);
+			fail();
+		}
+		catch (UnsupportedOperationException e) {
+			// expected
+		}
+		rg.getPixelData()[0] = 1;
+		assertTrue(rg.isTransparent(7 % 4, 7 / 4));
+		BitmapGraphic bg = new BitmapGraphic(4, 4);
+		bg.copy(rg);
+		bg.setPixel(0, 0, DmsColor.AMBER);
+		assertFalse(bg.isTransparent(0, 0));
+	}
+
+	public void testCompact() throws IOException {
+		BitmapStore bs = new BitmapStore();
+		Random rng = new Random(2);
+		String[] px = new String[1000];
+		RasterGraphic[] rgs = new RasterGraphic[px.length];
+		for (int i = 0; i < px.length; i++) {
+			px[i] = randomPixels(rng, 300);
+			rgs[i] = bs.lookup("G" + i, px[i], COLOR, null, 10, 10);
+		}
+		// replace half of the entries, forcing compaction
+		for (int i = 0; i < px.length; i += 2) {
+			String p = randomPixels(rng, 300);
+			bs.lookup("G" + i, p, COLOR, null, 10, 10);
+		}
+		assertTrue(bs.getCapacity() >= 300 * px.length);
+		for (int i = 0; i < px.length; i++) {
+			// old views remain valid
+			assertTrue(Arrays.equals(rgs[i].getPixelData(),
+				Base64.decode(px[i])));
+		}
+		for (int i = 1; i < px.length; i += 2) {
+			RasterGraphic rg = bs.lookup("G" + i, px[i], COLOR,
+				null, 10, 10);
+			assertTrue(Arrays.equals(rg.getPixelData(),
+				Base64.decode(px[i])));
+		}
+	}
+}
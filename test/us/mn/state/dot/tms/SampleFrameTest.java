@@ -0,0 +1,158 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+import junit.framework.TestCase;
+
+/**
+ * Sample frame tests
+ *
+ * @author Douglas Lau
+ */
+public class SampleFrameTest extends TestCase {
+
+	/** Number of sensors for size comparison */
+	static private final int N_SENSORS = 10000;
+
+	/** Create sensor names */
+	static private String[] createSensors(int n) {
+		String[] sensors = new String[n];
+		for (int i = 0; i < n; i++)
+			sensors[i] = String.format("%05d", i + 100);
+		return sensors;
+	}
+
+	/** Fill a frame with random samples */
+	static private void fill(SampleFrame f, String[] sensors) {
+		Random rnd = new Random(sensors.length);
+		f.reset(SampleFrame.indexId(sensors), 1700000000000L, 30,
+			sensors.length);
+		for (int i = 0; i < sensors.length; i++) {
+			// Some sensors are not sampling
+			if (i % 10 != 0) {
+				int spd = (i % 3 == 0)
+				        ? 40 + rnd.nextInt(30)
+				        : -1;
+				f.setSample(i, rnd.nextInt(20), spd,
+					rnd.nextFloat() * 20);
+			}
+		}
+	}
+
+	/** Write a frame gzip'd */
+	static private byte[] writeGzip(SampleFrame f) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try (DataOutputStream dos = new DataOutputStream(
+			new GZIPOutputStream(bos)))
+		{
+			f.write(dos);
+		}
+		return bos.toByteArray();
+	}
+
+	/** Write equivalent XML gzip'd */
+	static private byte[] writeXmlGzip(SampleFrame f, String[] sensors)
+		throws IOException
+	{
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try (Writer w = new OutputStreamWriter(new GZIPOutputStream(
+			bos), "UTF-8"))
+		{
+			w.write("<traffic_sample time_stamp='" +
+				new java.util.Date(f.getStamp()) +
+				"' period='30'>\n");
+			for (int i = 0; i < sensors.length; i++) {
+				if (f.hasData(i))
+					writeXmlSample(w, f, i, sensors[i]);
+			}
+			w.write("</traffic_sample>\n");
+		}
+		return bos.toByteArray();
+	}
+
+	/** Write one XML sample element */
+	static private void writeXmlSample(Writer w, SampleFrame f, int i,
+		String sensor) throws IOException
+	{
+		w.write("\t<sample sensor='" + sensor + "'");
+		if (f.getFlow(i) != null)
+			w.write(" flow='" + f.getFlow(i) + "'");
+		if (f.getSpeed(i) != null)
+			w.write(" speed='" + f.getSpeed(i) + "'");
+		if (f.getOcc(i) != null) {
+			String occ = String.format("%.2f", f.getOcc(i));
+			w.write(" occ='" + occ + "'");
+		}
+		w.write("/>\n");
+	}
+
+	public void testIndex() throws IOException {
+		String[] sensors = createSensors(100);
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		SampleFrame.writeIndex(new DataOutputStream(bos), sensors);
+		String[] s = SampleFrame.readIndex(new DataInputStream(
+			new ByteArrayInputStream(bos.toByteArray())));
+		assertTrue(s.length == 100);
+		assertTrue(s[99].equals("00199"));
+		assertTrue(SampleFrame.indexId(s) ==
+			SampleFrame.indexId(sensors));
+		sensors[5] = "X";
+		assertFalse(SampleFrame.indexId(s) ==
+			SampleFrame.indexId(sensors));
+	}
+
+	public void testReadWrite() throws IOException {
+		String[] sensors = createSensors(1000);
+		SampleFrame f = new SampleFrame();
+		fill(f, sensors);
+		f.setSample(1, 5, 55, 12.345f);
+		f.setSample(2, -1, -1, -1);
+		f.setSample(3, 99999, 70, 150f);
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		f.write(new DataOutputStream(bos));
+		SampleFrame c = new SampleFrame();
+		c.read(new DataInputStream(new ByteArrayInputStream(
+			bos.toByteArray())));
+		assertTrue(c.size() == 1000);
+		assertTrue(c.getPeriod() == 30);
+		assertTrue(c.getIndexId() == SampleFrame.indexId(sensors));
+		assertTrue(c.getFlow(1) == 5);
+		assertTrue(c.getSpeed(1) == 55);
+		assertTrue(Math.abs(c.getOcc(1) - 12.35f) < 0.001f);
+		assertFalse(c.hasData(0));
+		assertFalse(c.hasData(2));
+		assertTrue(c.getFlow(3) == Short.MAX_VALUE);
+		assertTrue(c.getOcc(3) == 150f);
+	}
+
+	/** Compare compressed size of frame with XML */
+	public void testSize() throws IOException {
+		String[] sensors = createSensors(N_SENSORS);
+		SampleFrame f = new SampleFrame();
+		fill(f, sensors);
+		int bin = writeGzip(f).length;
+		int xml = writeXmlGzip(f, sensors).length;
+		assertTrue(bin < xml);
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.map;
+
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Random;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.geo.ZoomLevel;
+
+/**
+ * Spatial grid tests
+ *
+ * @author Douglas Lau
+ */
+public class SpatialGridTest extends TestCase {
+
+	/** Simple map object at a point */
+	static class Point implements MapObject {
+		private final AffineTransform transform = new AffineTransform();
+		private Point(double x, double y) {
+			move(x, y);
+		}
+		private void move(double x, double y) {
+			transform.setToTranslation(x, y);
+		}
+		public AffineTransform getTransform() { return transform; }
+		public AffineTransform getInverseTransform() { return null; }
+		public Shape getShape() { return null; }
+		public Shape getOutlineShape() { return null; }
+	}
+
+	/** Map searcher which counts objects */
+	static private class Counter implements MapSearcher {
+		private int n = 0;
+		public boolean next(MapObject mo) {
+			n++;
+			return false;
+		}
+	}
+
+	/** Create points randomly spread over a metro-sized area */
+	static ArrayList<Point> createPoints(int n) {
+		Random rnd = new Random(n);
+		ArrayList<Point> pts = new ArrayList<Point>();
+		for (int i = 0; i < n; i++) {
+			pts.add(new Point(-10400000 + rnd.nextDouble() * 150000,
+				5600000 + rnd.nextDouble() * 150000));
+		}
+		return pts;
+	}
+
+	/** Count objects within a region */
+	static int count(SpatialGrid<Point> grid, Rectangle2D r) {
+		Counter c = new Counter();
+		grid.forEach(r, c);
+		return c.n;
+	}
+
+	/** Count objects within a region by checking every object */
+	static int countAll(ArrayList<Point> pts, Rectangle2D r) {
+		Counter c = new Counter();
+		for (Point p: pts) {
+			AffineTransform t = p.getTransform();
+			if (r.contains(t.getTranslateX(), t.getTranslateY()))
+				c.next(p);
+		}
+		return c.n;
+	}
+
+	/** Get a 1000x800 pixel viewport at a zoom level */
+	static Rectangle2D viewport(double x, double y, ZoomLevel zl) {
+		double w = 1000 * zl.scale;
+		double h = 800 * zl.scale;
+		return new Rectangle2D.Double(x - w / 2, y - h / 2, w, h);
+	}
+
+	public void testAddRemove() {
+		SpatialGrid<Point> grid = new SpatialGrid<Point>(100);
+		Point a = new Point(50, 50);
+		Point b = new Point(-150, 250);
+		grid.add(a);
+		grid.add(b);
+		grid.add(a);
+		assertTrue(grid.size() == 2);
+		Rectangle2D r = new Rectangle2D.Double(0, 0, 100, 100);
+		assertTrue(count(grid, r) == 1);
+		assertTrue(count(grid, null) == 2);
+		a.move(-120, 260);
+		grid.update(a);
+		assertTrue(count(grid, r) == 0);
+		r.setRect(-200, 200, 100, 100);
+		assertTrue(count(grid, r) == 2);
+		assertTrue(grid.remove(b));
+		assertFalse(grid.remove(b));
+		assertTrue(count(grid, r) == 1);
+		grid.update(b);
+		assertTrue(grid.size() == 1);
+	}
+
+	public void testSearch() {
+		ArrayList<Point> pts = createPoints(5000);
+		SpatialGrid<Point> grid = new SpatialGrid<Point>();
+		for (Point p: pts)
+			grid.add(p);
+		Random rnd = new Random(7);
+		for (ZoomLevel zl: ZoomLevel.values()) {
+			double x = -10400000 + rnd.nextDouble() * 150000;
+			double y = 5600000 + rnd.nextDouble() * 150000;
+			Rectangle2D r = viewport(x, y, zl);
+			assertTrue(count(grid, r) == countAll(pts, r));
+		}
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.proxy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import junit.framework.TestCase;
+import us.mn.state.dot.sonar.SonarObject;
+import us.mn.state.dot.tms.utils.NumericAlphaComparator;
+
+/**
+ * Sorted proxy list tests
+ *
+ * @author Douglas Lau
+ */
+public class SortedProxyListTest extends TestCase {
+
+	/** Simple proxy with a mutable name */
+	static private class Proxy implements SonarObject {
+		private String name;
+		private Proxy(String n) {
+			name = n;
+		}
+		public String getTypeName() { return "proxy"; }
+		public String getName() { return name; }
+		public String getNotes() { return null; }
+		public void destroy() { }
+		public String toString() { return name; }
+	}
+
+	/** Create a list of proxies in random order */
+	static private ArrayList<Proxy> createProxies(int n) {
+		ArrayList<Proxy> proxies = new ArrayList<Proxy>();
+		for (int i = 0; i < n; i++)
+			proxies.add(new Proxy("D" + i));
+		Collections.shuffle(proxies, new Random(n));
+		return proxies;
+	}
+
+	/** Create an empty sorted proxy list */
+	static private SortedProxyList<Proxy> createList() {
+		return new SortedProxyList<Proxy>(
+			new NumericAlphaComparator<Proxy>());
+	}
+
+	public void testAdd() {
+		SortedProxyList<Proxy> list = createList();
+		for (Proxy p: createProxies(100))
+			assertTrue(list.add(p) >= 0);
+		assertTrue(list.size() == 100);
+		for (int i = 0; i < 100; i++) {
+			assertTrue(list.get(i).getName().equals("D" + i));
+			assertTrue(list.indexOf(list.get(i)) == i);
+			assertTrue(list.isOrdered(i));
+		}
+		assertTrue(list.add(new Proxy("D50")) < 0);
+		assertTrue(list.indexOf(new Proxy("D50")) < 0);
+	}
+
+	public void testRemove() {
+		SortedProxyList<Proxy> list = createList();
+		for (Proxy p: createProxies(10))
+			list.add(p);
+		Proxy p = list.get(3);
+		assertTrue(list.remove(p) == 3);
+		assertTrue(list.remove(p) < 0);
+		assertTrue(list.size() == 9);
+		assertTrue(list.get(3).getName().equals("D4"));
+	}
+
+	public void testChanged() {
+		SortedProxyList<Proxy> list = createList();
+		for (Proxy p: createProxies(10))
+			list.add(p);
+		Proxy p = list.get(2);
+		p.name = "D20";
+		assertFalse(list.isOrdered(2));
+		assertTrue(list.indexOf(p) == 2);
+		list.remove(2);
+		assertTrue(list.add(p) == 9);
+		assertTrue(list.isOrdered(9));
+	}
+
+	public void testPopulate() {
+		ArrayList<Proxy> proxies = createProxies(1000);
+		SortedProxyList<Proxy> list = createList();
+		for (Proxy p: proxies)
+			list.add(p);
+		for (Proxy p: proxies) {
+			int i = list.indexOf(p);
+			assertTrue(i >= 0 && list.isOrdered(i));
+		}
+		assertTrue(list.size() == 1000);
+	}
+}
@@ -0,0 +1,241 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.roads;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.zip.GZIPOutputStream;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.SampleFrame;
+
+/**
+ * Sample frame reader tests.  Frames and the sensor index are served by a
+ * local HTTP server, which honors conditional requests.
+ *
+ * @author Douglas Lau
+ */
+public class SampleFrameReaderTest extends TestCase {
+
+	/** Time stamp of first frame */
+	static private final long STAMP = 1700000000000L;
+
+	/** Resource served with an ETag validator */
+	static private class TestResource implements HttpHandler {
+		private byte[] body = new byte[0];
+		private int version = 0;
+		private int n_requests = 0;
+		private int n_not_modified = 0;
+		private String if_none_match = null;
+
+		/** Set the resource body (changing the ETag) */
+		private synchronized void setBody(byte[] b) {
+			body = b;
+			version++;
+		}
+
+		/** Get the current ETag */
+		private synchronized String getETag() {
+			return "\"" + version + "\"";
+		}
+
+		/** Handle one request */
+		public void handle(HttpExchange ex) throws IOException {
+			String m = ex.getRequestHeaders().getFirst(
+				"If-None-Match");
+			byte[] b;
+			synchronized (this) {
+				n_requests++;
+				if_none_match = m;
+				b = body;
+			}
+			if (getETag().equals(m)) {
+				synchronized (this) {
+					n_not_modified++;
+				}
+				ex.sendResponseHeaders(304, -1);
+			} else {
+				ex.getResponseHeaders().set("ETag", getETag());
+				ex.sendResponseHeaders(200, b.length);
+				try (OutputStream os = ex.getResponseBody()) {
+					os.write(b);
+				}
+			}
+			ex.close();
+		}
+
+		private synchronized int getRequests() {
+			return n_requests;
+		}
+		private synchronized int getNotModified() {
+			return n_not_modified;
+		}
+		private synchronized String getIfNoneMatch() {
+			return if_none_match;
+		}
+	}
+
+	/** Create sensor names */
+	static private String[] createSensors(String prefix, int n) {
+		String[] sensors = new String[n];
+		for (int i = 0; i < n; i++)
+			sensors[i] = prefix + i;
+		return sensors;
+	}
+
+	/** Create a gzip'd sample frame */
+	static private byte[] createFrame(String[] sensors, long st)
+		throws IOException
+	{
+		SampleFrame f = new SampleFrame();
+		f.reset(SampleFrame.indexId(sensors), st, 30, sensors.length);
+		for (int i = 0; i < sensors.length; i++)
+			f.setSample(i, i, 50, 10f);
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try (DataOutputStream dos = new DataOutputStream(
+			new GZIPOutputStream(bos)))
+		{
+			f.write(dos);
+		}
+		return bos.toByteArray();
+	}
+
+	/** Create a gzip'd sensor index */
+	static private byte[] createIndex(String[] sensors)
+		throws IOException
+	{
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try (DataOutputStream dos = new DataOutputStream(
+			new GZIPOutputStream(bos)))
+		{
+			SampleFrame.writeIndex(dos, sensors);
+		}
+		return bos.toByteArray();
+	}
+
+	/** Data which is not gzip'd */
+	static private final byte[] JUNK = "junk".getBytes();
+
+	/** HTTP server */
+	private HttpServer server;
+
+	/** Sample frame resource */
+	private final TestResource frame_res = new TestResource();
+
+	/** Sensor index resource */
+	private final TestResource index_res = new TestResource();
+
+	/** Sample frame reader */
+	private SampleFrameReader reader;
+
+	@Override
+	protected void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1",
+			0), 0);
+		server.createContext("/frame.bin.gz", frame_res);
+		server.createContext("/det_index.bin.gz", index_res);
+		server.start();
+		int port = server.getAddress().getPort();
+		reader = new SampleFrameReader(new URL("http://127.0.0.1:" +
+			port + "/frame.bin.gz"));
+	}
+
+	@Override
+	protected void tearDown() {
+		server.stop(0);
+	}
+
+	/** Read a frame, expecting an exception */
+	private void readFails(String msg) {
+		try {
+			reader.readFrame();
+			fail();
+		}
+		catch (IOException e) {
+			if (msg != null)
+				assertTrue(msg.equals(e.getMessage()));
+		}
+	}
+
+	public void testNotModified() throws IOException {
+		String[] sensors = createSensors("A", 10);
+		frame_res.setBody(createFrame(sensors, STAMP));
+		index_res.setBody(createIndex(sensors));
+		assertTrue(reader.readFrame());
+		assertTrue(reader.getStamp() == STAMP);
+		assertTrue(reader.getSensorCount() == 10);
+		assertTrue(frame_res.getIfNoneMatch() == null);
+		// unchanged frame is not transferred
+		assertFalse(reader.readFrame());
+		assertTrue(frame_res.getNotModified() == 1);
+		assertTrue(index_res.getRequests() == 1);
+		// new frame with the same index
+		frame_res.setBody(createFrame(sensors, STAMP + 30000));
+		assertTrue(reader.readFrame());
+		assertTrue(reader.getStamp() == STAMP + 30000);
+		assertTrue(index_res.getRequests() == 1);
+	}
+
+	public void testIndexMismatch() throws IOException {
+		String[] sensors = createSensors("A", 10);
+		frame_res.setBody(createFrame(sensors, STAMP));
+		index_res.setBody(createIndex(createSensors("B", 10)));
+		readFails("Sensor index mismatch");
+		assertTrue(index_res.getRequests() == 1);
+		// both resources are requested again, unconditionally
+		readFails("Sensor index mismatch");
+		assertTrue(frame_res.getIfNoneMatch() == null);
+		assertTrue(index_res.getIfNoneMatch() == null);
+		assertTrue(frame_res.getNotModified() == 0);
+		assertTrue(index_res.getNotModified() == 0);
+		index_res.setBody(createIndex(sensors));
+		assertTrue(reader.readFrame());
+		assertTrue(reader.getStamp() == STAMP);
+	}
+
+	public void testFrameFails() throws IOException {
+		String[] sensors = createSensors("A", 10);
+		frame_res.setBody(JUNK);
+		index_res.setBody(createIndex(sensors));
+		readFails(null);
+		// validators of a frame which failed are not committed
+		readFails(null);
+		assertTrue(frame_res.getIfNoneMatch() == null);
+		assertTrue(index_res.getRequests() == 0);
+		frame_res.setBody(createFrame(sensors, STAMP));
+		assertTrue(reader.readFrame());
+	}
+
+	public void testIndexFails() throws IOException {
+		String[] sensors = createSensors("A", 10);
+		frame_res.setBody(createFrame(sensors, STAMP));
+		index_res.setBody(JUNK);
+		readFails(null);
+		assertTrue(reader.getStamp() == 0);
+		// frame read OK, but its validators are not committed
+		index_res.setBody(createIndex(sensors));
+		assertTrue(reader.readFrame());
+		assertTrue(frame_res.getIfNoneMatch() == null);
+		assertTrue(frame_res.getNotModified() == 0);
+		assertTrue(reader.getStamp() == STAMP);
+		assertTrue(reader.getSensorCount() == 10);
+	}
+}
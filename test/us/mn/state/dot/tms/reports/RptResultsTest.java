@@ -0,0 +1,78 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.reports;
+
+import junit.framework.TestCase;
+
+/**
+ * Report results tests
+ *
+ * @author Douglas Lau
+ */
+public class RptResultsTest extends TestCase {
+
+	/** Create results with some rows */
+	static private RptResults createResults(int n) {
+		RptResults res = new RptResults();
+		for (int i = 0; i < n; i++) {
+			res.addRptRecord(new RptResultItem(1700000000000L + i,
+				"V" + (i % 50), "user", "MSG_DEPLOYED: \"" + i +
+				"\""));
+		}
+		return res;
+	}
+
+	public void testPages() {
+		RptResults res = createResults(25);
+		RptResults c = new RptResults();
+		for (int p = 0; p < 3; p++) {
+			String sRes = res.toResultsString(p * 10, 10);
+			c.initFromResultsString(sRes);
+		}
+		assertTrue(c.resultsSize() == 25);
+		for (int i = 0; i < 25; i++) {
+			RptResultItem a = res.getRptResults().get(i);
+			RptResultItem b = c.getRptResults().get(i);
+			assertTrue(a.getDatetimeLong().equals(
+				b.getDatetimeLong()));
+			assertTrue(a.getName().equals(b.getName()));
+			assertTrue(a.getDescription().equals(
+				b.getDescription()));
+		}
+		assertTrue(res.toResultsString(30, 10).isEmpty());
+		assertTrue(res.toResultsString(0, 25).equals(
+			res.toResultsString()));
+	
+	}
+
+	public void testExceptions() {
+		RptResults res = createResults(3);
+		res.addException("Report limited to 3 rows");
+		res.addException("error: {a; b}");
+		res.addException(null);
+		RptResults c = new RptResults();
+		c.initFromResultsString(res.toResultsString(0, 2));
+		assertTrue(c.resultsSize() == 2);
+		assertTrue(c.getExceptions().size() == 3);
+		assertTrue(c.getExceptions().contains(
+			"Report limited to 3 rows"));
+		assertTrue(c.getExceptions().contains("error: {a; b}"));
+		// exceptions are included with an empty page
+		c = new RptResults();
+		c.initFromResultsString(res.toResultsString(10, 2));
+		assertTrue(c.resultsSize() == 0);
+		assertTrue(c.getExceptions().size() == 3);
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.sql.SQLException;
+import junit.framework.TestCase;
+import org.postgis.MultiPolygon;
+import us.mn.state.dot.tms.geo.Position;
+
+/**
+ * Alert area tests
+ *
+ * @author Douglas Lau
+ */
+public class AlertAreaTest extends TestCase {
+
+	/** Square with a square hole, near Minneapolis */
+	static private final String AREA = "MULTIPOLYGON(" +
+		"((-93.4 44.8,-93.0 44.8,-93.0 45.2,-93.4 45.2,-93.4 44.8)," +
+		"(-93.25 44.95,-93.15 44.95,-93.15 45.05,-93.25 45.05," +
+		"-93.25 44.95)))";
+
+	/** Check distance against Haversine distance to nearest point */
+	private void checkDistance(AlertArea area, double lat, double lon,
+		double nlat, double nlon)
+	{
+		double d = area.distance(lat, lon);
+		double h = new Position(lat, lon).distanceHaversine(
+			new Position(nlat, nlon));
+		assertTrue(Math.abs(d - h) < h * 0.001);
+	}
+
+	public void testInside() throws SQLException {
+		AlertArea area = new AlertArea(new MultiPolygon(AREA));
+		assertTrue(area.distance(44.9, -93.3) == 0);
+		assertTrue(area.distance(45.1, -93.05) == 0);
+		assertTrue(area.isWithin(44.9, -93.3, 0));
+	}
+
+	public void testHole() throws SQLException {
+		AlertArea area = new AlertArea(new MultiPolygon(AREA));
+		assertTrue(area.distance(45.0, -93.2) > 0);
+		checkDistance(area, 45.0, -93.2, 45.0, -93.25);
+		assertTrue(area.isWithin(45.0, -93.2, 4000));
+		assertFalse(area.isWithin(45.0, -93.2, 3900));
+	}
+
+	public void testOutside() throws SQLException {
+		AlertArea area = new AlertArea(new MultiPolygon(AREA));
+		checkDistance(area, 45.0, -92.9, 45.0, -93.0);
+		checkDistance(area, 44.7, -93.2, 44.8, -93.2);
+		checkDistance(area, 45.3, -93.5, 45.2, -93.4);
+		assertTrue(area.isWithin(44.7, -93.2, 11200));
+		assertFalse(area.isWithin(44.7, -93.2, 11000));
+		assertFalse(area.isWithin(40.0, -93.2, 100000));
+	}
+
+	public void testEmpty() {
+		AlertArea area = new AlertArea(null);
+		assertFalse(area.isWithin(45.0, -93.2, 100000));
+	}
+}
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2012-2022  Minnesota Department of Transportation
+ * Copyright (C) 2012-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,6 +14,7 @@
  */
 package us.mn.state.dot.tms.server;
 
+import java.util.Random;
 import junit.framework.TestCase;
 import us.mn.state.dot.tms.server.BoundedSampleHistory;
 
@@ -99,4 +100,113 @@ public class BoundedSampleHistoryTest extends TestCase {
 		assertTrue(hist.size() == 4);
 		assertTrue(hist.average() == null);
 	}
+
+	public void testValue() {
+		BoundedSampleHistory hist = new BoundedSampleHistory(3);
+		assertTrue(Double.isNaN(hist.value(0)));
+		hist.push(5);
+		hist.push(-1);
+		hist.push(Double.NaN);
+		assertTrue(Double.isNaN(hist.value(0)));
+		assertTrue(Double.isNaN(hist.value(1)));
+		assertTrue(hist.value(2) == 5);
+		assertTrue(Double.isNaN(hist.value(3)));
+		assertTrue(hist.averageValue(0, 3) == 5);
+		assertTrue(Double.isNaN(hist.averageValue(0, 2)));
+		assertTrue(null == hist.average(3, 2));
+	}
+
+	/** Boxed sample history, for comparison */
+	static private class BoxedHistory {
+		private final Double[] samples;
+		private int cursor = -1;
+		private int n_samples = 0;
+		private BoxedHistory(int n) {
+			samples = new Double[n];
+		}
+		private void push(Double sam) {
+			cursor = (cursor + 1 < samples.length) ? cursor + 1 : 0;
+			samples[cursor] = (sam != null && sam >= 0)
+			                ? sam
+			                : null;
+			if (n_samples < samples.length)
+				n_samples++;
+		}
+		private Double get(int t) {
+			if (t < n_samples) {
+				int idx = cursor - t;
+				if (idx < 0)
+					idx += samples.length;
+				return samples[idx];
+			} else
+				return null;
+		}
+		private Double average(int t, int n_sam) {
+			double sum = 0;
+			int count = 0;
+			for (int i = t; i < t + n_sam; i++) {
+				Double d = get(i);
+				if (d != null) {
+					sum += d;
+					count++;
+				}
+			}
+			return (count > 0) ? sum / count : null;
+		}
+	}
+
+	/** Number of meters for metering cycles */
+	static final int N_METERS = 400;
+
+	/** Number of histories per meter (as in KAdaptiveAlgorithm) */
+	static private final int N_HIST = 6;
+
+	/** History steps (10 minutes of 30-second samples) */
+	static private final int STEPS = 20;
+
+	/** Run sample history work (push and averages only) of a number of
+	 * metering cycles, with primitive histories */
+	static double runPrimitive(Random rnd, int cycles) {
+		BoundedSampleHistory[] hist =
+			new BoundedSampleHistory[N_METERS * N_HIST];
+		for (int i = 0; i < hist.length; i++)
+			hist[i] = new BoundedSampleHistory(STEPS);
+		double total = 0;
+		for (int c = 0; c < cycles; c++) {
+			for (BoundedSampleHistory h: hist) {
+				h.push(rnd.nextInt(60) - 5);
+				double a = h.averageValue(0, 2);
+				double b = h.averageValue(0, STEPS);
+				if (!Double.isNaN(a) && !Double.isNaN(b))
+					total += a - b;
+			}
+		}
+		return total;
+	}
+
+	/** Run sample history work (push and averages only) of a number of
+	 * metering cycles, with boxed histories */
+	static double runBoxed(Random rnd, int cycles) {
+		BoxedHistory[] hist = new BoxedHistory[N_METERS * N_HIST];
+		for (int i = 0; i < hist.length; i++)
+			hist[i] = new BoxedHistory(STEPS);
+		double total = 0;
+		for (int c = 0; c < cycles; c++) {
+			for (BoxedHistory h: hist) {
+				h.push((double) (rnd.nextInt(60) - 5));
+				Double a = h.average(0, 2);
+				Double b = h.average(0, STEPS);
+				if (a != null && b != null)
+					total += a - b;
+			}
+		}
+		return total;
+	}
+
+	/** Check primitive and boxed histories for full metering cycles */
+	public void testCycles() {
+		double p = runPrimitive(new Random(2), 50);
+		double b = runBoxed(new Random(2), 50);
+		assertTrue(Math.abs(p - b) < 0.001);
+	}
 }
@@ -0,0 +1,90 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.server.comm.LatencyHistogram;
+
+/**
+ * Controller comm stats tests
+ *
+ * @author Douglas Lau
+ */
+public class ControllerCommStatsTest extends TestCase {
+
+	/** Get a round-trip time at the top of a histogram bucket (us) */
+	static private long bucketTop(int bits) {
+		return (1L << bits) - 1;
+	}
+
+	/** Create a histogram snapshot */
+	static private int[] createSnapshot() {
+		return new int[LatencyHistogram.N_BUCKETS];
+	}
+
+	public void testChanged() {
+		ControllerCommStats cs = new ControllerCommStats();
+		assertTrue(cs.takeChanged() == 0);
+		cs.markChanged(1 << 0);
+		cs.markChanged(1 << 4);
+		cs.markChanged(1 << 0);
+		assertTrue(cs.takeChanged() == ((1 << 0) | (1 << 4)));
+		// nothing is published until marked again
+		assertTrue(cs.takeChanged() == 0);
+		cs.markChanged(1 << 5);
+		assertTrue(cs.takeChanged() == (1 << 5));
+	}
+
+	public void testRoundTrip() {
+		ControllerCommStats cs = new ControllerCommStats();
+		int[] snap = createSnapshot();
+		for (int i = 0; i < ControllerCommStats.MIN_ROUND_TRIPS; i++)
+			cs.recordRoundTrip(bucketTop(16));
+		assertTrue(cs.takeRoundTrip(snap));
+		assertTrue(LatencyHistogram.getCount(snap) ==
+			ControllerCommStats.MIN_ROUND_TRIPS);
+		assertTrue("65 / 65 / 65".equals(
+			ControllerCommStats.formatRoundTrip(snap)));
+	}
+
+	public void testFewSamples() {
+		ControllerCommStats cs = new ControllerCommStats();
+		int[] snap = createSnapshot();
+		// one poll per period: keep accumulating samples
+		for (int p = 1; p < ControllerCommStats.MAX_PERIODS; p++) {
+			cs.recordRoundTrip(bucketTop(10 + p));
+			assertFalse(cs.takeRoundTrip(snap));
+		}
+		cs.recordRoundTrip(bucketTop(20));
+		assertTrue(cs.takeRoundTrip(snap));
+		assertTrue(LatencyHistogram.getCount(snap) ==
+			ControllerCommStats.MAX_PERIODS);
+		assertTrue("32 / 524 / 1048".equals(
+			ControllerCommStats.formatRoundTrip(snap)));
+		// a new window starts
+		cs.recordRoundTrip(bucketTop(16));
+		assertFalse(cs.takeRoundTrip(snap));
+	}
+
+	public void testStopped() {
+		ControllerCommStats cs = new ControllerCommStats();
+		int[] snap = createSnapshot();
+		for (int p = 1; p < ControllerCommStats.MAX_PERIODS; p++)
+			assertFalse(cs.takeRoundTrip(snap));
+		// a controller which stopped polling is cleared
+		assertTrue(cs.takeRoundTrip(snap));
+		assertTrue(ControllerCommStats.formatRoundTrip(snap) == null);
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import junit.framework.TestCase;
+
+/**
+ * Corridor manager tests
+ *
+ * @author Douglas Lau
+ */
+public class CorridorManagerTest extends TestCase {
+
+	/** Number of corridors in test network */
+	static private final int N_CORRIDORS = 5;
+
+	/** Number of stations in each corridor */
+	static private final int N_STATIONS = 200;
+
+	/** Test station, with data depending on the upstream station */
+	static private class TestStation {
+		private final TestStation upstream;
+		private final int sample;
+		private long data;
+		private TestStation(TestStation up, int s) {
+			upstream = up;
+			sample = s;
+		}
+		private void calculateData() {
+			// simulate some work, so partitions overlap
+			long d = sample;
+			for (int i = 0; i < 1000; i++)
+				d = (d * 31 + i) % 1000003;
+			data = (upstream != null)
+			      ? upstream.data * 7 + d
+			      : d;
+		}
+	}
+
+	/** Create a test network, partitioned by corridor */
+	static private TreeMap<String, ArrayList<TestStation>> createNetwork() {
+		TreeMap<String, ArrayList<TestStation>> net =
+			new TreeMap<String, ArrayList<TestStation>>();
+		for (int c = 0; c < N_CORRIDORS; c++) {
+			ArrayList<TestStation> cor =
+				new ArrayList<TestStation>();
+			TestStation up = null;
+			for (int s = 0; s < N_STATIONS; s++) {
+				up = new TestStation(up, c * N_STATIONS + s);
+				cor.add(up);
+			}
+			net.put("C" + c, cor);
+		}
+		return net;
+	}
+
+	/** Task to calculate station data */
+	static private final CorridorManager.ItemTask<TestStation> CALC =
+		new CorridorManager.ItemTask<TestStation>()
+	{
+		public void perform(TestStation ts) {
+			ts.calculateData();
+		}
+	};
+
+	/** Get calculated data of all stations */
+	static private ArrayList<Long> getData(
+		TreeMap<String, ArrayList<TestStation>> net)
+	{
+		ArrayList<Long> data = new ArrayList<Long>();
+		for (List<TestStation> cor: net.values()) {
+			for (TestStation ts: cor)
+				data.add(ts.data);
+		}
+		return data;
+	}
+
+	public void testPartitions() {
+		TreeMap<String, ArrayList<TestStation>> serial =
+			createNetwork();
+		for (List<TestStation> cor: serial.values()) {
+			for (TestStation ts: cor)
+				CALC.perform(ts);
+		}
+		for (int i = 0; i < 10; i++) {
+			TreeMap<String, ArrayList<TestStation>> net =
+				createNetwork();
+			CorridorManager.invokePartitions(net.values(), CALC);
+			assertTrue(getData(net).equals(getData(serial)));
+		}
+	}
+
+	public void testPartitionException() {
+		TreeMap<String, ArrayList<TestStation>> net = createNetwork();
+		net.get("C2").add(2, null);
+		try {
+			CorridorManager.invokePartitions(net.values(), CALC);
+			fail();
+		}
+		catch (RuntimeException e) {
+			assertTrue(e.getCause() instanceof
+				NullPointerException);
+		}
+		// other corridors are still calculated
+		assertTrue(net.get("C4").get(N_STATIONS - 1).data != 0);
+	}
+
+	public void testException() {
+		ArrayList<Callable<Void>> tasks =
+			new ArrayList<Callable<Void>>();
+		tasks.add(new Callable<Void>() {
+			public Void call() {
+				return null;
+			}
+		});
+		tasks.add(new Callable<Void>() {
+			public Void call() {
+				throw new IllegalStateException("bad corridor");
+			}
+		});
+		try {
+			CorridorManager.invokeAll(tasks);
+			fail();
+		}
+		catch (RuntimeException e) {
+			assertTrue(e.getCause() instanceof
+				IllegalStateException);
+		}
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import junit.framework.TestCase;
+
+/**
+ * Live sensor parser tests
+ *
+ * @author Douglas Lau
+ */
+public class LiveSensorParserTest extends TestCase {
+
+	/** Time stamp of test documents */
+	static private final String STAMP = "2026-05-04T12:00:30-05:00";
+
+	/** End of period for test documents */
+	static private final long END = 1777914030000L;
+
+	/** Parser which records samples instead of storing them */
+	static private class TestParser extends LiveSensorParser {
+		private final HashMap<String, int[]> samples =
+			new HashMap<String, int[]>();
+		@Override
+		protected void storeSample(String sid, int flow, int speed) {
+			samples.put(sid, new int[] { flow, speed });
+		}
+		private int parse(String doc, long st) throws IOException {
+			return parse(new BufferedInputStream(
+				new ByteArrayInputStream(doc.getBytes(
+				StandardCharsets.UTF_8))), st);
+		}
+	}
+
+	/** Create a test document */
+	static private String document(int n_sensors) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("{\n\"time_stamp\":\"");
+		sb.append(STAMP);
+		sb.append("\",\n\"period\":30,\n\"samples\":{");
+		for (int i = 0; i < n_sensors; i++) {
+			if (i > 0)
+				sb.append(',');
+			sb.append("\n\"");
+			sb.append(i);
+			sb.append("\":[");
+			sb.append(i % 2400);
+			sb.append(',');
+			if (i % 10 == 0)
+				sb.append("null");
+			else
+				sb.append(i % 80);
+			sb.append(']');
+		}
+		sb.append("\n}\n}\n");
+		return sb.toString();
+	}
+
+	public void testParse() throws IOException {
+		TestParser p = new TestParser();
+		String doc = "{ \"time_stamp\": \"" + STAMP + "\", " +
+			"\"period\": 30, \"extra\": [1, {\"a\": \"]\"}], " +
+			"\"samples\": { \"D100\": [360, 55], " +
+			"\"D\\\"2\": [0, null], \"D3\": [720.5, 42.9] } }";
+		assertTrue(p.parse(doc, END) == 3);
+		assertTrue(p.samples.get("D100")[0] == 360);
+		assertTrue(p.samples.get("D100")[1] == 55);
+		assertTrue(p.samples.get("D\"2")[0] == 0);
+		assertTrue(p.samples.get("D\"2")[1] == Integer.MIN_VALUE);
+		assertTrue(p.samples.get("D3")[0] == 720);
+		assertTrue(p.samples.get("D3")[1] == 42);
+	}
+
+	public void testInvalidStamp() throws IOException {
+		TestParser p = new TestParser();
+		assertTrue(p.parse(document(10), END + 30000) == 0);
+		assertTrue(p.samples.isEmpty());
+	}
+
+	public void testTruncated() {
+		TestParser p = new TestParser();
+		String doc = document(10);
+		try {
+			p.parse(doc.substring(0, doc.length() / 2), END);
+			fail();
+		}
+		catch (IOException e) {
+			// expected
+		}
+	}
+
+	public void testKeyOrder() throws IOException {
+		TestParser p = new TestParser();
+		String doc = "{ \"samples\": { \"D1\": [360, 55] }, " +
+			"\"period\": 30, \"time_stamp\": \"" + STAMP + "\" }";
+		assertTrue(p.parse(doc, END) == 1);
+		assertTrue(p.samples.get("D1")[0] == 360);
+		assertTrue(p.parse(doc, END + 30000) == 0);
+	}
+
+	public void testEmpty() throws IOException {
+		TestParser p = new TestParser();
+		String doc = "{ \"time_stamp\": \"" + STAMP + "\", " +
+			"\"period\": 30, \"samples\": [] }";
+		assertTrue(p.parse(doc, END) == 0);
+		doc = "{ \"time_stamp\": \"" + STAMP + "\", " +
+			"\"period\": 30, \"samples\": { \"D1\": [ ] } }";
+		assertTrue(p.parse(doc, END) == 1);
+		assertTrue(p.samples.get("D1")[0] == Integer.MIN_VALUE);
+		assertTrue(p.samples.get("D1")[1] == Integer.MIN_VALUE);
+	}
+
+	public void testNonAscii() throws IOException {
+		TestParser p = new TestParser();
+		String doc = "{ \"time_stamp\": \"" + STAMP + "\", " +
+			"\"period\": 30, \"samples\": { \"Zürich_Süd\": " +
+			"[360, 55], \"\u65e5\u672c\": [720, 42] } }";
+		assertTrue(p.parse(doc, END) == 2);
+		assertTrue(p.samples.get("Zürich_Süd")[0] == 360);
+		assertTrue(p.samples.get("\u65e5\u672c")[1] == 42);
+	}
+
+	public void testLarge() throws IOException {
+		TestParser p = new TestParser();
+		String doc = document(20000);
+		assertTrue(p.parse(doc, END) == 20000);
+		assertTrue(p.samples.get("19999")[0] == 19999 % 2400);
+		assertTrue(p.samples.get("19999")[1] == 19999 % 80);
+		assertTrue(p.samples.get("10")[1] == Integer.MIN_VALUE);
+	}
+}
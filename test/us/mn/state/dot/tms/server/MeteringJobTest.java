@@ -0,0 +1,162 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import junit.framework.TestCase;
+
+/**
+ * Metering job tests
+ *
+ * @author Douglas Lau
+ */
+public class MeteringJobTest extends TestCase {
+
+	/** Time to wait for a busy corridor to finish (ms) */
+	static private final long WAIT_MS = 10000;
+
+	/** Partition meter names ("corridor:meter") */
+	static private TreeMap<String, ArrayList<String>> partition(
+		String[] meters, Set<String> skip)
+	{
+		TreeMap<String, ArrayList<String>> parts =
+			new TreeMap<String, ArrayList<String>>();
+		for (String m: meters) {
+			String cid = m.substring(0, m.indexOf(':'));
+			boolean added = MeteringJob.addPartition(parts, cid, m,
+				skip);
+			assertTrue(added != skip.contains(cid));
+		}
+		return parts;
+	}
+
+	public void testPartition() {
+		Set<String> none = Collections.<String>emptySet();
+		String[] a = { "I-94 EB:M1", "I-35W NB:M2", "I-94 EB:M3",
+			"US 169 SB:M4", "I-35W NB:M5" };
+		String[] b = { "US 169 SB:M4", "I-35W NB:M2", "I-35W NB:M5",
+			"I-94 EB:M1", "I-94 EB:M3" };
+		TreeMap<String, ArrayList<String>> pa = partition(a, none);
+		TreeMap<String, ArrayList<String>> pb = partition(b, none);
+		// same partitions, regardless of corridor interleaving
+		assertTrue(pa.equals(pb));
+		assertTrue(new ArrayList<String>(pa.keySet()).equals(
+			Arrays.asList("I-35W NB", "I-94 EB", "US 169 SB")));
+		assertTrue(pa.get("I-94 EB").equals(
+			Arrays.asList("I-94 EB:M1", "I-94 EB:M3")));
+		Set<String> skip = new HashSet<String>();
+		skip.add("I-35W NB");
+		TreeMap<String, ArrayList<String>> ps = partition(a, skip);
+		assertTrue(ps.size() == 2);
+		assertFalse(ps.containsKey("I-35W NB"));
+	}
+
+	/** Create a task which waits for a latch, ignoring interrupts (like
+	 * a slow calculation, which is not stopped by cancelling) */
+	static private Callable<Void> createWaitTask(final CountDownLatch l) {
+		return new Callable<Void>() {
+			public Void call() {
+				while (l.getCount() > 0) {
+					try {
+						l.await();
+					}
+					catch (InterruptedException e) {
+						// keep waiting
+					}
+				}
+				return null;
+			}
+		};
+	}
+
+	/** Create a task which does nothing */
+	static private Callable<Void> createTask() {
+		return new Callable<Void>() {
+			public Void call() {
+				return null;
+			}
+		};
+	}
+
+	/** Get a deadline after a number of milliseconds */
+	static private long deadline(long ms) {
+		return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ms);
+	}
+
+	/** Wait until a corridor is not busy */
+	static private boolean waitNotBusy(String cid)
+		throws InterruptedException
+	{
+		long end = System.currentTimeMillis() + WAIT_MS;
+		while (MeteringJob.copyBusy().contains(cid)) {
+			if (System.currentTimeMillis() >= end)
+				return false;
+			Thread.sleep(10);
+		}
+		return true;
+	}
+
+	public void testDeadline() throws InterruptedException {
+		CountDownLatch l = new CountDownLatch(1);
+		TreeMap<String, Callable<Void>> tasks =
+			new TreeMap<String, Callable<Void>>();
+		tasks.put("fast", createTask());
+		tasks.put("slow", createWaitTask(l));
+		try {
+			long d = deadline(500);
+			assertFalse(MeteringJob.invokeAll(tasks, d));
+			// late corridor stays busy (skipped next cycle)
+			Set<String> busy = MeteringJob.copyBusy();
+			assertTrue(busy.contains("slow"));
+			assertFalse(busy.contains("fast"));
+		}
+		finally {
+			l.countDown();
+		}
+		assertTrue(waitNotBusy("slow"));
+		tasks.put("slow", createTask());
+		assertTrue(MeteringJob.invokeAll(tasks, deadline(WAIT_MS)));
+		// a deadline which already passed
+		assertFalse(MeteringJob.invokeAll(tasks, deadline(-1)));
+	}
+
+	public void testException() {
+		TreeMap<String, Callable<Void>> tasks =
+			new TreeMap<String, Callable<Void>>();
+		tasks.put("ok", createTask());
+		tasks.put("bad", new Callable<Void>() {
+			public Void call() {
+				throw new IllegalStateException("bad corridor");
+			}
+		});
+		try {
+			MeteringJob.invokeAll(tasks, deadline(WAIT_MS));
+			fail();
+		}
+		catch (RuntimeException e) {
+			assertTrue(e.getCause() instanceof
+				IllegalStateException);
+		}
+		assertFalse(MeteringJob.copyBusy().contains("bad"));
+	}
+}
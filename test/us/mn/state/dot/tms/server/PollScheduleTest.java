@@ -0,0 +1,86 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.ArrayList;
+import junit.framework.TestCase;
+
+/**
+ * Poll schedule tests
+ *
+ * @author Douglas Lau
+ */
+public class PollScheduleTest extends TestCase {
+
+	/** Number of comm links to place */
+	static private final int N_LINKS = 1500;
+
+	/** Place links in a schedule */
+	static private ArrayList<PollSchedule.Slot> placeAll(
+		PollSchedule sched, int period_sec)
+	{
+		ArrayList<PollSchedule.Slot> slots =
+			new ArrayList<PollSchedule.Slot>();
+		for (int i = 0; i < N_LINKS; i++)
+			slots.add(sched.place("CL" + i, period_sec));
+		return slots;
+	}
+
+	public void testSpread() {
+		PollSchedule sched = new PollSchedule();
+		ArrayList<PollSchedule.Slot> slots = placeAll(sched, 30);
+		int[] per_sec = new int[30];
+		for (PollSchedule.Slot sl: slots) {
+			assertTrue(sl.offset_ms >= 0);
+			assertTrue(sl.offset_ms < PollSchedule.END_MS);
+			per_sec[sl.offset_ms / 1000]++;
+		}
+		int peak = 0;
+		for (int n: per_sec)
+			peak = Math.max(peak, n);
+		// 48 slots of 250 ms; 4 per second
+		assertTrue(sched.getPeakLoad(30) <= N_LINKS / 48 + 1);
+		assertTrue(peak <= 4 * (N_LINKS / 48 + 1));
+	}
+
+	public void testShortPeriod() {
+		PollSchedule sched = new PollSchedule();
+		for (PollSchedule.Slot sl: placeAll(sched, 5))
+			assertTrue(sl.offset_ms < 5000);
+		for (PollSchedule.Slot sl: placeAll(sched, 1))
+			assertTrue(sl.offset_ms < 1000);
+	}
+
+	public void testDeterministic() {
+		ArrayList<PollSchedule.Slot> a = placeAll(new PollSchedule(),
+			30);
+		ArrayList<PollSchedule.Slot> b = placeAll(new PollSchedule(),
+			30);
+		for (int i = 0; i < N_LINKS; i++)
+			assertTrue(a.get(i).offset_ms == b.get(i).offset_ms);
+	}
+
+	public void testRelease() {
+		PollSchedule sched = new PollSchedule();
+		ArrayList<PollSchedule.Slot> slots = placeAll(sched, 60);
+		int peak = sched.getPeakLoad(60);
+		for (PollSchedule.Slot sl: slots)
+			sched.release(sl);
+		assertTrue(sched.getPeakLoad(60) == 0);
+		PollSchedule.Slot sl = sched.place("CL0", 60);
+		assertTrue(sl.offset_ms == slots.get(0).offset_ms);
+		assertTrue(peak > 0);
+	}
+}
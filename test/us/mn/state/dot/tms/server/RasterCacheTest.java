@@ -0,0 +1,83 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.SignConfig;
+
+/**
+ * Raster cache tests
+ *
+ * @author Douglas Lau
+ */
+public class RasterCacheTest extends TestCase {
+
+	/** Create a sign config proxy */
+	static private SignConfig createConfig() {
+		InvocationHandler h = new InvocationHandler() {
+			public Object invoke(Object p, Method m, Object[] a) {
+				return null;
+			}
+		};
+		return (SignConfig) Proxy.newProxyInstance(
+			SignConfig.class.getClassLoader(),
+			new Class<?>[] { SignConfig.class }, h);
+	}
+
+	public void testLookup() {
+		RasterCache rc = new RasterCache();
+		SignConfig sc = createConfig();
+		assertTrue(rc.lookup(sc, 0, "A") == null);
+		rc.put("A", true);
+		assertTrue(rc.lookup(sc, 0, "B") == null);
+		rc.put("B", false);
+		assertTrue(rc.lookup(sc, 0, "A"));
+		assertFalse(rc.lookup(sc, 0, "B"));
+	}
+
+	public void testSerial() {
+		RasterCache rc = new RasterCache();
+		SignConfig sc = createConfig();
+		rc.lookup(sc, 0, "A");
+		rc.put("A", true);
+		// a font, glyph or graphic changed
+		assertTrue(rc.lookup(sc, 1, "A") == null);
+		rc.put("A", false);
+		assertFalse(rc.lookup(sc, 1, "A"));
+	}
+
+	public void testConfig() {
+		RasterCache rc = new RasterCache();
+		SignConfig sc = createConfig();
+		rc.lookup(sc, 0, "A");
+		rc.put("A", true);
+		assertTrue(rc.lookup(createConfig(), 0, "A") == null);
+		assertTrue(rc.lookup(null, 0, "A") == null);
+	}
+
+	public void testFull() {
+		RasterCache rc = new RasterCache();
+		for (int i = 0; i < RasterCache.MAX_CHECKS; i++) {
+			assertTrue(rc.lookup(null, 0, "M" + i) == null);
+			rc.put("M" + i, true);
+		}
+		assertTrue(rc.lookup(null, 0, "M0") == null);
+		rc.put("M0", true);
+		assertTrue(rc.lookup(null, 0, "M0"));
+	}
+}
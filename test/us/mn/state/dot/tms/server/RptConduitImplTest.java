@@ -0,0 +1,111 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.concurrent.CountDownLatch;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.RptGenEnum;
+import us.mn.state.dot.tms.TMSException;
+import us.mn.state.dot.tms.reports.RptRequest;
+import us.mn.state.dot.tms.reports.RptResultItem;
+import us.mn.state.dot.tms.reports.RptResults;
+import us.mn.state.dot.tms.server.reports.RptGen;
+
+/**
+ * Report conduit tests.  Results are checked as the client receives them
+ * (parsed from the results attribute).
+ *
+ * @author Douglas Lau
+ */
+public class RptConduitImplTest extends TestCase {
+
+	/** Generator which adds rows until checkResults fails */
+	static private class UnlimitedGen extends RptGen {
+		@Override
+		public RptGenEnum getEnum() {
+			return RptGenEnum.RPTGEN_SIGN_EVENTS;
+		}
+		@Override
+		public void generateReport(SQLConnection store,
+			RptRequest request, RptResults results)
+			throws TMSException
+		{
+			for (long i = 0; ; i++) {
+				checkResults(results);
+				results.addRptRecord(new RptResultItem(i, "V1",
+					"user", "row " + i));
+			}
+		}
+	}
+
+	/** Get results received by a client for one page */
+	static private RptResults clientPage(RptConduitImpl rc, int p) {
+		rc.setPage(p);
+		RptResults res = new RptResults();
+		res.initFromResultsString(rc.getResults());
+		return res;
+	}
+
+	public void testRowLimit() {
+		RptResults res = new RptResults();
+		RptConduitImpl.runGenerator(new UnlimitedGen(), null, null,
+			res);
+		assertTrue(res.resultsSize() == RptGen.MAX_ROWS);
+		RptConduitImpl rc = new RptConduitImpl("rpt_limit");
+		rc.setRptResults(res);
+		int n_pages = RptGen.MAX_ROWS / RptConduitImpl.PAGE_ROWS;
+		assertTrue(rc.getPageCount() == n_pages);
+		String msg = "Report limited to " + RptGen.MAX_ROWS + " rows";
+		RptResults c = clientPage(rc, 0);
+		assertTrue(c.resultsSize() == RptConduitImpl.PAGE_ROWS);
+		assertTrue(c.getExceptions().contains(msg));
+		c = clientPage(rc, n_pages - 1);
+		assertTrue(c.resultsSize() == RptConduitImpl.PAGE_ROWS);
+		assertTrue(c.getExceptions().contains(msg));
+	}
+
+	public void testQueueFull() throws InterruptedException {
+		final CountDownLatch busy = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		Runnable block = new Runnable() {
+			public void run() {
+				busy.countDown();
+				try {
+					release.await();
+				}
+				catch (InterruptedException e) {
+					// done blocking
+				}
+			}
+		};
+		try {
+			RptConduitImpl.executor.submit(block);
+			busy.await();
+			for (int i = 0; i < RptConduitImpl.MAX_QUEUED; i++)
+				RptConduitImpl.executor.submit(block);
+			RptConduitImpl rc = new RptConduitImpl("rpt_full");
+			rc.setRequest("{gen_list: }");
+			assertTrue(rc.getPageCount() == 1);
+			RptResults c = new RptResults();
+			c.initFromResultsString(rc.getResults());
+			assertTrue(c.resultsSize() == 0);
+			assertTrue(c.getExceptions().contains(
+				"Report queue full"));
+		}
+		finally {
+			release.countDown();
+		}
+	}
+}
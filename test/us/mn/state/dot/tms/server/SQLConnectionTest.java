@@ -0,0 +1,67 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.TMSException;
+
+/**
+ * SQL connection tests
+ *
+ * @author Douglas Lau
+ */
+public class SQLConnectionTest extends TestCase {
+
+	/** Simple storable row */
+	static private class Row implements Storable {
+		private final String table;
+		private final HashMap<String, Object> cols =
+			new HashMap<String, Object>();
+		private Row(String t, Object a, Object b) {
+			table = t;
+			cols.put("a", a);
+			cols.put("b", b);
+		}
+		public String getTable() { return table; }
+		public String getPKeyName() { return "name"; }
+		public String getPKey() { return null; }
+		public Map<String, Object> getColumns() { return cols; }
+	}
+
+	public void testCreateSql() throws TMSException {
+		ArrayList<Row> rows = new ArrayList<Row>();
+		rows.add(new Row("event.test", 1, "it's"));
+		rows.add(new Row("event.test", null, "x"));
+		assertTrue(SQLConnection.createSql(rows).equals(
+			"INSERT INTO event.test (a,b) VALUES " +
+			"('1','it''s'),(DEFAULT,'x');"));
+	}
+
+	public void testMixedTables() {
+		ArrayList<Row> rows = new ArrayList<Row>();
+		rows.add(new Row("event.test", 1, 2));
+		rows.add(new Row("event.other", 1, 2));
+		try {
+			SQLConnection.createSql(rows);
+			fail();
+		}
+		catch (TMSException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.ArrayList;
+import junit.framework.TestCase;
+import us.mn.state.dot.sched.TimeSteward;
+
+/**
+ * Sign message reference counting tests
+ *
+ * @author Douglas Lau
+ */
+public class SignMessageReapTest extends TestCase {
+
+	/** Time after grace period has elapsed */
+	static long later() {
+		return TimeSteward.currentTimeMillis() + 3 * 60 * 1000;
+	}
+
+	public void testRefCount() {
+		SignMessageImpl.takeReapable(later());
+		SignMessageImpl a = new SignMessageImpl("msg_a");
+		SignMessageImpl b = new SignMessageImpl("msg_b");
+		SignMessageImpl.addRef(a);
+		assertTrue(a.isReferenced());
+		assertFalse(b.isReferenced());
+		assertTrue(SignMessageImpl.takeReapable(
+			TimeSteward.currentTimeMillis()).isEmpty());
+		ArrayList<SignMessageImpl> msgs =
+			SignMessageImpl.takeReapable(later());
+		assertTrue(msgs.size() == 1);
+		assertTrue(msgs.get(0) == b);
+		SignMessageImpl.addRef(a);
+		SignMessageImpl.release(a);
+		assertTrue(a.isReferenced());
+		SignMessageImpl.release(a);
+		assertFalse(a.isReferenced());
+		// referenced again before grace period elapsed
+		SignMessageImpl.addRef(a);
+		assertTrue(SignMessageImpl.takeReapable(later()).isEmpty());
+		SignMessageImpl.release(a);
+		msgs = SignMessageImpl.takeReapable(later());
+		assertTrue(msgs.size() == 1);
+		assertTrue(msgs.get(0) == a);
+		assertTrue(SignMessageImpl.takeReapable(later()).isEmpty());
+	
+	}
+
+	public void testUnderflow() {
+		SignMessageImpl.takeReapable(later());
+		SignMessageImpl a = new SignMessageImpl("msg_a");
+		assertTrue(SignMessageImpl.takeReapable(later()).size() == 1);
+		// release without a reference does not free again
+		SignMessageImpl.release(a);
+		assertTrue(SignMessageImpl.takeReapable(later()).isEmpty());
+		SignMessageImpl.addRef(a);
+		assertTrue(a.isReferenced());
+		SignMessageImpl.release(a);
+		assertFalse(a.isReferenced());
+		assertTrue(SignMessageImpl.takeReapable(later()).size() == 1);
+	}
+}
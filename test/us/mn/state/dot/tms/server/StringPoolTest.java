@@ -0,0 +1,48 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import junit.framework.TestCase;
+
+/**
+ * String pool tests
+ *
+ * @author Douglas Lau
+ */
+public class StringPoolTest extends TestCase {
+
+	/** Create a new string instance (like a database row value) */
+	static String fresh(String s) {
+		return new String(s.toCharArray());
+	}
+
+	public void testIntern() {
+		assertTrue(StringPool.intern(null) == null);
+		String a = StringPool.intern(fresh("test string"));
+		String b = StringPool.intern(fresh("test string"));
+		assertTrue(a == b);
+		assertTrue(a.equals("test string"));
+		assertTrue(StringPool.intern(fresh("other")) != a);
+	}
+
+	public void testGeoLoc() {
+		GeoLocImpl a = new GeoLocImpl("loc_a", fresh("r_node"));
+		GeoLocImpl b = new GeoLocImpl("loc_b", fresh("r_node"));
+		a.setLandmark(fresh("Mall of America"));
+		b.setLandmark(fresh("Mall of America"));
+		assertTrue(a.getLandmark() == b.getLandmark());
+		assertTrue(a.getLandmark().equals("Mall of America"));
+	}
+}
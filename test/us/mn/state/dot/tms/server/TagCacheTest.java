@@ -0,0 +1,163 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import junit.framework.TestCase;
+import us.mn.state.dot.sonar.Namespace;
+import us.mn.state.dot.sonar.SonarException;
+import us.mn.state.dot.sonar.server.ServerNamespace;
+import us.mn.state.dot.tms.BaseHelper;
+import us.mn.state.dot.tms.GeoLoc;
+import us.mn.state.dot.tms.R_Node;
+import us.mn.state.dot.tms.Station;
+import static us.mn.state.dot.tms.SystemAttrEnum.ROUTE_MAX_LEGS;
+
+/**
+ * Tag cache tests
+ *
+ * @author Douglas Lau
+ */
+public class TagCacheTest extends TestCase {
+
+	/** Create a proxy for an interface */
+	static private <T> T createProxy(Class<T> c, InvocationHandler h) {
+		return c.cast(Proxy.newProxyInstance(c.getClassLoader(),
+			new Class<?>[] { c }, h));
+	}
+
+	/** Create a location at a latitude */
+	static private GeoLoc createLoc(final double lat) {
+		return createProxy(GeoLoc.class, new InvocationHandler() {
+			public Object invoke(Object p, Method m, Object[] a) {
+				if ("getLat".equals(m.getName()))
+					return lat;
+				else if ("getLon".equals(m.getName()))
+					return -93.0;
+				else if ("getRoadDir".equals(m.getName()))
+					return (short) 0;
+				else
+					return null;
+			}
+		});
+	}
+
+	/** Create a station at a location */
+	static private Station createStation(GeoLoc loc) {
+		final R_Node n = createProxy(R_Node.class,
+			new InvocationHandler()
+		{
+			public Object invoke(Object p, Method m, Object[] a) {
+				return "getGeoLoc".equals(m.getName())
+				      ? loc
+				      : null;
+			}
+		});
+		return createProxy(Station.class, new InvocationHandler() {
+			public Object invoke(Object p, Method m, Object[] a) {
+				return "getR_Node".equals(m.getName())
+				      ? n
+				      : null;
+			}
+		});
+	}
+
+	/** Tag cache which counts created routes */
+	static private class TestCache extends TagCache {
+		private int n_created = 0;
+		private boolean found = true;
+		@Override Route createRoute(CorridorManager cm, GeoLoc org,
+			GeoLoc dest)
+		{
+			n_created++;
+			return found ? new Route(dest) : null;
+		}
+	}
+
+	/** Saved namespace */
+	private Namespace ns;
+
+	/** Test namespace */
+	private ServerNamespace sns;
+
+	@Override
+	protected void setUp() {
+		ns = BaseHelper.namespace;
+		sns = new ServerNamespace();
+		BaseHelper.namespace = sns;
+	}
+
+	@Override
+	protected void tearDown() {
+		BaseHelper.namespace = ns;
+	}
+
+	public void testRoute() {
+		TestCache tc = new TestCache();
+		tc.clearValues();
+		GeoLoc org = createLoc(45.0);
+		Station s1 = createStation(createLoc(45.1));
+		Station s2 = createStation(createLoc(45.2));
+		Route r = tc.findRoute(org, s1);
+		assertTrue(r != null);
+		assertTrue(tc.findRoute(org, s1) == r);
+		assertTrue(tc.n_created == 1);
+		tc.findRoute(org, s2);
+		assertTrue(tc.n_created == 2);
+		// routes are kept for later cycles
+		tc.clearValues();
+		assertTrue(tc.findRoute(org, s1) == r);
+		assertTrue(tc.n_created == 2);
+	}
+
+	public void testNoRoute() {
+		TestCache tc = new TestCache();
+		tc.clearValues();
+		GeoLoc org = createLoc(45.0);
+		Station s = createStation(createLoc(45.1));
+		tc.found = false;
+		assertTrue(tc.findRoute(org, s) == null);
+		assertTrue(tc.findRoute(org, s) == null);
+		assertTrue(tc.n_created == 1);
+		// no route is only kept for one cycle
+		tc.found = true;
+		tc.clearValues();
+		assertTrue(tc.findRoute(org, s) != null);
+		assertTrue(tc.n_created == 2);
+	}
+
+	public void testRouteParams() throws SonarException {
+		TestCache tc = new TestCache();
+		tc.clearValues();
+		GeoLoc org = createLoc(45.0);
+		Station s = createStation(createLoc(45.1));
+		Route r = tc.findRoute(org, s);
+		SystemAttributeImpl legs = new SystemAttributeImpl(
+			ROUTE_MAX_LEGS.aname());
+		legs.setValue("4");
+		sns.addObject(legs);
+		assertTrue(ROUTE_MAX_LEGS.getInt() == 4);
+		// a route finder attribute change clears routes next cycle
+		tc.clearValues();
+		Route r2 = tc.findRoute(org, s);
+		assertTrue(r2 != null && r2 != r);
+		assertTrue(tc.n_created == 2);
+		tc.clearValues();
+		assertTrue(tc.findRoute(org, s) == r2);
+		assertTrue(tc.n_created == 2);
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.util.Random;
+import junit.framework.TestCase;
+
+/**
+ * Tag matcher tests
+ *
+ * @author Douglas Lau
+ */
+public class TagMatcherTest extends TestCase {
+
+	/** Start time stamp for tests */
+	static final long START = 1700000000000L;
+
+	/** One minute (ms) */
+	static final long MINUTE = 60 * 1000;
+
+	public void testMatch() {
+		TagMatcher tm = new TagMatcher();
+		for (int i = 0; i < 10; i++) {
+			long st = START + i * 1000;
+			assertFalse(tm.record("A", st, TagType.SeGo, 1, i));
+			// duplicate read at same reader
+			assertFalse(tm.record("A", st + 50, TagType.SeGo, 1,
+				i));
+			assertTrue(tm.record("B", st + 120000, TagType.SeGo,
+				1, i));
+		}
+		// same tag ID, different agency
+		assertFalse(tm.record("B", START, TagType.SeGo, 2, 0));
+		long now = START + 10 * MINUTE;
+		int[] tt = tm.getTravelTimes("A", "B", now);
+		assertTrue(tt.length == 10);
+		assertTrue(TagMatcher.getPercentile(tt, 50) == 119);
+		assertTrue(tm.getTravelTimes("B", "A", now).length == 0);
+		assertTrue(tm.getTravelTimes("A", "C", now).length == 0);
+		assertTrue(tm.getMatchedCount() == 10);
+		// outside rolling window
+		now += TagMatcher.ROLLING_MS;
+		assertTrue(tm.getTravelTimes("A", "B", now).length == 0);
+	}
+
+	public void testExpire() {
+		TagMatcher tm = new TagMatcher();
+		assertFalse(tm.record("A", START, TagType.IAG, null, 5));
+		assertTrue(tm.record("B", START + 29 * MINUTE, TagType.IAG,
+			null, 5));
+		assertFalse(tm.record("C", START + 60 * MINUTE, TagType.IAG,
+			null, 5));
+		// read too old for time buckets
+		assertFalse(tm.record("D", START, TagType.IAG, null, 5));
+		assertTrue(TagMatcher.getPercentile(new int[2], 50) == null);
+	}
+
+	/** Number of distinct tags in stream */
+	static private final int N_TAGS = 50000;
+
+	/** Number of readers in a chain */
+	static final int N_READERS = 8;
+
+	/** Reads per minute in stream */
+	static final int READS_PER_MIN = 60000;
+
+	/** Generate a synthetic stream of reads for some minutes.  Each
+	 * read is for a random tag at the next reader along its trip. */
+	static int runStream(TagMatcher tm, int minutes) {
+		Random rng = new Random(42);
+		String[] readers = new String[N_READERS];
+		for (int i = 0; i < N_READERS; i++)
+			readers[i] = "TR" + i;
+		int[] pos = new int[N_TAGS];
+		int matched = 0;
+		long n_reads = (long) minutes * READS_PER_MIN;
+		for (long i = 0; i < n_reads; i++) {
+			long st = START + i * MINUTE / READS_PER_MIN;
+			int tid = rng.nextInt(N_TAGS);
+			int r = pos[tid];
+			pos[tid] = (r + 1) % N_READERS;
+			if (tm.record(readers[r], st, TagType._6C, 7, tid))
+				matched++;
+		}
+		return matched;
+	}
+
+	/** Test matching a synthetic stream of reads */
+	public void testStream() {
+		TagMatcher tm = new TagMatcher();
+		int minutes = 5;
+		int matched = runStream(tm, minutes);
+		assertTrue(matched > minutes * READS_PER_MIN / 2);
+		long now = START + minutes * MINUTE;
+		for (int i = 0; i < N_READERS; i++) {
+			String org = "TR" + i;
+			String dest = "TR" + (i + 1) % N_READERS;
+			int[] tt = tm.getTravelTimes(org, dest, now);
+			assertTrue(tt.length >= TagMatcher.MIN_SAMPLES);
+			assertTrue(tm.getTravelTimes(dest, org, now).length
+				== 0);
+		}
+	}
+}
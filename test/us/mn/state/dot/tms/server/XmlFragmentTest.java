@@ -0,0 +1,132 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.IOException;
+import java.io.Writer;
+import junit.framework.TestCase;
+import static us.mn.state.dot.tms.server.XmlWriter.createAttribute;
+
+/**
+ * XML fragment tests
+ *
+ * @author Douglas Lau
+ */
+public class XmlFragmentTest extends TestCase {
+
+	/** Test object, like a DMS or camera */
+	static class Device {
+		private final String name;
+		private String location;
+		private final double lon;
+		private final double lat;
+		private final Integer width;
+		private final XmlFragment frag = new XmlFragment("dms");
+		Device(int i) {
+			name = "V" + i;
+			location = "I-94 EB @ Exit " + i + " & \"Main\"";
+			lon = -93.0 - i * 0.0001;
+			lat = 45.0 + i * 0.0001;
+			width = (i % 3 == 0) ? null : 96;
+		}
+		/** Write using createAttribute */
+		void writeXml(Writer w) throws IOException {
+			w.write("<dms");
+			w.write(createAttribute("name", name));
+			w.write(createAttribute("description", location));
+			w.write(createAttribute("lon",
+				BaseObjectImpl.formatDouble(lon)));
+			w.write(createAttribute("lat",
+				BaseObjectImpl.formatDouble(lat)));
+			w.write(createAttribute("width_pixels", width));
+			w.write(createAttribute("notes", null));
+			w.write("/>\n");
+		}
+		/** Write using fragment cache */
+		void writeFrag(Writer w) throws IOException {
+			XmlFragment f = frag;
+			f.begin();
+			f.attr("name", name);
+			f.attr("description", location);
+			f.attr("lon", BaseObjectImpl.formatDouble(lon));
+			f.attr("lat", BaseObjectImpl.formatDouble(lat));
+			f.attr("width_pixels", width);
+			f.attr("notes", null);
+			w.write(f.end());
+			w.write("/>\n");
+		}
+	}
+
+	/** Write XML to a string */
+	static private String xml(Device d, boolean frag) throws IOException {
+		java.io.StringWriter w = new java.io.StringWriter();
+		if (frag)
+			d.writeFrag(w);
+		else
+			d.writeXml(w);
+		return w.toString();
+	}
+
+	public void testEscape() {
+		assertTrue(XmlWriter.validateElementValue("abc").equals("abc"));
+		assertTrue(XmlWriter.validateElementValue("a&b<c>'\"")
+			.equals("a&amp;b&lt;c&gt;&apos;&quot;"));
+		assertTrue(XmlWriter.validateElementValue("&amp;")
+			.equals("&amp;amp;"));
+		assertTrue(createAttribute("x", 5).equals(" x='5'"));
+		assertTrue(createAttribute("x", null).equals(""));
+	}
+
+	public void testMatch() throws IOException {
+		for (int i = 0; i < 10; i++) {
+			Device d = new Device(i);
+			assertTrue(xml(d, true).equals(xml(d, false)));
+		}
+	}
+
+	public void testCache() throws IOException {
+		Device d = new Device(1);
+		d.frag.begin();
+		d.frag.attr("name", d.name);
+		String a = d.frag.end();
+		d.frag.begin();
+		d.frag.attr("name", d.name);
+		assertTrue(d.frag.end() == a);
+		d.frag.begin();
+		d.frag.attr("name", d.name);
+		d.frag.attr("notes", "x");
+		String b = d.frag.end();
+		assertTrue(b.equals("<dms name='V1' notes='x'"));
+		d.frag.begin();
+		d.frag.attr("name", d.name);
+		assertTrue(d.frag.end().equals(a));
+		d.location = "changed";
+		assertTrue(xml(d, true).equals(xml(d, false)));
+		assertTrue(xml(d, true).contains("changed"));
+	}
+
+	/** Test an exception while gathering attribute values */
+	public void testAbort() throws IOException {
+		Device d = new Device(2);
+		String a = xml(d, true);
+		d.frag.begin();
+		d.frag.attr("name", d.name);
+		d.frag.attr("description", "changed");
+		// end is never called, as if an exception was thrown
+		d.location = "changed";
+		assertTrue(xml(d, true).equals(xml(d, false)));
+		assertFalse(xml(d, true).equals(a));
+	}
+}
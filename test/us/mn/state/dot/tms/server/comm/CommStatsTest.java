@@ -0,0 +1,84 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm;
+
+import java.util.Arrays;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.CommProtocol;
+
+/**
+ * Comm stats tests
+ *
+ * @author Douglas Lau
+ */
+public class CommStatsTest extends TestCase {
+
+	/** Create a drained snapshot */
+	static private int[] snapshot(LatencyHistogram h) {
+		int[] snap = new int[LatencyHistogram.N_BUCKETS];
+		h.drainTo(snap);
+		return snap;
+	}
+
+	public void testLookup() {
+		CommStats cs = CommStats.lookup(CommProtocol.NTCIP_A);
+		assertTrue(CommStats.lookup(CommProtocol.NTCIP_A) == cs);
+		assertTrue(cs.protocol == CommProtocol.NTCIP_A);
+		assertTrue(Arrays.asList(CommStats.getAll()).contains(cs));
+		// no protocol: not shared or collected
+		CommStats n = CommStats.lookup(null);
+		assertTrue(n != CommStats.lookup(null));
+		assertFalse(Arrays.asList(CommStats.getAll()).contains(n));
+	}
+
+	public void testOperations() {
+		CommStats cs = CommStats.lookup(null);
+		for (int i = 0; i < 5; i++)
+			cs.recordOperation(true);
+		cs.recordOperation(false);
+		assertTrue(cs.drainSuccessOps() == 5);
+		assertTrue(cs.drainFailedOps() == 1);
+		// counts are reset by draining
+		assertTrue(cs.drainSuccessOps() == 0);
+		assertTrue(cs.drainFailedOps() == 0);
+	}
+
+	public void testRoundTrip() {
+		CommStats cs = CommStats.lookup(null);
+		long st = System.nanoTime();
+		cs.recordRoundTrip(null, st);
+		cs.recordRoundTrip(null, st);
+		cs.recordQueueWait(st);
+		assertTrue(cs.round_trip.getCount() == 2);
+		int[] snap = snapshot(cs.round_trip);
+		assertTrue(LatencyHistogram.getCount(snap) == 2);
+		assertTrue(cs.round_trip.getCount() == 0);
+		assertTrue(LatencyHistogram.getCount(snapshot(cs.round_trip))
+			== 0);
+		assertTrue(LatencyHistogram.getCount(snapshot(cs.queue_wait))
+			== 1);
+	}
+
+	public void testDrainAdds() {
+		CommStats cs = CommStats.lookup(null);
+		int[] snap = new int[LatencyHistogram.N_BUCKETS];
+		cs.round_trip.record(1000);
+		cs.round_trip.drainTo(snap);
+		cs.round_trip.record(2000);
+		cs.round_trip.drainTo(snap);
+		// snapshot counts are added to, not replaced
+		assertTrue(LatencyHistogram.getCount(snap) == 2);
+	}
+}
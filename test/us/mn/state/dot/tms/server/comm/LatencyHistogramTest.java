@@ -0,0 +1,88 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm;
+
+import junit.framework.TestCase;
+
+/**
+ * Latency histogram tests
+ *
+ * @author Douglas Lau
+ */
+public class LatencyHistogramTest extends TestCase {
+
+	/** Create a drained snapshot */
+	static private int[] snapshot(LatencyHistogram h) {
+		int[] snap = new int[LatencyHistogram.N_BUCKETS];
+		h.drainTo(snap);
+		return snap;
+	}
+
+	/** Check a value is within bucket precision of another */
+	static private boolean isNear(long v, long e) {
+		return v >= e && v <= e + e / 8 + 1;
+	}
+
+	public void testEmpty() {
+		int[] snap = snapshot(new LatencyHistogram());
+		assertTrue(LatencyHistogram.getCount(snap) == 0);
+		assertTrue(LatencyHistogram.getPercentile(snap, 50) == 0);
+		assertTrue(LatencyHistogram.getMax(snap) == 0);
+	}
+
+	public void testSmall() {
+		LatencyHistogram h = new LatencyHistogram();
+		for (int v = 0; v < 16; v++)
+			h.record(v);
+		int[] snap = snapshot(h);
+		assertTrue(LatencyHistogram.getCount(snap) == 16);
+		assertTrue(LatencyHistogram.getPercentile(snap, 50) == 7);
+		assertTrue(LatencyHistogram.getMax(snap) == 15);
+	}
+
+	public void testPercentile() {
+		LatencyHistogram h = new LatencyHistogram();
+		for (int v = 1; v <= 1000; v++)
+			h.record(v * 1000);
+		int[] snap = snapshot(h);
+		assertTrue(LatencyHistogram.getCount(snap) == 1000);
+		assertTrue(isNear(LatencyHistogram.getPercentile(snap, 50),
+			500000));
+		assertTrue(isNear(LatencyHistogram.getPercentile(snap, 99),
+			990000));
+		assertTrue(isNear(LatencyHistogram.getMax(snap), 1000000));
+	}
+
+	public void testBuckets() {
+		// every value maps to a bucket whose range contains it
+		LatencyHistogram h = new LatencyHistogram();
+		for (long v = 1; v < (1L << 27); v = v * 3 / 2 + 1) {
+			h.record(v);
+			int[] snap = snapshot(h);
+			assertTrue(LatencyHistogram.getCount(snap) == 1);
+			assertTrue(isNear(LatencyHistogram.getMax(snap), v));
+		}
+	}
+
+	public void testDrain() {
+		LatencyHistogram h = new LatencyHistogram();
+		h.record(-5);
+		h.record(Long.MAX_VALUE);
+		int[] snap = snapshot(h);
+		assertTrue(LatencyHistogram.getCount(snap) == 2);
+		assertTrue(LatencyHistogram.getPercentile(snap, 50) == 0);
+		assertTrue(LatencyHistogram.getCount(snapshot(h)) == 0);
+	}
+}
@@ -0,0 +1,281 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.e6;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.CommConfig;
+import us.mn.state.dot.tms.CommLink;
+import us.mn.state.dot.tms.server.TagType;
+import us.mn.state.dot.tms.server.comm.Messenger;
+import us.mn.state.dot.tms.server.comm.MessengerException;
+import us.mn.state.dot.tms.server.comm.PacketMessenger;
+
+/**
+ * E6 packet replay tests.  Packets are replayed from a simulated reader,
+ * through a datagram channel, to a real E6 thread on the shared receiver.
+ *
+ * @author Douglas Lau
+ */
+public class E6ReplayTest extends TestCase {
+
+	/** Number of packets sent in one burst */
+	static final int BURST = 64;
+
+	/** Time to wait for packets from the E6 thread (ms) */
+	static private final long WAIT_MS = 10000;
+
+	/** Create a synthetic 6C tag read packet */
+	static byte[] create6CPacket(int i) {
+		byte[] d = new byte[TagTransaction.TransactionType
+			.epc_6c_read.len];
+		d[0] = 0x70;
+		d[1] = 0x10;
+		d[2] = 0x01;
+		d[3] = (byte) 0xB0;
+		d[4] = 0x3E;
+		// agency 0x123, id in low 28 bits
+		d[9] = 0x12;
+		d[10] = (byte) (0x30 | ((i >> 24) & 0x0F));
+		d[11] = (byte) (i >> 16);
+		d[12] = (byte) (i >> 8);
+		d[13] = (byte) i;
+		int off = d.length - 7;
+		d[off] = 12;                    // hour
+		d[off + 1] = (byte) (i % 60);   // minute
+		d[off + 2] = 30;                // second
+		d[off + 3] = 0;                 // 10s of ms
+		d[off + 4] = 6;                 // month
+		d[off + 5] = 15;                // date
+		d[off + 6] = 26;                // year
+		int n_bytes = d.length + 9;
+		byte[] pkt = new byte[n_bytes];
+		pkt[0] = (byte) (n_bytes >> 8);
+		pkt[1] = (byte) n_bytes;
+		pkt[2] = (byte) i;
+		int c = new Command(CommandGroup.MODE).bits();
+		pkt[3] = (byte) (c >> 8);
+		pkt[4] = (byte) c;
+		int r = Response.COMMAND_COMPLETE.bits();
+		pkt[6] = (byte) (r >> 8);
+		pkt[7] = (byte) r;
+		System.arraycopy(d, 0, pkt, 8, d.length);
+		int xsum = 0;
+		for (int j = 0; j < n_bytes - 1; j++)
+			xsum += pkt[j];
+		pkt[n_bytes - 1] = (byte) xsum;
+		return pkt;
+	}
+
+	/** Create a proxy for an interface, returning default values */
+	static private <T> T createProxy(Class<T> c) {
+		InvocationHandler h = new InvocationHandler() {
+			public Object invoke(Object p, Method m, Object[] a) {
+				return defaultValue(m.getReturnType());
+			}
+		};
+		return c.cast(Proxy.newProxyInstance(c.getClassLoader(),
+			new Class<?>[] { c }, h));
+	}
+
+	/** Get a default value for a proxy method return type */
+	static private Object defaultValue(Class<?> r) {
+		if (r == CommConfig.class)
+			return createProxy(CommConfig.class);
+		else if (r == String.class)
+			return "e6_test";
+		else if (r == boolean.class)
+			return false;
+		else if (r == short.class)
+			return (short) 0;
+		else if (r == int.class)
+			return 0;
+		else if (r == long.class)
+			return 0L;
+		else
+			return null;
+	}
+
+	/** Simulated E6 reader, sending packets to a real E6 thread */
+	static class Reader implements AutoCloseable {
+
+		/** Reader channel */
+		private final DatagramChannel channel;
+
+		/** Selector for reader channel */
+		private final Selector selector;
+
+		/** E6 thread (not started) */
+		final E6Thread thread;
+
+		/** E6 thread messenger (registered with E6Receiver) */
+		private final Messenger messenger;
+
+		/** Received packet buffer */
+		private final ByteBuffer buf = ByteBuffer.allocate(1024);
+
+		/** Number of acks received */
+		int n_acks;
+
+		/** MSN of last ack received */
+		byte last_msn;
+
+		/** Create a new simulated reader */
+		Reader() throws IOException, MessengerException {
+			InetAddress lo = InetAddress.getLoopbackAddress();
+			channel = DatagramChannel.open();
+			channel.bind(new InetSocketAddress(lo, 0));
+			int port = ((InetSocketAddress) channel
+				.getLocalAddress()).getPort();
+			E6Poller poller = new E6Poller(createProxy(
+				CommLink.class));
+			thread = poller.createCommThread("e6_test", 0, 0);
+			messenger = thread.createMessenger(null, "udp://" +
+				lo.getHostAddress() + ":" + port, 0, 0);
+			DatagramChannel ch = ((PacketMessenger) messenger)
+				.getChannel();
+			channel.connect(ch.getLocalAddress());
+			channel.configureBlocking(false);
+			selector = Selector.open();
+			channel.register(selector, SelectionKey.OP_READ);
+		}
+
+		/** Send packets to the E6 thread */
+		void send(ArrayList<byte[]> pkts, int start, int end)
+			throws IOException
+		{
+			for (int i = start; i < end; i++)
+				channel.write(ByteBuffer.wrap(pkts.get(i)));
+		}
+
+		/** Wait for acks from the E6 thread.
+		 * @param n Total number of acks expected.
+		 * @return true if all acks were received. */
+		boolean waitAcks(int n) throws IOException {
+			long end = System.currentTimeMillis() + WAIT_MS;
+			while (n_acks < n) {
+				long ms = end - System.currentTimeMillis();
+				if (ms <= 0)
+					return false;
+				selector.select(ms);
+				selector.selectedKeys().clear();
+				receiveAcks();
+			}
+			return true;
+		}
+
+		/** Wait for the E6 thread to be done.
+		 * @return true if the thread is done. */
+		boolean waitDone() {
+			long end = System.currentTimeMillis() + WAIT_MS;
+			while (!thread.isDone()) {
+				if (System.currentTimeMillis() >= end)
+					return false;
+				try {
+					Thread.sleep(10);
+				}
+				catch (InterruptedException e) {
+					return thread.isDone();
+				}
+			}
+			return true;
+		}
+
+		/** Receive available acks */
+		private void receiveAcks() throws IOException {
+			while (true) {
+				buf.clear();
+				if (channel.read(buf) <= 0)
+					return;
+				// ack data: response (2 bytes), then MSN
+				if (buf.position() == 10) {
+					n_acks++;
+					last_msn = buf.get(8);
+				}
+			}
+		}
+
+		/** Close the simulated reader */
+		@Override
+		public void close() throws IOException {
+			thread.destroy();
+			messenger.close();
+			selector.close();
+			channel.close();
+		}
+	}
+
+	/** Replay packets to a real E6 thread, in bursts.
+	 * @return Number of acks received. */
+	static int replay(ArrayList<byte[]> pkts) throws IOException,
+		MessengerException
+	{
+		try (Reader rdr = new Reader()) {
+			int sent = 0;
+			while (sent < pkts.size()) {
+				int end = Math.min(pkts.size(), sent + BURST);
+				rdr.send(pkts, sent, end);
+				sent = end;
+				if (!rdr.waitAcks(sent))
+					break;
+			}
+			return rdr.n_acks;
+		}
+	}
+
+	public void testTransaction() {
+		byte[] pkt = create6CPacket(0x0ABCDEF);
+		TagTransaction tt = new TagTransaction(pkt, 8, pkt.length - 9);
+		assertTrue(tt.isValidRead());
+		assertTrue(tt.getTagType() == TagType._6C);
+		assertTrue(tt.getAgency() == 0x123);
+		assertTrue(tt.getId() == 0x0ABCDEF);
+	}
+
+	public void testReceive() throws IOException, MessengerException {
+		ArrayList<byte[]> pkts = new ArrayList<byte[]>();
+		for (int i = 0; i < 3 * BURST; i++)
+			pkts.add(create6CPacket(i));
+		assertTrue(replay(pkts) == pkts.size());
+	}
+
+	public void testAck() throws IOException, MessengerException {
+		ArrayList<byte[]> pkts = new ArrayList<byte[]>();
+		pkts.add(create6CPacket(0x2A));
+		byte[] bad = create6CPacket(0x2B);
+		bad[bad.length - 1]++;
+		pkts.add(bad);
+		try (Reader rdr = new Reader()) {
+			rdr.send(pkts, 0, 1);
+			assertTrue(rdr.waitAcks(1));
+			assertTrue(rdr.last_msn == 0x2A);
+			assertFalse(rdr.thread.isDone());
+			// bad checksum fails the thread
+			rdr.send(pkts, 1, 2);
+			assertTrue(rdr.waitDone());
+			assertTrue(rdr.n_acks == 1);
+		}
+	}
+}
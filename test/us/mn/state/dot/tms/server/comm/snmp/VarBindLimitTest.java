@@ -0,0 +1,207 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.snmp;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.server.comm.ntcip.mib1203.*;
+import static us.mn.state.dot.tms.server.comm.ntcip.mib1203.MIB1203.*;
+
+/**
+ * Variable binding limit tests, using a simulated SNMP agent.
+ *
+ * @author Douglas Lau
+ */
+public class VarBindLimitTest extends TestCase {
+
+	/** Simulated SNMP agent, which accepts a limited number of variable
+	 * bindings per PDU.  Each integer value is set to its index within
+	 * the PDU. */
+	static private class Agent extends SNMP {
+
+		/** Maximum variable bindings accepted in one PDU */
+		private int max_vb;
+
+		/** Number of requests received */
+		private int n_requests = 0;
+
+		/** Request stream */
+		private final ByteArrayOutputStream req =
+			new ByteArrayOutputStream()
+		{
+			@Override public void flush() throws IOException {
+				respond(toByteArray());
+				reset();
+			}
+		};
+
+		/** Response stream */
+		private final InputStream resp = new InputStream() {
+			@Override public int read() throws IOException {
+				return (rbuf != null) ? rbuf.read() : -1;
+			}
+			@Override public int read(byte[] b, int off, int len) {
+				return (rbuf != null) ? rbuf.read(b, off, len) : -1;
+			}
+			@Override public int available() {
+				return (rbuf != null) ? rbuf.available() : 0;
+			}
+		};
+
+		/** Response buffer */
+		private ByteArrayInputStream rbuf;
+
+		private Agent(int mx) {
+			max_vb = mx;
+		}
+
+		/** Decode a request and encode a response */
+		private void respond(byte[] data) throws IOException {
+			n_requests++;
+			ByteArrayInputStream is = new ByteArrayInputStream(data);
+			decodeSequence(is);
+			decodeInteger(is);
+			String community = new String(decodeOctetString(is));
+			assertTrue(decodeIdentifier(is) ==
+				SNMPTag.GET_REQUEST);
+			decodeLength(is);
+			int req_id = decodeInteger(is);
+			decodeInteger(is);
+			decodeInteger(is);
+			decodeSequence(is);
+			int n_vb = 0;
+			while (is.available() > 0) {
+				decodeSequence(is);
+				decodeObjectIdentifier(is);
+				assertTrue(decodeIdentifier(is) == ASN1Tag.NULL);
+				decodeLength(is);
+				n_vb++;
+			}
+			boolean too_big = n_vb > max_vb;
+			ByteArrayOutputStream vb = new ByteArrayOutputStream();
+			for (int i = 0; i < n_vb && !too_big; i++) {
+				encodeObjectIdentifier(new int[] { 1, 3, 6, 1 });
+				encodeInteger(i);
+				encodeSequence(getEncodedData());
+				vb.write(getEncodedData());
+			}
+			encodeSequence(vb.toByteArray());
+			byte[] vbl = getEncodedData();
+			encodeInteger(req_id);
+			encodeInteger(too_big ? 1 : 0);
+			encodeInteger(0);
+			encoder.write(vbl);
+			byte[] pdu = getEncodedData();
+			encodeIdentifier(SNMPTag.GET_RESPONSE);
+			encodeLength(pdu.length);
+			encoder.write(pdu);
+			pdu = getEncodedData();
+			encodeInteger(SNMP_VERSION);
+			encodeOctetString(community.getBytes());
+			encoder.write(pdu);
+			encodeSequence(getEncodedData());
+			rbuf = new ByteArrayInputStream(getEncodedData());
+		}
+	}
+
+	/** Simple request-ID generator */
+	private final ReqIdGenerator gen = new ReqIdGenerator() {
+		private int req_id = 0;
+		@Override public int next() {
+			return ++req_id;
+		}
+	};
+
+	/** Query a number of objects in one message */
+	private ASN1Integer[] query(Agent agent, VarBindLimit lim, int n)
+		throws IOException
+	{
+		SNMP.Message mess = agent.new Message(agent.req, agent.resp,
+			null, gen, lim);
+		ASN1Integer[] objs = new ASN1Integer[n];
+		for (int i = 0; i < n; i++) {
+			objs[i] = dmsMessageCRC.makeInt(
+				DmsMessageMemoryType.changeable, i + 1);
+			objs[i].setInteger(-1);
+			mess.add(objs[i]);
+		}
+		mess.queryProps();
+		return objs;
+	}
+
+	public void testPacked() throws IOException {
+		Agent agent = new Agent(VarBindLimit.MAX_VAR_BINDS);
+		VarBindLimit lim = new VarBindLimit();
+		ASN1Integer[] objs = query(agent, lim, 20);
+		assertTrue(agent.n_requests == 1);
+		for (int i = 0; i < objs.length; i++)
+			assertTrue(objs[i].getInteger() == i);
+		assertTrue(lim.get() == VarBindLimit.MAX_VAR_BINDS);
+	}
+
+	public void testTooBig() throws IOException {
+		Agent agent = new Agent(5);
+		VarBindLimit lim = new VarBindLimit();
+		ASN1Integer[] objs = query(agent, lim, 20);
+		// 20 (too big), 10 (too big), then 4 PDUs of 5 objects
+		assertTrue(agent.n_requests == 6);
+		assertTrue(lim.get() == 5);
+		for (int i = 0; i < objs.length; i++)
+			assertTrue(objs[i].getInteger() == i % 5);
+		// Learned limit is used for later messages
+		agent.n_requests = 0;
+		query(agent, lim, 12);
+		assertTrue(agent.n_requests == 3);
+	}
+
+	public void testSingle() throws IOException {
+		Agent agent = new Agent(0);
+		VarBindLimit lim = new VarBindLimit();
+		try {
+			query(agent, lim, 3);
+			fail();
+		}
+		catch (TooBig e) {
+			assertTrue(lim.get() == 1);
+		}
+	}
+
+	public void testRecover() throws IOException {
+		Agent agent = new Agent(2);
+		VarBindLimit lim = new VarBindLimit();
+		query(agent, lim, 8);
+		assertTrue(lim.get() == 2);
+		// controller recovers from a transient error
+		agent.max_vb = VarBindLimit.MAX_VAR_BINDS;
+		for (int i = 0; i < VarBindLimit.PROBE_COUNT; i++)
+			query(agent, lim, 2);
+		assertTrue(lim.get() == 4);
+		// probe of a larger limit is rejected
+		agent.max_vb = 4;
+		for (int i = 0; i < VarBindLimit.PROBE_COUNT; i++)
+			query(agent, lim, 4);
+		assertTrue(lim.get() == 8);
+		query(agent, lim, 8);
+		assertTrue(lim.get() == 4);
+		// partial PDUs do not probe
+		for (int i = 0; i < 2 * VarBindLimit.PROBE_COUNT; i++)
+			query(agent, lim, 3);
+		assertTrue(lim.get() == 4);
+	}
+}
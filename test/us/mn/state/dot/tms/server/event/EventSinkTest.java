@@ -0,0 +1,237 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.event;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import junit.framework.TestCase;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.sched.Scheduler;
+import us.mn.state.dot.tms.EventType;
+import us.mn.state.dot.tms.TMSException;
+import us.mn.state.dot.tms.server.Storable;
+
+/**
+ * Event sink tests.  Events are stored to a simulated database, which can
+ * be taken down (failing with a connection error).
+ *
+ * @author Douglas Lau
+ */
+public class EventSinkTest extends TestCase {
+
+	/** Time to wait for events to be stored (ms) */
+	static private final long WAIT_MS = 10000;
+
+	/** Pattern to match alarm names in an INSERT statement */
+	static private final Pattern ALARM = Pattern.compile("'(a[0-9]+)");
+
+	/** Create a connection error */
+	static private TMSException connectionError() {
+		return new TMSException(new SQLException("down", "08006"));
+	}
+
+	/** Event sink with a simulated database */
+	static private class TestSink extends EventSink {
+		private final ArrayList<String> stored =
+			new ArrayList<String>();
+		private final ArrayList<String> warnings =
+			new ArrayList<String>();
+		private volatile boolean down = false;
+		private TestSink(Scheduler f, File sf) {
+			super(f, sf);
+		}
+		@Override boolean isStoreEnabled(BaseEvent ev) {
+			return true;
+		}
+		@Override void store(List<String> stmts) throws TMSException {
+			if (down)
+				throw connectionError();
+			for (String stmt: stmts) {
+				Matcher m = ALARM.matcher(stmt);
+				while (m.find())
+					addStored(m.group(1));
+			}
+		}
+		@Override void storeRow(Storable s) throws TMSException {
+			if (down)
+				throw connectionError();
+			String a = s.getColumns().get("alarm").toString();
+			Matcher m = ALARM.matcher("'" + a);
+			if (m.lookingAt())
+				addStored(m.group(1));
+		}
+		@Override void logStderr(String msg) {
+			warnings.add(msg);
+		}
+		private synchronized void addStored(String a) {
+			stored.add(a);
+		}
+		private synchronized int countStored() {
+			return stored.size();
+		}
+		private synchronized HashSet<String> getStored() {
+			return new HashSet<String>(stored);
+		}
+	}
+
+	/** Create an alarm event */
+	static private AlarmEvent alarm(String a) {
+		return new AlarmEvent(EventType.ALARM_TRIGGERED, a);
+	}
+
+	/** Create a list of alarm events */
+	static private ArrayList<AlarmEvent> alarms(int start, int n) {
+		ArrayList<AlarmEvent> evs = new ArrayList<AlarmEvent>();
+		for (int i = start; i < start + n; i++)
+			evs.add(alarm("a" + i));
+		return evs;
+	}
+
+	/** Create a set of alarm names */
+	static private HashSet<String> names(String... a) {
+		return new HashSet<String>(Arrays.asList(a));
+	}
+
+	/** Latch blocking the flush scheduler */
+	private final CountDownLatch block = new CountDownLatch(1);
+
+	/** Flush scheduler */
+	private Scheduler flush;
+
+	/** Spill file */
+	private File spill_file;
+
+	/** Event sink */
+	private TestSink sink;
+
+	@Override
+	protected void setUp() throws IOException {
+		flush = new Scheduler("event_sink_test");
+		flush.addJob(new Job() {
+			public void perform() throws InterruptedException {
+				block.await();
+			}
+		});
+		spill_file = File.createTempFile("event_spill", null);
+		assertTrue(spill_file.delete());
+		sink = new TestSink(flush, spill_file);
+	}
+
+	@Override
+	protected void tearDown() {
+		block.countDown();
+		flush.dispose();
+		spill_file.delete();
+	}
+
+	/** Wait until a number of events are stored */
+	private boolean waitStored(int n) throws InterruptedException {
+		long end = System.currentTimeMillis() + WAIT_MS;
+		while (sink.countStored() < n) {
+			if (System.currentTimeMillis() >= end)
+				return false;
+			Thread.sleep(10);
+		}
+		return true;
+	}
+
+	public void testSpillReplay() {
+		sink.down = true;
+		assertTrue(sink.addAll(alarms(0, 3)) == 3);
+		sink.flushEvents();
+		assertTrue(sink.countStored() == 0);
+		assertTrue(spill_file.length() > 0);
+		sink.down = false;
+		sink.add(alarm("a3"));
+		sink.flushEvents();
+		assertTrue(sink.getStored().equals(names("a0", "a1", "a2",
+			"a3")));
+		assertFalse(spill_file.exists());
+	}
+
+	public void testTruncated() throws IOException {
+		sink.down = true;
+		sink.addAll(alarms(0, 3));
+		sink.flushEvents();
+		try (RandomAccessFile f = new RandomAccessFile(spill_file,
+			"rw"))
+		{
+			f.setLength(f.length() - 2);
+		}
+		sink.down = false;
+		sink.add(alarm("a3"));
+		sink.flushEvents();
+		// complete rows are replayed; the partial row is lost
+		assertTrue(sink.getStored().equals(names("a0", "a1", "a3")));
+		assertFalse(spill_file.exists());
+	}
+
+	public void testInvalidSpill() {
+		sink.down = true;
+		sink.add(alarm("a0"));
+		sink.add(alarm("a1\u0001"));
+		sink.flushEvents();
+		// rows stored one at a time are spilled on connection error
+		assertTrue(sink.countStored() == 0);
+		assertTrue(spill_file.length() > 0);
+		sink.down = false;
+		sink.add(alarm("a2"));
+		sink.flushEvents();
+		assertTrue(sink.getStored().equals(names("a0", "a1", "a2")));
+		assertFalse(spill_file.exists());
+	}
+
+	public void testDropped() {
+		int n = EventSink.MAX_BUFFERED;
+		assertTrue(sink.addAll(alarms(0, n + 5)) == n);
+		assertFalse(sink.add(alarm("a0")));
+		sink.flushEvents();
+		assertTrue(sink.countStored() == n);
+		assertTrue(sink.warnings.size() == 1);
+		assertTrue(sink.warnings.get(0).startsWith("dropped 6 "));
+		assertTrue(sink.addAll(alarms(0, n + 3)) == n);
+		sink.flushEvents();
+		// warnings are rate limited
+		assertTrue(sink.countStored() == 2 * n);
+		assertTrue(sink.warnings.size() == 1);
+	}
+
+	public void testFlushRows() throws InterruptedException {
+		block.countDown();
+		long t0 = System.currentTimeMillis();
+		sink.addAll(alarms(0, EventSink.FLUSH_ROWS));
+		assertTrue(waitStored(EventSink.FLUSH_ROWS));
+		long ms = System.currentTimeMillis() - t0;
+		assertTrue(ms < EventSink.FLUSH_DELAY_MS);
+	}
+
+	public void testFlushDelay() throws InterruptedException {
+		block.countDown();
+		long t0 = System.currentTimeMillis();
+		sink.addAll(alarms(0, EventSink.FLUSH_ROWS - 1));
+		assertTrue(waitStored(EventSink.FLUSH_ROWS - 1));
+		long ms = System.currentTimeMillis() - t0;
+		assertTrue(ms >= EventSink.FLUSH_DELAY_MS);
+	}
+}
@@ -0,0 +1,338 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.maxpressure;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.server.SamplerSet;
+import us.mn.state.dot.tms.server.VehicleSampler;
+import static us.mn.state.dot.tms.server.MaxPressureAlgorithm.CTM_DT;
+
+/**
+ * Cell transmission model tests.  The flat cell store is validated against
+ * a reference copy of the per-cell object model, and a corridor is replayed
+ * from archived (.v30) vehicle count samples.
+ *
+ * @author Douglas Lau
+ */
+public class CTMNetworkTest extends TestCase {
+
+	/** Jam density (veh/mi/lane) */
+	static private final double K_JAM = 180;
+
+	/** Number of 30-second samples in a day */
+	static final int SAMPLES_PER_DAY = 2880;
+
+	/** Sample period (ms) */
+	static final int PERIOD_MS = 30 * 1000;
+
+	/** Start of the replayed day */
+	static final long MIDNIGHT = 1700000000000L;
+
+	/** Reference cell (per-cell object model) */
+	static private class RefCell {
+		private final RefLink link;
+		private double n, y;
+		private RefCell(RefLink l) {
+			link = l;
+		}
+		private double getSendingFlow() {
+			return Math.min(n, link.Q * CTM_DT / 3600.0);
+		}
+		private double getReceivingFlow() {
+			double actual_Q = link.Q;
+			if (n / link.cell_len > link.Q / link.v)
+				actual_Q = link.Q * 0.85;
+			double term1 = actual_Q * CTM_DT / 3600.0;
+			double term2 = link.w / link.v *
+				(link.K * link.cell_len - n);
+			return Math.min(term1, term2);
+		}
+		private void addOccupancy(double add) {
+			n = Math.max(0, n + add);
+		}
+		private void update() {
+			n = Math.max(0, n + y);
+			y = 0;
+		}
+	}
+
+	/** Reference link (per-cell object model) */
+	static class RefLink {
+		private final double Q, w, v, K, cell_len;
+		private final RefCell[] cells;
+		RefLink(CTMLink l) {
+			Q = l.Q;
+			w = l.w;
+			v = l.v;
+			K = l.K;
+			cell_len = l.cell_len;
+			cells = new RefCell[l.getNumCells()];
+			for (int i = 0; i < cells.length; i++)
+				cells[i] = new RefCell(this);
+		}
+		private void step() {
+			for (int i = 1; i < cells.length; i++) {
+				double S = cells[i - 1].getSendingFlow();
+				double R = cells[i].getReceivingFlow();
+				double y = Math.max(0, Math.min(S, R));
+				cells[i].y += y;
+				cells[i - 1].y -= y;
+			}
+		}
+		private void update() {
+			for (RefCell c: cells)
+				c.update();
+		}
+		private double getSendingFlow() {
+			return cells[cells.length - 1].getSendingFlow();
+		}
+		private double getReceivingFlow() {
+			return cells[0].getReceivingFlow();
+		}
+		private void addFlow(double y) {
+			cells[0].addOccupancy(y);
+		}
+		private void removeFlow(double y) {
+			for (int i = cells.length - 1; i >= 0 && y > 0; i--) {
+				double r = Math.min(y, cells[i].n);
+				cells[i].addOccupancy(-r);
+				y -= r;
+			}
+		}
+	}
+
+	/** Vehicle sampler replaying an archived (.v30) sample file */
+	static private class ReplaySampler implements VehicleSampler {
+		private final byte[] counts = new byte[SAMPLES_PER_DAY];
+		private ReplaySampler(InputStream in) throws IOException {
+			new DataInputStream(in).readFully(counts);
+		}
+		@Override
+		public int getVehCount(long stamp, int per_ms) {
+			int i = (int) ((stamp - MIDNIGHT) / PERIOD_MS) - 1;
+			return (i >= 0 && i < counts.length) ? counts[i] : -1;
+		}
+		@Override
+		public int getFlow(long stamp, int per_ms) {
+			int c = getVehCount(stamp, per_ms);
+			return (c >= 0) ? c * 3600 * 1000 / per_ms : -1;
+		}
+		@Override
+		public float getDensity(long stamp, int per_ms) {
+			return -1;
+		}
+		@Override
+		public float getSpeed(long stamp, int per_ms) {
+			return -1;
+		}
+	}
+
+	/** Create a synthetic .v30 sample file, with AM and PM peaks.
+	 * @param peak Peak vehicle count per 30 seconds. */
+	static private byte[] createV30(Random rnd, int peak) {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		for (int i = 0; i < SAMPLES_PER_DAY; i++) {
+			double h = i / 120.0;
+			double d = 0.15 + Math.exp(-Math.pow(h - 7.5, 2)) +
+				Math.exp(-Math.pow(h - 17, 2) / 2);
+			int c = (int) Math.round(Math.min(d, 1) * peak *
+				(0.8 + 0.4 * rnd.nextDouble()));
+			// Some samples are missing
+			bos.write((rnd.nextInt(500) == 0) ? -1 : c);
+		}
+		return bos.toByteArray();
+	}
+
+	/** Create a sampler set replaying an archived sample file */
+	static private SamplerSet replay(byte[] v30) throws IOException {
+		VehicleSampler vs = new ReplaySampler(
+			new ByteArrayInputStream(v30));
+		return new SamplerSet(Collections.singletonList(vs));
+	}
+
+	/** Create a mainline link */
+	static CTMLink createLink(double len, int lanes) {
+		double v = 70;
+		double Q = Math.min(2400, 2200 + 10 * (v - 50)) * lanes;
+		return new CTMLink(len, lanes, v, Q, v / 2, K_JAM * lanes);
+	}
+
+	/** Create a corridor network, as constructed by max-pressure
+	 * metering: upstream station, merge, diverge, downstream station */
+	static CTMNetwork createNetwork(Random rnd) throws IOException
+	{
+		List<SimNode> nodes = new ArrayList<>();
+		List<SimLink> links = new ArrayList<>();
+		EntranceLink up = new EntranceLink(null,
+			replay(createV30(rnd, 45)));
+		SimNode node = new SeriesNode(null, up);
+		links.add(up);
+		nodes.add(node);
+		CTMLink l1 = createLink(0.9, 3);
+		node.setMainlineOut(l1);
+		EntranceLink ramp = new EntranceLink(null,
+			replay(createV30(rnd, 8)));
+		MergeNode merge = new MergeNode(null, l1, ramp);
+		links.add(l1);
+		links.add(ramp);
+		nodes.add(merge);
+		CTMLink l2 = createLink(0.7, 3);
+		merge.setMainlineOut(l2);
+		ExitLink exit = new ExitLink(null, replay(createV30(rnd, 6)));
+		node = new DivergeNode(null, l2, exit);
+		links.add(l2);
+		links.add(exit);
+		nodes.add(node);
+		CTMLink l3 = createLink(1.2, 3);
+		node.setMainlineOut(l3);
+		ExitLink down = new ExitLink(null,
+			replay(createV30(rnd, 40)));
+		node = new SeriesNode(null, l3, down);
+		links.add(l3);
+		links.add(down);
+		nodes.add(node);
+		Collections.reverse(links);
+		Collections.reverse(nodes);
+		return new CTMNetwork(merge, nodes, links);
+	}
+
+	/** Step a CTM link and a reference link with random boundary flows.
+	 * @return Elapsed time (ns) for CTM link and reference link. */
+	static long[] stepBoth(CTMLink link, RefLink ref, int steps,
+		long seed)
+	{
+		long[] ns = new long[2];
+		Random rnd = new Random(seed);
+		double[] in = new double[steps];
+		double[] out = new double[steps];
+		for (int i = 0; i < steps; i++) {
+			in[i] = rnd.nextDouble() * 14;
+			out[i] = rnd.nextDouble() * 14;
+		}
+		long t = System.nanoTime();
+		for (int i = 0; i < steps; i++) {
+			link.step();
+			double y_in = Math.min(in[i], link.getReceivingFlow());
+			double y_out = Math.min(out[i], link.getSendingFlow());
+			link.removeFlow(y_out);
+			link.addFlow(y_in);
+			link.update();
+		}
+		ns[0] = System.nanoTime() - t;
+		t = System.nanoTime();
+		for (int i = 0; i < steps; i++) {
+			ref.step();
+			double y_in = Math.min(in[i], ref.getReceivingFlow());
+			double y_out = Math.min(out[i], ref.getSendingFlow());
+			ref.removeFlow(y_out);
+			ref.addFlow(y_in);
+			ref.update();
+		}
+		ns[1] = System.nanoTime() - t;
+		return ns;
+	}
+
+	/** Get cell occupancies of a link */
+	static double[] occupancies(CTMLink link) {
+		double[] occ = new double[link.getNumCells()];
+		for (int i = 0; i < occ.length; i++)
+			occ[i] = link.getCellOccupancy(i);
+		return occ;
+	}
+
+	/** Get cell occupancies of a reference link */
+	static double[] occupancies(RefLink ref) {
+		double[] occ = new double[ref.cells.length];
+		for (int i = 0; i < occ.length; i++)
+			occ[i] = ref.cells[i].n;
+		return occ;
+	}
+
+	/** Validate cell store against the per-cell object model */
+	public void testValidate() {
+		double[] lengths = { 0.05, 0.4, 1.3, 2.7 };
+		for (int j = 0; j < lengths.length; j++) {
+			CTMLink link = createLink(lengths[j], 2 + j % 3);
+			RefLink ref = new RefLink(link);
+			stepBoth(link, ref, SAMPLES_PER_DAY * 5, j);
+			assertTrue(Arrays.equals(occupancies(link),
+				occupancies(ref)));
+			assertTrue(link.getOccupancy() > 0);
+		}
+	}
+
+	/** Validate a link moved into a shared cell store */
+	public void testShared() {
+		CTMLink a = createLink(0.6, 3);
+		CTMLink b = createLink(1.1, 2);
+		RefLink ref_a = new RefLink(a);
+		RefLink ref_b = new RefLink(b);
+		stepBoth(a, ref_a, 500, 1);
+		stepBoth(b, ref_b, 500, 2);
+		CellStore store = new CellStore(a.getNumCells() +
+			b.getNumCells());
+		a.moveTo(store);
+		b.moveTo(store);
+		assertTrue(store.size() == a.getNumCells() + b.getNumCells());
+		stepBoth(b, ref_b, 500, 3);
+		stepBoth(a, ref_a, 500, 4);
+		assertTrue(Arrays.equals(occupancies(a), occupancies(ref_a)));
+		assertTrue(Arrays.equals(occupancies(b), occupancies(ref_b)));
+	}
+
+	/** Replay archived samples, checking lookahead restores state */
+	public void testLookahead() throws IOException {
+		CTMNetwork net = createNetwork(new Random(7));
+		boolean congested = false;
+		for (int i = 1; i <= SAMPLES_PER_DAY; i++) {
+			net.simulateLastTimestep(MIDNIGHT + i * PERIOD_MS,
+				PERIOD_MS);
+			if (i % 60 == 0) {
+				double occ = net.getTotalOccupancy();
+				double w = net.getDownstreamWeight(false);
+				double k0 = net.lookahead(10);
+				assertTrue(k0 >= 0);
+				assertTrue(occ == net.getTotalOccupancy());
+				assertTrue(w == net.getDownstreamWeight(false));
+				assertTrue(k0 == net.lookahead(10));
+				congested |= net.isDownstreamCongested();
+			}
+		}
+		assertTrue(net.getTotalOccupancy() >= 0);
+		assertTrue(congested);
+	}
+
+	/** Replay a day of archived samples */
+	public void testReplay() throws IOException {
+		CTMNetwork net = createNetwork(new Random(11));
+		for (int i = 1; i <= SAMPLES_PER_DAY; i++) {
+			net.simulateLastTimestep(MIDNIGHT + i * PERIOD_MS,
+				PERIOD_MS);
+			assertTrue(net.getUpstreamWeight(false) >= 0);
+			assertTrue(net.getDownstreamWeight(false) >= 0);
+		}
+		assertTrue(net.getTotalOccupancy() > 0);
+	}
+}
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2023  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -136,6 +136,8 @@ public class MultiStringTest extends TestCase {
 		checkNormalize("[ttS100]", "[ttS100,prepend,OVER ]");
 		checkNormalize("[feedL1]", "[feedL1]");
 		checkNormalize("[feedL1_2]", "[feedL1_2]");
+		checkNormalize("[aviTR1,TR2]", "[aviTR1,TR2]");
+		checkNormalize("[aviTR1]", "");
 	}
 
 	private void checkNormalize(String m0, String m1) {
@@ -434,6 +436,7 @@ public class MultiStringTest extends TestCase {
 		assertTrue(new MultiString(":;<=>?@\\^_`{|}~").isValid());
 
 		assertFalse(new MultiString("ABC[zzz]DEF").isValid());
+		assertFalse(new MultiString("[aviTR1,TR2]").isValidMulti());
 		assertFalse(new MultiString("[").isValid());
 		assertFalse(new MultiString("]").isValid());
 		assertFalse(new MultiString("\t\b\n\r\f").isValid());